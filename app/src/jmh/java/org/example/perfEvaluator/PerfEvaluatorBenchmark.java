@@ -0,0 +1,68 @@
+package org.example.perfEvaluator;
+
+import java.io.OutputStream;
+import java.io.PrintStream;
+import java.time.LocalDateTime;
+import java.util.concurrent.TimeUnit;
+
+import org.example.common.Job;
+import org.example.queueManager.QueueManager;
+import org.example.scheduler.Scheduler;
+import org.example.scheduler.SchedulingPolicy;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Measures the aggregation done by PerfEvaluator.printMetrics over a number of completed jobs.
+ * Console output is discarded so that only the metric calculation is measured.
+ * Run with {@code ./gradlew jmh}.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Fork(1)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+public class PerfEvaluatorBenchmark {
+    @Param({"100", "10000", "1000000"})
+    public int completedJobs;
+
+    private PerfEvaluator perfEvaluator;
+    private PrintStream originalOut;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        perfEvaluator = new PerfEvaluator(new Scheduler(SchedulingPolicy.FCFS, new QueueManager()));
+        LocalDateTime base = LocalDateTime.of(2023, 1, 1, 0, 0);
+        for (int i = 0; i < completedJobs; i++) {
+            Job job = new Job("Job" + i, 1, 1000, base.plusNanos(i * 1_000L));
+            job.setActualProcessingStartTime(base.plusNanos(i * 1_000L + 500));
+            job.setActualCompletionTime(base.plusNanos(i * 1_000L + 1_500));
+            perfEvaluator.addCompletedJob(job);
+        }
+        originalOut = System.out;
+        System.setOut(new PrintStream(OutputStream.nullOutputStream()));
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        System.setOut(originalOut);
+    }
+
+    @Benchmark
+    public double printMetrics() {
+        perfEvaluator.printMetrics();
+        return perfEvaluator.perfMetrics.getThroughput();
+    }
+}
@@ -0,0 +1,120 @@
+package org.example.queueManager;
+
+import java.util.concurrent.TimeUnit;
+
+import org.example.common.Job;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Group;
+import org.openjdk.jmh.annotations.GroupThreads;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Threads;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Compares the locked QueueManager against the lock-free ConcurrentJobQueue and the WorkStealingJobQueue,
+ * whose local queues are sized for 4 workers; every benchmark thread is served from one of them.
+ * The enqueueDequeue benchmarks enqueue one job and dequeue one job per operation, so the queue
+ * never holds more jobs than there are benchmark threads. The producer/consumer groups use the
+ * timed offerJob/pollJob calls so that neither side can block indefinitely at the end of an iteration;
+ * change their thread counts with the JMH {@code -tg} option, e.g. {@code -tg 8,8}.
+ * Run with {@code ./gradlew jmh}.
+ */
+@State(Scope.Group)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Fork(1)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+public class JobQueueBenchmark {
+    private static final long TIMEOUT_MICROS = 100;
+
+    @Param({"locked", "concurrent", "stealing"})
+    public String implementation;
+
+    @Param({"64"})
+    public int capacity;
+
+    private JobQueue queue;
+
+    /**
+     * Per-thread pool of jobs so threads never enqueue the same Job instance concurrently.
+     */
+    @State(Scope.Thread)
+    public static class ThreadJobs {
+        private final Job[] jobs = new Job[1024];
+        private int next = 0;
+
+        @Setup(Level.Trial)
+        public void setUp() {
+            for (int i = 0; i < jobs.length; i++) {
+                jobs[i] = new Job("Job" + i, i % 10, 1000L + i, null);
+            }
+        }
+
+        Job next() {
+            Job job = jobs[next];
+            next = (next + 1) & (jobs.length - 1);
+            return job;
+        }
+    }
+
+    @Setup(Level.Iteration)
+    public void setUp() {
+        queue = switch (implementation) {
+            case "locked" -> new QueueManager(capacity);
+            case "stealing" -> new WorkStealingJobQueue(capacity, 4);
+            default -> new ConcurrentJobQueue(capacity);
+        };
+    }
+
+    @Benchmark
+    @Threads(1)
+    public Job enqueueDequeueUncontended(ThreadJobs jobs) throws InterruptedException {
+        queue.enqueueJob(jobs.next());
+        return queue.dequeueJob();
+    }
+
+    @Benchmark
+    @Threads(4)
+    public Job enqueueDequeueContended(ThreadJobs jobs) throws InterruptedException {
+        queue.enqueueJob(jobs.next());
+        return queue.dequeueJob();
+    }
+
+    @Benchmark
+    @Group("oneProducerOneConsumer")
+    @GroupThreads(1)
+    public boolean produceSingle(ThreadJobs jobs) throws InterruptedException {
+        return queue.offerJob(jobs.next(), TIMEOUT_MICROS, TimeUnit.MICROSECONDS);
+    }
+
+    @Benchmark
+    @Group("oneProducerOneConsumer")
+    @GroupThreads(1)
+    public Job consumeSingle() throws InterruptedException {
+        return queue.pollJob(TIMEOUT_MICROS, TimeUnit.MICROSECONDS);
+    }
+
+    @Benchmark
+    @Group("manyProducersManyConsumers")
+    @GroupThreads(4)
+    public boolean produceMany(ThreadJobs jobs) throws InterruptedException {
+        return queue.offerJob(jobs.next(), TIMEOUT_MICROS, TimeUnit.MICROSECONDS);
+    }
+
+    @Benchmark
+    @Group("manyProducersManyConsumers")
+    @GroupThreads(4)
+    public Job consumeMany() throws InterruptedException {
+        return queue.pollJob(TIMEOUT_MICROS, TimeUnit.MICROSECONDS);
+    }
+}
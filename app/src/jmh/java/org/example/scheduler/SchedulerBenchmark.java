@@ -0,0 +1,93 @@
+package org.example.scheduler;
+
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+import org.example.common.Job;
+import org.example.queueManager.QueueManager;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Measures Scheduler.addJob under each scheduling policy with a given number of jobs already queued.
+ * Every operation submits one job and dequeues the head, so the queue depth stays constant.
+ * Run with {@code ./gradlew jmh}.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Fork(1)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+public class SchedulerBenchmark {
+    // no values, so JMH runs every SchedulingPolicy constant
+    @Param
+    public SchedulingPolicy policy;
+
+    @Param({"10", "1000", "100000"})
+    public int queuedJobs;
+
+    private QueueManager queueManager;
+    private Scheduler scheduler;
+    private Job[] jobs;
+    private int next = 0;
+
+    @Setup(Level.Trial)
+    public void setUp() throws InterruptedException {
+        Random random = new Random(42);
+        jobs = new Job[Math.max(1024, queuedJobs * 2)];
+        for (int i = 0; i < jobs.length; i++) {
+            jobs[i] = new Job("Job" + i, random.nextInt(10) + 1, random.nextInt(10_000), null);
+        }
+        queueManager = new QueueManager(0);
+        scheduler = new Scheduler(policy, queueManager);
+        for (int i = 0; i < queuedJobs; i++) {
+            scheduler.addJob(this.nextJob());
+        }
+    }
+
+    /**
+     * Cycles through the prepared jobs. The pool holds twice the queue depth, so a job is always
+     * dequeued before it is submitted again.
+     * @return The next job.
+     */
+    private Job nextJob() {
+        Job job = jobs[next];
+        next = (next + 1) % jobs.length;
+        return job;
+    }
+
+    @Benchmark
+    public Job addJobAndDispatch() throws InterruptedException {
+        scheduler.addJob(this.nextJob());
+        return queueManager.dequeueJob();
+    }
+
+    @Benchmark
+    public SchedulingPolicy setPolicy() throws InterruptedException {
+        scheduler.setPolicy(policy);
+        return scheduler.getPolicy();
+    }
+
+    /**
+     * Alternates between the benchmarked policy and SRTF, or FCFS when SRTF is benchmarked, so every call
+     * switches the ordering of the queued jobs.
+     * @return The policy switched to.
+     */
+    @Benchmark
+    public SchedulingPolicy switchPolicy() throws InterruptedException {
+        SchedulingPolicy other = policy == SchedulingPolicy.SRTF ? SchedulingPolicy.FCFS : SchedulingPolicy.SRTF;
+        scheduler.setPolicy(scheduler.getPolicy() == policy ? other : policy);
+        return scheduler.getPolicy();
+    }
+}
@@ -5,6 +5,7 @@ package org.example;
 
 import java.util.Scanner;
 
+import org.example.uiController.AppConfig;
 import org.example.uiController.UIController;
 
 /**
@@ -16,8 +17,15 @@ public class CSUBatchApplication {
     }
 
     public static void main(String[] args) throws InterruptedException {
+        AppConfig config;
+        try {
+            config = AppConfig.fromArgs(args);
+        } catch (IllegalArgumentException e) {
+            System.out.println("Error: " + e.getMessage());
+            return;
+        }
         System.out.println(new CSUBatchApplication().getGreeting());
-         UIController UI = new UIController(new Scanner(System.in));
+         UIController UI = new UIController(new Scanner(System.in), true, config);
          UI.generateUI();
          UI.userInteraction();
     }
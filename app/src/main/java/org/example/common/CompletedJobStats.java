@@ -0,0 +1,179 @@
+package org.example.common;
+
+import java.io.DataInput;
+import java.io.DataOutput;
+import java.io.IOException;
+
+/**
+ * The CompletedJobStats aggregates the response, wait and turnaround times of completed jobs as plain values:
+ * counts, totals and maxima in nanoseconds, the span from the first arrival to the last completion, and a
+ * histogram of each time in microseconds. Aggregates can be merged and written in a compact binary form, so
+ * they survive a restart without keeping the jobs.
+ * This class is not thread-safe; callers are expected to guard it with their own lock.
+ */
+public class CompletedJobStats {
+    private final LatencyHistogram responseTimes = new LatencyHistogram();
+    private final LatencyHistogram waitTimes = new LatencyHistogram();
+    private final LatencyHistogram turnaroundTimes = new LatencyHistogram();
+    private long jobCount = 0;
+    private long totalResponseNanos = 0;
+    private long totalWaitNanos = 0;
+    private long totalTurnaroundNanos = 0;
+    private long maxResponseNanos = 0;
+    // epoch nanoseconds, Job.NO_TIME until a job completes
+    private long firstJobArrivalNanos = Job.NO_TIME;
+    private long lastJobCompletionNanos = Job.NO_TIME;
+
+    /**
+     * Adds a completed job.
+     * Response time = processing start - arrival, turnaround time = completion - arrival.
+     * @param job The job, with its processing start and completion times set.
+     */
+    public void add(Job job) {
+        long arrivalNanos = job.getArrivalNanos();
+        long completionNanos = job.getActualCompletionNanos();
+        long responseNanos = job.getActualProcessingStartNanos() - arrivalNanos;
+        long turnaroundNanos = completionNanos - arrivalNanos;
+        long waitNanos = turnaroundNanos - job.getExecutionTime() * 1_000_000;
+        jobCount++;
+        totalResponseNanos += responseNanos;
+        totalWaitNanos += waitNanos;
+        totalTurnaroundNanos += turnaroundNanos;
+        maxResponseNanos = Math.max(maxResponseNanos, responseNanos);
+        // recorded in whole microseconds, so sub-millisecond jobs keep their precision
+        responseTimes.record(Math.floorDiv(responseNanos, 1_000));
+        waitTimes.record(Math.floorDiv(waitNanos, 1_000));
+        turnaroundTimes.record(Math.floorDiv(turnaroundNanos, 1_000));
+        if (firstJobArrivalNanos == Job.NO_TIME || arrivalNanos < firstJobArrivalNanos) {
+            firstJobArrivalNanos = arrivalNanos;
+        }
+        if (lastJobCompletionNanos == Job.NO_TIME || completionNanos > lastJobCompletionNanos) {
+            lastJobCompletionNanos = completionNanos;
+        }
+    }
+
+    /**
+     * Adds the aggregates of other completed jobs to these, e.g. those of the jobs completed before a restart.
+     * @param other The other aggregates.
+     */
+    public void merge(CompletedJobStats other) {
+        if (other.jobCount == 0) {
+            return;
+        }
+        jobCount += other.jobCount;
+        totalResponseNanos += other.totalResponseNanos;
+        totalWaitNanos += other.totalWaitNanos;
+        totalTurnaroundNanos += other.totalTurnaroundNanos;
+        maxResponseNanos = Math.max(maxResponseNanos, other.maxResponseNanos);
+        responseTimes.add(other.responseTimes);
+        waitTimes.add(other.waitTimes);
+        turnaroundTimes.add(other.turnaroundTimes);
+        if (firstJobArrivalNanos == Job.NO_TIME || other.firstJobArrivalNanos < firstJobArrivalNanos) {
+            firstJobArrivalNanos = other.firstJobArrivalNanos;
+        }
+        if (lastJobCompletionNanos == Job.NO_TIME || other.lastJobCompletionNanos > lastJobCompletionNanos) {
+            lastJobCompletionNanos = other.lastJobCompletionNanos;
+        }
+    }
+
+    /**
+     * Writes the aggregates in a compact binary form.
+     * @param out The output.
+     * @throws IOException If the output cannot be written.
+     */
+    public void writeTo(DataOutput out) throws IOException {
+        out.writeLong(jobCount);
+        out.writeLong(totalResponseNanos);
+        out.writeLong(totalWaitNanos);
+        out.writeLong(totalTurnaroundNanos);
+        out.writeLong(maxResponseNanos);
+        out.writeLong(firstJobArrivalNanos);
+        out.writeLong(lastJobCompletionNanos);
+        responseTimes.writeTo(out);
+        waitTimes.writeTo(out);
+        turnaroundTimes.writeTo(out);
+    }
+
+    /**
+     * Reads aggregates written by {@link #writeTo(DataOutput)} into these, which must not hold any job yet.
+     * @param in The input.
+     * @throws IOException If the input cannot be read.
+     */
+    public void readFrom(DataInput in) throws IOException {
+        if (jobCount != 0) {
+            throw new IllegalStateException("Aggregates can only be read into empty stats.");
+        }
+        jobCount = in.readLong();
+        totalResponseNanos = in.readLong();
+        totalWaitNanos = in.readLong();
+        totalTurnaroundNanos = in.readLong();
+        maxResponseNanos = in.readLong();
+        firstJobArrivalNanos = in.readLong();
+        lastJobCompletionNanos = in.readLong();
+        responseTimes.addFrom(in);
+        waitTimes.addFrom(in);
+        turnaroundTimes.addFrom(in);
+    }
+
+    //region Getters and Setters
+    public long getJobCount() {
+        return this.jobCount;
+    }
+
+    public long getTotalResponseNanos() {
+        return this.totalResponseNanos;
+    }
+
+    public long getTotalWaitNanos() {
+        return this.totalWaitNanos;
+    }
+
+    public long getTotalTurnaroundNanos() {
+        return this.totalTurnaroundNanos;
+    }
+
+    public long getMaxResponseNanos() {
+        return this.maxResponseNanos;
+    }
+
+    /**
+     * Gets the earliest arrival of the completed jobs.
+     * @return The arrival in epoch nanoseconds, or Job.NO_TIME if no job has completed.
+     */
+    public long getFirstJobArrivalNanos() {
+        return this.firstJobArrivalNanos;
+    }
+
+    /**
+     * Gets the latest completion of the completed jobs.
+     * @return The completion in epoch nanoseconds, or Job.NO_TIME if no job has completed.
+     */
+    public long getLastJobCompletionNanos() {
+        return this.lastJobCompletionNanos;
+    }
+
+    /**
+     * Gets the histogram of the response times.
+     * @return The histogram, in microseconds.
+     */
+    public LatencyHistogram getResponseTimes() {
+        return this.responseTimes;
+    }
+
+    /**
+     * Gets the histogram of the wait times.
+     * @return The histogram, in microseconds.
+     */
+    public LatencyHistogram getWaitTimes() {
+        return this.waitTimes;
+    }
+
+    /**
+     * Gets the histogram of the turnaround times.
+     * @return The histogram, in microseconds.
+     */
+    public LatencyHistogram getTurnaroundTimes() {
+        return this.turnaroundTimes;
+    }
+    //endregion
+}
@@ -1,18 +1,33 @@
 package org.example.common;
 
 import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+import java.util.concurrent.atomic.AtomicLong;
 
 /**
  * A class that represents a Job in the system.
+ * The arrival, processing start and completion times are kept as nanoseconds since the epoch of their
+ * LocalDateTime, read as UTC, so a job holds no time objects; the LocalDateTime accessors convert on demand.
  */
 public class Job {
+    /**
+     * The epoch nanoseconds of a time that is not set.
+     */
+    public static final long NO_TIME = Long.MIN_VALUE;
+    private static final long NANOS_PER_SECOND = 1_000_000_000L;
+    private static final AtomicLong nextId = new AtomicLong(1);
+    private final long id;
     private final String name;
     private final int executionPriority;
     private final long executionTime;
+    private long remainingTime;
+    private int level = 0;
     private boolean isCompleted = false;
-    private final LocalDateTime arrival;
-    private LocalDateTime actualCompletionTime;
-    private LocalDateTime actualProcessingStartTime;
+    private final long arrivalNanos;
+    private long actualCompletionNanos = NO_TIME;
+    private long actualProcessingStartNanos = NO_TIME;
+    private long sequenceNumber;
+    private int queueIndex = -1;
 
     /**
      * Job Constructor.
@@ -38,15 +53,93 @@ public class Job {
      * @param date The date that represents the arrival (creation) time.
      */
     public Job(String name, int executionPriority, long executionTime, LocalDateTime date) {
+        this(nextId.getAndIncrement(), name, executionPriority, executionTime, date);
+    }
+
+    /**
+     * Job Constructor with the arrival in epoch nanoseconds, e.g. from {@link JobClock#nowEpochNanos()}.
+     * @param name The name of the job.
+     * @param executionPriority The execution priority of the job.
+     * @param executionTime The execution time of the job.
+     * @param arrivalNanos The arrival (creation) time in epoch nanoseconds.
+     */
+    public Job(String name, int executionPriority, long executionTime, long arrivalNanos) {
+        this(nextId.getAndIncrement(), name, executionPriority, executionTime, arrivalNanos);
+    }
+
+    /**
+     * Job Constructor for a job recreated with the id it had before, e.g. when recovered from the job journal.
+     * Jobs created afterwards get higher ids.
+     * @param id The id of the job.
+     * @param name The name of the job.
+     * @param executionPriority The execution priority of the job.
+     * @param executionTime The execution time of the job.
+     * @param date The date that represents the arrival (creation) time.
+     */
+    public Job(long id, String name, int executionPriority, long executionTime, LocalDateTime date) {
+        this(id, name, executionPriority, executionTime, toEpochNanos(date));
+    }
+
+    /**
+     * Job Constructor for a job recreated with the id it had before, with its arrival in epoch nanoseconds.
+     * @param id The id of the job.
+     * @param name The name of the job.
+     * @param executionPriority The execution priority of the job.
+     * @param executionTime The execution time of the job.
+     * @param arrivalNanos The arrival time in epoch nanoseconds, or {@link #NO_TIME}.
+     */
+    public Job(long id, String name, int executionPriority, long executionTime, long arrivalNanos) {
+        this.id = id;
         this.name = name;
         this.executionPriority = executionPriority;
         this.executionTime = executionTime;
-        this.arrival = date;
+        this.remainingTime = executionTime;
+        this.arrivalNanos = arrivalNanos;
+        nextId.accumulateAndGet(id + 1, Math::max);
+    }
+
+    /**
+     * Converts a time to nanoseconds since the epoch, reading it as UTC.
+     * Times from 1677 to 2262 can be represented.
+     * @param time The time, or null.
+     * @return The epoch nanoseconds, or {@link #NO_TIME} for null.
+     */
+    public static long toEpochNanos(LocalDateTime time) {
+        if (time == null) {
+            return NO_TIME;
+        }
+        return Math.addExact(Math.multiplyExact(time.toEpochSecond(ZoneOffset.UTC), NANOS_PER_SECOND), time.getNano());
+    }
+
+    /**
+     * Converts nanoseconds since the epoch back to a time.
+     * @param epochNanos The epoch nanoseconds, or {@link #NO_TIME}.
+     * @return The time, or null for {@link #NO_TIME}.
+     */
+    public static LocalDateTime fromEpochNanos(long epochNanos) {
+        if (epochNanos == NO_TIME) {
+            return null;
+        }
+        return LocalDateTime.ofEpochSecond(Math.floorDiv(epochNanos, NANOS_PER_SECOND),
+                (int) Math.floorMod(epochNanos, NANOS_PER_SECOND), ZoneOffset.UTC);
     }
     //region Getters and Setters
+    /**
+     * Gets the unique id assigned to the job when it was created.
+     * @return The job id.
+     */
+    public long getId() {
+        return this.id;
+    }
+
     public LocalDateTime getArrivalTime(){
-        return this.arrival;
+        return fromEpochNanos(this.arrivalNanos);
     }
+
+    public long getArrivalNanos() {
+        return this.arrivalNanos;
+    }
+
     public String getName() {
         return this.name;
     }
@@ -59,6 +152,32 @@ public class Job {
         return this.executionTime;
     }
 
+    /**
+     * Gets the execution time the job still needs. It starts at the execution time and is reduced by every
+     * time slice the job runs for under a preemptive scheduling policy.
+     * @return The remaining time in milliseconds.
+     */
+    public long getRemainingTime() {
+        return this.remainingTime;
+    }
+
+    public void setRemainingTime(long remainingTime) {
+        this.remainingTime = remainingTime;
+    }
+
+    /**
+     * Gets the level of the job under the multi-level feedback queue policy. Jobs are submitted at level 0,
+     * the most urgent one, and move down a level every time they use up their time slice.
+     * @return The level.
+     */
+    public int getLevel() {
+        return this.level;
+    }
+
+    public void setLevel(int level) {
+        this.level = level;
+    }
+
     public boolean getIsCompleted() {
         return this.isCompleted;
     }
@@ -68,19 +187,60 @@ public class Job {
     }
 
     public void setActualCompletionTime(LocalDateTime actualCompletionTime) {
-        this.actualCompletionTime = actualCompletionTime;
+        this.actualCompletionNanos = toEpochNanos(actualCompletionTime);
     }
 
     public LocalDateTime getActualCompletionTime() {
-        return this.actualCompletionTime;
+        return fromEpochNanos(this.actualCompletionNanos);
+    }
+
+    public long getActualCompletionNanos() {
+        return this.actualCompletionNanos;
+    }
+
+    public void setActualCompletionNanos(long actualCompletionNanos) {
+        this.actualCompletionNanos = actualCompletionNanos;
     }
 
     public LocalDateTime getActualProcessingStartTime() {
-        return this.actualProcessingStartTime;
+        return fromEpochNanos(this.actualProcessingStartNanos);
     }
 
     public void setActualProcessingStartTime(LocalDateTime actualProcessingStartTime) {
-        this.actualProcessingStartTime = actualProcessingStartTime;
+        this.actualProcessingStartNanos = toEpochNanos(actualProcessingStartTime);
+    }
+
+    public long getActualProcessingStartNanos() {
+        return this.actualProcessingStartNanos;
+    }
+
+    public void setActualProcessingStartNanos(long actualProcessingStartNanos) {
+        this.actualProcessingStartNanos = actualProcessingStartNanos;
+    }
+
+    /**
+     * Gets the submission order assigned when the job was enqueued. Used to break ordering ties.
+     * @return The sequence number.
+     */
+    public long getSequenceNumber() {
+        return this.sequenceNumber;
+    }
+
+    public void setSequenceNumber(long sequenceNumber) {
+        this.sequenceNumber = sequenceNumber;
+    }
+
+    /**
+     * Gets the slot of the job in the ready queue, maintained by the ReadyQueue so that
+     * membership checks and removals do not have to search the queue.
+     * @return The slot, or -1 when the job is not queued.
+     */
+    public int getQueueIndex() {
+        return this.queueIndex;
+    }
+
+    public void setQueueIndex(int queueIndex) {
+        this.queueIndex = queueIndex;
     }
     //endregion
 }
\ No newline at end of file
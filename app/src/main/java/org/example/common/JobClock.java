@@ -0,0 +1,25 @@
+package org.example.common;
+
+import java.time.LocalDateTime;
+
+/**
+ * The JobClock stamps job lifecycle events with a monotonic clock of nanosecond resolution.
+ * The wall clock is read once, when the class is loaded, as the anchor for {@link System#nanoTime()};
+ * every later time is the anchor plus the elapsed nanoTime, so durations between stamps are exact and
+ * unaffected by wall clock adjustments, and the stamps still convert to a LocalDateTime for display.
+ */
+public final class JobClock {
+    private static final long ANCHOR_EPOCH_NANOS = Job.toEpochNanos(LocalDateTime.now());
+    private static final long ANCHOR_NANO_TIME = System.nanoTime();
+
+    private JobClock() {
+    }
+
+    /**
+     * Gets the current time in the epoch nanoseconds used by {@link Job}, without allocating.
+     * @return The current time in epoch nanoseconds.
+     */
+    public static long nowEpochNanos() {
+        return ANCHOR_EPOCH_NANOS + (System.nanoTime() - ANCHOR_NANO_TIME);
+    }
+}
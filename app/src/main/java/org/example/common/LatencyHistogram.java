@@ -0,0 +1,245 @@
+package org.example.common;
+
+import java.io.DataInput;
+import java.io.DataOutput;
+import java.io.IOException;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+
+/**
+ * The LatencyHistogram counts recorded durations in log-linear buckets, in the style of an HDR histogram.
+ * With the default precision, values below 256 are counted exactly; above that every power of two is split
+ * into 128 equal buckets, so a reported percentile is within 1% of the recorded value whatever its magnitude.
+ * Memory is fixed at creation and recording is O(1) and lock-free.
+ */
+public class LatencyHistogram {
+    public static final int DEFAULT_PRECISION_BITS = 8;
+
+    private final int subBucketBits;
+    private final int subBucketCount;
+    private final int halfSubBucketCount;
+    private final int bucketCount;
+    private final AtomicLongArray counts;
+    private final AtomicLong totalCount = new AtomicLong();
+    private final AtomicLong sum = new AtomicLong();
+    private final AtomicLong max = new AtomicLong(Long.MIN_VALUE);
+    private final AtomicLong min = new AtomicLong(Long.MAX_VALUE);
+
+    /**
+     * LatencyHistogram constructor with a relative error below 1%.
+     */
+    public LatencyHistogram() {
+        this(DEFAULT_PRECISION_BITS);
+    }
+
+    /**
+     * LatencyHistogram constructor.
+     * @param precisionBits The number of bits kept of each value; the relative error is below 2^(1 - precisionBits)
+     *                      and the histogram holds about 2^(precisionBits - 1) counters per power of two.
+     */
+    public LatencyHistogram(int precisionBits) {
+        if (precisionBits < 2 || precisionBits > 16) {
+            throw new IllegalArgumentException("Histogram precision must be between 2 and 16 bits.");
+        }
+        this.subBucketBits = precisionBits;
+        this.subBucketCount = 1 << precisionBits;
+        this.halfSubBucketCount = subBucketCount >> 1;
+        // every power of two from subBucketCount up to Long.MAX_VALUE gets half a set of sub-buckets
+        this.bucketCount = subBucketCount + (Long.SIZE - 1 - precisionBits) * halfSubBucketCount;
+        this.counts = new AtomicLongArray(bucketCount);
+    }
+
+    /**
+     * Records a value. Negative values are recorded as 0.
+     * @param value The value, e.g. a duration in milliseconds.
+     */
+    public void record(long value) {
+        long recorded = Math.max(0, value);
+        counts.incrementAndGet(indexOf(recorded));
+        totalCount.incrementAndGet();
+        sum.addAndGet(recorded);
+        max.accumulateAndGet(recorded, Math::max);
+        min.accumulateAndGet(recorded, Math::min);
+    }
+
+    /**
+     * Gets the value below or at which the given percentage of recorded values fall.
+     * @param percentile The percentile, between 0 and 100.
+     * @return The highest value counted in the bucket reaching the percentile, capped at the maximum recorded value,
+     *         or 0 if nothing was recorded.
+     */
+    public long getValueAtPercentile(double percentile) {
+        long count = totalCount.get();
+        if (count == 0) {
+            return 0;
+        }
+        double clamped = Math.min(100.0, Math.max(0.0, percentile));
+        long target = Math.max(1, (long) Math.ceil(clamped / 100.0 * count));
+        long seen = 0;
+        for (int i = 0; i < bucketCount; i++) {
+            seen += counts.get(i);
+            if (seen >= target) {
+                return Math.min(highestValueOf(i), this.getMax());
+            }
+        }
+        return this.getMax();
+    }
+
+    /**
+     * Adds the values recorded by another histogram of the same precision to this one.
+     * @param other The other histogram.
+     */
+    public void add(LatencyHistogram other) {
+        if (other.subBucketBits != this.subBucketBits) {
+            throw new IllegalArgumentException("Cannot add histograms of different precision.");
+        }
+        if (other.getCount() == 0) {
+            return;
+        }
+        for (int i = 0; i < bucketCount; i++) {
+            long count = other.counts.get(i);
+            if (count != 0) {
+                counts.addAndGet(i, count);
+            }
+        }
+        totalCount.addAndGet(other.totalCount.get());
+        sum.addAndGet(other.sum.get());
+        max.accumulateAndGet(other.max.get(), Math::max);
+        min.accumulateAndGet(other.min.get(), Math::min);
+    }
+
+    /**
+     * Writes the recorded values in a compact binary form, only the non-empty buckets are written.
+     * @param out The output.
+     * @throws IOException If the output cannot be written.
+     */
+    public void writeTo(DataOutput out) throws IOException {
+        out.writeInt(subBucketBits);
+        int nonEmpty = 0;
+        for (int i = 0; i < bucketCount; i++) {
+            if (counts.get(i) != 0) {
+                nonEmpty++;
+            }
+        }
+        out.writeInt(nonEmpty);
+        for (int i = 0; i < bucketCount && nonEmpty > 0; i++) {
+            long count = counts.get(i);
+            if (count != 0) {
+                out.writeInt(i);
+                out.writeLong(count);
+                nonEmpty--;
+            }
+        }
+        out.writeLong(totalCount.get());
+        out.writeLong(sum.get());
+        out.writeLong(max.get());
+        out.writeLong(min.get());
+    }
+
+    /**
+     * Adds the values of a histogram of the same precision written by {@link #writeTo(DataOutput)} to this one.
+     * @param in The input.
+     * @throws IOException If the input cannot be read or holds a histogram of another precision.
+     */
+    public void addFrom(DataInput in) throws IOException {
+        if (in.readInt() != subBucketBits) {
+            throw new IOException("Cannot add a histogram of different precision.");
+        }
+        int nonEmpty = in.readInt();
+        for (int i = 0; i < nonEmpty; i++) {
+            int index = in.readInt();
+            if (index < 0 || index >= bucketCount) {
+                throw new IOException("Histogram bucket out of range.");
+            }
+            counts.addAndGet(index, in.readLong());
+        }
+        totalCount.addAndGet(in.readLong());
+        sum.addAndGet(in.readLong());
+        max.accumulateAndGet(in.readLong(), Math::max);
+        min.accumulateAndGet(in.readLong(), Math::min);
+    }
+
+    /**
+     * Removes every recorded value.
+     */
+    public void reset() {
+        for (int i = 0; i < bucketCount; i++) {
+            counts.set(i, 0);
+        }
+        totalCount.set(0);
+        sum.set(0);
+        max.set(Long.MIN_VALUE);
+        min.set(Long.MAX_VALUE);
+    }
+
+    /**
+     * Gets the bucket counting a value.
+     * @param value The non-negative value.
+     * @return The bucket index.
+     */
+    int indexOf(long value) {
+        if (value < subBucketCount) {
+            return (int) value;
+        }
+        // value lies in [2^k, 2^(k+1)) with k >= subBucketBits, keep its top subBucketBits bits
+        int shift = (Long.SIZE - 1 - Long.numberOfLeadingZeros(value)) - (subBucketBits - 1);
+        int subBucket = (int) (value >>> shift) - halfSubBucketCount;
+        return subBucketCount + (shift - 1) * halfSubBucketCount + subBucket;
+    }
+
+    /**
+     * Gets the highest value counted in a bucket.
+     * @param index The bucket index.
+     * @return The highest value.
+     */
+    long highestValueOf(int index) {
+        if (index < subBucketCount) {
+            return index;
+        }
+        int shift = (index - subBucketCount) / halfSubBucketCount + 1;
+        long subBucket = (index - subBucketCount) % halfSubBucketCount + halfSubBucketCount;
+        long lowest = subBucket << shift;
+        return lowest + (1L << shift) - 1;
+    }
+
+    //region Getters and Setters
+    public long getCount() {
+        return this.totalCount.get();
+    }
+
+    /**
+     * Gets the mean of the recorded values.
+     * @return The mean, or 0 if nothing was recorded.
+     */
+    public double getMean() {
+        long count = totalCount.get();
+        return count == 0 ? 0 : (double) sum.get() / count;
+    }
+
+    /**
+     * Gets the sum of the recorded values.
+     * @return The sum, or 0 if nothing was recorded.
+     */
+    public long getSum() {
+        return sum.get();
+    }
+
+    /**
+     * Gets the largest recorded value.
+     * @return The maximum, or 0 if nothing was recorded.
+     */
+    public long getMax() {
+        long value = max.get();
+        return value == Long.MIN_VALUE ? 0 : value;
+    }
+
+    /**
+     * Gets the smallest recorded value.
+     * @return The minimum, or 0 if nothing was recorded.
+     */
+    public long getMin() {
+        long value = min.get();
+        return value == Long.MAX_VALUE ? 0 : value;
+    }
+    //endregion
+}
@@ -1,105 +1,295 @@
 package org.example.dispatcher;
 
-import java.time.LocalDateTime;
 import java.util.concurrent.CountDownLatch;
+import java.util.logging.Level;
 import java.util.logging.Logger;
 
 import org.example.common.Job;
+import org.example.common.JobClock;
 import org.example.fileLogger.FileLogger;
+import org.example.jobJournal.JobJournal;
 import org.example.perfEvaluator.PerfEvaluator;
-import org.example.queueManager.QueueManager;
+import org.example.queueManager.JobQueue;
+import org.example.scheduler.Scheduler;
 
 
 /**
  * The Dispatcher governs a thread that executes submitted jobs.
+ * Several dispatchers may drain the same job queue; see {@link DispatcherPool}.
+ * When a {@link JobRunner} is set, the dispatcher only hands jobs over to it and does not wait for them to complete.
+ * When a {@link Scheduler} is set, it decides how long each job runs: under a preemptive policy a job runs for one
+ * time quantum and is then handed back to the scheduler, which queues it again until no time remains.
  */
 public class Dispatcher implements Runnable {
-    private final QueueManager queueManager;
+    private final JobQueue queueManager;
     private final PerfEvaluator perfEvaluator;
+    private final int workerId;
     private static final Logger fileLogger = FileLogger.getLogger();
-    private CountDownLatch jobCompletionLatch;
+    private volatile CountDownLatch jobCompletionLatch;
+    private volatile JobRunner jobRunner;
+    private volatile JobJournal journal;
+    private volatile Scheduler scheduler;
 
     private volatile boolean isRunning = true;
-    private boolean isBatchMode = false;
-    private boolean isPerfMode = false;
+    private volatile boolean isRetiring = false;
+    private volatile boolean isBatchMode = false;
+    private volatile boolean isPerfMode = false;
+
+    // guards the hand-off between a retire request and the start of a job
+    private final Object stateLock = new Object();
+    private Thread workerThread;
+    private boolean isExecuting = false;
 
     /**
      * Dispatcher constructor.
      * @param queueManager The queue manager instance.
      * @param perfEvaluator The performance evaluator instance.
      */
-    public Dispatcher(QueueManager queueManager, PerfEvaluator perfEvaluator) {
+    public Dispatcher(JobQueue queueManager, PerfEvaluator perfEvaluator) {
+        this(queueManager, perfEvaluator, 0);
+    }
+
+    /**
+     * Dispatcher constructor for a worker of a dispatcher pool.
+     * @param queueManager The queue manager instance.
+     * @param perfEvaluator The performance evaluator instance.
+     * @param workerId The id of the worker within its pool.
+     */
+    public Dispatcher(JobQueue queueManager, PerfEvaluator perfEvaluator, int workerId) {
         this.queueManager = queueManager;
         this.perfEvaluator = perfEvaluator;
+        this.workerId = workerId;
     }
 
     /**
-     * Simulates the duration of the job based on its execution time.
+     * Simulates the duration of one time slice of the job: its remaining time, or the time slice the scheduler
+     * gives it under a preemptive policy. The job is completed once no time remains, or when it is interrupted.
      * @param job The Job.
+     * @return Whether the job completed.
      */
-    void simulateJobDuration(Job job) {
+    boolean simulateJobDuration(Job job) {
+        Scheduler jobScheduler = this.scheduler;
+        long slice = jobScheduler != null ? jobScheduler.getTimeSlice(job) : job.getRemainingTime();
+        boolean isCompleted = true;
         try {
-            job.setActualProcessingStartTime(LocalDateTime.now());
-            Thread.sleep(job.getExecutionTime()); // user input is in seconds, convert to milliseconds
+            if (job.getActualProcessingStartNanos() == Job.NO_TIME) {
+                // a preempted job keeps the start of its first slice, which its response time is measured to
+                job.setActualProcessingStartNanos(JobClock.nowEpochNanos());
+            }
+            Thread.sleep(slice); // user input is in seconds, convert to milliseconds
+            job.setRemainingTime(job.getRemainingTime() - slice);
+            isCompleted = job.getRemainingTime() <= 0;
         } catch (InterruptedException e) {
             Thread.currentThread().interrupt();
         } finally {
-            if (jobCompletionLatch != null) {
-                // this latch keeps track of the number of jobs that have completed
-                jobCompletionLatch.countDown();
+            if (isCompleted) {
+                this.complete(job);
             }
-            // mark job itself as completed
-            job.setIsCompleted(true);
-            job.setActualCompletionTime(LocalDateTime.now());
-            // add to perfEvaluator for tracking
-            this.perfEvaluator.addCompletedJob(job);
+        }
+        return isCompleted;
+    }
+
+    /**
+     * Marks a job as completed and reports it to the performance evaluator and the completion latch.
+     * @param job The Job.
+     */
+    private void complete(Job job) {
+        // mark job itself as completed
+        job.setIsCompleted(true);
+        job.setActualCompletionNanos(JobClock.nowEpochNanos());
+        // add to perfEvaluator for tracking
+        this.perfEvaluator.addCompletedJob(job);
+        CountDownLatch latch = jobCompletionLatch;
+        if (latch != null) {
+            // this latch keeps track of the number of jobs that have completed,
+            // counted down last so waiters see the job in the perfEvaluator
+            latch.countDown();
         }
     }
 
     /**
-     * Executes the batch job.
+     * Executes one time slice of the batch job.
      * @param job The batch Job to execute.
+     * @return Whether the job completed.
      */
-    void executeBatchJob(Job job) {
-        fileLogger.info(String.format("Job %s | Status: Started %n", job.getName()));
-        this.simulateJobDuration(job);
-        // write job completion to a file
-        fileLogger.info(String.format("Job %s | Status: Completed | Execution Duration: %d seconds. %n", job.getName(), job.getExecutionTime() / 1000));
+    boolean executeBatchJob(Job job) {
+        // log message patterns rather than formatted strings, the asynchronous file handler formats them off this thread
+        fileLogger.log(Level.INFO, "Job {0} | Status: Started", job.getName());
+        boolean isCompleted = this.simulateJobDuration(job);
+        if (isCompleted) {
+            // write job completion to a file
+            fileLogger.log(Level.INFO, "Job {0} | Status: Completed | Execution Duration: {1,number,#} seconds.",
+                    new Object[]{job.getName(), job.getExecutionTime() / 1000});
+        } else {
+            fileLogger.log(Level.INFO, "Job {0} | Status: Preempted | Remaining: {1,number,#} ms.",
+                    new Object[]{job.getName(), job.getRemainingTime()});
+        }
+        return isCompleted;
     }
 
     /**
-     * Executes a job.
+     * Executes one time slice of a job.
      * @param job The Job to execute.
+     * @return Whether the job completed.
      */
-    void executeJob(Job job) {
+    boolean executeJob(Job job) {
         System.out.printf("Dispatcher: executing job: %s.%n", job.getName());
-        this.simulateJobDuration(job);
+        boolean isCompleted = this.simulateJobDuration(job);
         if (!this.getIsPerfMode()) {
-            System.out.printf("Dispatcher: Job: %s has completed in %d seconds. %n", job.getName(), job.getExecutionTime() / 1000);
+            if (isCompleted) {
+                System.out.printf("Dispatcher: Job: %s has completed in %d seconds. %n", job.getName(), job.getExecutionTime() / 1000);
+            } else {
+                System.out.printf("Dispatcher: Job: %s preempted with %d ms remaining. %n", job.getName(), job.getRemainingTime());
+            }
+        }
+        return isCompleted;
+    }
+
+    /**
+     * Asks the dispatcher to stop once its current job (if any) has completed.
+     * An idle dispatcher waiting on the queue is woken up and stops immediately.
+     */
+    public void retire() {
+        synchronized (stateLock) {
+            isRetiring = true;
+            isRunning = false;
+            if (!isExecuting && workerThread != null) {
+                workerThread.interrupt();
+            }
+        }
+    }
+
+    /**
+     * Stops the dispatcher immediately, interrupting the job it is executing.
+     */
+    public void shutdown() {
+        synchronized (stateLock) {
+            isRunning = false;
+            if (workerThread != null) {
+                workerThread.interrupt();
+            }
+        }
+    }
+
+    /**
+     * Executes a job in the current mode and records the time spent on it for this worker.
+     * @param job The Job to execute.
+     */
+    private void executeAndRecord(Job job) {
+        long startNanos = System.nanoTime();
+        boolean isCompleted = false;
+        try {
+            isCompleted = isBatchMode ? this.executeBatchJob(job) : this.executeJob(job);
+        } finally {
+            // every slice is busy time, but a preempted job only counts as executed once it completes
+            this.perfEvaluator.recordWorkerSlice(workerId, System.nanoTime() - startNanos, isCompleted);
+        }
+        if (!isCompleted) {
+            // only a scheduler can preempt a job, and it queues the job again for its next slice
+            this.scheduler.requeueJob(job);
+            return;
+        }
+        JobJournal jobJournal = this.journal;
+        if (jobJournal != null && !Thread.currentThread().isInterrupted()) {
+            // a job cut short by a shutdown is not journaled as completed, so it runs again after a restart
+            jobJournal.recordComplete(job);
         }
     }
 
+    /**
+     * Records a job taken from the queue in the journal, if any.
+     * @param job The Job.
+     */
+    private void journalDispatch(Job job) {
+        JobJournal jobJournal = this.journal;
+        if (jobJournal != null) {
+            jobJournal.recordDispatch(job);
+        }
+    }
+
+    /**
+     * Dequeues the next job, recording the time spent waiting for it as idle time of this worker.
+     * @return The job.
+     * @throws InterruptedException An exception when interrupted while waiting.
+     */
+    private Job awaitJob() throws InterruptedException {
+        long startNanos = System.nanoTime();
+        try {
+            return this.queueManager.dequeueJob();
+        } finally {
+            this.perfEvaluator.recordWorkerIdle(workerId, System.nanoTime() - startNanos);
+        }
+    }
+
+    /**
+     * Waits for a free slot of the job runner, then dequeues the next job and hands it to the runner.
+     * The slot is taken first so that jobs stay in the policy-ordered queue while every slot is busy.
+     * @param runner The job runner.
+     * @throws InterruptedException An exception when interrupted while waiting.
+     */
+    private void dispatchToRunner(JobRunner runner) throws InterruptedException {
+        runner.acquire();
+        Job jobFromQueue;
+        try {
+            jobFromQueue = this.awaitJob();
+        } catch (InterruptedException e) {
+            runner.release();
+            throw e;
+        }
+        if (jobFromQueue.getIsCompleted()) {
+            runner.release();
+            isRunning = false;
+            return;
+        }
+        this.perfEvaluator.recordQueueDepth(this.queueManager.getQueueSize());
+        this.journalDispatch(jobFromQueue);
+        runner.submit(() -> this.executeAndRecord(jobFromQueue));
+    }
+
     @Override
     public void run() {
+        synchronized (stateLock) {
+            workerThread = Thread.currentThread();
+        }
+        // a work-stealing queue serves this worker from its own local queue
+        this.queueManager.bindWorker(workerId);
         while(isRunning){
             try {
                 if (!isBatchMode && !isPerfMode) {
                     // only display under normal run circumstances
                     System.out.printf("Dispatcher: current queue size: %s. %n", this.queueManager.getQueueSize());
                 }
+                JobRunner runner = this.jobRunner;
+                if (runner != null) {
+                    this.dispatchToRunner(runner);
+                    continue;
+                }
                 // pull jobs from the queue and execute them
-                Job jobFromQueue = this.queueManager.dequeueJob();
+                Job jobFromQueue = this.awaitJob();
                 if (jobFromQueue.getIsCompleted()) {
                     isRunning = false;
                     break;
                 }
-                if (isBatchMode) {
-                    this.executeBatchJob(jobFromQueue);
-                } else {
-                    this.executeJob(jobFromQueue);
+                this.perfEvaluator.recordQueueDepth(this.queueManager.getQueueSize());
+                this.journalDispatch(jobFromQueue);
+                synchronized (stateLock) {
+                    if (isRetiring) {
+                        // a retire request raced with the dequeue, finish this job before stopping
+                        Thread.interrupted();
+                    }
+                    isExecuting = true;
+                }
+                try {
+                    this.executeAndRecord(jobFromQueue);
+                } finally {
+                    synchronized (stateLock) {
+                        isExecuting = false;
+                    }
                 }
             } catch(InterruptedException e) {
-                Thread.currentThread().interrupt();
+                if (!isRetiring) {
+                    Thread.currentThread().interrupt();
+                }
                 isRunning = false;
             }
         }
@@ -110,6 +300,35 @@ public class Dispatcher implements Runnable {
         this.jobCompletionLatch = latch;
     }
 
+    /**
+     * Sets the runner that executes dispatched jobs, or null to execute them on the dispatcher thread.
+     * @param jobRunner The job runner.
+     */
+    public void setJobRunner(JobRunner jobRunner) {
+        this.jobRunner = jobRunner;
+    }
+
+    public JobRunner getJobRunner() {
+        return this.jobRunner;
+    }
+
+    /**
+     * Sets the journal that dispatched and completed jobs are recorded in, or null to record nothing.
+     * @param journal The job journal.
+     */
+    public void setJournal(JobJournal journal) {
+        this.journal = journal;
+    }
+
+    /**
+     * Sets the scheduler that decides the time slice of each job and takes back preempted jobs, or null to run
+     * every job to completion.
+     * @param scheduler The scheduler.
+     */
+    public void setScheduler(Scheduler scheduler) {
+        this.scheduler = scheduler;
+    }
+
     public void setIsBatchMode(boolean isBatchMode) {
         this.isBatchMode = isBatchMode;
     }
@@ -125,5 +344,9 @@ public class Dispatcher implements Runnable {
     public boolean getIsPerfMode() {
         return this.isPerfMode;
     }
+
+    public int getWorkerId() {
+        return this.workerId;
+    }
     //endregion
 }
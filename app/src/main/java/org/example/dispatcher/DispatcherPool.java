@@ -0,0 +1,215 @@
+package org.example.dispatcher;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+
+import org.example.jobJournal.JobJournal;
+import org.example.perfEvaluator.PerfEvaluator;
+import org.example.queueManager.JobQueue;
+import org.example.scheduler.Scheduler;
+
+/**
+ * The DispatcherPool governs a group of Dispatcher workers that all drain the same JobQueue.
+ * Because every worker dequeues from the shared policy-ordered queue, the next job handed out is
+ * always the head of the queue under the active scheduling policy, whichever worker takes it.
+ * With a {@link org.example.queueManager.WorkStealingJobQueue} every worker instead takes the head of its own
+ * local queue and steals from its peers when that is empty, trading exact policy order for less contention.
+ */
+public class DispatcherPool {
+    private final JobQueue queueManager;
+    private final PerfEvaluator perfEvaluator;
+    private final List<Dispatcher> workers = new ArrayList<>();
+    private final List<Thread> workerThreads = new ArrayList<>();
+    private final List<Thread> retiredThreads = new ArrayList<>();
+    private int size;
+    private int nextWorkerId = 0;
+    private boolean isStarted = false;
+
+    private CountDownLatch jobCompletionLatch;
+    private boolean isBatchMode = false;
+    private boolean isPerfMode = false;
+    private int maxConcurrentJobs = 0;
+    private JobRunner jobRunner;
+    private JobJournal journal;
+    private Scheduler scheduler;
+
+    /**
+     * DispatcherPool constructor.
+     * @param queueManager The queue manager instance.
+     * @param perfEvaluator The performance evaluator instance.
+     * @param size The number of workers to run once started.
+     */
+    public DispatcherPool(JobQueue queueManager, PerfEvaluator perfEvaluator, int size) {
+        if (size < 1) {
+            throw new IllegalArgumentException("Dispatcher pool size must be at least 1.");
+        }
+        this.queueManager = queueManager;
+        this.perfEvaluator = perfEvaluator;
+        this.size = size;
+    }
+
+    /**
+     * Starts the worker threads. Has no effect if the pool is already started.
+     */
+    public synchronized void start() {
+        if (isStarted) {
+            return;
+        }
+        isStarted = true;
+        if (maxConcurrentJobs > 0) {
+            jobRunner = new JobRunner(maxConcurrentJobs);
+        }
+        for (int i = 0; i < size; i++) {
+            this.startWorker();
+        }
+    }
+
+    /**
+     * Changes the number of workers. When shrinking, the most recently started workers finish
+     * the job they are executing and then stop; idle workers stop immediately.
+     * @param newSize The new number of workers.
+     */
+    public synchronized void resize(int newSize) {
+        if (newSize < 1) {
+            throw new IllegalArgumentException("Dispatcher pool size must be at least 1.");
+        }
+        this.size = newSize;
+        if (!isStarted) {
+            return;
+        }
+        while (workers.size() < newSize) {
+            this.startWorker();
+        }
+        while (workers.size() > newSize) {
+            int last = workers.size() - 1;
+            workers.remove(last).retire();
+            retiredThreads.add(workerThreads.remove(last));
+        }
+        retiredThreads.removeIf(thread -> !thread.isAlive());
+    }
+
+    /**
+     * Stops every worker immediately and waits for their threads to end.
+     * Jobs executing on the job runner are interrupted.
+     */
+    public synchronized void shutdown() {
+        for (Dispatcher worker : workers) {
+            worker.shutdown();
+        }
+        List<Thread> threads = new ArrayList<>(workerThreads);
+        threads.addAll(retiredThreads);
+        for (Thread thread : threads) {
+            thread.interrupt();
+        }
+        try {
+            for (Thread thread : threads) {
+                thread.join();
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+        if (jobRunner != null) {
+            jobRunner.shutdown();
+            jobRunner = null;
+        }
+        workers.clear();
+        workerThreads.clear();
+        retiredThreads.clear();
+        isStarted = false;
+    }
+
+    /**
+     * Creates a worker with the pool's current modes and starts its thread.
+     */
+    private void startWorker() {
+        Dispatcher worker = new Dispatcher(queueManager, perfEvaluator, nextWorkerId++);
+        worker.setCountdownLatch(jobCompletionLatch);
+        worker.setIsBatchMode(isBatchMode);
+        worker.setIsPerfMode(isPerfMode);
+        worker.setJobRunner(jobRunner);
+        worker.setJournal(journal);
+        worker.setScheduler(scheduler);
+        Thread thread = new Thread(worker, "dispatcher-worker-" + worker.getWorkerId());
+        workers.add(worker);
+        workerThreads.add(thread);
+        thread.start();
+    }
+
+    //region Getters and Setters
+    public synchronized void setCountdownLatch(CountDownLatch latch) {
+        this.jobCompletionLatch = latch;
+        workers.forEach(worker -> worker.setCountdownLatch(latch));
+    }
+
+    public synchronized void setIsBatchMode(boolean isBatchMode) {
+        this.isBatchMode = isBatchMode;
+        workers.forEach(worker -> worker.setIsBatchMode(isBatchMode));
+    }
+
+    public synchronized boolean getIsBatchMode() {
+        return this.isBatchMode;
+    }
+
+    public synchronized void setIsPerfMode(boolean isPerfMode) {
+        this.isPerfMode = isPerfMode;
+        workers.forEach(worker -> worker.setIsPerfMode(isPerfMode));
+    }
+
+    public synchronized boolean getIsPerfMode() {
+        return this.isPerfMode;
+    }
+
+    /**
+     * Makes the workers hand each job to a shared {@link JobRunner} instead of executing it themselves,
+     * so up to the given number of jobs execute at once whatever the number of workers.
+     * Takes effect the next time the pool is started.
+     * @param maxConcurrentJobs The maximum number of jobs executing at once, 0 to execute jobs on the workers.
+     */
+    public synchronized void setMaxConcurrentJobs(int maxConcurrentJobs) {
+        if (maxConcurrentJobs < 0) {
+            throw new IllegalArgumentException("Maximum concurrent jobs cannot be negative.");
+        }
+        this.maxConcurrentJobs = maxConcurrentJobs;
+    }
+
+    public synchronized int getMaxConcurrentJobs() {
+        return this.maxConcurrentJobs;
+    }
+
+    /**
+     * Sets the journal that the workers record dispatched and completed jobs in, or null to record nothing.
+     * @param journal The job journal.
+     */
+    public synchronized void setJournal(JobJournal journal) {
+        this.journal = journal;
+        workers.forEach(worker -> worker.setJournal(journal));
+    }
+
+    /**
+     * Sets the scheduler that decides the time slice of each job the workers execute, or null to run every job
+     * to completion.
+     * @param scheduler The scheduler.
+     */
+    public synchronized void setScheduler(Scheduler scheduler) {
+        this.scheduler = scheduler;
+        workers.forEach(worker -> worker.setScheduler(scheduler));
+    }
+
+    public synchronized JobRunner getJobRunner() {
+        return this.jobRunner;
+    }
+
+    public synchronized boolean getIsStarted() {
+        return this.isStarted;
+    }
+
+    public synchronized int getSize() {
+        return this.size;
+    }
+
+    public synchronized int getActiveWorkerCount() {
+        return this.workers.size();
+    }
+    //endregion
+}
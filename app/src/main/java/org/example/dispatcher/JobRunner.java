@@ -0,0 +1,151 @@
+package org.example.dispatcher;
+
+import java.lang.reflect.Method;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * The JobRunner executes dispatched jobs off the dispatcher thread, one thread per job, with a
+ * semaphore bounding how many jobs may be in flight at once. A dispatcher acquires a slot before
+ * it dequeues a job, so the queue keeps ordering jobs by policy while every slot is busy.
+ * On a Java 21 or later runtime each job runs on a virtual thread, so thousands of sleeping jobs
+ * cost no platform threads; on older runtimes it falls back to a cached pool of platform threads.
+ */
+public class JobRunner {
+    // probed once by creating an executor, Java 19 and 20 have the factory method but reject it without preview
+    private static final boolean IS_VIRTUAL_THREAD_SUPPORTED = probeVirtualThreads();
+
+    private final ExecutorService executor;
+    private final Semaphore slots;
+    private final int maxConcurrentJobs;
+    private final boolean isVirtual;
+
+    /**
+     * JobRunner constructor.
+     * @param maxConcurrentJobs The maximum number of jobs executing at once.
+     */
+    public JobRunner(int maxConcurrentJobs) {
+        if (maxConcurrentJobs < 1) {
+            throw new IllegalArgumentException("Maximum concurrent jobs must be at least 1.");
+        }
+        this.maxConcurrentJobs = maxConcurrentJobs;
+        this.slots = new Semaphore(maxConcurrentJobs);
+        ExecutorService virtualExecutor = newVirtualThreadExecutor();
+        this.isVirtual = virtualExecutor != null;
+        this.executor = isVirtual ? virtualExecutor : newPlatformThreadExecutor();
+    }
+
+    /**
+     * Checks if a virtual thread executor can be created on this runtime, so that a JobRunner executes jobs on them.
+     * @return Whether the runtime supports virtual threads.
+     */
+    public static boolean supportsVirtualThreads() {
+        return IS_VIRTUAL_THREAD_SUPPORTED;
+    }
+
+    /**
+     * Checks if a virtual thread executor can be created by creating one and shutting it down.
+     * @return Whether the executor was created.
+     */
+    private static boolean probeVirtualThreads() {
+        ExecutorService probe = newVirtualThreadExecutor();
+        if (probe == null) {
+            return false;
+        }
+        probe.shutdown();
+        return true;
+    }
+
+    /**
+     * Creates an executor that starts a virtual thread per task. The project builds on a Java 17
+     * toolchain unless -PjavaVersion=21 is given, so the Java 21 factory method is looked up at runtime.
+     * @return The executor, or null if the runtime has no virtual threads.
+     */
+    private static ExecutorService newVirtualThreadExecutor() {
+        try {
+            Method factory = Executors.class.getMethod("newVirtualThreadPerTaskExecutor");
+            return (ExecutorService) factory.invoke(null);
+        } catch (ReflectiveOperationException | UnsupportedOperationException e) {
+            return null;
+        }
+    }
+
+    /**
+     * Creates an executor of daemon platform threads, reused between jobs.
+     * @return The executor.
+     */
+    private static ExecutorService newPlatformThreadExecutor() {
+        AtomicInteger nextThreadId = new AtomicInteger();
+        return Executors.newCachedThreadPool(task -> {
+            Thread thread = new Thread(task, "job-runner-" + nextThreadId.getAndIncrement());
+            thread.setDaemon(true);
+            return thread;
+        });
+    }
+
+    /**
+     * Waits for a free execution slot. Every acquired slot must be handed to submit or released.
+     * @throws InterruptedException An exception when interrupted while waiting.
+     */
+    public void acquire() throws InterruptedException {
+        slots.acquire();
+    }
+
+    /**
+     * Returns a slot acquired without submitting a job.
+     */
+    public void release() {
+        slots.release();
+    }
+
+    /**
+     * Runs a job on its own thread using a previously acquired slot, which is released when the job ends.
+     * @param job The job execution.
+     */
+    public void submit(Runnable job) {
+        try {
+            executor.execute(() -> {
+                try {
+                    job.run();
+                } finally {
+                    slots.release();
+                }
+            });
+        } catch (RejectedExecutionException e) {
+            slots.release();
+            throw e;
+        }
+    }
+
+    /**
+     * Interrupts every executing job and stops accepting new ones.
+     */
+    public void shutdown() {
+        executor.shutdownNow();
+    }
+
+    //region Getters and Setters
+    public int getMaxConcurrentJobs() {
+        return this.maxConcurrentJobs;
+    }
+
+    /**
+     * Gets the number of jobs currently holding a slot.
+     * @return The in-flight job count.
+     */
+    public int getInFlightCount() {
+        return this.maxConcurrentJobs - this.slots.availablePermits();
+    }
+
+    /**
+     * Checks if jobs run on virtual threads.
+     * @return Whether the runtime supports virtual threads.
+     */
+    public boolean getIsVirtual() {
+        return this.isVirtual;
+    }
+    //endregion
+}
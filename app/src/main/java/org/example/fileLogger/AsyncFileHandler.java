@@ -0,0 +1,245 @@
+package org.example.fileLogger;
+
+import java.io.BufferedOutputStream;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.logging.ErrorManager;
+import java.util.logging.Formatter;
+import java.util.logging.Handler;
+import java.util.logging.LogManager;
+import java.util.logging.LogRecord;
+import java.util.logging.SimpleFormatter;
+import java.util.logging.StreamHandler;
+
+/**
+ * The AsyncFileHandler writes log records to a file on a background thread.
+ * Publishing a record only places it in a bounded buffer, so a logging thread never waits on the disk;
+ * the record is formatted and written by the writer thread, which drains the buffer in batches and
+ * flushes the file at most once per flush interval while records keep arriving, and whenever it goes idle.
+ * Records with parameters are formatted on the writer thread too, so callers should log a message
+ * pattern with parameters rather than a pre-formatted string.
+ * When the buffer is full a record is either dropped and counted, or the publishing thread waits for space.
+ * <p>
+ * It is configured through the logging properties, e.g. for the micro benchmarks log:
+ * <pre>
+ * org.example.fileLogger.AsyncFileHandler.pattern=micro_benchmarks.log
+ * org.example.fileLogger.AsyncFileHandler.append=true
+ * org.example.fileLogger.AsyncFileHandler.capacity=8192
+ * org.example.fileLogger.AsyncFileHandler.flushIntervalMs=1000
+ * org.example.fileLogger.AsyncFileHandler.overflowPolicy=DROP
+ * </pre>
+ */
+public class AsyncFileHandler extends Handler {
+    /**
+     * What happens to a record published while the buffer is full.
+     */
+    public enum OverflowPolicy {
+        DROP,
+        BLOCK
+    }
+
+    private static final String PREFIX = AsyncFileHandler.class.getName();
+    private static final int MAX_BATCH_SIZE = 256;
+
+    private final BlockingQueue<LogRecord> buffer;
+    private final StreamHandler writer;
+    private final long flushIntervalMillis;
+    private final OverflowPolicy overflowPolicy;
+    private final Thread writerThread;
+    private final AtomicLong droppedRecords = new AtomicLong();
+    private volatile boolean isClosed = false;
+
+    /**
+     * AsyncFileHandler constructor used by the LogManager, configured from the logging properties.
+     * @throws IOException If the log file cannot be opened.
+     */
+    public AsyncFileHandler() throws IOException {
+        this(property("pattern", "micro_benchmarks.log"),
+                Boolean.parseBoolean(property("append", "true")),
+                Integer.parseInt(property("capacity", "8192")),
+                Long.parseLong(property("flushIntervalMs", "1000")),
+                OverflowPolicy.valueOf(property("overflowPolicy", "DROP").toUpperCase()),
+                newFormatter(property("formatter", SimpleFormatter.class.getName())));
+    }
+
+    /**
+     * AsyncFileHandler constructor.
+     * @param fileName The log file.
+     * @param append Whether to append to an existing log file.
+     * @param capacity The maximum number of records waiting to be written.
+     * @param flushIntervalMillis The longest time written records stay unflushed while records keep arriving.
+     * @param overflowPolicy What happens to a record published while the buffer is full.
+     * @param formatter The record formatter.
+     * @throws IOException If the log file cannot be opened.
+     */
+    public AsyncFileHandler(String fileName, boolean append, int capacity, long flushIntervalMillis,
+                            OverflowPolicy overflowPolicy, Formatter formatter) throws IOException {
+        if (capacity < 1) {
+            throw new IllegalArgumentException("Log buffer capacity must be at least 1.");
+        }
+        this.buffer = new ArrayBlockingQueue<>(capacity);
+        this.flushIntervalMillis = Math.max(1, flushIntervalMillis);
+        this.overflowPolicy = overflowPolicy;
+        this.setFormatter(formatter);
+        // the stream handler only flushes when asked, unlike a FileHandler which flushes every record
+        this.writer = new StreamHandler(new BufferedOutputStream(new FileOutputStream(fileName, append)), formatter);
+        this.writerThread = new Thread(this::writeRecords, "async-log-writer");
+        this.writerThread.setDaemon(true);
+        this.writerThread.start();
+    }
+
+    /**
+     * Reads a property of this handler from the logging configuration.
+     * @param name The property name without the class name prefix.
+     * @param defaultValue The value used when the property is not set.
+     * @return The property value.
+     */
+    private static String property(String name, String defaultValue) {
+        String value = LogManager.getLogManager().getProperty(PREFIX + "." + name);
+        return value == null ? defaultValue : value.trim();
+    }
+
+    /**
+     * Instantiates the configured formatter, falling back to a SimpleFormatter.
+     * @param className The formatter class name.
+     * @return The formatter.
+     */
+    private static Formatter newFormatter(String className) {
+        try {
+            return (Formatter) ClassLoader.getSystemClassLoader().loadClass(className).getDeclaredConstructor().newInstance();
+        } catch (ReflectiveOperationException | ClassCastException e) {
+            return new SimpleFormatter();
+        }
+    }
+
+    /**
+     * Queues a record for the writer thread.
+     * @param record The log record.
+     */
+    @Override
+    public void publish(LogRecord record) {
+        if (isClosed || !this.isLoggable(record)) {
+            return;
+        }
+        if (overflowPolicy == OverflowPolicy.DROP) {
+            if (!buffer.offer(record)) {
+                droppedRecords.incrementAndGet();
+            }
+            return;
+        }
+        try {
+            buffer.put(record);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            droppedRecords.incrementAndGet();
+        }
+    }
+
+    /**
+     * Flushes the records the writer thread has already written. Records still in the buffer
+     * are written and flushed by the writer thread within the flush interval.
+     */
+    @Override
+    public void flush() {
+        writer.flush();
+    }
+
+    /**
+     * Stops accepting records, waits for the writer thread to write every buffered record and closes the file.
+     */
+    @Override
+    public synchronized void close() {
+        if (isClosed) {
+            return;
+        }
+        isClosed = true;
+        writerThread.interrupt();
+        try {
+            writerThread.join();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+        writer.close();
+    }
+
+    /**
+     * The writer thread loop. Writes records in batches and flushes once the flush interval has passed
+     * or the buffer has run empty.
+     */
+    private void writeRecords() {
+        List<LogRecord> batch = new ArrayList<>(MAX_BATCH_SIZE);
+        long lastFlushNanos = System.nanoTime();
+        boolean hasUnflushed = false;
+        while (!isClosed) {
+            try {
+                LogRecord first = buffer.poll(flushIntervalMillis, TimeUnit.MILLISECONDS);
+                if (first != null) {
+                    batch.add(first);
+                    buffer.drainTo(batch, MAX_BATCH_SIZE - 1);
+                    this.write(batch);
+                    hasUnflushed = true;
+                }
+            } catch (InterruptedException e) {
+                // woken up by close, the remaining records are written below
+                break;
+            }
+            long now = System.nanoTime();
+            if (hasUnflushed && (buffer.isEmpty() || now - lastFlushNanos >= TimeUnit.MILLISECONDS.toNanos(flushIntervalMillis))) {
+                writer.flush();
+                lastFlushNanos = now;
+                hasUnflushed = false;
+            }
+        }
+        while (buffer.drainTo(batch, MAX_BATCH_SIZE) > 0) {
+            this.write(batch);
+        }
+        writer.flush();
+    }
+
+    /**
+     * Writes a batch of records and empties the batch.
+     * @param batch The records.
+     */
+    private void write(List<LogRecord> batch) {
+        for (LogRecord record : batch) {
+            try {
+                writer.publish(record);
+            } catch (RuntimeException e) {
+                this.reportError("Could not write log record", e, ErrorManager.WRITE_FAILURE);
+            }
+        }
+        batch.clear();
+    }
+
+    //region Getters and Setters
+    /**
+     * Gets the number of records dropped because the buffer was full.
+     * @return The dropped record count.
+     */
+    public long getDroppedCount() {
+        return this.droppedRecords.get();
+    }
+
+    /**
+     * Gets the number of records waiting to be written.
+     * @return The queued record count.
+     */
+    public int getQueuedCount() {
+        return this.buffer.size();
+    }
+
+    public OverflowPolicy getOverflowPolicy() {
+        return this.overflowPolicy;
+    }
+
+    public long getFlushIntervalMillis() {
+        return this.flushIntervalMillis;
+    }
+    //endregion
+}
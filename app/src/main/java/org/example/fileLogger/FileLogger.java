@@ -8,6 +8,7 @@ import java.util.logging.Logger;
 
 /**
  * The FileLogger handles writing micro benchmarks to a log file.
+ * The log file is written by an {@link AsyncFileHandler}, so logging a record does not wait on the disk.
  */
 public class FileLogger {
     private static final Logger logger = Logger.getLogger(FileLogger.class.getName());
@@ -17,10 +18,11 @@ public class FileLogger {
             // configure the file logging based on the logging.properties file under resources folder
             LogManager.getLogManager().readConfiguration(FileLogger.class.getResourceAsStream("/benchmarkLogging.properties"));
 
-            // shutdown hook to close log handler and cleanup lock file
+            // shutdown hook to write the buffered records and close the log file,
+            // the handlers are configured on the root logger
             Runtime.getRuntime().addShutdownHook(new Thread(() -> {
                 logger.info("Shutting down logger");
-                for (Handler h : logger.getHandlers()) {
+                for (Handler h : Logger.getLogger("").getHandlers()) {
                     h.close();
                 }
             }));
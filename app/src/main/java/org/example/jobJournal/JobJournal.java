@@ -0,0 +1,501 @@
+package org.example.jobJournal;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.MappedByteBuffer;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.Condition;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.stream.Stream;
+
+import org.example.common.CompletedJobStats;
+import org.example.common.Job;
+
+/**
+ * The JobJournal is an append-only, memory-mapped log of job submit, dispatch, complete and cancel events
+ * and scheduling policy changes, so the queued jobs survive a crash.
+ * Appending a record copies it into the mapped file under a short lock; a background committer thread forces
+ * the appended records to disk once per commit interval, so one fsync covers every record appended since the
+ * last one. By default a submitter does not wait for the fsync and a crash loses at most the last commit
+ * interval; when waiting for commits, a submitter returns once its record is on disk, and submitters that
+ * append while an fsync is running share the next one.
+ * <p>
+ * The journal is a series of numbered segment files next to the journal path, e.g. {@code jobs.journal.3},
+ * and a snapshot file, {@code jobs.journal.snapshot}. A snapshot rolls appends over to a new segment, then,
+ * off the append path, replays the rolled segments onto the previous snapshot, writes the pending jobs, the
+ * last policy and the aggregated metrics of the completed jobs as the new snapshot and deletes the segments
+ * it covers. A compactor thread takes a snapshot once per snapshot interval, so opening the journal loads the
+ * snapshot and only replays the records appended since, however many jobs it has seen.
+ * <p>
+ * On opening, every job submitted and neither completed nor cancelled is recovered, including jobs that were
+ * executing at the time of the crash. Records are checksummed, so a record torn by the crash ends the replay
+ * and is overwritten by the next append.
+ */
+public class JobJournal implements Closeable {
+    public static final int DEFAULT_CHUNK_SIZE = 4 << 20;
+    public static final long DEFAULT_COMMIT_INTERVAL_MILLIS = 10;
+    public static final long DEFAULT_SNAPSHOT_INTERVAL_MILLIS = 60_000;
+
+    /**
+     * The state recovered from an existing journal.
+     * @param pendingJobs The jobs submitted and neither completed nor cancelled, in submission order.
+     * @param interruptedJobs How many of the pending jobs had been dispatched, i.e. were executing at the crash.
+     * @param records The number of records the snapshot and the replayed segments cover.
+     * @param policy The name of the last scheduling policy set, or null if none was journaled.
+     * @param completedJobStats The aggregated metrics of the completed jobs.
+     */
+    public record Recovery(List<Job> pendingJobs, int interruptedJobs, long records, String policy,
+                           CompletedJobStats completedJobStats) {
+    }
+
+    private final Path path;
+    private final Path snapshotFile;
+    private final int chunkSize;
+    private final long commitIntervalMillis;
+    private final long snapshotIntervalMillis;
+    private final boolean waitForCommit;
+    private final Recovery recovery;
+    private final ReentrantLock lock = new ReentrantLock();
+    private final Condition commitRequested = lock.newCondition();
+    private final Condition committed = lock.newCondition();
+    private final Condition closing = lock.newCondition();
+    // held for a whole snapshot, so only one is taken at a time
+    private final ReentrantLock snapshotLock = new ReentrantLock();
+    private final Thread committerThread;
+    private final Thread compactorThread;
+    private JournalSegment segment;
+    // bytes appended and forced to disk since opening, across segments
+    private long appendedBytes = 0;
+    private long durableBytes = 0;
+    private boolean isCommitting = false;
+    private long appendedRecords = 0;
+    private long commitCount = 0;
+    private long snapshotCount = 0;
+    private boolean isClosed = false;
+
+    /**
+     * JobJournal constructor with the default chunk size, commit and snapshot intervals, not waiting for commits.
+     * @param path The journal path the segment and snapshot files are named after.
+     * @throws IOException If the journal cannot be opened or is not a job journal.
+     */
+    public JobJournal(Path path) throws IOException {
+        this(path, DEFAULT_CHUNK_SIZE, DEFAULT_COMMIT_INTERVAL_MILLIS, DEFAULT_SNAPSHOT_INTERVAL_MILLIS, false);
+    }
+
+    /**
+     * JobJournal constructor. Loads the snapshot, if any, replays the segments after it and appends after
+     * the last record of the last segment.
+     * @param path The journal path the segment and snapshot files are named after.
+     * @param chunkSize The size of the mapped chunks of new segments; an existing segment keeps its own.
+     * @param commitIntervalMillis The longest time appended records wait to be forced to disk.
+     * @param snapshotIntervalMillis The time between snapshots, or 0 to only take them by calling {@link #snapshot()}.
+     * @param waitForCommit Whether appending a record waits until it has been forced to disk.
+     * @throws IOException If the journal cannot be opened or is not a job journal.
+     */
+    public JobJournal(Path path, int chunkSize, long commitIntervalMillis, long snapshotIntervalMillis,
+                      boolean waitForCommit) throws IOException {
+        if (chunkSize < 4096) {
+            throw new IllegalArgumentException("Journal chunk size must be at least 4096 bytes.");
+        }
+        if (snapshotIntervalMillis < 0) {
+            throw new IllegalArgumentException("Journal snapshot interval cannot be negative.");
+        }
+        this.path = path.toAbsolutePath();
+        this.snapshotFile = this.path.resolveSibling(this.path.getFileName() + ".snapshot");
+        this.chunkSize = chunkSize;
+        this.commitIntervalMillis = Math.max(1, commitIntervalMillis);
+        this.snapshotIntervalMillis = snapshotIntervalMillis;
+        this.waitForCommit = waitForCommit;
+        JournalState state = JournalState.readSnapshot(snapshotFile);
+        // left behind when a snapshot could not delete them
+        this.deleteSegments(state.getGeneration());
+        try {
+            for (long generation : this.listSegments()) {
+                if (segment != null) {
+                    segment.close();
+                }
+                segment = JournalSegment.open(this.segmentFile(generation), state::apply);
+            }
+            if (segment == null) {
+                long generation = state.getGeneration() + 1;
+                segment = JournalSegment.create(this.segmentFile(generation), generation, chunkSize);
+            }
+        } catch (IOException | RuntimeException e) {
+            if (segment != null) {
+                segment.close();
+            }
+            throw e;
+        }
+        this.recovery = state.toRecovery();
+        this.committerThread = new Thread(this::commitRecords, "job-journal-committer");
+        this.committerThread.setDaemon(true);
+        this.committerThread.start();
+        if (snapshotIntervalMillis > 0) {
+            this.compactorThread = new Thread(this::compactPeriodically, "job-journal-compactor");
+            this.compactorThread.setDaemon(true);
+            this.compactorThread.start();
+        } else {
+            this.compactorThread = null;
+        }
+    }
+
+    /**
+     * Records a job submitted to the queue.
+     * @param job The job.
+     */
+    public void recordSubmit(Job job) {
+        this.append(JournalState.encode(JournalState.SUBMIT, job));
+    }
+
+    /**
+     * Records several jobs submitted to the queue together. The records are appended under a single lock
+     * acquisition and, when appends wait for their commit, share a single commit.
+     * @param jobs The jobs, in submission order.
+     */
+    public void recordSubmits(Collection<Job> jobs) {
+        byte[][] records = new byte[jobs.size()][];
+        int i = 0;
+        for (Job job : jobs) {
+            records[i++] = JournalState.encode(JournalState.SUBMIT, job);
+        }
+        this.append(records);
+    }
+
+    /**
+     * Records a job taken from the queue by a dispatcher.
+     * @param job The job.
+     */
+    public void recordDispatch(Job job) {
+        this.append(JournalState.encode(JournalState.DISPATCH, job));
+    }
+
+    /**
+     * Records a job that has completed, with its processing start and completion times for the metrics.
+     * It is not recovered after a crash.
+     * @param job The job.
+     */
+    public void recordComplete(Job job) {
+        this.append(JournalState.encode(JournalState.COMPLETE, job));
+    }
+
+    /**
+     * Records a job removed from the queue without executing it. It is not recovered after a crash.
+     * @param job The job.
+     */
+    public void recordCancel(Job job) {
+        this.append(JournalState.encode(JournalState.CANCEL, job));
+    }
+
+    /**
+     * Records a scheduling policy change, recovered as the policy to restore the jobs under.
+     * @param policy The name of the new policy.
+     */
+    public void recordPolicy(String policy) {
+        this.append(JournalState.encodePolicy(policy));
+    }
+
+    /**
+     * Appends encoded records to the current segment. The records are encoded before taking the lock,
+     * so appends only copy bytes.
+     * @param records The encoded records.
+     */
+    private void append(byte[]... records) {
+        lock.lock();
+        try {
+            if (isClosed) {
+                throw new IllegalStateException("The job journal is closed.");
+            }
+            for (byte[] record : records) {
+                segment.append(record);
+                appendedBytes += record.length;
+                appendedRecords++;
+            }
+            if (waitForCommit) {
+                long appendedUpTo = appendedBytes;
+                commitRequested.signal();
+                while (durableBytes < appendedUpTo && !isClosed) {
+                    committed.awaitUninterruptibly();
+                }
+            }
+        } catch (IOException e) {
+            throw new UncheckedIOException("Could not extend the job journal.", e);
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * The committer thread loop. Forces the records appended since the last commit to disk once per
+     * commit interval, or as soon as a submitter waits for its record.
+     */
+    private void commitRecords() {
+        while (true) {
+            MappedByteBuffer toForce;
+            long appendedUpTo;
+            lock.lock();
+            try {
+                while (!isClosed && durableBytes == appendedBytes) {
+                    commitRequested.await(commitIntervalMillis, TimeUnit.MILLISECONDS);
+                }
+                if (durableBytes == appendedBytes) {
+                    return;
+                }
+                toForce = segment.getCurrentChunk();
+                appendedUpTo = appendedBytes;
+                isCommitting = true;
+            } catch (InterruptedException e) {
+                return;
+            } finally {
+                lock.unlock();
+            }
+            try {
+                // forced outside the lock, so appends continue during the fsync and join the next commit
+                toForce.force();
+            } finally {
+                lock.lock();
+                try {
+                    isCommitting = false;
+                    durableBytes = Math.max(durableBytes, appendedUpTo);
+                    commitCount++;
+                    committed.signalAll();
+                } finally {
+                    lock.unlock();
+                }
+            }
+        }
+    }
+
+    /**
+     * The compactor thread loop. Takes a snapshot once per snapshot interval if records were appended since
+     * the last one. A failed snapshot keeps its segments, so it is retried at the next interval.
+     */
+    private void compactPeriodically() {
+        while (true) {
+            lock.lock();
+            try {
+                long remainingNanos = TimeUnit.MILLISECONDS.toNanos(snapshotIntervalMillis);
+                while (!isClosed && remainingNanos > 0) {
+                    remainingNanos = closing.awaitNanos(remainingNanos);
+                }
+                if (isClosed) {
+                    return;
+                }
+            } catch (InterruptedException e) {
+                return;
+            } finally {
+                lock.unlock();
+            }
+            try {
+                this.snapshot();
+            } catch (IOException | UncheckedIOException e) {
+                // the segments are kept, retried at the next interval
+            }
+        }
+    }
+
+    /**
+     * Takes a snapshot. Appends move to a new segment under the lock; the rolled segments are then replayed
+     * onto the previous snapshot, the new snapshot is written and the rolled segments are deleted while
+     * appends continue.
+     * @return Whether a snapshot was taken, false if nothing was appended since the last one or the journal is closed.
+     * @throws IOException If the segments cannot be read or the snapshot cannot be written.
+     */
+    public boolean snapshot() throws IOException {
+        snapshotLock.lock();
+        try {
+            long rolledGeneration;
+            lock.lock();
+            try {
+                if (isClosed || segment.getRecords() == 0) {
+                    return false;
+                }
+                rolledGeneration = this.rollSegment();
+            } finally {
+                lock.unlock();
+            }
+            JournalState state = JournalState.readSnapshot(snapshotFile);
+            for (long generation : this.listSegments()) {
+                if (generation > rolledGeneration) {
+                    break;
+                }
+                JournalSegment.open(this.segmentFile(generation), state::apply).close();
+            }
+            state.setGeneration(rolledGeneration);
+            state.writeSnapshot(snapshotFile);
+            this.deleteSegments(rolledGeneration);
+            snapshotCount++;
+            return true;
+        } finally {
+            snapshotLock.unlock();
+        }
+    }
+
+    /**
+     * Closes the current segment and moves appends to a new one. Must be called while holding the lock.
+     * @return The generation of the closed segment.
+     * @throws IOException If the new segment cannot be created.
+     */
+    private long rollSegment() throws IOException {
+        // the committer may be forcing a chunk of the segment being closed
+        while (isCommitting) {
+            committed.awaitUninterruptibly();
+        }
+        JournalSegment rolled = segment;
+        long generation = rolled.getGeneration() + 1;
+        segment = JournalSegment.create(this.segmentFile(generation), generation, chunkSize);
+        // closing forces the whole segment, which commits every record appended to it
+        rolled.close();
+        durableBytes = appendedBytes;
+        committed.signalAll();
+        return rolled.getGeneration();
+    }
+
+    private Path segmentFile(long generation) {
+        return path.resolveSibling(path.getFileName() + "." + generation);
+    }
+
+    /**
+     * Lists the generations of the existing segment files.
+     * @return The generations, in ascending order.
+     * @throws IOException If the journal directory cannot be listed.
+     */
+    private List<Long> listSegments() throws IOException {
+        String prefix = path.getFileName() + ".";
+        List<Long> generations = new ArrayList<>();
+        try (Stream<Path> files = Files.list(path.getParent())) {
+            for (Path file : (Iterable<Path>) files::iterator) {
+                String name = file.getFileName().toString();
+                if (name.startsWith(prefix)) {
+                    try {
+                        generations.add(Long.parseLong(name.substring(prefix.length())));
+                    } catch (NumberFormatException e) {
+                        // the snapshot or another file sharing the prefix
+                    }
+                }
+            }
+        }
+        generations.sort(null);
+        return generations;
+    }
+
+    /**
+     * Deletes the segments up to a generation, which a snapshot covers.
+     * @param generation The last generation to delete.
+     * @throws IOException If the journal directory cannot be listed.
+     */
+    private void deleteSegments(long generation) throws IOException {
+        for (long existing : this.listSegments()) {
+            if (existing > generation) {
+                break;
+            }
+            try {
+                Files.deleteIfExists(this.segmentFile(existing));
+            } catch (IOException e) {
+                // still mapped on some platforms until the mapping is collected, deleted by a later snapshot
+            }
+        }
+    }
+
+    /**
+     * Commits the appended records and closes the journal. A snapshot in progress is completed first.
+     * @throws IOException If the current segment cannot be closed.
+     */
+    @Override
+    public void close() throws IOException {
+        lock.lock();
+        try {
+            if (isClosed) {
+                return;
+            }
+            isClosed = true;
+            commitRequested.signal();
+            closing.signal();
+        } finally {
+            lock.unlock();
+        }
+        try {
+            committerThread.join();
+            if (compactorThread != null) {
+                compactorThread.join();
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+        snapshotLock.lock();
+        lock.lock();
+        try {
+            committed.signalAll();
+            segment.close();
+        } finally {
+            lock.unlock();
+            snapshotLock.unlock();
+        }
+    }
+
+    //region Getters and Setters
+    /**
+     * Gets the state recovered when the journal was opened.
+     * @return The recovery, with no pending jobs for a new journal.
+     */
+    public Recovery getRecovery() {
+        return this.recovery;
+    }
+
+    public Path getPath() {
+        return this.path;
+    }
+
+    public boolean getWaitForCommit() {
+        return this.waitForCommit;
+    }
+
+    public long getSnapshotInterval() {
+        return this.snapshotIntervalMillis;
+    }
+
+    /**
+     * Gets the number of records appended since the journal was opened.
+     * @return The appended record count.
+     */
+    public long getAppendedRecords() {
+        lock.lock();
+        try {
+            return this.appendedRecords;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * Gets the number of fsyncs the committer has done, each covering every record appended before it started.
+     * @return The commit count.
+     */
+    public long getCommitCount() {
+        lock.lock();
+        try {
+            return this.commitCount;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * Gets the number of snapshots taken since the journal was opened.
+     * @return The snapshot count.
+     */
+    public long getSnapshotCount() {
+        snapshotLock.lock();
+        try {
+            return this.snapshotCount;
+        } finally {
+            snapshotLock.unlock();
+        }
+    }
+    //endregion
+}
@@ -0,0 +1,213 @@
+package org.example.jobJournal;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.function.Consumer;
+import java.util.zip.CRC32;
+
+/**
+ * A JournalSegment is one file of the job journal, memory-mapped in fixed-size chunks that are added as it grows.
+ * Each record is a body length, a CRC32 of the body and the body; a record never spans two chunks, the unused
+ * end of a chunk is marked as padding instead. A zero length or a checksum mismatch marks the end of the segment.
+ * A segment is not thread-safe; the journal serializes access to it.
+ */
+final class JournalSegment {
+    private static final int MAGIC = 0x43534A4C;
+    private static final int VERSION = 2;
+    // magic, version, chunk size and generation
+    static final int FILE_HEADER_SIZE = 20;
+    // body length and CRC32 of the body
+    static final int RECORD_HEADER_SIZE = 8;
+    // written as the length of the next record when the rest of the chunk is unused
+    private static final int CHUNK_PADDING = -1;
+
+    private final Path file;
+    private final FileChannel channel;
+    private final int chunkSize;
+    private final long generation;
+    private MappedByteBuffer chunk;
+    private long chunkBase = -1;
+    private long writePosition;
+    private long records = 0;
+
+    private JournalSegment(Path file, FileChannel channel, int chunkSize, long generation) {
+        this.file = file;
+        this.channel = channel;
+        this.chunkSize = chunkSize;
+        this.generation = generation;
+    }
+
+    /**
+     * Creates a new, empty segment.
+     * @param file The segment file, which must not exist.
+     * @param generation The generation of the segment.
+     * @param chunkSize The size of the mapped chunks.
+     * @return The segment.
+     * @throws IOException If the file cannot be created.
+     */
+    static JournalSegment create(Path file, long generation, int chunkSize) throws IOException {
+        FileChannel channel = FileChannel.open(file, StandardOpenOption.CREATE_NEW, StandardOpenOption.READ,
+                StandardOpenOption.WRITE);
+        JournalSegment segment = new JournalSegment(file, channel, chunkSize, generation);
+        try {
+            segment.mapChunk(0);
+            segment.chunk.putInt(0, MAGIC).putInt(4, VERSION).putInt(8, chunkSize).putLong(12, generation);
+            segment.chunk.force();
+        } catch (IOException | RuntimeException e) {
+            channel.close();
+            throw e;
+        }
+        segment.writePosition = FILE_HEADER_SIZE;
+        return segment;
+    }
+
+    /**
+     * Opens an existing segment, passes each intact record body to the consumer and positions appends after
+     * the last intact record.
+     * @param file The segment file.
+     * @param replay The consumer of the record bodies, in order.
+     * @return The segment.
+     * @throws IOException If the file cannot be read or is not a journal segment.
+     */
+    static JournalSegment open(Path file, Consumer<ByteBuffer> replay) throws IOException {
+        FileChannel channel = FileChannel.open(file, StandardOpenOption.READ, StandardOpenOption.WRITE);
+        try {
+            ByteBuffer header = ByteBuffer.allocate(FILE_HEADER_SIZE);
+            while (header.hasRemaining() && channel.read(header, header.position()) >= 0) {
+                // read until the header is complete or the file ends
+            }
+            if (header.hasRemaining() || header.getInt(0) != MAGIC) {
+                throw new IOException("Not a job journal segment: " + file);
+            }
+            if (header.getInt(4) != VERSION) {
+                throw new IOException("Unsupported job journal version " + header.getInt(4) + ".");
+            }
+            JournalSegment segment = new JournalSegment(file, channel, header.getInt(8), header.getLong(12));
+            segment.replay(replay);
+            return segment;
+        } catch (IOException | RuntimeException e) {
+            channel.close();
+            throw e;
+        }
+    }
+
+    /**
+     * Reads the records up to the last intact one and clears whatever a torn append left behind it.
+     * @param replay The consumer of the record bodies.
+     * @throws IOException If a chunk cannot be mapped.
+     */
+    private void replay(Consumer<ByteBuffer> replay) throws IOException {
+        long fileSize = channel.size();
+        long position = FILE_HEADER_SIZE;
+        CRC32 crc = new CRC32();
+        while (position < fileSize) {
+            this.mapChunk(position);
+            int offset = (int) (position - chunkBase);
+            int length = chunkSize - offset >= Integer.BYTES ? chunk.getInt(offset) : CHUNK_PADDING;
+            if (length == CHUNK_PADDING) {
+                position = chunkBase + chunkSize;
+                continue;
+            }
+            if (length <= 0 || length > chunkSize - offset - RECORD_HEADER_SIZE) {
+                break;
+            }
+            byte[] body = new byte[length];
+            chunk.get(offset + RECORD_HEADER_SIZE, body);
+            crc.reset();
+            crc.update(body);
+            if ((int) crc.getValue() != chunk.getInt(offset + Integer.BYTES)) {
+                // torn by a crash, nothing after it was committed
+                break;
+            }
+            replay.accept(ByteBuffer.wrap(body));
+            records++;
+            position += RECORD_HEADER_SIZE + length;
+        }
+        this.writePosition = position;
+        this.mapChunk(position);
+        // so that a torn record cannot be mistaken for one appended later
+        int offset = (int) (position - chunkBase);
+        chunk.put(offset, new byte[chunkSize - offset]);
+    }
+
+    /**
+     * Appends an encoded record, moving to the next chunk when it does not fit in the current one.
+     * @param record The record with its header.
+     * @throws IOException If the next chunk cannot be mapped.
+     */
+    void append(byte[] record) throws IOException {
+        if (record.length > chunkSize - FILE_HEADER_SIZE) {
+            throw new IllegalArgumentException("Journal record does not fit in a chunk.");
+        }
+        this.mapChunk(writePosition);
+        int offset = (int) (writePosition - chunkBase);
+        if (record.length > chunkSize - offset) {
+            if (chunkSize - offset >= Integer.BYTES) {
+                chunk.putInt(offset, CHUNK_PADDING);
+            }
+            writePosition = chunkBase + chunkSize;
+            this.mapChunk(writePosition);
+            offset = 0;
+        }
+        chunk.put(offset, record);
+        writePosition += record.length;
+        records++;
+    }
+
+    /**
+     * Maps the chunk holding a file position, forcing the previously mapped chunk to disk first.
+     * @param position The file position.
+     * @throws IOException If the chunk cannot be mapped.
+     */
+    private void mapChunk(long position) throws IOException {
+        long base = position / chunkSize * chunkSize;
+        if (base == chunkBase) {
+            return;
+        }
+        if (chunk != null) {
+            // only the current chunk is forced by commits
+            chunk.force();
+        }
+        chunk = channel.map(FileChannel.MapMode.READ_WRITE, base, chunkSize);
+        chunkBase = base;
+    }
+
+    /**
+     * Forces the segment to disk and closes its file. The mapped chunk stays valid until it is garbage collected.
+     * @throws IOException If the file cannot be closed.
+     */
+    void close() throws IOException {
+        chunk.force();
+        channel.close();
+    }
+
+    //region Getters and Setters
+    /**
+     * Gets the chunk appends currently go to, the only one with records that are not yet forced to disk.
+     * @return The mapped chunk.
+     */
+    MappedByteBuffer getCurrentChunk() {
+        return this.chunk;
+    }
+
+    Path getFile() {
+        return this.file;
+    }
+
+    long getGeneration() {
+        return this.generation;
+    }
+
+    /**
+     * Gets the number of records in the segment, replayed or appended.
+     * @return The record count.
+     */
+    long getRecords() {
+        return this.records;
+    }
+    //endregion
+}
@@ -0,0 +1,296 @@
+package org.example.jobJournal;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.NoSuchFileException;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Set;
+import java.util.zip.CRC32;
+import java.util.zip.CheckedInputStream;
+import java.util.zip.CheckedOutputStream;
+
+import org.example.common.CompletedJobStats;
+import org.example.common.Job;
+
+/**
+ * The JournalState is what the job journal describes once its records are replayed: the pending jobs,
+ * which of them were dispatched, the last scheduling policy and the metrics of the completed jobs.
+ * It also encodes the records and reads and writes the snapshot file, which holds the state covering
+ * every segment up to a generation, so only the later segments need to be replayed.
+ * A state is not thread-safe; it is only used while opening the journal and by the snapshot writer.
+ */
+final class JournalState {
+    static final byte SUBMIT = 1;
+    static final byte DISPATCH = 2;
+    static final byte COMPLETE = 3;
+    static final byte CANCEL = 4;
+    static final byte POLICY = 5;
+
+    private static final int SNAPSHOT_MAGIC = 0x4353424D;
+    private static final int SNAPSHOT_VERSION = 2;
+    private static final long NO_TIME = Long.MIN_VALUE;
+    private static final long NANOS_PER_SECOND = 1_000_000_000L;
+
+    private final Map<Long, Job> pending = new LinkedHashMap<>();
+    private final Set<Long> dispatched = new HashSet<>();
+    // only the aggregated metrics of the completed jobs are kept
+    private final CompletedJobStats completedJobStats = new CompletedJobStats();
+    // the policy by name, so the journal does not depend on the scheduler
+    private String policy;
+    private long generation = 0;
+    private long records = 0;
+
+    /**
+     * Encodes a job record with its header.
+     * @param type The record type, SUBMIT, DISPATCH, COMPLETE or CANCEL.
+     * @param job The job.
+     * @return The record.
+     */
+    static byte[] encode(byte type, Job job) {
+        byte[] name = type == SUBMIT ? job.getName().getBytes(StandardCharsets.UTF_8) : new byte[0];
+        if (name.length > 0xFFFF) {
+            throw new IllegalArgumentException("Job name is too long for the journal.");
+        }
+        int length = switch (type) {
+            case SUBMIT -> 1 + Long.BYTES + Integer.BYTES + Long.BYTES + Long.BYTES + Integer.BYTES
+                    + Short.BYTES + name.length;
+            case COMPLETE -> 1 + Long.BYTES + 2 * (Long.BYTES + Integer.BYTES);
+            default -> 1 + Long.BYTES;
+        };
+        ByteBuffer record = ByteBuffer.allocate(JournalSegment.RECORD_HEADER_SIZE + length);
+        record.putInt(length).putInt(0).put(type).putLong(job.getId());
+        if (type == SUBMIT) {
+            record.putInt(job.getExecutionPriority()).putLong(job.getExecutionTime());
+            putTime(record, job.getArrivalNanos());
+            record.putShort((short) name.length).put(name);
+        } else if (type == COMPLETE) {
+            putTime(record, job.getActualProcessingStartNanos());
+            putTime(record, job.getActualCompletionNanos());
+        }
+        return seal(record);
+    }
+
+    /**
+     * Encodes a scheduling policy change with its header.
+     * @param policy The name of the new policy.
+     * @return The record.
+     */
+    static byte[] encodePolicy(String policy) {
+        byte[] name = policy.getBytes(StandardCharsets.US_ASCII);
+        int length = 1 + Long.BYTES + Short.BYTES + name.length;
+        ByteBuffer record = ByteBuffer.allocate(JournalSegment.RECORD_HEADER_SIZE + length);
+        record.putInt(length).putInt(0).put(POLICY).putLong(0).putShort((short) name.length).put(name);
+        return seal(record);
+    }
+
+    private static byte[] seal(ByteBuffer record) {
+        CRC32 crc = new CRC32();
+        crc.update(record.array(), JournalSegment.RECORD_HEADER_SIZE, record.capacity() - JournalSegment.RECORD_HEADER_SIZE);
+        record.putInt(Integer.BYTES, (int) crc.getValue());
+        return record.array();
+    }
+
+    /**
+     * Writes a time as epoch seconds and nanoseconds.
+     * @param record The record.
+     * @param epochNanos The time in epoch nanoseconds, or Job.NO_TIME.
+     */
+    private static void putTime(ByteBuffer record, long epochNanos) {
+        if (epochNanos == Job.NO_TIME) {
+            record.putLong(NO_TIME).putInt(0);
+        } else {
+            record.putLong(Math.floorDiv(epochNanos, NANOS_PER_SECOND)).putInt((int) Math.floorMod(epochNanos, NANOS_PER_SECOND));
+        }
+    }
+
+    /**
+     * Reads a time written by putTime.
+     * @param body The record body.
+     * @return The time in epoch nanoseconds, or Job.NO_TIME.
+     */
+    private static long getTime(ByteBuffer body) {
+        long seconds = body.getLong();
+        int nanos = body.getInt();
+        return seconds == NO_TIME ? Job.NO_TIME : seconds * NANOS_PER_SECOND + nanos;
+    }
+
+    /**
+     * Applies a replayed record body.
+     * @param body The record body.
+     */
+    void apply(ByteBuffer body) {
+        byte type = body.get();
+        long id = body.getLong();
+        switch (type) {
+            case SUBMIT -> {
+                int priority = body.getInt();
+                long executionTime = body.getLong();
+                long arrivalNanos = getTime(body);
+                byte[] name = new byte[Short.toUnsignedInt(body.getShort())];
+                body.get(name);
+                pending.put(id, new Job(id, new String(name, StandardCharsets.UTF_8), priority, executionTime, arrivalNanos));
+                dispatched.remove(id);
+            }
+            case DISPATCH -> {
+                if (pending.containsKey(id)) {
+                    dispatched.add(id);
+                }
+            }
+            case COMPLETE -> {
+                Job job = pending.remove(id);
+                dispatched.remove(id);
+                long startNanos = getTime(body);
+                long completionNanos = getTime(body);
+                if (job != null && job.getArrivalNanos() != Job.NO_TIME && startNanos != Job.NO_TIME
+                        && completionNanos != Job.NO_TIME) {
+                    job.setActualProcessingStartNanos(startNanos);
+                    job.setActualCompletionNanos(completionNanos);
+                    completedJobStats.add(job);
+                }
+            }
+            case CANCEL -> {
+                pending.remove(id);
+                dispatched.remove(id);
+            }
+            case POLICY -> {
+                byte[] name = new byte[Short.toUnsignedInt(body.getShort())];
+                body.get(name);
+                policy = parsePolicy(new String(name, StandardCharsets.US_ASCII));
+            }
+            default -> {
+                // written by a newer version, nothing this version can recover from it
+            }
+        }
+        records++;
+    }
+
+    private static String parsePolicy(String name) {
+        return name.isEmpty() ? null : name;
+    }
+
+    /**
+     * Reads the snapshot file.
+     * @param file The snapshot file.
+     * @return The state it holds, or an empty state of generation 0 if there is no snapshot.
+     * @throws IOException If the snapshot cannot be read or is corrupt.
+     */
+    static JournalState readSnapshot(Path file) throws IOException {
+        InputStream raw;
+        try {
+            raw = Files.newInputStream(file);
+        } catch (NoSuchFileException e) {
+            return new JournalState();
+        }
+        JournalState state = new JournalState();
+        try (BufferedInputStream buffered = new BufferedInputStream(raw)) {
+            CheckedInputStream checked = new CheckedInputStream(buffered, new CRC32());
+            DataInputStream in = new DataInputStream(checked);
+            if (in.readInt() != SNAPSHOT_MAGIC) {
+                throw new IOException("Not a job journal snapshot: " + file);
+            }
+            if (in.readInt() != SNAPSHOT_VERSION) {
+                throw new IOException("Unsupported job journal snapshot version.");
+            }
+            state.generation = in.readLong();
+            state.records = in.readLong();
+            state.policy = parsePolicy(in.readUTF());
+            int pendingCount = in.readInt();
+            for (int i = 0; i < pendingCount; i++) {
+                long id = in.readLong();
+                String name = in.readUTF();
+                int priority = in.readInt();
+                long executionTime = in.readLong();
+                long arrivalNanos = in.readLong();
+                state.pending.put(id, new Job(id, name, priority, executionTime, arrivalNanos));
+                if (in.readBoolean()) {
+                    state.dispatched.add(id);
+                }
+            }
+            state.completedJobStats.readFrom(in);
+            long checksum = checked.getChecksum().getValue();
+            // the checksum itself is read past the checked stream
+            if (new DataInputStream(buffered).readLong() != checksum) {
+                throw new IOException("Corrupt job journal snapshot: " + file);
+            }
+        }
+        return state;
+    }
+
+    /**
+     * Writes the state as the snapshot file. The snapshot is written to a temporary file, forced to disk and
+     * then moved over the previous one, so a crash leaves either snapshot intact.
+     * @param file The snapshot file.
+     * @throws IOException If the snapshot cannot be written.
+     */
+    void writeSnapshot(Path file) throws IOException {
+        Path temporary = file.resolveSibling(file.getFileName() + ".tmp");
+        try (FileOutputStream raw = new FileOutputStream(temporary.toFile());
+             BufferedOutputStream buffered = new BufferedOutputStream(raw)) {
+            CheckedOutputStream checked = new CheckedOutputStream(buffered, new CRC32());
+            DataOutputStream out = new DataOutputStream(checked);
+            out.writeInt(SNAPSHOT_MAGIC);
+            out.writeInt(SNAPSHOT_VERSION);
+            out.writeLong(generation);
+            out.writeLong(records);
+            out.writeUTF(policy == null ? "" : policy);
+            out.writeInt(pending.size());
+            for (Job job : pending.values()) {
+                out.writeLong(job.getId());
+                out.writeUTF(job.getName());
+                out.writeInt(job.getExecutionPriority());
+                out.writeLong(job.getExecutionTime());
+                out.writeLong(job.getArrivalNanos());
+                out.writeBoolean(dispatched.contains(job.getId()));
+            }
+            completedJobStats.writeTo(out);
+            out.flush();
+            new DataOutputStream(buffered).writeLong(checked.getChecksum().getValue());
+            buffered.flush();
+            raw.getFD().sync();
+        }
+        Files.move(temporary, file, StandardCopyOption.ATOMIC_MOVE, StandardCopyOption.REPLACE_EXISTING);
+    }
+
+    /**
+     * Gets the jobs to recover from this state.
+     * @return The recovery.
+     */
+    JobJournal.Recovery toRecovery() {
+        int interrupted = 0;
+        for (Long id : pending.keySet()) {
+            if (dispatched.contains(id)) {
+                interrupted++;
+            }
+        }
+        CompletedJobStats stats = new CompletedJobStats();
+        stats.merge(completedJobStats);
+        return new JobJournal.Recovery(new ArrayList<>(pending.values()), interrupted, records, policy, stats);
+    }
+
+    //region Getters and Setters
+    /**
+     * Gets the generation of the last segment this state covers.
+     * @return The generation, 0 if it covers none.
+     */
+    long getGeneration() {
+        return this.generation;
+    }
+
+    void setGeneration(long generation) {
+        this.generation = generation;
+    }
+    //endregion
+}
@@ -0,0 +1,264 @@
+package org.example.jobLoader;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+
+import org.example.common.Job;
+
+/**
+ * The JobFileParser reads job definitions from a workload file, one job per line, in either of two formats:
+ * <ul>
+ *     <li>CSV: {@code name,cpuTime,priority}, optionally preceded by that header line.</li>
+ *     <li>JSON lines: {@code {"name": "backup", "cpuTime": 5, "priority": 2}}; other keys are ignored.</li>
+ * </ul>
+ * As with the run command, the CPU time is in seconds. Blank lines and lines starting with {@code #} are skipped,
+ * and the formats may be mixed within a file.
+ */
+public final class JobFileParser {
+    private static final String CSV_HEADER = "name,cputime,priority";
+
+    private JobFileParser() {
+    }
+
+    /**
+     * Reads every job of a workload file. The whole file is parsed before any job is returned, so a malformed
+     * line rejects the file rather than leaving part of it submitted.
+     * @param file The workload file.
+     * @param arrivalNanos The arrival time given to every job, in epoch nanoseconds.
+     * @return The jobs in file order.
+     * @throws IOException If the file cannot be read.
+     * @throws IllegalArgumentException If a line is not a valid job definition; the message names the line.
+     */
+    public static List<Job> parseFile(Path file, long arrivalNanos) throws IOException {
+        List<Job> jobs = new ArrayList<>();
+        try (BufferedReader reader = Files.newBufferedReader(file, StandardCharsets.UTF_8)) {
+            String line;
+            int lineNumber = 0;
+            while ((line = reader.readLine()) != null) {
+                lineNumber++;
+                Job job;
+                try {
+                    job = parseLine(line, arrivalNanos);
+                } catch (IllegalArgumentException e) {
+                    throw new IllegalArgumentException("Line " + lineNumber + ": " + e.getMessage(), e);
+                }
+                if (job != null) {
+                    jobs.add(job);
+                }
+            }
+        }
+        return jobs;
+    }
+
+    /**
+     * Parses one line of a workload file.
+     * @param line The line.
+     * @param arrivalNanos The arrival time given to the job, in epoch nanoseconds.
+     * @return The job, or null for a blank line, a comment or the CSV header.
+     * @throws IllegalArgumentException If the line is not a valid job definition.
+     */
+    public static Job parseLine(String line, long arrivalNanos) {
+        String trimmed = line.strip();
+        if (trimmed.isEmpty() || trimmed.startsWith("#")) {
+            return null;
+        }
+        if (trimmed.startsWith("{")) {
+            return parseJson(trimmed, arrivalNanos);
+        }
+        if (isCsvHeader(trimmed)) {
+            return null;
+        }
+        String[] fields = trimmed.split(",", -1);
+        if (fields.length != 3) {
+            throw new IllegalArgumentException("Expected name,cpuTime,priority but found " + fields.length + " fields.");
+        }
+        return toJob(fields[0].strip(), fields[1].strip(), fields[2].strip(), arrivalNanos);
+    }
+
+    /**
+     * Checks if a line is the optional CSV header.
+     * @param line The line.
+     * @return Whether the line is {@code name,cpuTime,priority}, ignoring case and spaces.
+     */
+    static boolean isCsvHeader(String line) {
+        return line.replace(" ", "").equalsIgnoreCase(CSV_HEADER);
+    }
+
+    /**
+     * Parses a flat JSON object with the name, cpuTime and priority of a job.
+     * @param line The trimmed line.
+     * @param arrivalNanos The arrival time given to the job, in epoch nanoseconds.
+     * @return The job.
+     */
+    private static Job parseJson(String line, long arrivalNanos) {
+        JsonCursor cursor = new JsonCursor(line);
+        String name = null;
+        String cpuTime = null;
+        String priority = null;
+        cursor.expect('{');
+        if (!cursor.consume('}')) {
+            do {
+                String key = cursor.readString();
+                cursor.expect(':');
+                String value = cursor.readValue();
+                switch (key) {
+                    case "name" -> name = value;
+                    case "cpuTime" -> cpuTime = value;
+                    case "priority" -> priority = value;
+                    default -> {
+                        // not part of a job definition
+                    }
+                }
+            } while (cursor.consume(','));
+            cursor.expect('}');
+        }
+        if (!cursor.isAtEnd()) {
+            throw new IllegalArgumentException("Unexpected text after the JSON object.");
+        }
+        if (name == null || cpuTime == null || priority == null) {
+            throw new IllegalArgumentException("A JSON job needs \"name\", \"cpuTime\" and \"priority\".");
+        }
+        return toJob(name, cpuTime, priority, arrivalNanos);
+    }
+
+    /**
+     * Builds a job from its parsed fields.
+     * @param name The job name.
+     * @param cpuTime The CPU time in seconds.
+     * @param priority The priority.
+     * @param arrivalNanos The arrival time in epoch nanoseconds.
+     * @return The job.
+     */
+    private static Job toJob(String name, String cpuTime, String priority, long arrivalNanos) {
+        long seconds;
+        int jobPriority;
+        try {
+            seconds = Long.parseLong(cpuTime);
+            jobPriority = Integer.parseInt(priority);
+        } catch (NumberFormatException e) {
+            throw new IllegalArgumentException("Time and priority must be integers.");
+        }
+        return toJob(name, seconds, jobPriority, arrivalNanos);
+    }
+
+    /**
+     * Builds a job from its validated fields.
+     * @param name The job name.
+     * @param seconds The CPU time in seconds.
+     * @param priority The priority.
+     * @param arrivalNanos The arrival time in epoch nanoseconds.
+     * @return The job.
+     * @throws IllegalArgumentException If the name is empty or contains spaces, or the CPU time is out of range.
+     */
+    static Job toJob(String name, long seconds, int priority, long arrivalNanos) {
+        if (name.isEmpty() || name.chars().anyMatch(Character::isWhitespace)) {
+            throw new IllegalArgumentException("Job name '" + name + "' must be non-empty and without spaces.");
+        }
+        if (seconds < 0 || seconds > Long.MAX_VALUE / 1000) {
+            throw new IllegalArgumentException("CPU time " + seconds + " is out of range.");
+        }
+        return new Job(name, priority, seconds * 1000, arrivalNanos);
+    }
+
+    /**
+     * A cursor over the characters of a single-line JSON object. Only strings and bare scalars are supported
+     * as values, which is all a job definition holds.
+     */
+    private static final class JsonCursor {
+        private final String text;
+        private int position = 0;
+
+        JsonCursor(String text) {
+            this.text = text;
+        }
+
+        private void skipWhitespace() {
+            while (position < text.length() && Character.isWhitespace(text.charAt(position))) {
+                position++;
+            }
+        }
+
+        boolean consume(char expected) {
+            skipWhitespace();
+            if (position < text.length() && text.charAt(position) == expected) {
+                position++;
+                return true;
+            }
+            return false;
+        }
+
+        void expect(char expected) {
+            if (!consume(expected)) {
+                throw new IllegalArgumentException("Expected '" + expected + "' at column " + (position + 1) + ".");
+            }
+        }
+
+        boolean isAtEnd() {
+            skipWhitespace();
+            return position == text.length();
+        }
+
+        /**
+         * Reads a string or a bare scalar such as a number.
+         * @return The value, without quotes.
+         */
+        String readValue() {
+            skipWhitespace();
+            if (position < text.length() && text.charAt(position) == '"') {
+                return readString();
+            }
+            int start = position;
+            while (position < text.length() && ",} \t".indexOf(text.charAt(position)) < 0) {
+                position++;
+            }
+            if (start == position) {
+                throw new IllegalArgumentException("Expected a value at column " + (start + 1) + ".");
+            }
+            return text.substring(start, position);
+        }
+
+        String readString() {
+            expect('"');
+            StringBuilder value = new StringBuilder();
+            while (position < text.length()) {
+                char c = text.charAt(position++);
+                if (c == '"') {
+                    return value.toString();
+                }
+                if (c != '\\') {
+                    value.append(c);
+                    continue;
+                }
+                if (position >= text.length()) {
+                    break;
+                }
+                char escaped = text.charAt(position++);
+                switch (escaped) {
+                    case 'n' -> value.append('\n');
+                    case 't' -> value.append('\t');
+                    case 'r' -> value.append('\r');
+                    case 'b' -> value.append('\b');
+                    case 'f' -> value.append('\f');
+                    case 'u' -> {
+                        if (position + 4 > text.length()) {
+                            throw new IllegalArgumentException("Truncated unicode escape.");
+                        }
+                        try {
+                            value.append((char) Integer.parseInt(text.substring(position, position + 4), 16));
+                        } catch (NumberFormatException e) {
+                            throw new IllegalArgumentException("Invalid unicode escape.");
+                        }
+                        position += 4;
+                    }
+                    default -> value.append(escaped);
+                }
+            }
+            throw new IllegalArgumentException("Unterminated string.");
+        }
+    }
+}
@@ -0,0 +1,301 @@
+package org.example.jobLoader;
+
+import java.io.IOException;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+import org.example.common.Job;
+import org.example.common.JobClock;
+import org.example.scheduler.Scheduler;
+
+/**
+ * The JobFileStreamer submits the jobs of a workload file to the scheduler while the file is still being read,
+ * so a replay trace of several gigabytes starts executing right away and never has to fit in memory.
+ * The file is memory-mapped one window at a time and scanned for line ends in place. CSV lines are parsed
+ * straight from the mapped bytes, so the job name is the only object a line allocates, and a name repeating
+ * that of the previous line is reused. JSON lines are decoded and handed to the {@link JobFileParser}.
+ * Jobs are submitted in batches through {@link Scheduler#addJobs}, which waits while the queue is full, so
+ * reading only runs ahead of dispatching by one batch.
+ * Unlike the JobFileParser, a malformed line cannot reject a file whose earlier jobs were already submitted;
+ * it is skipped and counted instead.
+ */
+public class JobFileStreamer {
+    public static final long DEFAULT_WINDOW_SIZE = 64L << 20;
+    public static final int DEFAULT_BATCH_SIZE = 1024;
+
+    /**
+     * The outcome of streaming a workload file.
+     * @param submittedJobs The number of jobs queued.
+     * @param rejectedJobs The number of jobs rejected because the queue stayed full past the submit timeout.
+     * @param skippedLines The number of malformed lines skipped.
+     * @param firstError The error of the first skipped line, or null if no line was skipped.
+     */
+    public record Result(long submittedJobs, long rejectedJobs, long skippedLines, String firstError) {
+    }
+
+    private final Scheduler scheduler;
+    private final long windowSize;
+    private final int batchSize;
+    private final List<Job> batch;
+    private byte[] scratch = new byte[256];
+    private byte[] lastName = new byte[0];
+    private String lastNameString;
+    private long lineNumber;
+    private long submittedJobs;
+    private long rejectedJobs;
+    private long skippedLines;
+    private String firstError;
+
+    /**
+     * JobFileStreamer constructor with the default window and batch sizes.
+     * @param scheduler The scheduler the jobs are submitted to.
+     */
+    public JobFileStreamer(Scheduler scheduler) {
+        this(scheduler, DEFAULT_WINDOW_SIZE, DEFAULT_BATCH_SIZE);
+    }
+
+    /**
+     * JobFileStreamer constructor.
+     * @param scheduler The scheduler the jobs are submitted to.
+     * @param windowSize The number of bytes mapped at a time, which also bounds the length of a line.
+     * @param batchSize The number of jobs submitted at a time.
+     */
+    public JobFileStreamer(Scheduler scheduler, long windowSize, int batchSize) {
+        if (windowSize < 1 || windowSize > Integer.MAX_VALUE || batchSize < 1) {
+            throw new IllegalArgumentException("Window size must be between 1 and 2^31-1 bytes and batch size at least 1.");
+        }
+        this.scheduler = scheduler;
+        this.windowSize = windowSize;
+        this.batchSize = batchSize;
+        this.batch = new ArrayList<>(batchSize);
+    }
+
+    /**
+     * Streams every job of a workload file to the scheduler. A streamer streams one file at a time.
+     * @param file The workload file.
+     * @return The outcome.
+     * @throws IOException If the file cannot be read, or a line is longer than the window.
+     * @throws InterruptedException If interrupted while waiting for space in the queue; the jobs submitted
+     * before stay queued.
+     */
+    public synchronized Result stream(Path file) throws IOException, InterruptedException {
+        lineNumber = 0;
+        submittedJobs = 0;
+        rejectedJobs = 0;
+        skippedLines = 0;
+        firstError = null;
+        batch.clear();
+        try (FileChannel channel = FileChannel.open(file, StandardOpenOption.READ)) {
+            long size = channel.size();
+            long position = 0;
+            while (position < size) {
+                int length = (int) Math.min(windowSize, size - position);
+                boolean isLastWindow = position + length == size;
+                MappedByteBuffer window = channel.map(FileChannel.MapMode.READ_ONLY, position, length);
+                int lineStart = 0;
+                for (int i = 0; i < length; i++) {
+                    if (window.get(i) == '\n') {
+                        this.parseLine(window, lineStart, i);
+                        lineStart = i + 1;
+                    }
+                }
+                if (isLastWindow && lineStart < length) {
+                    // the last line has no line end
+                    this.parseLine(window, lineStart, length);
+                    lineStart = length;
+                }
+                if (lineStart == 0) {
+                    throw new IOException("Line " + (lineNumber + 1) + " is longer than " + windowSize + " bytes.");
+                }
+                // the next window starts at the first line not yet parsed
+                position += lineStart;
+            }
+            this.submitBatch();
+        } finally {
+            batch.clear();
+        }
+        return new Result(submittedJobs, rejectedJobs, skippedLines, firstError);
+    }
+
+    /**
+     * Parses one line of the mapped window and adds its job to the batch, submitting the batch when it is full.
+     * @param window The mapped window.
+     * @param start The index of the first byte of the line.
+     * @param end The index after the last byte of the line, excluding the line end.
+     * @throws InterruptedException If interrupted while submitting the batch.
+     */
+    private void parseLine(MappedByteBuffer window, int start, int end) throws InterruptedException {
+        lineNumber++;
+        while (start < end && isBlank(window.get(start))) {
+            start++;
+        }
+        while (end > start && isBlank(window.get(end - 1))) {
+            end--;
+        }
+        if (start == end || window.get(start) == '#') {
+            return;
+        }
+        Job job;
+        try {
+            job = window.get(start) == '{'
+                    ? JobFileParser.parseLine(this.decode(window, start, end), JobClock.nowEpochNanos())
+                    : this.parseCsv(window, start, end);
+        } catch (IllegalArgumentException e) {
+            skippedLines++;
+            if (firstError == null) {
+                firstError = "Line " + lineNumber + ": " + e.getMessage();
+            }
+            return;
+        }
+        if (job == null) {
+            return;
+        }
+        batch.add(job);
+        if (batch.size() == batchSize) {
+            this.submitBatch();
+        }
+    }
+
+    /**
+     * Parses a trimmed CSV line in place.
+     * @param window The mapped window.
+     * @param start The index of the first byte of the line.
+     * @param end The index after the last byte of the line.
+     * @return The job, or null for the header.
+     */
+    private Job parseCsv(MappedByteBuffer window, int start, int end) {
+        int firstComma = indexOf(window, ',', start, end);
+        int secondComma = firstComma < 0 ? -1 : indexOf(window, ',', firstComma + 1, end);
+        if (secondComma < 0 || indexOf(window, ',', secondComma + 1, end) >= 0) {
+            throw new IllegalArgumentException("Expected name,cpuTime,priority.");
+        }
+        long seconds;
+        long priority;
+        try {
+            seconds = parseLong(window, firstComma + 1, secondComma);
+            priority = parseLong(window, secondComma + 1, end);
+        } catch (NumberFormatException e) {
+            if (JobFileParser.isCsvHeader(this.decode(window, start, end))) {
+                return null;
+            }
+            throw new IllegalArgumentException("Time and priority must be integers.");
+        }
+        if (priority < Integer.MIN_VALUE || priority > Integer.MAX_VALUE) {
+            throw new IllegalArgumentException("Priority " + priority + " is out of range.");
+        }
+        int nameEnd = firstComma;
+        while (nameEnd > start && isBlank(window.get(nameEnd - 1))) {
+            nameEnd--;
+        }
+        return JobFileParser.toJob(this.name(window, start, nameEnd), seconds, (int) priority, JobClock.nowEpochNanos());
+    }
+
+    /**
+     * Gets the job name stored in the window, reusing the previous name when the bytes are the same.
+     * @param window The mapped window.
+     * @param start The index of the first byte of the name.
+     * @param end The index after the last byte of the name.
+     * @return The name.
+     */
+    private String name(MappedByteBuffer window, int start, int end) {
+        int length = this.copy(window, start, end);
+        if (lastNameString == null || !Arrays.equals(scratch, 0, length, lastName, 0, lastName.length)) {
+            lastName = Arrays.copyOf(scratch, length);
+            lastNameString = new String(lastName, StandardCharsets.UTF_8);
+        }
+        return lastNameString;
+    }
+
+    private String decode(MappedByteBuffer window, int start, int end) {
+        int length = this.copy(window, start, end);
+        return new String(scratch, 0, length, StandardCharsets.UTF_8);
+    }
+
+    /**
+     * Copies bytes of the window into the scratch buffer, growing it if needed.
+     * @return The number of bytes copied.
+     */
+    private int copy(MappedByteBuffer window, int start, int end) {
+        int length = end - start;
+        if (length > scratch.length) {
+            scratch = new byte[Math.max(length, scratch.length * 2)];
+        }
+        window.get(start, scratch, 0, length);
+        return length;
+    }
+
+    /**
+     * Submits the batched jobs and clears the batch.
+     * @throws InterruptedException If interrupted while waiting for space in the queue.
+     */
+    private void submitBatch() throws InterruptedException {
+        if (batch.isEmpty()) {
+            return;
+        }
+        if (Thread.currentThread().isInterrupted()) {
+            throw new InterruptedException("Interrupted after submitting " + submittedJobs + " jobs.");
+        }
+        int queued = scheduler.addJobs(batch);
+        submittedJobs += queued;
+        rejectedJobs += batch.size() - queued;
+        batch.clear();
+    }
+
+    private static boolean isBlank(byte b) {
+        return b == ' ' || b == '\t' || b == '\r';
+    }
+
+    private static int indexOf(MappedByteBuffer window, char c, int start, int end) {
+        for (int i = start; i < end; i++) {
+            if (window.get(i) == c) {
+                return i;
+            }
+        }
+        return -1;
+    }
+
+    /**
+     * Parses a decimal integer surrounded by optional blanks without allocating.
+     * @throws NumberFormatException If the bytes are not an integer or it overflows a long.
+     */
+    private static long parseLong(MappedByteBuffer window, int start, int end) {
+        while (start < end && isBlank(window.get(start))) {
+            start++;
+        }
+        while (end > start && isBlank(window.get(end - 1))) {
+            end--;
+        }
+        boolean isNegative = start < end && window.get(start) == '-';
+        if (start < end && (window.get(start) == '-' || window.get(start) == '+')) {
+            start++;
+        }
+        if (start == end) {
+            throw new NumberFormatException();
+        }
+        long value = 0;
+        for (int i = start; i < end; i++) {
+            int digit = window.get(i) - '0';
+            if (digit < 0 || digit > 9) {
+                throw new NumberFormatException();
+            }
+            // accumulated negatively, so Long.MIN_VALUE parses without overflow
+            if (value < (Long.MIN_VALUE + digit) / 10) {
+                throw new NumberFormatException();
+            }
+            value = value * 10 - digit;
+        }
+        if (!isNegative) {
+            if (value == Long.MIN_VALUE) {
+                throw new NumberFormatException();
+            }
+            value = -value;
+        }
+        return value;
+    }
+}
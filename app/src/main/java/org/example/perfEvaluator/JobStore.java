@@ -0,0 +1,150 @@
+package org.example.perfEvaluator;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import org.example.common.Job;
+
+/**
+ * The JobStore keeps completed jobs as a struct of arrays: one primitive array per field, so a completed job
+ * costs about 56 bytes and no objects besides its name, and scanning a field reads consecutive memory.
+ * It is a ring buffer; once the limit is reached, each added job replaces the oldest one.
+ * The arrays grow by doubling up to the limit. Jobs read back are rebuilt from the stored fields.
+ * The store is not thread-safe; the PerfEvaluator guards it.
+ */
+final class JobStore {
+    private static final int INITIAL_CAPACITY = 16;
+
+    private int limit;
+    private long[] ids = new long[0];
+    private String[] names = new String[0];
+    private int[] priorities = new int[0];
+    private long[] executionTimes = new long[0];
+    private long[] arrivalNanos = new long[0];
+    private long[] startNanos = new long[0];
+    private long[] completionNanos = new long[0];
+    // index of the oldest job
+    private int head = 0;
+    private int size = 0;
+
+    /**
+     * JobStore constructor.
+     * @param limit The most jobs kept, or {@link PerfEvaluator#RETAIN_ALL_JOBS} to keep every job.
+     */
+    JobStore(int limit) {
+        this.limit = limit;
+    }
+
+    /**
+     * Adds a completed job, replacing the oldest job when the store is at its limit.
+     * @param job The job.
+     */
+    void add(Job job) {
+        if (limit == 0) {
+            return;
+        }
+        if (size == ids.length && size != limit) {
+            this.resize(limit == PerfEvaluator.RETAIN_ALL_JOBS
+                    ? Math.max(INITIAL_CAPACITY, size * 2)
+                    : Math.min(limit, Math.max(INITIAL_CAPACITY, size * 2)));
+        }
+        int index;
+        if (size == ids.length) {
+            index = head;
+            head = (head + 1) % ids.length;
+        } else {
+            index = (head + size) % ids.length;
+            size++;
+        }
+        ids[index] = job.getId();
+        names[index] = job.getName();
+        priorities[index] = job.getExecutionPriority();
+        executionTimes[index] = job.getExecutionTime();
+        arrivalNanos[index] = job.getArrivalNanos();
+        startNanos[index] = job.getActualProcessingStartNanos();
+        completionNanos[index] = job.getActualCompletionNanos();
+    }
+
+    /**
+     * Moves the stored jobs to arrays of a new capacity, oldest first, dropping the oldest jobs that do not fit.
+     * @param capacity The new capacity.
+     */
+    private void resize(int capacity) {
+        int kept = Math.min(size, capacity);
+        int first = size - kept;
+        long[] newIds = new long[capacity];
+        String[] newNames = new String[capacity];
+        int[] newPriorities = new int[capacity];
+        long[] newExecutionTimes = new long[capacity];
+        long[] newArrivalNanos = new long[capacity];
+        long[] newStartNanos = new long[capacity];
+        long[] newCompletionNanos = new long[capacity];
+        for (int i = 0; i < kept; i++) {
+            int index = this.indexOf(first + i);
+            newIds[i] = ids[index];
+            newNames[i] = names[index];
+            newPriorities[i] = priorities[index];
+            newExecutionTimes[i] = executionTimes[index];
+            newArrivalNanos[i] = arrivalNanos[index];
+            newStartNanos[i] = startNanos[index];
+            newCompletionNanos[i] = completionNanos[index];
+        }
+        ids = newIds;
+        names = newNames;
+        priorities = newPriorities;
+        executionTimes = newExecutionTimes;
+        arrivalNanos = newArrivalNanos;
+        startNanos = newStartNanos;
+        completionNanos = newCompletionNanos;
+        head = 0;
+        size = kept;
+    }
+
+    private int indexOf(int position) {
+        return (head + position) % ids.length;
+    }
+
+    /**
+     * Gets a stored job.
+     * @param position The position of the job, 0 for the oldest.
+     * @return The job.
+     */
+    Job get(int position) {
+        if (position < 0 || position >= size) {
+            throw new IndexOutOfBoundsException(position);
+        }
+        int index = this.indexOf(position);
+        Job job = new Job(ids[index], names[index], priorities[index], executionTimes[index], arrivalNanos[index]);
+        job.setActualProcessingStartNanos(startNanos[index]);
+        job.setActualCompletionNanos(completionNanos[index]);
+        job.setIsCompleted(true);
+        return job;
+    }
+
+    /**
+     * Gets every stored job.
+     * @return The jobs, oldest first.
+     */
+    List<Job> toList() {
+        List<Job> jobs = new ArrayList<>(size);
+        for (int i = 0; i < size; i++) {
+            jobs.add(this.get(i));
+        }
+        return jobs;
+    }
+
+    /**
+     * Changes the limit, dropping the oldest jobs over it.
+     * @param limit The most jobs kept, or {@link PerfEvaluator#RETAIN_ALL_JOBS} to keep every job.
+     */
+    void setLimit(int limit) {
+        this.limit = limit;
+        if (limit != PerfEvaluator.RETAIN_ALL_JOBS && ids.length > limit) {
+            this.resize(limit);
+        }
+    }
+
+    int size() {
+        return this.size;
+    }
+}
@@ -0,0 +1,42 @@
+package org.example.perfEvaluator;
+
+import java.math.BigDecimal;
+
+import org.example.common.LatencyHistogram;
+
+/**
+ * The LatencyPercentiles record holds the tail latency of one duration metric, in milliseconds with
+ * microsecond precision.
+ * @param p50 The median.
+ * @param p90 The 90th percentile.
+ * @param p99 The 99th percentile.
+ * @param p999 The 99.9th percentile.
+ */
+public record LatencyPercentiles(double p50, double p90, double p99, double p999) {
+    public static final LatencyPercentiles EMPTY = new LatencyPercentiles(0, 0, 0, 0);
+
+    /**
+     * Reads the percentiles from a histogram.
+     * @param histogram The histogram of durations in microseconds.
+     * @return The percentiles.
+     */
+    public static LatencyPercentiles of(LatencyHistogram histogram) {
+        return new LatencyPercentiles(histogram.getValueAtPercentile(50) / 1_000.0,
+                histogram.getValueAtPercentile(90) / 1_000.0, histogram.getValueAtPercentile(99) / 1_000.0,
+                histogram.getValueAtPercentile(99.9) / 1_000.0);
+    }
+
+    /**
+     * Formats a duration in milliseconds to at most three decimals, whole numbers without a fraction.
+     * @param millis The duration in milliseconds.
+     * @return The formatted duration, e.g. 1500 or 0.125.
+     */
+    public static String formatMillis(double millis) {
+        return BigDecimal.valueOf(Math.round(millis * 1_000), 3).stripTrailingZeros().toPlainString();
+    }
+
+    @Override
+    public String toString() {
+        return formatMillis(p50) + "/" + formatMillis(p90) + "/" + formatMillis(p99) + "/" + formatMillis(p999) + "ms";
+    }
+}
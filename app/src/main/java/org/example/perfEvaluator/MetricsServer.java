@@ -0,0 +1,84 @@
+package org.example.perfEvaluator;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.net.InetAddress;
+import java.net.InetSocketAddress;
+import java.nio.charset.StandardCharsets;
+
+import com.sun.net.httpserver.HttpExchange;
+import com.sun.net.httpserver.HttpServer;
+
+/**
+ * The MetricsServer serves the metrics of a {@link PrometheusExporter} at {@code /metrics} over HTTP.
+ * It uses the HTTP server built into the JDK, listens on the loopback address only and answers scrapes
+ * on a single thread of its own, so scraping never runs on a scheduler or dispatcher thread.
+ */
+public class MetricsServer {
+    public static final String PATH = "/metrics";
+
+    private final HttpServer server;
+    private final PrometheusExporter exporter;
+
+    /**
+     * MetricsServer constructor. Binds the port but does not answer requests until started.
+     * @param exporter The metrics exporter.
+     * @param port The port to listen on, or 0 for any free port.
+     * @throws IOException If the port cannot be bound.
+     */
+    public MetricsServer(PrometheusExporter exporter, int port) throws IOException {
+        this.exporter = exporter;
+        this.server = HttpServer.create(new InetSocketAddress(InetAddress.getLoopbackAddress(), port), 0);
+        this.server.createContext(PATH, this::handle);
+    }
+
+    /**
+     * Starts answering requests.
+     */
+    public void start() {
+        server.start();
+    }
+
+    /**
+     * Stops the server, closing the port immediately.
+     */
+    public void stop() {
+        server.stop(0);
+    }
+
+    /**
+     * Answers a scrape with the current metrics.
+     * @param exchange The HTTP exchange.
+     * @throws IOException If the response cannot be written.
+     */
+    private void handle(HttpExchange exchange) throws IOException {
+        try {
+            String method = exchange.getRequestMethod();
+            if (!"GET".equals(method) && !"HEAD".equals(method)) {
+                exchange.getResponseHeaders().set("Allow", "GET, HEAD");
+                exchange.sendResponseHeaders(405, -1);
+                return;
+            }
+            byte[] body = exporter.scrape().getBytes(StandardCharsets.UTF_8);
+            exchange.getResponseHeaders().set("Content-Type", PrometheusExporter.CONTENT_TYPE);
+            if ("HEAD".equals(method)) {
+                exchange.sendResponseHeaders(200, -1);
+                return;
+            }
+            exchange.sendResponseHeaders(200, body.length);
+            try (OutputStream out = exchange.getResponseBody()) {
+                out.write(body);
+            }
+        } finally {
+            exchange.close();
+        }
+    }
+
+    /**
+     * Gets the port the server listens on, which is the chosen free port when created with port 0.
+     * @return The port.
+     */
+    public int getPort() {
+        return this.server.getAddress().getPort();
+    }
+}
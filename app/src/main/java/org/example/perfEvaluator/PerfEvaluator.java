@@ -1,21 +1,38 @@
 package org.example.perfEvaluator;
 
 
+import org.example.common.CompletedJobStats;
+import org.example.common.InstrumentedLock;
 import org.example.common.Job;
+import org.example.common.JobClock;
 import org.example.scheduler.Scheduler;
 
-import java.time.Duration;
-import java.time.LocalDateTime;
-import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentSkipListMap;
 
 /**
  * The PerfEvaluator handles the collation of performance metrics for job execution.
+ * Metrics are aggregated as each job completes, so calculating them does not revisit the completed jobs.
+ * Only the most recently completed jobs are kept, so memory stays constant in a long-running process;
+ * keeping every completed job is opt-in, see {@link #setJobHistoryLimit(int)}. The kept jobs are stored as
+ * primitive arrays rather than job objects, see {@link JobStore}.
  */
 public class PerfEvaluator {
+    public static final int DEFAULT_JOB_HISTORY = 1000;
+    public static final int RETAIN_ALL_JOBS = -1;
+
     Scheduler scheduler;
     PerfTestParams testParams;
     PerfMetrics perfMetrics = new PerfMetrics();
-    ArrayList<Job> completedJobs = new ArrayList<>();
+    // sliding window of the most recently completed jobs, oldest first
+    private final JobStore completedJobs = new JobStore(DEFAULT_JOB_HISTORY);
+    private int jobHistoryLimit = DEFAULT_JOB_HISTORY;
+    final Map<Integer, WorkerStats> workerStats = new ConcurrentSkipListMap<>();
+
+    // running aggregates of the completed jobs, updated in addCompletedJob
+    final CompletedJobStats completedJobStats = new CompletedJobStats();
+    final SlidingWindowStats liveStats = new SlidingWindowStats();
 
     /**
      * The PerfEvaluator constructor.
@@ -26,7 +43,14 @@ public class PerfEvaluator {
     }
 
     /**
-     * Prints the calculated performance metrics.
+     * PerfEvaluator constructor for jobs that are not submitted through a scheduler, e.g. simulated jobs.
+     */
+    public PerfEvaluator() {
+        this(null);
+    }
+
+    /**
+     * Sets the parameters of the performance test being evaluated.
      */
     public void setTestParams(PerfTestParams testParams) {
         this.testParams = testParams;
@@ -37,79 +61,69 @@ public class PerfEvaluator {
      * Response time = actual completion time - arrival time
      */
     private void calcResponseTimes() {
-        if (completedJobs.isEmpty()) {
+        long jobCount = completedJobStats.getJobCount();
+        if (jobCount == 0) {
             // Defaults to avoid divide by 0
             this.perfMetrics.setAverageResponseTime(0);
             this.perfMetrics.setMaxResponseTime(0);
             this.perfMetrics.setAverageWaitTime(0);
             this.perfMetrics.setAverageTurnaroundTime(0);
+            this.perfMetrics.setResponseTimePercentiles(LatencyPercentiles.EMPTY);
+            this.perfMetrics.setWaitTimePercentiles(LatencyPercentiles.EMPTY);
+            this.perfMetrics.setTurnaroundTimePercentiles(LatencyPercentiles.EMPTY);
             return;
         }
+        this.perfMetrics.setAverageResponseTime(toMillis(completedJobStats.getTotalResponseNanos() / jobCount));
+        this.perfMetrics.setMaxResponseTime(toMillis(completedJobStats.getMaxResponseNanos()));
+        this.perfMetrics.setAverageWaitTime(toMillis(completedJobStats.getTotalWaitNanos() / jobCount));
+        this.perfMetrics.setAverageTurnaroundTime(toMillis(completedJobStats.getTotalTurnaroundNanos() / jobCount));
+        this.perfMetrics.setResponseTimePercentiles(LatencyPercentiles.of(completedJobStats.getResponseTimes()));
+        this.perfMetrics.setWaitTimePercentiles(LatencyPercentiles.of(completedJobStats.getWaitTimes()));
+        this.perfMetrics.setTurnaroundTimePercentiles(LatencyPercentiles.of(completedJobStats.getTurnaroundTimes()));
+    }
 
-        Duration totalResponseDuration = Duration.ZERO;
-        Duration maxResponseDuration = Duration.ZERO;
-        Duration totalWaitDuration = Duration.ZERO;
-        Duration totalTurnaroundDuration = Duration.ZERO;
-
-        for (Job job : completedJobs) {
-            // calculate the average response time
-            // response time =  actual completion time - arrival time
-            Duration turnaroundTime = Duration.between(job.getArrivalTime(), job.getActualCompletionTime());
-            Duration responseTime = Duration.between(job.getArrivalTime(), job.getActualProcessingStartTime());
-            if (responseTime.compareTo(maxResponseDuration) > 0) {
-                maxResponseDuration = responseTime;
-            }
-            totalResponseDuration = totalResponseDuration.plus(responseTime);
-
-            // calc wait time
-
-            Duration executionDuration = Duration.ofMillis(job.getExecutionTime());
-            Duration jobWaitDuration = turnaroundTime.minus(executionDuration);
-            totalWaitDuration = totalWaitDuration.plus(jobWaitDuration);
-
-
-            // calc turnaround time
-            totalTurnaroundDuration = totalTurnaroundDuration.plus(turnaroundTime);
-        }
-        Duration avgResponseTime = totalResponseDuration.dividedBy(completedJobs.size());
-        Duration avgWaitTime = totalWaitDuration.dividedBy(completedJobs.size());
-        Duration avgTurnaroundTime = totalTurnaroundDuration.dividedBy(completedJobs.size());
-        this.perfMetrics.setAverageResponseTime(avgResponseTime.toMillis());
-        this.perfMetrics.setMaxResponseTime(maxResponseDuration.toMillis());
-        this.perfMetrics.setAverageWaitTime(avgWaitTime.toMillis());
-        this.perfMetrics.setAverageTurnaroundTime(avgTurnaroundTime.toMillis());
+    /**
+     * Converts a duration to milliseconds, truncated to whole microseconds.
+     * @param nanos The duration in nanoseconds.
+     * @return The duration in milliseconds.
+     */
+    static double toMillis(long nanos) {
+        return Math.floorDiv(nanos, 1_000) / 1_000.0;
     }
 
     /**
      * Calculates the throughput for the completed jobs.
      */
     private void calcThroughput() {
-        // must iterate through and get the earliest arrival time
-        LocalDateTime firstJobArrival = completedJobs.stream()
-                .map(Job::getArrivalTime)
-                .min(LocalDateTime::compareTo)
-                .orElseThrow();
-        // similarly, must get the completion time of the final job
-        LocalDateTime lastJobCompletion = completedJobs.stream()
-                .map(Job::getActualCompletionTime)
-                .max(LocalDateTime::compareTo)
-                .orElseThrow();
-        Duration totalJobExecutionDuration = Duration.between(firstJobArrival, lastJobCompletion);
-        // throughput tracked as jobs per second
-        double seconds = totalJobExecutionDuration.toSeconds();
-        double throughput = seconds == 0
-                ? completedJobs.size()
-                : completedJobs.size() / seconds;
+        long jobCount = completedJobStats.getJobCount();
+        if (jobCount == 0) {
+            this.perfMetrics.setThroughput(0);
+            return;
+        }
+        // throughput tracked as jobs per second, over the exact span so sub-second runs are not rounded away
+        long spanNanos = completedJobStats.getLastJobCompletionNanos() - completedJobStats.getFirstJobArrivalNanos();
+        double seconds = Math.max(1, spanNanos) / 1e9;
+        double throughput = jobCount / seconds;
         throughput = Math.round(throughput * 100.0) / 100.0;
         this.perfMetrics.setThroughput(throughput);
     }
 
     /**
-     * Prints the calculated performance metrics.
+     * Calculates the performance metrics of the completed jobs.
+     * @return The metrics.
      */
-    public void printMetrics() {
+    public synchronized PerfMetrics calculateMetrics() {
         this.calcResponseTimes();
         this.calcThroughput();
+        this.perfMetrics.setLockStats(scheduler != null ? scheduler.getLockStats() : List.of());
+        return this.perfMetrics;
+    }
+
+    /**
+     * Prints the calculated performance metrics.
+     */
+    public synchronized void printMetrics() {
+        this.calculateMetrics();
         System.out.println("-------------------------------------------");
         if (testParams != null && testParams.benchmarkName() != null) {
             System.out.println("Performance Metrics for " + testParams.benchmarkName().toUpperCase());
@@ -117,60 +131,174 @@ public class PerfEvaluator {
             System.out.println("Performance Metrics for Completed Jobs");
         }
         System.out.println("-------------------------------------------");
-        System.out.println("Total number of jobs completed: " + this.completedJobs.size());
-        System.out.println("Average turnaround time: " + this.perfMetrics.getAverageTurnaroundTime() + "ms");
-        System.out.println("Average response time (CPU Time): " + this.perfMetrics.getAverageResponseTime() + "ms");
-        System.out.println("Max response time (Max CPU Time): " + this.perfMetrics.getMaxResponseTime() + "ms");
-        System.out.println("Average wait time: " + this.perfMetrics.getAverageWaitTime() + "ms");
+        System.out.println("Total number of jobs completed: " + this.completedJobStats.getJobCount());
+        System.out.println("Average turnaround time: "
+                + LatencyPercentiles.formatMillis(this.perfMetrics.getAverageTurnaroundTime()) + "ms");
+        System.out.println("Average response time (CPU Time): "
+                + LatencyPercentiles.formatMillis(this.perfMetrics.getAverageResponseTime()) + "ms");
+        System.out.println("Max response time (Max CPU Time): "
+                + LatencyPercentiles.formatMillis(this.perfMetrics.getMaxResponseTime()) + "ms");
+        System.out.println("Average wait time: "
+                + LatencyPercentiles.formatMillis(this.perfMetrics.getAverageWaitTime()) + "ms");
+        System.out.println("Turnaround time p50/p90/p99/p99.9: " + this.perfMetrics.getTurnaroundTimePercentiles());
+        System.out.println("Response time p50/p90/p99/p99.9: " + this.perfMetrics.getResponseTimePercentiles());
+        System.out.println("Wait time p50/p90/p99/p99.9: " + this.perfMetrics.getWaitTimePercentiles());
         System.out.println("Throughput: " + this.perfMetrics.getThroughput() + " jobs per second");
+        if (this.workerStats.size() > 1) {
+            // only break down per worker when more than one dispatcher worker ran jobs
+            for (Map.Entry<Integer, WorkerStats> entry : this.workerStats.entrySet()) {
+                System.out.println("Worker " + entry.getKey() + ": " + entry.getValue().getJobsExecuted()
+                        + " jobs, busy " + LatencyPercentiles.formatMillis(toMillis(entry.getValue().getBusyNanos()))
+                        + "ms, idle " + LatencyPercentiles.formatMillis(toMillis(entry.getValue().getIdleNanos())) + "ms");
+            }
+        }
+        for (InstrumentedLock.LockStats lock : this.perfMetrics.getLockStats()) {
+            // lock waits and holds are microseconds, condition awaits last as long as the queue stays empty or full
+            System.out.printf("Lock %s: %d acquisitions (%d contended, max %d waiting), wait total/p99/max: %d/%d/%dus, "
+                            + "hold total/p99/max: %d/%d/%dus%n",
+                    lock.name(), lock.acquisitions(), lock.contendedAcquisitions(), lock.maxWaiters(),
+                    lock.totalWaitNanos() / 1_000, lock.p99WaitNanos() / 1_000, lock.maxWaitNanos() / 1_000,
+                    lock.totalHoldNanos() / 1_000, lock.p99HoldNanos() / 1_000, lock.maxHoldNanos() / 1_000);
+            for (InstrumentedLock.ConditionStats condition : lock.conditions()) {
+                System.out.printf("  Condition %s: %d awaits (max %d waiting), await total/p99/max: %d/%d/%dms%n",
+                        condition.name(), condition.awaits(), condition.maxWaiters(), condition.totalAwaitNanos() / 1_000_000,
+                        condition.p99AwaitNanos() / 1_000_000, condition.maxAwaitNanos() / 1_000_000);
+            }
+        }
         System.out.println("-------------------------------------------");
     }
 
     /**
-     * Adds a completed job to the list of completed jobs.
+     * Adds a completed job to the metrics and to the recently completed jobs,
+     * dropping the oldest retained job once the job history limit is reached.
      * @param job The job.
      */
-    public void addCompletedJob(Job job) {
+    public synchronized void addCompletedJob(Job job) {
         this.completedJobs.add(job);
+        this.completedJobStats.add(job);
+        // recorded in whole microseconds, so sub-millisecond jobs keep their precision
+        liveStats.recordCompletion(Math.floorDiv(job.getActualProcessingStartNanos() - job.getArrivalNanos(), 1_000));
+    }
+
+    /**
+     * Adds the aggregated metrics of other completed jobs to this evaluator, e.g. those of the jobs completed
+     * before a restart. The jobs themselves are not added to the recently completed jobs or the live metrics.
+     * @param stats The aggregated metrics.
+     */
+    public synchronized void merge(CompletedJobStats stats) {
+        this.completedJobStats.merge(stats);
     }
 
     /**
-     * Gets the completed jobs.
-     * @return The completed jobs.
+     * Records the depth of the job queue seen by a dispatcher worker, for the live metrics.
+     * @param queueDepth The number of queued jobs.
      */
-    public ArrayList<Job> getCompletedJobs() {
-        return this.completedJobs;
+    public void recordQueueDepth(int queueDepth) {
+        this.liveStats.recordQueueDepth(queueDepth);
+    }
+
+    /**
+     * Gets the live metrics of the recent past.
+     * @return The sliding window stats.
+     */
+    public SlidingWindowStats getLiveStats() {
+        return this.liveStats;
+    }
+
+    /**
+     * Records a slice of a job executed by a dispatcher worker.
+     * @param workerId The id of the worker.
+     * @param busyNanos The time in nanoseconds the worker spent on the slice.
+     * @param isCompleted Whether the slice completed the job.
+     */
+    public void recordWorkerSlice(int workerId, long busyNanos, boolean isCompleted) {
+        this.workerStats.computeIfAbsent(workerId, id -> new WorkerStats()).recordSlice(busyNanos, isCompleted);
+    }
+
+    /**
+     * Records time a dispatcher worker spent waiting on the job queue.
+     * @param workerId The id of the worker.
+     * @param idleNanos The time in nanoseconds the worker waited for a job.
+     */
+    public void recordWorkerIdle(int workerId, long idleNanos) {
+        this.workerStats.computeIfAbsent(workerId, id -> new WorkerStats()).recordIdle(idleNanos);
+    }
+
+    /**
+     * Gets the activity of each dispatcher worker that has executed a job or waited for one.
+     * @return The worker stats keyed by worker id.
+     */
+    public Map<Integer, WorkerStats> getWorkerStats() {
+        return this.workerStats;
+    }
+
+    /**
+     * Gets the retained completed jobs.
+     * @return A copy of the most recently completed jobs, oldest first.
+     */
+    public synchronized List<Job> getCompletedJobs() {
+        return this.completedJobs.toList();
+    }
+
+    /**
+     * Gets the number of jobs completed, including the jobs no longer retained.
+     * @return The completed job count.
+     */
+    public synchronized long getCompletedJobCount() {
+        return this.completedJobStats.getJobCount();
+    }
+
+    /**
+     * Sets how many of the most recently completed jobs are kept. The metrics always cover every completed job.
+     * @param jobHistoryLimit The number of jobs to keep, or {@link #RETAIN_ALL_JOBS} to keep every completed job.
+     */
+    public synchronized void setJobHistoryLimit(int jobHistoryLimit) {
+        if (jobHistoryLimit < 0 && jobHistoryLimit != RETAIN_ALL_JOBS) {
+            throw new IllegalArgumentException("Job history limit cannot be negative.");
+        }
+        this.jobHistoryLimit = jobHistoryLimit;
+        this.completedJobs.setLimit(jobHistoryLimit);
+    }
+
+    public synchronized int getJobHistoryLimit() {
+        return this.jobHistoryLimit;
     }
 
     /**
      * Generate jobs for the performance evaluation.
      *
+     * @return The number of generated jobs the scheduler rejected because the queue was full.
      * @throws InterruptedException throws if the thread is interrupted
      */
-    public void generateJobs() throws InterruptedException {
+    public int generateJobs() throws InterruptedException {
+        int rejectedJobs = 0;
         for (int i = 0; i < testParams.numJobs(); i++) {
             // allow the job to have a priority between 0 and the inclusive maximum priority level
             int priority = (int) (Math.random() * testParams.priorityLevels() + 1);
             // allow the job to have a CPU time between the inclusive minimum and maximum CPU time
             long cpuTime = (int) (Math.random() * (testParams.maxCpuTime() - testParams.minCpuTime()) + testParams.minCpuTime());
             String jobName = "Job_" + (i + 1);
-            LocalDateTime creationTime = LocalDateTime.now();
-            Job job = new Job(jobName, priority, cpuTime, creationTime);
+            Job job = new Job(jobName, priority, cpuTime, JobClock.nowEpochNanos());
             System.out.println("Generate job: " + job.getName() + " with priority " + job.getExecutionPriority() + " and execution time " + job.getExecutionTime());
-            scheduler.addJob(job);
+            if (!scheduler.addJob(job)) {
+                System.out.println("Rejected job: " + job.getName() + ", the queue is full.");
+                rejectedJobs++;
+            }
         }
+        return rejectedJobs;
     }
 
     /**
      * Run the performance evaluation with test jobs for test command.
      *
+     * @return The number of generated jobs the scheduler rejected because the queue was full.
      * @throws InterruptedException throws if the thread is interrupted
      */
-    public void runAsPerfTest(PerfTestParams testParams) throws InterruptedException {
+    public int runAsPerfTest(PerfTestParams testParams) throws InterruptedException {
         // setup
         this.setTestParams(testParams);
         scheduler.setPolicy(this.testParams.policy());
         // run the performance evaluation
-        this.generateJobs();
+        return this.generateJobs();
     }
 }
\ No newline at end of file
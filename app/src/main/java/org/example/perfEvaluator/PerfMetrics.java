@@ -1,20 +1,29 @@
 package org.example.perfEvaluator;
 
+import java.util.List;
+
+import org.example.common.InstrumentedLock;
+
 /**
  * The PerfMetrics class encapsulates the available performance metrics for a run of the PerfEvaluator.
+ * Durations are in milliseconds with microsecond precision.
  */
 public class PerfMetrics {
-    private long averageResponseTime;
+    private double averageResponseTime;
     private double throughput;
-    private long maxResponseTime;
-    private long averageWaitTime;
-    private long averageTurnaroundTime;
+    private double maxResponseTime;
+    private double averageWaitTime;
+    private double averageTurnaroundTime;
+    private LatencyPercentiles responseTimePercentiles = LatencyPercentiles.EMPTY;
+    private LatencyPercentiles waitTimePercentiles = LatencyPercentiles.EMPTY;
+    private LatencyPercentiles turnaroundTimePercentiles = LatencyPercentiles.EMPTY;
+    private List<InstrumentedLock.LockStats> lockStats = List.of();
 
-    public void setAverageResponseTime(long averageResponseTime) {
+    public void setAverageResponseTime(double averageResponseTime) {
         this.averageResponseTime = averageResponseTime;
     }
 
-    public void setMaxResponseTime(long maxResponseTime) {
+    public void setMaxResponseTime(double maxResponseTime) {
         this.maxResponseTime = maxResponseTime;
     }
 
@@ -22,11 +31,11 @@ public class PerfMetrics {
         this.throughput = throughput;
     }
 
-    public long getMaxResponseTime() {
+    public double getMaxResponseTime() {
         return maxResponseTime;
     }
 
-    public long getAverageResponseTime() {
+    public double getAverageResponseTime() {
         return averageResponseTime;
     }
 
@@ -34,19 +43,55 @@ public class PerfMetrics {
         return throughput;
     }
 
-    public long getAverageWaitTime() {
+    public double getAverageWaitTime() {
         return this.averageWaitTime;
     }
 
-    public void setAverageWaitTime(long averageWaitTime) {
+    public void setAverageWaitTime(double averageWaitTime) {
         this.averageWaitTime = averageWaitTime;
     }
 
-    public long getAverageTurnaroundTime() {
+    public double getAverageTurnaroundTime() {
         return this.averageTurnaroundTime;
     }
 
-    public void setAverageTurnaroundTime(long averageTurnaroundTime) {
+    public void setAverageTurnaroundTime(double averageTurnaroundTime) {
         this.averageTurnaroundTime = averageTurnaroundTime;
     }
+
+    public LatencyPercentiles getResponseTimePercentiles() {
+        return this.responseTimePercentiles;
+    }
+
+    public void setResponseTimePercentiles(LatencyPercentiles responseTimePercentiles) {
+        this.responseTimePercentiles = responseTimePercentiles;
+    }
+
+    public LatencyPercentiles getWaitTimePercentiles() {
+        return this.waitTimePercentiles;
+    }
+
+    public void setWaitTimePercentiles(LatencyPercentiles waitTimePercentiles) {
+        this.waitTimePercentiles = waitTimePercentiles;
+    }
+
+    public LatencyPercentiles getTurnaroundTimePercentiles() {
+        return this.turnaroundTimePercentiles;
+    }
+
+    public void setTurnaroundTimePercentiles(LatencyPercentiles turnaroundTimePercentiles) {
+        this.turnaroundTimePercentiles = turnaroundTimePercentiles;
+    }
+
+    /**
+     * Gets the contention on the scheduler and job queue locks.
+     * @return A summary per lock, empty when the jobs were not submitted through a scheduler.
+     */
+    public List<InstrumentedLock.LockStats> getLockStats() {
+        return this.lockStats;
+    }
+
+    public void setLockStats(List<InstrumentedLock.LockStats> lockStats) {
+        this.lockStats = lockStats;
+    }
 }
@@ -0,0 +1,201 @@
+package org.example.perfEvaluator;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Map;
+import java.util.PriorityQueue;
+import java.util.Random;
+
+import org.example.common.Job;
+import org.example.queueManager.ReadyQueue;
+import org.example.scheduler.Scheduler;
+import org.example.scheduler.SchedulingPolicy;
+
+/**
+ * The PerfSimulator replays a performance test workload as a discrete-event simulation on a virtual clock.
+ * Jobs are ordered by the same policy comparators and ready queue as the live scheduler and are executed
+ * by a fixed number of simulated workers, but the clock jumps straight from one arrival or completion
+ * to the next instead of sleeping, so a workload of hours of CPU time is evaluated in milliseconds.
+ * The simulated jobs carry virtual timestamps, so their metrics are calculated by a PerfEvaluator
+ * exactly as for a live test.
+ * Under a preemptive policy the workers execute one time quantum at a time and queue the job again
+ * at the end of each slice, as the live dispatchers do, and under MLFQ the queued jobs are moved back
+ * to the top level once every boost period of virtual time.
+ */
+public class PerfSimulator {
+    // virtual time 0, only differences between timestamps are meaningful
+    static final LocalDateTime SIMULATION_START = LocalDateTime.of(2000, 1, 1, 0, 0);
+    private static final long SIMULATION_START_NANOS = Job.toEpochNanos(SIMULATION_START);
+    private final int workers;
+    private final long seed;
+    private final long quantumMillis;
+    private final long boostPeriodMillis;
+
+    /**
+     * A time slice a simulated worker is executing.
+     * @param end The end of the slice in milliseconds of virtual time.
+     * @param job The job.
+     */
+    private record Slice(long end, Job job) {
+    }
+
+    /**
+     * PerfSimulator constructor with the default time quantum.
+     * @param workers The number of simulated dispatcher workers.
+     * @param seed The seed of the generated workloads.
+     */
+    public PerfSimulator(int workers, long seed) {
+        this(workers, seed, Scheduler.DEFAULT_QUANTUM_MILLIS);
+    }
+
+    /**
+     * PerfSimulator constructor with the default MLFQ boost period.
+     * @param workers The number of simulated dispatcher workers.
+     * @param seed The seed of the generated workloads.
+     * @param quantumMillis The time quantum of the preemptive policies in milliseconds.
+     */
+    public PerfSimulator(int workers, long seed, long quantumMillis) {
+        this(workers, seed, quantumMillis, Scheduler.DEFAULT_BOOST_MILLIS);
+    }
+
+    /**
+     * PerfSimulator constructor.
+     * @param workers The number of simulated dispatcher workers.
+     * @param seed The seed of the generated workloads.
+     * @param quantumMillis The time quantum of the preemptive policies in milliseconds.
+     * @param boostPeriodMillis How often the queued jobs are moved back to the top MLFQ level, in milliseconds.
+     */
+    public PerfSimulator(int workers, long seed, long quantumMillis, long boostPeriodMillis) {
+        if (workers < 1) {
+            throw new IllegalArgumentException("Simulated workers must be at least 1.");
+        }
+        if (quantumMillis < 1 || boostPeriodMillis < 1) {
+            throw new IllegalArgumentException("The time quantum and boost period must be at least 1ms.");
+        }
+        this.workers = workers;
+        this.seed = seed;
+        this.quantumMillis = quantumMillis;
+        this.boostPeriodMillis = boostPeriodMillis;
+    }
+
+    /**
+     * Generates a workload with the same distribution of priorities and CPU times as
+     * {@link PerfEvaluator#generateJobs()}. Every job arrives at the start of the simulation.
+     * @param testParams The test parameters.
+     * @return The generated jobs in submission order.
+     */
+    public List<Job> generateWorkload(PerfTestParams testParams) {
+        Random random = new Random(seed);
+        List<Job> workload = new ArrayList<>(testParams.numJobs());
+        for (int i = 0; i < testParams.numJobs(); i++) {
+            int priority = (int) (random.nextDouble() * testParams.priorityLevels() + 1);
+            long cpuTime = (int) (random.nextDouble() * (testParams.maxCpuTime() - testParams.minCpuTime()) + testParams.minCpuTime());
+            workload.add(new Job("Job_" + (i + 1), priority, cpuTime, SIMULATION_START));
+        }
+        return workload;
+    }
+
+    /**
+     * Simulates the execution of a workload under a scheduling policy.
+     * The workload itself is left untouched; copies of its jobs are executed.
+     * @param workload The jobs, each arriving at its arrival time.
+     * @param policy The scheduling policy.
+     * @return A PerfEvaluator holding the simulated completed jobs.
+     */
+    public PerfEvaluator simulate(List<Job> workload, SchedulingPolicy policy) {
+        List<Job> arrivals = new ArrayList<>(workload.size());
+        for (Job job : workload) {
+            arrivals.add(new Job(job.getName(), job.getExecutionPriority(), job.getExecutionTime(), job.getArrivalTime()));
+        }
+        arrivals.sort(Comparator.comparingLong(Job::getArrivalNanos));
+
+        PerfEvaluator evaluator = new PerfEvaluator();
+        ReadyQueue readyQueue = new ReadyQueue(policy.comparator());
+        // the slices the busy workers are executing, the first to end at the head
+        PriorityQueue<Slice> running = new PriorityQueue<>(Comparator.comparingLong(Slice::end));
+        long now = 0;
+        long nextSequenceNumber = 0;
+        long nextBoostTime = policy == SchedulingPolicy.MLFQ ? boostPeriodMillis : Long.MAX_VALUE;
+        int nextArrival = 0;
+        while (true) {
+            while (nextArrival < arrivals.size() && this.offsetOf(arrivals.get(nextArrival)) <= now) {
+                Job job = arrivals.get(nextArrival++);
+                job.setSequenceNumber(nextSequenceNumber++);
+                readyQueue.add(job);
+            }
+            while (!running.isEmpty() && running.peek().end() <= now) {
+                Job job = running.poll().job();
+                if (job.getRemainingTime() > 0) {
+                    // preempted, queued again behind the jobs that arrived during its slice
+                    policy.demote(job);
+                    job.setSequenceNumber(nextSequenceNumber++);
+                    readyQueue.add(job);
+                } else {
+                    job.setActualCompletionNanos(SIMULATION_START_NANOS + now * 1_000_000);
+                    job.setIsCompleted(true);
+                    evaluator.addCompletedJob(job);
+                }
+            }
+            if (nextBoostTime <= now) {
+                readyQueue.updateAll(job -> job.setLevel(0));
+                nextBoostTime = now + boostPeriodMillis;
+            }
+            while (running.size() < workers && !readyQueue.isEmpty()) {
+                Job job = readyQueue.poll();
+                long slice = policy.timeSlice(job, quantumMillis);
+                if (job.getActualProcessingStartNanos() == Job.NO_TIME) {
+                    job.setActualProcessingStartNanos(SIMULATION_START_NANOS + now * 1_000_000);
+                }
+                job.setRemainingTime(job.getRemainingTime() - slice);
+                running.add(new Slice(now + slice, job));
+            }
+            long nextArrivalTime = nextArrival < arrivals.size() ? this.offsetOf(arrivals.get(nextArrival)) : Long.MAX_VALUE;
+            long nextCompletionTime = running.isEmpty() ? Long.MAX_VALUE : running.peek().end();
+            if (nextArrivalTime == Long.MAX_VALUE && nextCompletionTime == Long.MAX_VALUE) {
+                return evaluator;
+            }
+            now = Math.min(Math.min(nextArrivalTime, nextCompletionTime), nextBoostTime);
+        }
+    }
+
+    /**
+     * Simulates one generated workload under every scheduling policy.
+     * @param testParams The test parameters. The policy of the parameters is ignored.
+     * @return A PerfEvaluator per policy, each with test parameters naming the policy.
+     */
+    public Map<SchedulingPolicy, PerfEvaluator> compare(PerfTestParams testParams) {
+        List<Job> workload = this.generateWorkload(testParams);
+        Map<SchedulingPolicy, PerfEvaluator> results = new EnumMap<>(SchedulingPolicy.class);
+        for (SchedulingPolicy policy : SchedulingPolicy.values()) {
+            PerfEvaluator evaluator = this.simulate(workload, policy);
+            evaluator.setTestParams(new PerfTestParams(testParams.benchmarkName() + " " + policy, policy,
+                    testParams.numJobs(), testParams.priorityLevels(), testParams.maxCpuTime(), testParams.minCpuTime()));
+            results.put(policy, evaluator);
+        }
+        return results;
+    }
+
+    /**
+     * Gets the arrival of a job in milliseconds of virtual time.
+     * @param job The job.
+     * @return The arrival offset.
+     */
+    private long offsetOf(Job job) {
+        return Math.floorDiv(job.getArrivalNanos() - SIMULATION_START_NANOS, 1_000_000);
+    }
+
+    public int getWorkers() {
+        return this.workers;
+    }
+
+    public long getQuantum() {
+        return this.quantumMillis;
+    }
+
+    public long getBoostPeriod() {
+        return this.boostPeriodMillis;
+    }
+}
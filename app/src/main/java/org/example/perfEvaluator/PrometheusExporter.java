@@ -0,0 +1,210 @@
+package org.example.perfEvaluator;
+
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+
+import org.example.common.InstrumentedLock;
+import org.example.common.LatencyHistogram;
+import org.example.queueManager.JobQueue;
+import org.example.scheduler.Scheduler;
+import org.example.scheduler.SchedulingPolicy;
+
+/**
+ * The PrometheusExporter renders the live metrics of the job queue, the scheduler, the dispatcher workers
+ * and the completed jobs in the Prometheus text exposition format.
+ * Every value is read from counters the components already maintain, so a scrape never stops the run
+ * and costs the same however many jobs have completed. Durations are exported in seconds.
+ */
+public class PrometheusExporter {
+    public static final String CONTENT_TYPE = "text/plain; version=0.0.4; charset=utf-8";
+    private static final double[] QUANTILES = {0.5, 0.9, 0.99, 0.999};
+
+    private final JobQueue jobQueue;
+    private final Scheduler scheduler;
+    private final PerfEvaluator perfEvaluator;
+
+    /**
+     * PrometheusExporter constructor.
+     * @param jobQueue The job queue.
+     * @param scheduler The scheduler.
+     * @param perfEvaluator The performance evaluator the dispatcher workers report to.
+     */
+    public PrometheusExporter(JobQueue jobQueue, Scheduler scheduler, PerfEvaluator perfEvaluator) {
+        this.jobQueue = jobQueue;
+        this.scheduler = scheduler;
+        this.perfEvaluator = perfEvaluator;
+    }
+
+    /**
+     * Renders the current metrics.
+     * @return The metrics in the Prometheus text format.
+     */
+    public String scrape() {
+        StringBuilder out = new StringBuilder(4096);
+
+        header(out, "csubatch_queue_depth", "gauge", "Number of jobs waiting in the job queue.");
+        sample(out, "csubatch_queue_depth", "", jobQueue.getQueueSize());
+        header(out, "csubatch_queue_capacity", "gauge", "Maximum number of jobs the job queue holds.");
+        sample(out, "csubatch_queue_capacity", "", jobQueue.getCapacity());
+        header(out, "csubatch_jobs_enqueued_total", "counter", "Jobs added to the job queue.");
+        sample(out, "csubatch_jobs_enqueued_total", "", jobQueue.getEnqueuedCount());
+        header(out, "csubatch_jobs_dequeued_total", "counter", "Jobs taken from the job queue by dispatcher workers.");
+        sample(out, "csubatch_jobs_dequeued_total", "", jobQueue.getDequeuedCount());
+        header(out, "csubatch_jobs_rejected_total", "counter", "Jobs rejected because the job queue or scheduler inbox stayed full.");
+        sample(out, "csubatch_jobs_rejected_total", "", jobQueue.getRejectedCount() + scheduler.getRejectedCount());
+        header(out, "csubatch_queue_producer_blocked_seconds_total", "counter",
+                "Time submitters spent waiting for space in a full job queue or scheduler inbox.");
+        sample(out, "csubatch_queue_producer_blocked_seconds_total", "",
+                (jobQueue.getProducerBlockedNanos() + scheduler.getSubmitterBlockedNanos()) / 1e9);
+        List<Integer> localQueueSizes = jobQueue.getLocalQueueSizes();
+        if (!localQueueSizes.isEmpty()) {
+            header(out, "csubatch_queue_steals_total", "counter", "Jobs a worker took from a peer's local queue because its own was empty.");
+            sample(out, "csubatch_queue_steals_total", "", jobQueue.getStealCount());
+            header(out, "csubatch_queue_local_depth", "gauge", "Jobs waiting in the local queue of each worker.");
+            for (int i = 0; i < localQueueSizes.size(); i++) {
+                sample(out, "csubatch_queue_local_depth", label("queue", String.valueOf(i)), localQueueSizes.get(i));
+            }
+            header(out, "csubatch_queue_local_imbalance", "gauge", "Jobs in the fullest local queue minus jobs in the emptiest one.");
+            sample(out, "csubatch_queue_local_imbalance", "",
+                    Collections.max(localQueueSizes) - Collections.min(localQueueSizes));
+        }
+
+        header(out, "csubatch_scheduler_policy", "gauge", "The active scheduling policy, 1 for the active one.");
+        SchedulingPolicy activePolicy = scheduler.getPolicy();
+        for (SchedulingPolicy policy : SchedulingPolicy.values()) {
+            sample(out, "csubatch_scheduler_policy", label("policy", policy.name()), policy == activePolicy ? 1 : 0);
+        }
+        header(out, "csubatch_scheduler_reorders_total", "counter", "Reorders of the queued jobs for a policy change.");
+        sample(out, "csubatch_scheduler_reorders_total", "", scheduler.getReorderCount());
+        header(out, "csubatch_scheduler_reorder_seconds_total", "counter",
+                "Time spent reordering the queued jobs for policy changes.");
+        sample(out, "csubatch_scheduler_reorder_seconds_total", "", scheduler.getReorderNanos() / 1e9);
+        header(out, "csubatch_scheduler_quantum_seconds", "gauge", "Time slice of a job under a preemptive policy.");
+        sample(out, "csubatch_scheduler_quantum_seconds", "", scheduler.getQuantum() / 1e3);
+        header(out, "csubatch_scheduler_preemptions_total", "counter", "Jobs preempted at the end of a time slice and queued again.");
+        sample(out, "csubatch_scheduler_preemptions_total", "", scheduler.getPreemptionCount());
+        header(out, "csubatch_scheduler_boosts_total", "counter", "Times the queued jobs were moved back to the top MLFQ level.");
+        sample(out, "csubatch_scheduler_boosts_total", "", scheduler.getBoostCount());
+        header(out, "csubatch_scheduler_inbox_depth", "gauge", "Submitted jobs the scheduler thread has not queued yet.");
+        sample(out, "csubatch_scheduler_inbox_depth", "", scheduler.getInboxSize());
+        header(out, "csubatch_scheduler_batches_total", "counter", "Batches of submitted jobs the scheduler thread queued.");
+        sample(out, "csubatch_scheduler_batches_total", "", scheduler.getBatchCount());
+        header(out, "csubatch_scheduler_batched_jobs_total", "counter", "Submitted jobs the scheduler thread queued in batches.");
+        sample(out, "csubatch_scheduler_batched_jobs_total", "", scheduler.getBatchedJobCount());
+
+        List<InstrumentedLock.LockStats> lockStats = scheduler.getLockStats();
+        header(out, "csubatch_lock_acquisitions_total", "counter", "Acquisitions of each scheduler and job queue lock.");
+        for (InstrumentedLock.LockStats lock : lockStats) {
+            sample(out, "csubatch_lock_acquisitions_total", label("lock", lock.name()), lock.acquisitions());
+        }
+        header(out, "csubatch_lock_contended_acquisitions_total", "counter", "Acquisitions that waited for another holder.");
+        for (InstrumentedLock.LockStats lock : lockStats) {
+            sample(out, "csubatch_lock_contended_acquisitions_total", label("lock", lock.name()), lock.contendedAcquisitions());
+        }
+        header(out, "csubatch_lock_wait_seconds_total", "counter", "Time threads spent waiting to acquire each lock.");
+        for (InstrumentedLock.LockStats lock : lockStats) {
+            sample(out, "csubatch_lock_wait_seconds_total", label("lock", lock.name()), lock.totalWaitNanos() / 1e9);
+        }
+        header(out, "csubatch_lock_hold_seconds_total", "counter", "Time each lock was held.");
+        for (InstrumentedLock.LockStats lock : lockStats) {
+            sample(out, "csubatch_lock_hold_seconds_total", label("lock", lock.name()), lock.totalHoldNanos() / 1e9);
+        }
+        header(out, "csubatch_lock_max_waiters", "gauge", "Most threads seen queued for each lock.");
+        for (InstrumentedLock.LockStats lock : lockStats) {
+            sample(out, "csubatch_lock_max_waiters", label("lock", lock.name()), lock.maxWaiters());
+        }
+        header(out, "csubatch_condition_awaits_total", "counter", "Awaits on each lock condition.");
+        for (InstrumentedLock.LockStats lock : lockStats) {
+            for (InstrumentedLock.ConditionStats condition : lock.conditions()) {
+                sample(out, "csubatch_condition_awaits_total", label("lock", lock.name(), "condition", condition.name()),
+                        condition.awaits());
+            }
+        }
+        header(out, "csubatch_condition_await_seconds_total", "counter", "Time threads spent awaiting each lock condition.");
+        for (InstrumentedLock.LockStats lock : lockStats) {
+            for (InstrumentedLock.ConditionStats condition : lock.conditions()) {
+                sample(out, "csubatch_condition_await_seconds_total", label("lock", lock.name(), "condition", condition.name()),
+                        condition.totalAwaitNanos() / 1e9);
+            }
+        }
+
+        Map<Integer, WorkerStats> workerStats = perfEvaluator.getWorkerStats();
+        header(out, "csubatch_dispatcher_jobs_executed_total", "counter", "Jobs executed by each dispatcher worker.");
+        for (Map.Entry<Integer, WorkerStats> entry : workerStats.entrySet()) {
+            sample(out, "csubatch_dispatcher_jobs_executed_total", label("worker", String.valueOf(entry.getKey())),
+                    entry.getValue().getJobsExecuted());
+        }
+        header(out, "csubatch_dispatcher_busy_seconds_total", "counter", "Time each dispatcher worker spent executing jobs.");
+        for (Map.Entry<Integer, WorkerStats> entry : workerStats.entrySet()) {
+            sample(out, "csubatch_dispatcher_busy_seconds_total", label("worker", String.valueOf(entry.getKey())),
+                    entry.getValue().getBusyNanos() / 1e9);
+        }
+        header(out, "csubatch_dispatcher_idle_seconds_total", "counter", "Time each dispatcher worker spent waiting for jobs.");
+        for (Map.Entry<Integer, WorkerStats> entry : workerStats.entrySet()) {
+            sample(out, "csubatch_dispatcher_idle_seconds_total", label("worker", String.valueOf(entry.getKey())),
+                    entry.getValue().getIdleNanos() / 1e9);
+        }
+
+        header(out, "csubatch_jobs_completed_total", "counter", "Jobs completed since startup.");
+        sample(out, "csubatch_jobs_completed_total", "", perfEvaluator.getCompletedJobCount());
+        summary(out, "csubatch_job_response_time_seconds", "Time from job arrival to the start of its execution.",
+                perfEvaluator.completedJobStats.getResponseTimes());
+        summary(out, "csubatch_job_wait_time_seconds", "Time a job spent waiting rather than executing.",
+                perfEvaluator.completedJobStats.getWaitTimes());
+        summary(out, "csubatch_job_turnaround_time_seconds", "Time from job arrival to its completion.",
+                perfEvaluator.completedJobStats.getTurnaroundTimes());
+        return out.toString();
+    }
+
+    /**
+     * Writes the HELP and TYPE lines of a metric.
+     */
+    private static void header(StringBuilder out, String name, String type, String help) {
+        out.append("# HELP ").append(name).append(' ').append(help).append('\n');
+        out.append("# TYPE ").append(name).append(' ').append(type).append('\n');
+    }
+
+    /**
+     * Writes one sample line.
+     * @param labels The rendered labels including braces, or an empty string.
+     */
+    private static void sample(StringBuilder out, String name, String labels, double value) {
+        out.append(name).append(labels).append(' ').append(format(value)).append('\n');
+    }
+
+    /**
+     * Writes a summary of a histogram of durations in microseconds.
+     */
+    private static void summary(StringBuilder out, String name, String help, LatencyHistogram histogram) {
+        header(out, name, "summary", help);
+        for (double quantile : QUANTILES) {
+            sample(out, name, label("quantile", format(quantile)), histogram.getValueAtPercentile(quantile * 100) / 1e6);
+        }
+        sample(out, name + "_sum", "", histogram.getSum() / 1e6);
+        sample(out, name + "_count", "", histogram.getCount());
+    }
+
+    /**
+     * Renders labels, escaping the values as the text format requires.
+     * @param namesAndValues Alternating label names and values.
+     */
+    private static String label(String... namesAndValues) {
+        StringBuilder labels = new StringBuilder("{");
+        for (int i = 0; i < namesAndValues.length; i += 2) {
+            String escaped = namesAndValues[i + 1].replace("\\", "\\\\").replace("\"", "\\\"").replace("\n", "\\n");
+            labels.append(i == 0 ? "" : ",").append(namesAndValues[i]).append("=\"").append(escaped).append('"');
+        }
+        return labels.append('}').toString();
+    }
+
+    /**
+     * Formats a sample value, whole numbers without a fraction.
+     */
+    private static String format(double value) {
+        if (value == Math.rint(value) && Math.abs(value) < 1e15) {
+            return Long.toString((long) value);
+        }
+        return Double.toString(value);
+    }
+}
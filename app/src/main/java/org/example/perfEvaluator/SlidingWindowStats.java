@@ -0,0 +1,158 @@
+package org.example.perfEvaluator;
+
+import java.util.List;
+import java.util.function.LongSupplier;
+
+import org.example.common.LatencyHistogram;
+
+/**
+ * The SlidingWindowStats keeps live metrics of the recent past in a ring of fixed-width time buckets.
+ * Each bucket counts the jobs completed and the queue depths sampled during its interval and holds a
+ * histogram of their response times; a window is the merge of its most recent buckets, so the
+ * metrics of the last few seconds or minutes can be read at any time without stopping the run.
+ * Windows are accurate to the bucket width of {@value #BUCKET_MILLIS}ms, and memory is fixed however long the run.
+ */
+public class SlidingWindowStats {
+    public static final long BUCKET_MILLIS = 2_000;
+    public static final List<Integer> WINDOW_SECONDS = List.of(10, 60, 300);
+    // enough buckets for the longest window plus the bucket currently being filled
+    private static final int BUCKET_SLOTS = (int) (300_000 / BUCKET_MILLIS) + 1;
+    // a coarser histogram than the lifetime one, below 6.25% relative error, keeps the full ring around 1MB
+    private static final int PRECISION_BITS = 5;
+
+    /**
+     * The metrics of one window.
+     * @param windowSeconds The length of the window.
+     * @param completedJobs The number of jobs completed in the window.
+     * @param throughput The completed jobs per second over the window, or over the time since the start if shorter.
+     * @param averageQueueDepth The average of the queue depths sampled in the window.
+     * @param maxQueueDepth The largest queue depth sampled in the window.
+     * @param responseTimePercentiles The response time percentiles of the jobs completed in the window.
+     */
+    public record WindowSnapshot(int windowSeconds, long completedJobs, double throughput,
+                                 double averageQueueDepth, int maxQueueDepth,
+                                 LatencyPercentiles responseTimePercentiles) {
+    }
+
+    /**
+     * The metrics recorded during one bucket interval.
+     */
+    private static class Bucket {
+        private long interval = -1;
+        private long completedJobs;
+        private long queueDepthSum;
+        private long queueDepthSamples;
+        private int maxQueueDepth;
+        private LatencyHistogram responseTimes;
+
+        private void reset(long newInterval) {
+            interval = newInterval;
+            completedJobs = 0;
+            queueDepthSum = 0;
+            queueDepthSamples = 0;
+            maxQueueDepth = 0;
+            if (responseTimes != null) {
+                responseTimes.reset();
+            }
+        }
+    }
+
+    private final Bucket[] buckets = new Bucket[BUCKET_SLOTS];
+    private final LongSupplier clockMillis;
+    private final long startMillis;
+
+    /**
+     * SlidingWindowStats constructor using the system clock.
+     */
+    public SlidingWindowStats() {
+        this(System::currentTimeMillis);
+    }
+
+    /**
+     * SlidingWindowStats constructor.
+     * @param clockMillis The clock, in milliseconds.
+     */
+    public SlidingWindowStats(LongSupplier clockMillis) {
+        this.clockMillis = clockMillis;
+        this.startMillis = clockMillis.getAsLong();
+        for (int i = 0; i < BUCKET_SLOTS; i++) {
+            buckets[i] = new Bucket();
+        }
+    }
+
+    /**
+     * Records a job completed now.
+     * @param responseMicros The response time of the job in microseconds.
+     */
+    public synchronized void recordCompletion(long responseMicros) {
+        Bucket bucket = this.currentBucket();
+        bucket.completedJobs++;
+        if (bucket.responseTimes == null) {
+            // allocated on first use, a quiet bucket costs no histogram
+            bucket.responseTimes = new LatencyHistogram(PRECISION_BITS);
+        }
+        bucket.responseTimes.record(responseMicros);
+    }
+
+    /**
+     * Records the depth of the job queue seen now.
+     * @param queueDepth The number of queued jobs.
+     */
+    public synchronized void recordQueueDepth(int queueDepth) {
+        Bucket bucket = this.currentBucket();
+        bucket.queueDepthSum += queueDepth;
+        bucket.queueDepthSamples++;
+        bucket.maxQueueDepth = Math.max(bucket.maxQueueDepth, queueDepth);
+    }
+
+    /**
+     * Gets the metrics of the most recent window of the given length.
+     * @param windowSeconds The length of the window, at most 300 seconds.
+     * @return The window metrics.
+     */
+    public synchronized WindowSnapshot snapshot(int windowSeconds) {
+        if (windowSeconds < 1 || windowSeconds * 1000L > (BUCKET_SLOTS - 1) * BUCKET_MILLIS) {
+            throw new IllegalArgumentException("Window must be between 1 and 300 seconds.");
+        }
+        long now = clockMillis.getAsLong();
+        long currentInterval = now / BUCKET_MILLIS;
+        long oldestInterval = currentInterval - (windowSeconds * 1000L + BUCKET_MILLIS - 1) / BUCKET_MILLIS + 1;
+        long completedJobs = 0;
+        long queueDepthSum = 0;
+        long queueDepthSamples = 0;
+        int maxQueueDepth = 0;
+        LatencyHistogram responseTimes = new LatencyHistogram(PRECISION_BITS);
+        for (Bucket bucket : buckets) {
+            if (bucket.interval < oldestInterval || bucket.interval > currentInterval) {
+                continue;
+            }
+            completedJobs += bucket.completedJobs;
+            queueDepthSum += bucket.queueDepthSum;
+            queueDepthSamples += bucket.queueDepthSamples;
+            maxQueueDepth = Math.max(maxQueueDepth, bucket.maxQueueDepth);
+            if (bucket.responseTimes != null) {
+                responseTimes.add(bucket.responseTimes);
+            }
+        }
+        // a window longer than the run so far is averaged over the run
+        double seconds = Math.max(1.0, Math.min(windowSeconds, (now - startMillis) / 1000.0));
+        double throughput = Math.round(completedJobs / seconds * 100.0) / 100.0;
+        double averageQueueDepth = queueDepthSamples == 0 ? 0
+                : Math.round((double) queueDepthSum / queueDepthSamples * 100.0) / 100.0;
+        return new WindowSnapshot(windowSeconds, completedJobs, throughput, averageQueueDepth, maxQueueDepth,
+                LatencyPercentiles.of(responseTimes));
+    }
+
+    /**
+     * Gets the bucket of the current interval, clearing it first if it still holds an older interval.
+     * @return The bucket.
+     */
+    private Bucket currentBucket() {
+        long interval = clockMillis.getAsLong() / BUCKET_MILLIS;
+        Bucket bucket = buckets[(int) (interval % BUCKET_SLOTS)];
+        if (bucket.interval != interval) {
+            bucket.reset(interval);
+        }
+        return bucket;
+    }
+}
@@ -0,0 +1,46 @@
+package org.example.perfEvaluator;
+
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * The WorkerStats class accumulates the activity of a single dispatcher worker.
+ * Times are kept in nanoseconds and only converted for display.
+ */
+public class WorkerStats {
+    private final AtomicLong jobsExecuted = new AtomicLong();
+    private final AtomicLong busyNanos = new AtomicLong();
+    private final AtomicLong idleNanos = new AtomicLong();
+
+    /**
+     * Records a slice of a job executed by the worker. Only the slice that completes the job counts as an
+     * executed job, so a preempted job run in several slices is counted once.
+     * @param busyNanos The time in nanoseconds the worker spent on the slice.
+     * @param isCompleted Whether the slice completed the job.
+     */
+    void recordSlice(long busyNanos, boolean isCompleted) {
+        if (isCompleted) {
+            jobsExecuted.incrementAndGet();
+        }
+        this.busyNanos.addAndGet(busyNanos);
+    }
+
+    /**
+     * Records time the worker spent waiting for a job.
+     * @param idleNanos The time in nanoseconds the worker waited on the job queue.
+     */
+    void recordIdle(long idleNanos) {
+        this.idleNanos.addAndGet(idleNanos);
+    }
+
+    public long getJobsExecuted() {
+        return jobsExecuted.get();
+    }
+
+    public long getBusyNanos() {
+        return busyNanos.get();
+    }
+
+    public long getIdleNanos() {
+        return idleNanos.get();
+    }
+}
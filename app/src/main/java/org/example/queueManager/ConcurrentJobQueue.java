@@ -0,0 +1,442 @@
+package org.example.queueManager;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentSkipListSet;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Consumer;
+
+import org.example.common.Job;
+
+/**
+ * The ConcurrentJobQueue is a lock-free JobQueue for many concurrent producers and consumers.
+ * Jobs are kept in a ConcurrentSkipListSet ordered by the active comparator, so enqueue and dequeue
+ * are O(log n) without a shared lock. Blocking on a full or empty queue is handled by two semaphores
+ * that count free slots and available jobs.
+ * Changing the ordering, or the ordering keys of the queued jobs, swaps in a new set and migrates the queued
+ * jobs into it; while a migration is running, dequeue order is only approximately that of the new policy.
+ * Queued jobs are also indexed by name, which gives O(1) membership checks and cancellation lookups.
+ */
+public class ConcurrentJobQueue implements JobQueue {
+  private final int capacity;
+  private final Semaphore freeSlots;
+  private final Semaphore availableJobs = new Semaphore(0);
+  private final AtomicLong nextSequenceNumber = new AtomicLong();
+  private final AtomicInteger size = new AtomicInteger();
+  private final AtomicLong rejectedCount = new AtomicLong();
+  private final LongAdder enqueuedCount = new LongAdder();
+  private final LongAdder dequeuedCount = new LongAdder();
+  private final LongAdder producerBlockedNanos = new LongAdder();
+  // slots taken past the capacity by requeued jobs, paid back before any slot is freed
+  private final AtomicInteger borrowedSlots = new AtomicInteger();
+  private volatile ConcurrentSkipListSet<Job> jobs;
+  // the set being drained by setOrdering, null when no migration is running
+  private volatile ConcurrentSkipListSet<Job> migratingJobs;
+  private final Map<String, Set<Job>> jobsByName = new ConcurrentHashMap<>();
+
+  /**
+   * ConcurrentJobQueue constructor with the default capacity and submission (FCFS) ordering.
+   */
+  public ConcurrentJobQueue() {
+    this(QueueManager.DEFAULT_CAPACITY);
+  }
+
+  /**
+   * ConcurrentJobQueue constructor with submission (FCFS) ordering.
+   * @param capacity The maximum number of queued jobs, or 0 or less for an unbounded queue.
+   */
+  public ConcurrentJobQueue(int capacity) {
+    this.capacity = capacity > 0 ? capacity : Integer.MAX_VALUE;
+    this.freeSlots = new Semaphore(this.capacity);
+    this.jobs = new ConcurrentSkipListSet<>(Comparator.comparingLong(Job::getSequenceNumber));
+  }
+
+  @Override
+  public void enqueueJob(Job job) throws InterruptedException {
+    if (!freeSlots.tryAcquire()) {
+      // the queue is full, only time the wait when the producer actually blocks
+      long blockedSince = System.nanoTime();
+      try {
+        freeSlots.acquire();
+      } finally {
+        producerBlockedNanos.add(System.nanoTime() - blockedSince);
+      }
+    }
+    this.add(job);
+  }
+
+  @Override
+  public boolean offerJob(Job job, long timeout, TimeUnit unit) throws InterruptedException {
+    if (!freeSlots.tryAcquire()) {
+      long blockedSince = System.nanoTime();
+      boolean acquired;
+      try {
+        acquired = freeSlots.tryAcquire(timeout, unit);
+      } finally {
+        producerBlockedNanos.add(System.nanoTime() - blockedSince);
+      }
+      if (!acquired) {
+        rejectedCount.incrementAndGet();
+        return false;
+      }
+    }
+    this.add(job);
+    return true;
+  }
+
+  /**
+   * Takes as many free slots as there are jobs in the batch, publishing each run of jobs with a single release
+   * of the available-job permits; only a full queue makes the producer wait, for one slot at a time.
+   */
+  @Override
+  public int enqueueJobs(List<Job> jobs) {
+    return this.addAll(jobs, -1);
+  }
+
+  @Override
+  public int offerJobs(List<Job> jobs, long timeout, TimeUnit unit) {
+    return this.addAll(jobs, Math.max(0, unit.toNanos(timeout)));
+  }
+
+  /**
+   * Adds the jobs in runs of as many as there are free slots, waiting for a slot whenever the queue is full.
+   * @param jobs The jobs to add.
+   * @param timeoutNanos The maximum total time to wait, or a negative value to wait without limit.
+   * @return The number of jobs added, from the start of the list.
+   */
+  private int addAll(List<Job> jobs, long timeoutNanos) {
+    long deadline = System.nanoTime() + timeoutNanos;
+    int added = 0;
+    while (added < jobs.size()) {
+      int slots = this.tryAcquireSlots(jobs.size() - added);
+      if (slots == 0) {
+        long blockedSince = System.nanoTime();
+        try {
+          if (timeoutNanos < 0) {
+            freeSlots.acquire();
+          } else if (!freeSlots.tryAcquire(deadline - blockedSince, TimeUnit.NANOSECONDS)) {
+            // queue stayed full for the whole timeout, reject the rest of the batch
+            rejectedCount.addAndGet(jobs.size() - added);
+            return added;
+          }
+        } catch (InterruptedException e) {
+          Thread.currentThread().interrupt();
+          return added;
+        } finally {
+          producerBlockedNanos.add(System.nanoTime() - blockedSince);
+        }
+        slots = 1;
+      }
+      this.publish(jobs.subList(added, added + slots));
+      added += slots;
+    }
+    return added;
+  }
+
+  @Override
+  public int tryEnqueueJobs(List<Job> jobs) {
+    int slots = this.tryAcquireSlots(jobs.size());
+    if (slots > 0) {
+      this.publish(jobs.subList(0, slots));
+    }
+    return slots;
+  }
+
+  /**
+   * Takes up to the wanted number of free slots without waiting.
+   * @param wanted The number of slots wanted.
+   * @return The number of slots taken, 0 if the queue is full.
+   */
+  private int tryAcquireSlots(int wanted) {
+    while (true) {
+      int available = Math.min(wanted, freeSlots.availablePermits());
+      if (available <= 0) {
+        return 0;
+      }
+      if (freeSlots.tryAcquire(available)) {
+        return available;
+      }
+    }
+  }
+
+  @Override
+  public Job pollJob(long timeout, TimeUnit unit) throws InterruptedException {
+    if (!availableJobs.tryAcquire(timeout, unit)) {
+      return null;
+    }
+    return this.removeHead();
+  }
+
+  /**
+   * Stamps the submission order and publishes a job for which a free slot was acquired.
+   * @param job The job.
+   */
+  private void add(Job job) {
+    job.setSequenceNumber(nextSequenceNumber.getAndIncrement());
+    jobsByName.computeIfAbsent(job.getName(), name -> ConcurrentHashMap.newKeySet()).add(job);
+    this.insert(job);
+    size.incrementAndGet();
+    enqueuedCount.increment();
+    availableJobs.release();
+  }
+
+  /**
+   * Stamps the submission order and publishes jobs for which free slots were acquired, releasing their
+   * available-job permits at once.
+   * @param jobs The jobs.
+   */
+  private void publish(List<Job> jobs) {
+    long sequenceNumber = nextSequenceNumber.getAndAdd(jobs.size());
+    for (Job job : jobs) {
+      job.setSequenceNumber(sequenceNumber++);
+      jobsByName.computeIfAbsent(job.getName(), name -> ConcurrentHashMap.newKeySet()).add(job);
+      this.insert(job);
+    }
+    size.addAndGet(jobs.size());
+    enqueuedCount.add(jobs.size());
+    availableJobs.release(jobs.size());
+  }
+
+  @Override
+  public void requeueJob(Job job) {
+    if (!freeSlots.tryAcquire()) {
+      borrowedSlots.incrementAndGet();
+    }
+    job.setSequenceNumber(nextSequenceNumber.getAndIncrement());
+    jobsByName.computeIfAbsent(job.getName(), name -> ConcurrentHashMap.newKeySet()).add(job);
+    this.insert(job);
+    size.incrementAndGet();
+    availableJobs.release();
+  }
+
+  /**
+   * Frees the slots of jobs leaving the queue, first paying back the slots borrowed by requeued jobs.
+   * @param slots The number of slots.
+   */
+  private void releaseSlots(int slots) {
+    while (slots > 0) {
+      int borrowed = borrowedSlots.get();
+      if (borrowed == 0) {
+        freeSlots.release(slots);
+        return;
+      }
+      int repaid = Math.min(borrowed, slots);
+      if (borrowedSlots.compareAndSet(borrowed, borrowed - repaid)) {
+        slots -= repaid;
+      }
+    }
+  }
+
+  @Override
+  public Job dequeueJob() throws InterruptedException {
+    availableJobs.acquire();
+    return this.removeHead();
+  }
+
+  /**
+   * Takes the head job for a dispatcher and frees its slot. The caller holds an available-job permit.
+   * @return The head job.
+   */
+  private Job removeHead() {
+    Job job = this.take();
+    size.decrementAndGet();
+    dequeuedCount.increment();
+    this.releaseSlots(1);
+    return job;
+  }
+
+  /**
+   * Inserts a job into the current set, following it into a newer set if the ordering was
+   * changed while the insert was in progress.
+   * @param job The job.
+   */
+  private void insert(Job job) {
+    ConcurrentSkipListSet<Job> target = jobs;
+    target.add(job);
+    while (target != jobs) {
+      if (!target.remove(job)) {
+        // the migration already moved the job into the new set
+        return;
+      }
+      target = jobs;
+      target.add(job);
+    }
+  }
+
+  /**
+   * Takes the head job. The caller holds an available-job permit, so a job is guaranteed to be
+   * in the current set, in the set being migrated, or about to land in one of them.
+   * @return The head job.
+   */
+  private Job take() {
+    while (true) {
+      Job job = jobs.pollFirst();
+      if (job == null) {
+        ConcurrentSkipListSet<Job> migrating = migratingJobs;
+        job = migrating != null ? migrating.pollFirst() : null;
+      }
+      if (job != null) {
+        this.unindex(job);
+        return job;
+      }
+      Thread.onSpinWait();
+    }
+  }
+
+  /**
+   * Removes a job from the name index.
+   * @param job The job.
+   */
+  private void unindex(Job job) {
+    jobsByName.computeIfPresent(job.getName(), (name, named) -> {
+      named.remove(job);
+      return named.isEmpty() ? null : named;
+    });
+  }
+
+  /**
+   * Removes a job from whichever set currently holds it.
+   * @param job The job.
+   * @return Whether this call removed the job.
+   */
+  private boolean unlink(Job job) {
+    while (true) {
+      if (jobs.remove(job)) {
+        return true;
+      }
+      ConcurrentSkipListSet<Job> migrating = migratingJobs;
+      if (migrating != null && migrating.remove(job)) {
+        return true;
+      }
+      if (migratingJobs == null) {
+        // no migration can be moving the job between sets, so it is really gone
+        return false;
+      }
+      Thread.onSpinWait();
+    }
+  }
+
+  @Override
+  public synchronized void setOrdering(Comparator<Job> comparator) {
+    // the sequence number keeps distinct jobs distinct in the set even when their keys are equal
+    this.migrate(new ConcurrentSkipListSet<>(comparator.thenComparingLong(Job::getSequenceNumber)), job -> { });
+  }
+
+  /**
+   * Updates every queued job while migrating it into a new set with the same ordering. A job is only updated
+   * once it has left the old set, so neither set ever holds a job whose keys changed.
+   * @param update The update applied to each queued job.
+   */
+  @Override
+  public synchronized void updateJobs(Consumer<Job> update) {
+    this.migrate(new ConcurrentSkipListSet<>(jobs.comparator()), update);
+  }
+
+  /**
+   * Swaps in a new set and moves the queued jobs into it. Must be called while holding the monitor.
+   * @param reordered The new, empty set.
+   * @param update The update applied to each job between leaving the old set and entering the new one.
+   */
+  private void migrate(ConcurrentSkipListSet<Job> reordered, Consumer<Job> update) {
+    ConcurrentSkipListSet<Job> previous = jobs;
+    migratingJobs = previous;
+    jobs = reordered;
+    Job job;
+    while ((job = previous.pollFirst()) != null) {
+      update.accept(job);
+      reordered.add(job);
+    }
+    migratingJobs = null;
+  }
+
+  @Override
+  public List<Job> getQueuedJobs() {
+    return new ArrayList<>(jobs);
+  }
+
+  @Override
+  public void empty() {
+    // only remove the jobs queued when emptying started, not those of producers it unblocks
+    int queuedJobs = availableJobs.drainPermits();
+    for (int i = 0; i < queuedJobs; i++) {
+      this.take();
+    }
+    size.addAndGet(-queuedJobs);
+    this.releaseSlots(queuedJobs);
+  }
+
+  @Override
+  public boolean checkForJob(Job job) {
+    Set<Job> named = jobsByName.get(job.getName());
+    return named != null && named.contains(job);
+  }
+
+  @Override
+  public boolean removeJob(Job job) {
+    if (!this.checkForJob(job) || !availableJobs.tryAcquire()) {
+      return false;
+    }
+    // the acquired permit stands for the removed job; hand it back if a consumer got there first
+    if (!this.unlink(job)) {
+      availableJobs.release();
+      return false;
+    }
+    this.unindex(job);
+    size.decrementAndGet();
+    this.releaseSlots(1);
+    return true;
+  }
+
+  @Override
+  public List<Job> cancelJobs(String name) {
+    Set<Job> named = jobsByName.get(name);
+    List<Job> cancelled = new ArrayList<>();
+    if (named == null) {
+      return cancelled;
+    }
+    for (Job job : new ArrayList<>(named)) {
+      if (this.removeJob(job)) {
+        cancelled.add(job);
+      }
+    }
+    return cancelled;
+  }
+
+  @Override
+  public int getQueueSize() {
+    return size.get();
+  }
+
+  @Override
+  public int getCapacity() {
+    return capacity;
+  }
+
+  @Override
+  public long getRejectedCount() {
+    return rejectedCount.get();
+  }
+
+  @Override
+  public long getEnqueuedCount() {
+    return enqueuedCount.sum();
+  }
+
+  @Override
+  public long getDequeuedCount() {
+    return dequeuedCount.sum();
+  }
+
+  @Override
+  public long getProducerBlockedNanos() {
+    return producerBlockedNanos.sum();
+  }
+}
@@ -0,0 +1,234 @@
+package org.example.queueManager;
+
+import java.util.Comparator;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Consumer;
+
+import org.example.common.InstrumentedLock;
+import org.example.common.Job;
+
+/**
+ * The JobQueue is the bounded, blocking ready queue shared by job producers (Scheduler, batch jobs,
+ * performance tests) and the Dispatcher workers that consume it.
+ * Implementations must be safe for concurrent producers and consumers.
+ */
+public interface JobQueue {
+  /**
+   * Adds a job to the queue, waiting for space to become available if the queue is full.
+   * @param job The job to add.
+   * @throws InterruptedException If the thread is interrupted while waiting for space on queue to become available.
+   */
+  void enqueueJob(Job job) throws InterruptedException;
+
+  /**
+   * Adds a job to the queue, waiting at most the given time for space to become available.
+   * A job that could not be added in time is counted as rejected.
+   * @param job The job to add.
+   * @param timeout The maximum time to wait.
+   * @param unit The unit of the timeout.
+   * @return Whether the job was added.
+   * @throws InterruptedException If the thread is interrupted while waiting for space on queue to become available.
+   */
+  boolean offerJob(Job job, long timeout, TimeUnit unit) throws InterruptedException;
+
+  /**
+   * Adds several jobs to the queue in order, waiting for space to become available whenever the queue is full.
+   * If the thread is interrupted while waiting, the remaining jobs are not added and the interrupt status is set.
+   * @param jobs The jobs to add.
+   * @return The number of jobs added, from the start of the list.
+   */
+  int enqueueJobs(List<Job> jobs);
+
+  /**
+   * Adds several jobs to the queue in order, waiting at most the given time in total for space to become available.
+   * The jobs after the first one that could not be added in time are not added either, and all of them are
+   * counted as rejected.
+   * If the thread is interrupted while waiting, the remaining jobs are not added and the interrupt status is set.
+   * @param jobs The jobs to add.
+   * @param timeout The maximum time to wait.
+   * @param unit The unit of the timeout.
+   * @return The number of jobs added, from the start of the list.
+   */
+  int offerJobs(List<Job> jobs, long timeout, TimeUnit unit);
+
+  /**
+   * Adds as many of the jobs, in order, as fit in the queue right now without waiting. The jobs that do not fit
+   * are not added and, unlike with offerJobs, not counted as rejected, so the caller can retry them.
+   * @param jobs The jobs to add.
+   * @return The number of jobs added, from the start of the list.
+   */
+  int tryEnqueueJobs(List<Job> jobs);
+
+  /**
+   * Puts a job that was preempted by a dispatcher back in the queue without waiting, queued again with a new
+   * sequence number. A dispatcher must never wait for space behind the jobs it consumes, so a requeued job may
+   * take the queue past its capacity, by at most one job per dispatcher.
+   * Requeued jobs are not counted as enqueued again.
+   * @param job The preempted job.
+   */
+  void requeueJob(Job job);
+
+  /**
+   * Tells the queue that the calling thread is the given dispatcher worker, so that a queue keeping jobs close to
+   * the workers can serve this thread from its own share. Other queues ignore it.
+   * @param workerId The id of the worker within its pool.
+   */
+  default void bindWorker(int workerId) {
+  }
+
+  /**
+   * Removes the job at the head of the queue, waiting for a job to become available if the queue is empty.
+   * @return The job at the head of the queue.
+   * @throws InterruptedException If the thread is interrupted while waiting for a job to become available.
+   */
+  Job dequeueJob() throws InterruptedException;
+
+  /**
+   * Removes the job at the head of the queue, waiting at most the given time for a job to become available.
+   * @param timeout The maximum time to wait.
+   * @param unit The unit of the timeout.
+   * @return The job at the head of the queue, or null if no job became available in time.
+   * @throws InterruptedException If the thread is interrupted while waiting for a job to become available.
+   */
+  Job pollJob(long timeout, TimeUnit unit) throws InterruptedException;
+
+  /**
+   * Changes the order in which queued jobs are dequeued.
+   * @param comparator The new ordering.
+   */
+  void setOrdering(Comparator<Job> comparator);
+
+  /**
+   * Keeps the queued jobs in each of the given orderings at all times, so that changing to one of them with
+   * setOrdering takes constant time instead of reordering the queued jobs. Every kept ordering adds to the cost
+   * of adding and removing a job. Queues that cannot keep several orderings ignore this.
+   * @param orderings The orderings, matched by identity.
+   */
+  default void keepOrderings(List<Comparator<Job>> orderings) {
+  }
+
+  /**
+   * Applies an update that may change the ordering keys of every queued job, such as its MLFQ level, and restores
+   * the order of the queue. Keys of queued jobs must not be changed any other way.
+   * @param update The update applied to each queued job.
+   */
+  void updateJobs(Consumer<Job> update);
+
+  /**
+   * Gets a snapshot of the queued jobs in the order they will be dispatched.
+   * @return The queued jobs.
+   */
+  List<Job> getQueuedJobs();
+
+  /**
+   * Lists the jobs in the queue in the order they will be dispatched.
+   */
+  default void listQueue() {
+    printJobs(getQueuedJobs());
+  }
+
+  /**
+   * Prints jobs one per line in the format of the list command.
+   * @param orderedJobs The jobs in the order they will be dispatched.
+   */
+  static void printJobs(List<Job> orderedJobs) {
+    if (!orderedJobs.isEmpty()) {
+      int i = 1;
+      for (Job currJob : orderedJobs) {
+        long formattedSeconds = currJob.getExecutionTime() / 1000;
+        System.out.println(i + ". " + currJob.getName() + " " + formattedSeconds + " seconds " + currJob.getExecutionPriority() + " " + currJob.getArrivalTime());
+        i++;
+      }
+    } else {
+      System.out.println("Queue Currently Empty.");
+    }
+  }
+
+  /**
+   * Empties the job queue.
+   */
+  void empty();
+
+  /**
+   * Checks if a job is already in the queue.
+   * @param job The Job.
+   * @return Whether the job is in the job queue.
+   */
+  boolean checkForJob(Job job);
+
+  /**
+   * Removes a queued job so that it is never dispatched.
+   * @param job The job to remove.
+   * @return Whether the job was queued.
+   */
+  boolean removeJob(Job job);
+
+  /**
+   * Removes every queued job with the given name so that none of them is dispatched.
+   * @param name The job name.
+   * @return The removed jobs.
+   */
+  List<Job> cancelJobs(String name);
+
+  /**
+   * Gets the current size of the queue.
+   * @return The size of the queue.
+   */
+  int getQueueSize();
+
+  /**
+   * Gets the maximum number of jobs the queue holds before producers must wait.
+   * @return The capacity, Integer.MAX_VALUE when the queue is unbounded.
+   */
+  int getCapacity();
+
+  /**
+   * Gets the number of jobs rejected by offerJob or offerJobs because the queue stayed full.
+   * @return The number of rejected jobs.
+   */
+  long getRejectedCount();
+
+  /**
+   * Gets the number of jobs added to the queue since it was created.
+   * @return The number of enqueued jobs.
+   */
+  long getEnqueuedCount();
+
+  /**
+   * Gets the number of jobs handed to dispatchers since the queue was created.
+   * Cancelled and emptied jobs are not counted, and a preempted job is counted once per time slice.
+   * @return The number of dequeued jobs.
+   */
+  long getDequeuedCount();
+
+  /**
+   * Gets the total time producers have spent waiting for space in a full queue.
+   * @return The blocked time in nanoseconds.
+   */
+  long getProducerBlockedNanos();
+
+  /**
+   * Gets the number of jobs a worker took from the share of another worker because its own was empty.
+   * @return The steal count, 0 for a queue shared by all workers.
+   */
+  default long getStealCount() {
+    return 0;
+  }
+
+  /**
+   * Gets the number of jobs queued in the share of each worker.
+   * @return The size of each local queue, empty for a queue shared by all workers.
+   */
+  default List<Integer> getLocalQueueSizes() {
+    return List.of();
+  }
+
+  /**
+   * Gets the contention on the locks guarding the queue.
+   * @return A summary per lock, empty for a queue without locks.
+   */
+  default List<InstrumentedLock.LockStats> getLockStats() {
+    return List.of();
+  }
+}
@@ -1,49 +1,220 @@
 package org.example.queueManager;
-import java.util.LinkedList;
-import java.util.Queue;
+import java.util.Comparator;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
 import java.util.concurrent.locks.Condition;
-import java.util.concurrent.locks.Lock;
-import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.Consumer;
 
+import org.example.common.InstrumentedLock;
 import org.example.common.Job;
 
 /**
- * The QueueManager is a wrapper around a BlockingQueue and manages the queue.
+ * The QueueManager is a bounded, blocking wrapper around the ReadyQueue and manages the queue.
+ * Jobs are kept in the order given by the active comparator, so the head of the queue is always
+ * the next job to dispatch under the current scheduling policy.
+ * Every access to the queue is guarded by a single lock; see {@link ConcurrentJobQueue} for a
+ * lock-free alternative.
  */
-public class QueueManager {
-  private final Queue<Job> jobQueue = new LinkedList<>();
-  private final int MAX_QUEUE_CAPACITY = 10;
-  private final Lock lock = new ReentrantLock();
-  private final Condition notEmpty = lock.newCondition();
-  private final Condition notFull = lock.newCondition();
+public class QueueManager implements JobQueue {
+  public static final int DEFAULT_CAPACITY = 10;
+  private final ReadyQueue jobQueue = new ReadyQueue(Comparator.comparingLong(Job::getSequenceNumber));
+  private long nextSequenceNumber = 0;
+  private final int capacity;
+  private final AtomicLong rejectedCount = new AtomicLong();
+  private final AtomicLong enqueuedCount = new AtomicLong();
+  private final AtomicLong dequeuedCount = new AtomicLong();
+  private final AtomicLong producerBlockedNanos = new AtomicLong();
+  private final InstrumentedLock lock = new InstrumentedLock("queue");
+  private final Condition notEmpty = lock.newCondition("notEmpty");
+  private final Condition notFull = lock.newCondition("notFull");
+
+  /**
+   * QueueManager constructor with the default capacity.
+   */
+  public QueueManager() {
+    this(DEFAULT_CAPACITY);
+  }
+
+  /**
+   * QueueManager constructor.
+   * @param capacity The maximum number of queued jobs, or 0 or less for an unbounded queue.
+   */
+  public QueueManager(int capacity) {
+    this.capacity = capacity > 0 ? capacity : Integer.MAX_VALUE;
+  }
 
   /**
    * Adds a job to the queue. Used by Submitter which gets job data from Scheduler.
    * @param job The job to add.
    * @throws InterruptedException If the thread is interrupted while waiting for space on queue to become available.
    */
+  @Override
   public void enqueueJob(Job job) throws InterruptedException {
     //acquire lock
     lock.lock();
+    long blockedSince = 0;
     try {
-        while (jobQueue.size() == MAX_QUEUE_CAPACITY) {
+        while (jobQueue.size() >= capacity) {
         // queue is full, must wait for space to become available
+        if (blockedSince == 0) {
+          blockedSince = System.nanoTime();
+        }
         notFull.await();
       }
-      // space is available, adding job to queue
+      this.insert(job);
+    } finally {
+      if (blockedSince != 0) {
+        producerBlockedNanos.addAndGet(System.nanoTime() - blockedSince);
+      }
+      // release lock so other thread can access queue
+      lock.unlock();
+    }
+  }
+
+  @Override
+  public boolean offerJob(Job job, long timeout, TimeUnit unit) throws InterruptedException {
+    long remainingNanos = unit.toNanos(timeout);
+    lock.lock();
+    long blockedSince = 0;
+    try {
+      while (jobQueue.size() >= capacity) {
+        if (remainingNanos <= 0) {
+          // queue stayed full for the whole timeout, reject instead of blocking the submitter
+          rejectedCount.incrementAndGet();
+          return false;
+        }
+        if (blockedSince == 0) {
+          blockedSince = System.nanoTime();
+        }
+        remainingNanos = notFull.awaitNanos(remainingNanos);
+      }
+      this.insert(job);
+      return true;
+    } finally {
+      if (blockedSince != 0) {
+        producerBlockedNanos.addAndGet(System.nanoTime() - blockedSince);
+      }
+      lock.unlock();
+    }
+  }
+
+  /**
+   * Adds the jobs with a single lock acquisition and a single ordering step for each run of jobs that fits in
+   * the queue; the lock is only released while the queue is full.
+   * @param jobs The jobs to add.
+   * @return The number of jobs added, from the start of the list.
+   */
+  @Override
+  public int enqueueJobs(List<Job> jobs) {
+    return this.insertAll(jobs, -1);
+  }
+
+  @Override
+  public int offerJobs(List<Job> jobs, long timeout, TimeUnit unit) {
+    return this.insertAll(jobs, Math.max(0, unit.toNanos(timeout)));
+  }
+
+  /**
+   * Adds as many of the jobs as fit in the queue at once, waiting for space until every job is added.
+   * @param jobs The jobs to add.
+   * @param timeoutNanos The maximum total time to wait, or a negative value to wait without limit.
+   * @return The number of jobs added, from the start of the list.
+   */
+  private int insertAll(List<Job> jobs, long timeoutNanos) {
+    long remainingNanos = timeoutNanos;
+    int added = 0;
+    lock.lock();
+    try {
+      while (added < jobs.size()) {
+        while (jobQueue.size() >= capacity) {
+          if (timeoutNanos >= 0 && remainingNanos <= 0) {
+            // queue stayed full for the whole timeout, reject the rest of the batch
+            rejectedCount.addAndGet(jobs.size() - added);
+            return added;
+          }
+          long blockedSince = System.nanoTime();
+          try {
+            if (timeoutNanos < 0) {
+              notFull.await();
+            } else {
+              remainingNanos = notFull.awaitNanos(remainingNanos);
+            }
+          } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            return added;
+          } finally {
+            producerBlockedNanos.addAndGet(System.nanoTime() - blockedSince);
+          }
+        }
+        int count = Math.min(jobs.size() - added, capacity - jobQueue.size());
+        this.insertRun(jobs.subList(added, added + count));
+        added += count;
+      }
+      return added;
+    } finally {
+      lock.unlock();
+    }
+  }
+
+  @Override
+  public int tryEnqueueJobs(List<Job> jobs) {
+    lock.lock();
+    try {
+      int count = Math.min(jobs.size(), capacity - jobQueue.size());
+      if (count > 0) {
+        this.insertRun(jobs.subList(0, count));
+      }
+      return Math.max(0, count);
+    } finally {
+      lock.unlock();
+    }
+  }
+
+  /**
+   * Stamps the submission order of a run of jobs that fits in the queue and adds it in a single ordering step.
+   * Must be called while holding the lock.
+   * @param run The jobs to add.
+   */
+  private void insertRun(List<Job> run) {
+    for (Job job : run) {
+      job.setSequenceNumber(nextSequenceNumber++);
+    }
+    jobQueue.addAll(run);
+    enqueuedCount.addAndGet(run.size());
+    // more than one job may have become available
+    notEmpty.signalAll();
+  }
+
+  @Override
+  public void requeueJob(Job job) {
+    lock.lock();
+    try {
+      job.setSequenceNumber(nextSequenceNumber++);
       jobQueue.add(job);
-      // let calling thread know that queue is not empty
       notEmpty.signal();
     } finally {
-      // release lock so other thread can access queue
       lock.unlock();
     }
   }
 
+  /**
+   * Stamps the submission order and adds the job to the queue. Must be called while holding the lock.
+   * @param job The job to add.
+   */
+  private void insert(Job job) {
+    job.setSequenceNumber(nextSequenceNumber++);
+    jobQueue.add(job);
+    enqueuedCount.incrementAndGet();
+    // let calling thread know that queue is not empty
+    notEmpty.signal();
+  }
+
     /**
      * Removes a job from the head of the queue. Used by Dispatcher.
      * @throws InterruptedException If the thread is interrupted while waiting for a job to become available.
      */
+  @Override
   public Job dequeueJob() throws InterruptedException {
     //acquire lock
     lock.lock();
@@ -52,38 +223,105 @@ public class QueueManager {
         // queue is empty, must wait for job to become available
         notEmpty.await();
       }
-      // job is available, removing job from queue
-      Job job = jobQueue.remove();
-      // let calling thread know that queue is not full
-      notFull.signal();
-      return job;
+      return this.removeHead();
     } finally {
       // release lock so other thread can access queue
       lock.unlock();
     }
   }
 
+  @Override
+  public Job pollJob(long timeout, TimeUnit unit) throws InterruptedException {
+    long remainingNanos = unit.toNanos(timeout);
+    lock.lock();
+    try {
+      while (jobQueue.isEmpty()) {
+        if (remainingNanos <= 0) {
+          return null;
+        }
+        remainingNanos = notEmpty.awaitNanos(remainingNanos);
+      }
+      return this.removeHead();
+    } finally {
+      lock.unlock();
+    }
+  }
+
   /**
-   * Lists the jobs in the queue.
+   * Removes the job at the head of the non-empty queue. Must be called while holding the lock.
+   * @return The job.
    */
-  public void listQueue() {
-    if (!jobQueue.isEmpty()) {
-      int i = 1;
-      for (Job currJob : jobQueue) {
-        long formattedSeconds = currJob.getExecutionTime() / 1000;
-        System.out.println(i + ". " + currJob.getName() + " " + formattedSeconds + " seconds " + currJob.getExecutionPriority() + " " + currJob.getArrivalTime());
-        i++;
-      }
-    } else {
-      System.out.println("Queue Currently Empty.");
+  private Job removeHead() {
+    // job is available, removing job from queue
+    Job job = jobQueue.poll();
+    dequeuedCount.incrementAndGet();
+    // let calling thread know that queue is not full
+    notFull.signal();
+    return job;
+  }
+
+  /**
+   * Changes the order in which queued jobs are dequeued. A kept ordering is switched to in constant time;
+   * otherwise existing jobs are re-heapified in place.
+   * @param comparator The new ordering.
+   */
+  @Override
+  public void setOrdering(Comparator<Job> comparator) {
+    lock.lock();
+    try {
+      jobQueue.reorder(comparator);
+    } finally {
+      lock.unlock();
+    }
+  }
+
+  @Override
+  public void keepOrderings(List<Comparator<Job>> orderings) {
+    lock.lock();
+    try {
+      orderings.forEach(jobQueue::keepOrdering);
+    } finally {
+      lock.unlock();
+    }
+  }
+
+  /**
+   * Updates every queued job and re-heapifies the queue in place, under the lock so no job is dequeued meanwhile.
+   * @param update The update applied to each queued job.
+   */
+  @Override
+  public void updateJobs(Consumer<Job> update) {
+    lock.lock();
+    try {
+      jobQueue.updateAll(update);
+    } finally {
+      lock.unlock();
+    }
+  }
+
+  @Override
+  public List<Job> getQueuedJobs() {
+    lock.lock();
+    try {
+      return jobQueue.toSortedList();
+    } finally {
+      lock.unlock();
     }
   }
 
   /**
    * Empties the job queue.
    */
+  @Override
   public void empty(){
-    jobQueue.clear();
+    lock.lock();
+    try {
+      jobQueue.clear();
+      // every producer waiting for space can now proceed
+      notFull.signalAll();
+    } finally {
+      lock.unlock();
+    }
   }
 
   /**
@@ -91,15 +329,96 @@ public class QueueManager {
    * @param job The Job.
    * @return Whether the job is in the job queue.
    */
+  @Override
   public boolean checkForJob(Job job){
-    return jobQueue.contains(job);
+    lock.lock();
+    try {
+      return jobQueue.contains(job);
+    } finally {
+      lock.unlock();
+    }
+  }
+
+  /**
+   * Removes a specific job from the queue and wakes a producer waiting for space.
+   * @param job The job to remove.
+   * @return Whether the job was queued.
+   */
+  @Override
+  public boolean removeJob(Job job) {
+    lock.lock();
+    try {
+      if (!jobQueue.remove(job)) {
+        return false;
+      }
+      notFull.signal();
+      return true;
+    } finally {
+      lock.unlock();
+    }
+  }
+
+  /**
+   * Removes every queued job with the given name, waking a producer waiting for space for each one.
+   * @param name The job name.
+   * @return The removed jobs.
+   */
+  @Override
+  public List<Job> cancelJobs(String name) {
+    lock.lock();
+    try {
+      List<Job> cancelled = jobQueue.getJobsNamed(name);
+      for (Job job : cancelled) {
+        jobQueue.remove(job);
+        notFull.signal();
+      }
+      return cancelled;
+    } finally {
+      lock.unlock();
+    }
   }
 
   /**
    * Gets the current size of the queue.
    * @return The size of the queue.
    */
+  @Override
   public int getQueueSize() {
-    return jobQueue.size();
+    lock.lock();
+    try {
+      return jobQueue.size();
+    } finally {
+      lock.unlock();
+    }
+  }
+
+  @Override
+  public int getCapacity() {
+    return capacity;
+  }
+
+  @Override
+  public long getRejectedCount() {
+    return rejectedCount.get();
+  }
+
+  @Override
+  public long getEnqueuedCount() {
+    return enqueuedCount.get();
+  }
+
+  @Override
+  public long getDequeuedCount() {
+    return dequeuedCount.get();
+  }
+
+  @Override
+  public long getProducerBlockedNanos() {
+    return producerBlockedNanos.get();
+  }
+
+  @Override
+  public List<InstrumentedLock.LockStats> getLockStats() {
+    return List.of(lock.getStats());
   }
 }
@@ -0,0 +1,420 @@
+package org.example.queueManager;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Consumer;
+
+import org.example.common.Job;
+
+/**
+ * The ReadyQueue holds jobs in one or more array-backed binary min-heaps, each ordered by a scheduling
+ * comparator, and serves them in the order of the active one. Insertion and removal of the head are
+ * O(log n) per heap.
+ * By default there is a single heap and changing the ordering re-heapifies it in O(n). An ordering passed to
+ * {@link #keepOrdering} gets a heap of its own that is kept up to date alongside the others, so switching to it
+ * later is O(1) and does not touch the queued jobs, at the cost of one more sift per insertion and removal.
+ * Every heap holds the same entries, and an entry records its position in each heap, so a job leaving the
+ * queue is removed from all of them at once; it can never linger in a heap and be ordered by keys that
+ * change while it runs.
+ * Each queued job records its slot in the queue, so membership checks are O(1) and removing an
+ * arbitrary job is O(log n) per heap. Queued jobs are also indexed by name for cancellation.
+ * This class is not thread-safe; callers are expected to guard it with their own lock.
+ */
+public class ReadyQueue {
+  private static final int INITIAL_CAPACITY = 16;
+  // the queued jobs in no particular order, each job records its slot here as its queue index
+  private Entry[] entries = new Entry[INITIAL_CAPACITY];
+  private int size = 0;
+  // the heaps by id, a null slot is free
+  private Heap[] heaps = new Heap[1];
+  private Heap active;
+  private final Map<String, List<Job>> jobsByName = new HashMap<>();
+
+  /**
+   * A queued job and its position in each heap, by heap id.
+   */
+  private static final class Entry {
+    private final Job job;
+    private int[] positions;
+
+    Entry(Job job, int heapCount) {
+      this.job = job;
+      this.positions = new int[heapCount];
+    }
+  }
+
+  /**
+   * A heap of every queued entry under one ordering.
+   */
+  private static final class Heap {
+    private final int id;
+    private Comparator<Job> comparator;
+    private boolean isKept;
+    private Entry[] entries;
+
+    Heap(int id, Comparator<Job> comparator, boolean isKept, int capacity) {
+      this.id = id;
+      this.comparator = comparator;
+      this.isKept = isKept;
+      this.entries = new Entry[capacity];
+    }
+
+    /**
+     * Restores the heap property over the first n entries bottom-up in O(n).
+     */
+    void heapify(int n) {
+      for (int i = (n >>> 1) - 1; i >= 0; i--) {
+        siftDown(i, entries[i], n);
+      }
+    }
+
+    /**
+     * Removes the entry at the given position from a heap of n entries, filling the gap with the last entry.
+     */
+    void removeAt(int index, int n) {
+      Entry last = entries[n - 1];
+      entries[n - 1] = null;
+      if (index < n - 1) {
+        siftDown(index, last, n - 1);
+        if (entries[index] == last) {
+          siftUp(index, last);
+        }
+      }
+    }
+
+    /**
+     * Places an entry at the given index and moves it up until its parent is ordered before it.
+     */
+    void siftUp(int index, Entry entry) {
+      while (index > 0) {
+        int parent = (index - 1) >>> 1;
+        if (comparator.compare(entry.job, entries[parent].job) >= 0) {
+          break;
+        }
+        setAt(index, entries[parent]);
+        index = parent;
+      }
+      setAt(index, entry);
+    }
+
+    /**
+     * Places an entry at the given index of a heap of n entries and moves it down until both children are
+     * ordered after it.
+     */
+    void siftDown(int index, Entry entry, int n) {
+      int half = n >>> 1;
+      while (index < half) {
+        int child = 2 * index + 1;
+        int right = child + 1;
+        if (right < n && comparator.compare(entries[right].job, entries[child].job) < 0) {
+          child = right;
+        }
+        if (comparator.compare(entry.job, entries[child].job) <= 0) {
+          break;
+        }
+        setAt(index, entries[child]);
+        index = child;
+      }
+      setAt(index, entry);
+    }
+
+    /**
+     * Stores an entry in the heap array and records its position on the entry.
+     */
+    void setAt(int index, Entry entry) {
+      entries[index] = entry;
+      entry.positions[id] = index;
+    }
+  }
+
+  /**
+   * ReadyQueue constructor.
+   * @param comparator The ordering used to decide which job sits at the head of the queue.
+   */
+  public ReadyQueue(Comparator<Job> comparator) {
+    this.active = new Heap(0, comparator, false, INITIAL_CAPACITY);
+    this.heaps[0] = active;
+  }
+
+  /**
+   * Adds a job to the queue.
+   * @param job The job to add.
+   */
+  public void add(Job job) {
+    ensureCapacity(size + 1);
+    Entry entry = new Entry(job, heaps.length);
+    setSlot(size, entry);
+    size++;
+    for (Heap heap : heaps) {
+      if (heap != null) {
+        heap.siftUp(size - 1, entry);
+      }
+    }
+    jobsByName.computeIfAbsent(job.getName(), name -> new ArrayList<>(1)).add(job);
+  }
+
+  /**
+   * Adds several jobs to the queue at once. The arrays grow at most once, and when the batch is at least as
+   * large as the queue already is, the heap property is restored bottom-up in a single O(n) pass instead of
+   * sifting up every job.
+   * @param jobs The jobs to add.
+   */
+  public void addAll(List<Job> jobs) {
+    int oldSize = size;
+    ensureCapacity(oldSize + jobs.size());
+    for (Job job : jobs) {
+      setSlot(size++, new Entry(job, heaps.length));
+      jobsByName.computeIfAbsent(job.getName(), name -> new ArrayList<>(1)).add(job);
+    }
+    boolean isHeapified = jobs.size() >= oldSize;
+    for (Heap heap : heaps) {
+      if (heap == null) {
+        continue;
+      }
+      for (int i = oldSize; i < size; i++) {
+        if (isHeapified) {
+          heap.setAt(i, entries[i]);
+        } else {
+          heap.siftUp(i, entries[i]);
+        }
+      }
+      if (isHeapified) {
+        heap.heapify(size);
+      }
+    }
+  }
+
+  /**
+   * Removes and returns the job at the head of the queue.
+   * @return The head job, or null if the queue is empty.
+   */
+  public Job poll() {
+    if (size == 0) {
+      return null;
+    }
+    Entry head = active.entries[0];
+    removeEntry(head);
+    return head.job;
+  }
+
+  /**
+   * Removes a specific job from the queue.
+   * @param job The job to remove.
+   * @return Whether the job was in the queue.
+   */
+  public boolean remove(Job job) {
+    if (!contains(job)) {
+      return false;
+    }
+    removeEntry(entries[job.getQueueIndex()]);
+    return true;
+  }
+
+  /**
+   * Returns the job at the head of the queue without removing it.
+   * @return The head job, or null if the queue is empty.
+   */
+  public Job peek() {
+    return size == 0 ? null : active.entries[0].job;
+  }
+
+  /**
+   * Keeps a heap for the ordering from now on, so that reordering to it is O(1). The heap is built in O(n)
+   * unless the ordering already has one.
+   * @param comparator The ordering, matched by identity.
+   */
+  public void keepOrdering(Comparator<Job> comparator) {
+    Heap heap = find(comparator);
+    if (heap != null) {
+      heap.isKept = true;
+    } else {
+      addHeap(comparator, true);
+    }
+  }
+
+  /**
+   * Replaces the ordering of the queue. Switching to an ordering passed to keepOrdering is O(1); any other
+   * ordering restores the heap property bottom-up in O(n).
+   * @param newComparator The new ordering.
+   */
+  public void reorder(Comparator<Job> newComparator) {
+    Heap kept = find(newComparator);
+    if (kept != null) {
+      if (kept != active && !active.isKept) {
+        heaps[active.id] = null;
+      }
+      active = kept;
+    } else if (active.isKept) {
+      active = addHeap(newComparator, false);
+    } else {
+      active.comparator = newComparator;
+      active.heapify(size);
+    }
+  }
+
+  /**
+   * Applies an update that may change the ordering keys of every job and restores the heap property of every
+   * heap bottom-up in O(n). The update must not change job names.
+   * @param update The update applied to each job.
+   */
+  public void updateAll(Consumer<Job> update) {
+    for (int i = 0; i < size; i++) {
+      update.accept(entries[i].job);
+    }
+    for (Heap heap : heaps) {
+      if (heap != null) {
+        heap.heapify(size);
+      }
+    }
+  }
+
+  /**
+   * Checks if a job is in the queue.
+   * @param job The job.
+   * @return Whether the job is in the queue.
+   */
+  public boolean contains(Job job) {
+    int index = job.getQueueIndex();
+    return index >= 0 && index < size && entries[index].job == job;
+  }
+
+  /**
+   * Gets the queued jobs with the given name.
+   * @param name The job name.
+   * @return A copy of the matching jobs, empty if there are none.
+   */
+  public List<Job> getJobsNamed(String name) {
+    List<Job> named = jobsByName.get(name);
+    return named == null ? new ArrayList<>() : new ArrayList<>(named);
+  }
+
+  /**
+   * Removes every job from the queue.
+   */
+  public void clear() {
+    for (int i = 0; i < size; i++) {
+      entries[i].job.setQueueIndex(-1);
+      entries[i] = null;
+    }
+    for (Heap heap : heaps) {
+      if (heap != null) {
+        Arrays.fill(heap.entries, 0, size, null);
+      }
+    }
+    size = 0;
+    jobsByName.clear();
+  }
+
+  /**
+   * Gets a copy of the jobs in the order they would be dequeued.
+   * @return The sorted jobs.
+   */
+  public List<Job> toSortedList() {
+    List<Job> sorted = new ArrayList<>(size);
+    for (int i = 0; i < size; i++) {
+      sorted.add(entries[i].job);
+    }
+    sorted.sort(active.comparator);
+    return sorted;
+  }
+
+  public int size() {
+    return size;
+  }
+
+  public boolean isEmpty() {
+    return size == 0;
+  }
+
+  public Comparator<Job> getComparator() {
+    return active.comparator;
+  }
+
+  /**
+   * Removes an entry from every heap and from its slot, filling the slot with the last entry.
+   * @param entry The entry.
+   */
+  private void removeEntry(Entry entry) {
+    for (Heap heap : heaps) {
+      if (heap != null) {
+        heap.removeAt(entry.positions[heap.id], size);
+      }
+    }
+    int slot = entry.job.getQueueIndex();
+    size--;
+    setSlot(slot, entries[size]);
+    entries[size] = null;
+    entry.job.setQueueIndex(-1);
+    List<Job> named = jobsByName.get(entry.job.getName());
+    named.remove(entry.job);
+    if (named.isEmpty()) {
+      jobsByName.remove(entry.job.getName());
+    }
+  }
+
+  /**
+   * Builds a heap of the queued jobs for a new ordering in O(n), in the first free heap id.
+   * @param comparator The ordering.
+   * @param isKept Whether the heap is kept when another ordering becomes active.
+   * @return The heap.
+   */
+  private Heap addHeap(Comparator<Job> comparator, boolean isKept) {
+    int id = 0;
+    while (id < heaps.length && heaps[id] != null) {
+      id++;
+    }
+    if (id == heaps.length) {
+      heaps = Arrays.copyOf(heaps, id + 1);
+      for (int i = 0; i < size; i++) {
+        entries[i].positions = Arrays.copyOf(entries[i].positions, heaps.length);
+      }
+    }
+    Heap heap = new Heap(id, comparator, isKept, entries.length);
+    for (int i = 0; i < size; i++) {
+      heap.setAt(i, entries[i]);
+    }
+    heap.heapify(size);
+    heaps[id] = heap;
+    return heap;
+  }
+
+  private Heap find(Comparator<Job> comparator) {
+    for (Heap heap : heaps) {
+      if (heap != null && heap.comparator == comparator) {
+        return heap;
+      }
+    }
+    return null;
+  }
+
+  /**
+   * Grows the slot array and every heap array to hold at least the given number of entries.
+   * @param capacity The number of entries.
+   */
+  private void ensureCapacity(int capacity) {
+    if (capacity <= entries.length) {
+      return;
+    }
+    int newCapacity = Math.max(capacity, entries.length * 2);
+    entries = Arrays.copyOf(entries, newCapacity);
+    for (Heap heap : heaps) {
+      if (heap != null) {
+        heap.entries = Arrays.copyOf(heap.entries, newCapacity);
+      }
+    }
+  }
+
+  /**
+   * Stores an entry in a slot and records the slot on its job.
+   * @param slot The slot.
+   * @param entry The entry.
+   */
+  private void setSlot(int slot, Entry entry) {
+    entries[slot] = entry;
+    entry.job.setQueueIndex(slot);
+  }
+}
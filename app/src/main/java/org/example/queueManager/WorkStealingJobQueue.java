@@ -0,0 +1,552 @@
+package org.example.queueManager;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Consumer;
+
+import org.example.common.InstrumentedLock;
+import org.example.common.Job;
+
+/**
+ * The WorkStealingJobQueue splits the ready queue into one local queue per dispatcher worker, so that workers
+ * do not all contend for a single lock.
+ * Submitted jobs are dealt round robin to the local queues, and each local queue is a policy-ordered
+ * {@link ReadyQueue} with its own lock. A worker takes the head of its own local queue and only when that is
+ * empty steals the head of the most loaded peer, so no worker idles while jobs are waiting elsewhere.
+ * Since jobs are dealt evenly and every local queue follows the active policy, the order jobs are dispatched in
+ * is close to the global policy order, though a worker may start a job while a peer holds a more urgent one.
+ * A dispatcher binds itself to its local queue with {@link #bindWorker(int)}; any other thread is given one
+ * round robin the first time it takes a job. As with the {@link ConcurrentJobQueue}, blocking on a full or empty
+ * queue is handled by two semaphores counting free slots and available jobs.
+ */
+public class WorkStealingJobQueue implements JobQueue {
+  private final int capacity;
+  private final LocalQueue[] localQueues;
+  private final Semaphore freeSlots;
+  private final Semaphore availableJobs = new Semaphore(0);
+  private final AtomicLong nextSequenceNumber = new AtomicLong();
+  // the local queue the next submitted job is dealt to
+  private final AtomicLong nextDeal = new AtomicLong();
+  private final AtomicInteger nextHome = new AtomicInteger();
+  private final ThreadLocal<LocalQueue> home;
+  private final AtomicInteger size = new AtomicInteger();
+  private final AtomicLong rejectedCount = new AtomicLong();
+  private final LongAdder enqueuedCount = new LongAdder();
+  private final LongAdder dequeuedCount = new LongAdder();
+  private final LongAdder stealCount = new LongAdder();
+  private final LongAdder producerBlockedNanos = new LongAdder();
+  // slots taken past the capacity by requeued jobs, paid back before any slot is freed
+  private final AtomicInteger borrowedSlots = new AtomicInteger();
+  private volatile Comparator<Job> comparator = Comparator.comparingLong(Job::getSequenceNumber);
+
+  /**
+   * A local queue and the lock guarding it. The size is mirrored in a volatile field so that thieves can
+   * pick a victim without taking any lock.
+   */
+  private static final class LocalQueue {
+    private final ReadyQueue jobs;
+    private final InstrumentedLock lock;
+    private volatile int size = 0;
+
+    LocalQueue(Comparator<Job> comparator, String name) {
+      this.jobs = new ReadyQueue(comparator);
+      this.lock = new InstrumentedLock(name);
+    }
+  }
+
+  /**
+   * WorkStealingJobQueue constructor with submission (FCFS) ordering.
+   * @param capacity The maximum number of queued jobs across all local queues, or 0 or less for an unbounded queue.
+   * @param workers The number of local queues, normally the number of dispatcher workers. When the pool grows
+   * past it, workers share local queues.
+   */
+  public WorkStealingJobQueue(int capacity, int workers) {
+    if (workers < 1) {
+      throw new IllegalArgumentException("A work-stealing queue needs at least 1 local queue.");
+    }
+    this.capacity = capacity > 0 ? capacity : Integer.MAX_VALUE;
+    this.freeSlots = new Semaphore(this.capacity);
+    this.localQueues = new LocalQueue[workers];
+    for (int i = 0; i < workers; i++) {
+      localQueues[i] = new LocalQueue(comparator, "queue-" + i);
+    }
+    this.home = ThreadLocal.withInitial(() -> localQueues[Math.floorMod(nextHome.getAndIncrement(), localQueues.length)]);
+  }
+
+  /**
+   * Binds the calling thread to the local queue of a dispatcher worker.
+   * @param workerId The id of the worker within its pool.
+   */
+  @Override
+  public void bindWorker(int workerId) {
+    home.set(localQueues[Math.floorMod(workerId, localQueues.length)]);
+  }
+
+  @Override
+  public void enqueueJob(Job job) throws InterruptedException {
+    if (!freeSlots.tryAcquire()) {
+      // the queue is full, only time the wait when the producer actually blocks
+      long blockedSince = System.nanoTime();
+      try {
+        freeSlots.acquire();
+      } finally {
+        producerBlockedNanos.add(System.nanoTime() - blockedSince);
+      }
+    }
+    this.deal(List.of(job));
+  }
+
+  @Override
+  public boolean offerJob(Job job, long timeout, TimeUnit unit) throws InterruptedException {
+    if (!freeSlots.tryAcquire()) {
+      long blockedSince = System.nanoTime();
+      boolean acquired;
+      try {
+        acquired = freeSlots.tryAcquire(timeout, unit);
+      } finally {
+        producerBlockedNanos.add(System.nanoTime() - blockedSince);
+      }
+      if (!acquired) {
+        rejectedCount.incrementAndGet();
+        return false;
+      }
+    }
+    this.deal(List.of(job));
+    return true;
+  }
+
+  /**
+   * Takes as many free slots as there are jobs in the batch and deals each run of jobs with a single lock
+   * acquisition per local queue; only a full queue makes the producer wait, for one slot at a time.
+   */
+  @Override
+  public int enqueueJobs(List<Job> jobs) {
+    return this.addAll(jobs, -1);
+  }
+
+  @Override
+  public int offerJobs(List<Job> jobs, long timeout, TimeUnit unit) {
+    return this.addAll(jobs, Math.max(0, unit.toNanos(timeout)));
+  }
+
+  /**
+   * Adds the jobs in runs of as many as there are free slots, waiting for a slot whenever the queue is full.
+   * @param jobs The jobs to add.
+   * @param timeoutNanos The maximum total time to wait, or a negative value to wait without limit.
+   * @return The number of jobs added, from the start of the list.
+   */
+  private int addAll(List<Job> jobs, long timeoutNanos) {
+    long deadline = System.nanoTime() + timeoutNanos;
+    int added = 0;
+    while (added < jobs.size()) {
+      int slots = this.tryAcquireSlots(jobs.size() - added);
+      if (slots == 0) {
+        long blockedSince = System.nanoTime();
+        try {
+          if (timeoutNanos < 0) {
+            freeSlots.acquire();
+          } else if (!freeSlots.tryAcquire(deadline - blockedSince, TimeUnit.NANOSECONDS)) {
+            // queue stayed full for the whole timeout, reject the rest of the batch
+            rejectedCount.addAndGet(jobs.size() - added);
+            return added;
+          }
+        } catch (InterruptedException e) {
+          Thread.currentThread().interrupt();
+          return added;
+        } finally {
+          producerBlockedNanos.add(System.nanoTime() - blockedSince);
+        }
+        slots = 1;
+      }
+      this.deal(jobs.subList(added, added + slots));
+      added += slots;
+    }
+    return added;
+  }
+
+  @Override
+  public int tryEnqueueJobs(List<Job> jobs) {
+    int slots = this.tryAcquireSlots(jobs.size());
+    if (slots > 0) {
+      this.deal(jobs.subList(0, slots));
+    }
+    return slots;
+  }
+
+  /**
+   * Takes up to the wanted number of free slots without waiting.
+   * @param wanted The number of slots wanted.
+   * @return The number of slots taken, 0 if the queue is full.
+   */
+  private int tryAcquireSlots(int wanted) {
+    while (true) {
+      int available = Math.min(wanted, freeSlots.availablePermits());
+      if (available <= 0) {
+        return 0;
+      }
+      if (freeSlots.tryAcquire(available)) {
+        return available;
+      }
+    }
+  }
+
+  /**
+   * Stamps the submission order of jobs for which free slots were acquired and deals them round robin to the
+   * local queues, adding each local queue's share at once.
+   * @param jobs The jobs.
+   */
+  private void deal(List<Job> jobs) {
+    long sequenceNumber = nextSequenceNumber.getAndAdd(jobs.size());
+    for (Job job : jobs) {
+      job.setSequenceNumber(sequenceNumber++);
+    }
+    int first = (int) Math.floorMod(nextDeal.getAndAdd(jobs.size()), (long) localQueues.length);
+    if (jobs.size() == 1) {
+      insert(localQueues[first], jobs);
+    } else {
+      int hands = Math.min(jobs.size(), localQueues.length);
+      for (int hand = 0; hand < hands; hand++) {
+        List<Job> share = new ArrayList<>(jobs.size() / hands + 1);
+        for (int i = hand; i < jobs.size(); i += hands) {
+          share.add(jobs.get(i));
+        }
+        insert(localQueues[(first + hand) % localQueues.length], share);
+      }
+    }
+    size.addAndGet(jobs.size());
+    enqueuedCount.add(jobs.size());
+    availableJobs.release(jobs.size());
+  }
+
+  /**
+   * Adds jobs to a local queue.
+   * @param localQueue The local queue.
+   * @param jobs The jobs.
+   */
+  private static void insert(LocalQueue localQueue, List<Job> jobs) {
+    localQueue.lock.lock();
+    try {
+      localQueue.jobs.addAll(jobs);
+      localQueue.size = localQueue.jobs.size();
+    } finally {
+      localQueue.lock.unlock();
+    }
+  }
+
+  /**
+   * Puts a preempted job back in the local queue of the worker that ran it, where its next slice most likely
+   * runs on the same worker.
+   * @param job The preempted job.
+   */
+  @Override
+  public void requeueJob(Job job) {
+    if (!freeSlots.tryAcquire()) {
+      borrowedSlots.incrementAndGet();
+    }
+    job.setSequenceNumber(nextSequenceNumber.getAndIncrement());
+    insert(home.get(), List.of(job));
+    size.incrementAndGet();
+    availableJobs.release();
+  }
+
+  /**
+   * Frees the slots of jobs leaving the queue, first paying back the slots borrowed by requeued jobs.
+   * @param slots The number of slots.
+   */
+  private void releaseSlots(int slots) {
+    while (slots > 0) {
+      int borrowed = borrowedSlots.get();
+      if (borrowed == 0) {
+        freeSlots.release(slots);
+        return;
+      }
+      int repaid = Math.min(borrowed, slots);
+      if (borrowedSlots.compareAndSet(borrowed, borrowed - repaid)) {
+        slots -= repaid;
+      }
+    }
+  }
+
+  @Override
+  public Job dequeueJob() throws InterruptedException {
+    availableJobs.acquire();
+    return this.removeHead();
+  }
+
+  @Override
+  public Job pollJob(long timeout, TimeUnit unit) throws InterruptedException {
+    if (!availableJobs.tryAcquire(timeout, unit)) {
+      return null;
+    }
+    return this.removeHead();
+  }
+
+  /**
+   * Takes a job for a dispatcher and frees its slot. The caller holds an available-job permit.
+   * @return The job.
+   */
+  private Job removeHead() {
+    Job job = this.take();
+    size.decrementAndGet();
+    dequeuedCount.increment();
+    this.releaseSlots(1);
+    return job;
+  }
+
+  /**
+   * Takes the head of the calling thread's local queue, or steals the head of the most loaded peer when it is
+   * empty. The caller holds an available-job permit, so a job is guaranteed to be in some local queue or about
+   * to land in one.
+   * @return The job.
+   */
+  private Job take() {
+    LocalQueue own = home.get();
+    while (true) {
+      Job job = own.size > 0 ? poll(own) : null;
+      if (job != null) {
+        return job;
+      }
+      LocalQueue victim = this.mostLoaded();
+      job = victim != null ? poll(victim) : null;
+      if (job != null) {
+        if (victim != own) {
+          stealCount.increment();
+        }
+        return job;
+      }
+      Thread.onSpinWait();
+    }
+  }
+
+  /**
+   * Finds the local queue holding the most jobs, judging by the sizes last published by each queue.
+   * @return The local queue, or null if every local queue looks empty.
+   */
+  private LocalQueue mostLoaded() {
+    LocalQueue victim = null;
+    int victimSize = 0;
+    for (LocalQueue localQueue : localQueues) {
+      int localSize = localQueue.size;
+      if (localSize > victimSize) {
+        victim = localQueue;
+        victimSize = localSize;
+      }
+    }
+    return victim;
+  }
+
+  /**
+   * Removes the head of a local queue.
+   * @param localQueue The local queue.
+   * @return The head job, or null if the local queue is empty.
+   */
+  private static Job poll(LocalQueue localQueue) {
+    localQueue.lock.lock();
+    try {
+      Job job = localQueue.jobs.poll();
+      localQueue.size = localQueue.jobs.size();
+      return job;
+    } finally {
+      localQueue.lock.unlock();
+    }
+  }
+
+  /**
+   * Changes the order of every local queue. Jobs stay in their local queue, which switches to the ordering in
+   * constant time if it is kept and is re-heapified in place otherwise.
+   * @param comparator The new ordering.
+   */
+  @Override
+  public synchronized void setOrdering(Comparator<Job> comparator) {
+    this.comparator = comparator;
+    for (LocalQueue localQueue : localQueues) {
+      localQueue.lock.lock();
+      try {
+        localQueue.jobs.reorder(comparator);
+      } finally {
+        localQueue.lock.unlock();
+      }
+    }
+  }
+
+  @Override
+  public synchronized void keepOrderings(List<Comparator<Job>> orderings) {
+    for (LocalQueue localQueue : localQueues) {
+      localQueue.lock.lock();
+      try {
+        orderings.forEach(localQueue.jobs::keepOrdering);
+      } finally {
+        localQueue.lock.unlock();
+      }
+    }
+  }
+
+  @Override
+  public void updateJobs(Consumer<Job> update) {
+    for (LocalQueue localQueue : localQueues) {
+      localQueue.lock.lock();
+      try {
+        localQueue.jobs.updateAll(update);
+      } finally {
+        localQueue.lock.unlock();
+      }
+    }
+  }
+
+  /**
+   * Gets the queued jobs of every local queue in the order of the active policy. Workers serve their own local
+   * queue first, so the actual dispatch order may differ slightly.
+   * @return The queued jobs.
+   */
+  @Override
+  public List<Job> getQueuedJobs() {
+    List<Job> queued = new ArrayList<>();
+    for (LocalQueue localQueue : localQueues) {
+      localQueue.lock.lock();
+      try {
+        queued.addAll(localQueue.jobs.toSortedList());
+      } finally {
+        localQueue.lock.unlock();
+      }
+    }
+    queued.sort(comparator);
+    return queued;
+  }
+
+  @Override
+  public void empty() {
+    // only remove the jobs queued when emptying started, not those of producers it unblocks
+    int queuedJobs = availableJobs.drainPermits();
+    int remaining = queuedJobs;
+    while (remaining > 0) {
+      for (LocalQueue localQueue : localQueues) {
+        while (remaining > 0 && poll(localQueue) != null) {
+          remaining--;
+        }
+      }
+    }
+    size.addAndGet(-queuedJobs);
+    this.releaseSlots(queuedJobs);
+  }
+
+  @Override
+  public boolean checkForJob(Job job) {
+    for (LocalQueue localQueue : localQueues) {
+      localQueue.lock.lock();
+      try {
+        if (localQueue.jobs.contains(job)) {
+          return true;
+        }
+      } finally {
+        localQueue.lock.unlock();
+      }
+    }
+    return false;
+  }
+
+  @Override
+  public boolean removeJob(Job job) {
+    for (LocalQueue localQueue : localQueues) {
+      localQueue.lock.lock();
+      try {
+        if (!localQueue.jobs.contains(job)) {
+          continue;
+        }
+        // the acquired permit stands for the removed job; without one, every queued job is being taken
+        if (!availableJobs.tryAcquire()) {
+          return false;
+        }
+        localQueue.jobs.remove(job);
+        localQueue.size = localQueue.jobs.size();
+      } finally {
+        localQueue.lock.unlock();
+      }
+      size.decrementAndGet();
+      this.releaseSlots(1);
+      return true;
+    }
+    return false;
+  }
+
+  @Override
+  public List<Job> cancelJobs(String name) {
+    List<Job> cancelled = new ArrayList<>();
+    for (LocalQueue localQueue : localQueues) {
+      localQueue.lock.lock();
+      try {
+        for (Job job : localQueue.jobs.getJobsNamed(name)) {
+          if (!availableJobs.tryAcquire()) {
+            break;
+          }
+          localQueue.jobs.remove(job);
+          cancelled.add(job);
+        }
+        localQueue.size = localQueue.jobs.size();
+      } finally {
+        localQueue.lock.unlock();
+      }
+    }
+    size.addAndGet(-cancelled.size());
+    this.releaseSlots(cancelled.size());
+    return cancelled;
+  }
+
+  @Override
+  public int getQueueSize() {
+    return size.get();
+  }
+
+  @Override
+  public int getCapacity() {
+    return capacity;
+  }
+
+  @Override
+  public long getRejectedCount() {
+    return rejectedCount.get();
+  }
+
+  @Override
+  public long getEnqueuedCount() {
+    return enqueuedCount.sum();
+  }
+
+  @Override
+  public long getDequeuedCount() {
+    return dequeuedCount.sum();
+  }
+
+  @Override
+  public long getProducerBlockedNanos() {
+    return producerBlockedNanos.sum();
+  }
+
+  @Override
+  public long getStealCount() {
+    return stealCount.sum();
+  }
+
+  @Override
+  public List<Integer> getLocalQueueSizes() {
+    List<Integer> sizes = new ArrayList<>(localQueues.length);
+    for (LocalQueue localQueue : localQueues) {
+      sizes.add(localQueue.size);
+    }
+    return sizes;
+  }
+
+  @Override
+  public List<InstrumentedLock.LockStats> getLockStats() {
+    List<InstrumentedLock.LockStats> lockStats = new ArrayList<>(localQueues.length);
+    for (LocalQueue localQueue : localQueues) {
+      lockStats.add(localQueue.lock.getStats());
+    }
+    return lockStats;
+  }
+}
@@ -1,135 +1,299 @@
 package org.example.scheduler;
 
+import java.util.ArrayDeque;
 import java.util.ArrayList;
-import java.util.Comparator;
+import java.util.Collection;
+import java.util.Iterator;
 import java.util.List;
-import java.util.concurrent.locks.Condition;
-import java.util.concurrent.locks.Lock;
-import java.util.concurrent.locks.ReentrantLock;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.FutureTask;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.concurrent.locks.LockSupport;
+import java.util.function.Supplier;
 
+import org.example.common.InstrumentedLock;
 import org.example.common.Job;
-import org.example.queueManager.QueueManager;
+import org.example.jobJournal.JobJournal;
+import org.example.queueManager.JobQueue;
 
 /**
  * The Scheduler governs a thread that enforces scheduling policies for submitted jobs.
- * It is responsible for managing the 3 scheduling policies: FCFS, SJF, and Priority.
+ * It is responsible for managing the scheduling policies: FCFS, SJF, Priority, and the preemptive RR, SRTF and MLFQ.
+ * The policy is enforced by the ordering of the job queue, so a submission
+ * is a single ordered insertion. The queue is asked to keep the jobs in the ordering of every policy at once, so a
+ * policy change switches orderings in constant time instead of reordering the queued jobs, on queues that support it.
+ * <p>
+ * While the scheduler thread runs, it is the only thread that adds submitted jobs to the queue or changes its order.
+ * Submitters push jobs onto a lock-free inbox and return without touching the queue lock; the scheduler thread
+ * drains the inbox, feeds the jobs to the queue in batches, one lock acquisition and one ordering step per
+ * batch, and applies policy changes, cancellations and MLFQ boosts in the order they were requested. The inbox
+ * holds at most as many jobs as the queue, so submitters still wait, or are rejected after the submit timeout,
+ * once both are full. Two paths bypass the inbox: dispatchers put preempted jobs back in the queue themselves, so
+ * a dispatcher never waits for the scheduler thread, and jobs recovered from the journal are queued directly at
+ * startup. Without a running scheduler thread every call acts on the queue directly, and jobs left in the inbox
+ * when the thread stops are queued by the thread that pushed them or by the stopping thread.
  */
 public class Scheduler implements Runnable{
-    private final QueueManager jobQueue;
-    private final ArrayList<Job> mutateList = new ArrayList<>();
-    private final ArrayList<Job> originalList = new ArrayList<>();
-    private final Lock lock = new ReentrantLock();
-    private final Condition condition = lock.newCondition();
-    private SchedulingPolicy policy;
+    public static final long DEFAULT_QUANTUM_MILLIS = 1000;
+    public static final long DEFAULT_BOOST_MILLIS = 10_000;
+    // dispatchers do not signal the scheduler thread, so a full queue is checked for space this often
+    private static final long FULL_QUEUE_POLL_NANOS = 1_000_000;
+    private static final long TASK_POLL_MILLIS = 100;
+    private final JobQueue jobQueue;
+    private final InstrumentedLock lock = new InstrumentedLock("scheduler");
+    private final AtomicReference<InboxNode> inbox = new AtomicReference<>();
+    private final Semaphore inboxSlots;
+    private final AtomicInteger inboxJobs = new AtomicInteger();
+    // jobs taken from the inbox and waiting for space in the queue, only used by the scheduler thread
+    private final ArrayDeque<Job> pendingJobs = new ArrayDeque<>();
+    private volatile Thread schedulerThread;
+    private final AtomicLong rejectedCount = new AtomicLong();
+    private final AtomicLong submitterBlockedNanos = new AtomicLong();
+    private final AtomicLong batchCount = new AtomicLong();
+    private final AtomicLong batchedJobCount = new AtomicLong();
+    private volatile SchedulingPolicy policy;
+    private volatile long submitTimeoutMillis = -1;
+    private volatile JobJournal journal;
+    private volatile long quantumMillis = DEFAULT_QUANTUM_MILLIS;
+    private final AtomicLong preemptionCount = new AtomicLong();
+    private volatile long boostPeriodMillis = DEFAULT_BOOST_MILLIS;
+    private final AtomicLong nextBoostNanos = new AtomicLong(System.nanoTime() + DEFAULT_BOOST_MILLIS * 1_000_000);
+    private final AtomicLong boostCount = new AtomicLong();
+    private final AtomicLong reorderCount = new AtomicLong();
+    private final AtomicLong reorderNanos = new AtomicLong();
+
+    /**
+     * A message in the inbox: a submitted job, or a task to run on the scheduler thread.
+     */
+    private static final class InboxNode {
+        private final Job job;
+        private final FutureTask<?> task;
+        private InboxNode next;
+
+        InboxNode(Job job, FutureTask<?> task) {
+            this.job = job;
+            this.task = task;
+        }
+    }
 
     /**
      * Scheduler constructor.
      * @param policy The scheduling policy.
      * @param queue The queue manager instance.
      */
-    public Scheduler(SchedulingPolicy policy, QueueManager queue) {
+    public Scheduler(SchedulingPolicy policy, JobQueue queue) {
         this.policy = policy;
         this.jobQueue = queue;
+        this.jobQueue.keepOrderings(SchedulingPolicy.orderings());
+        this.jobQueue.setOrdering(policy.comparator());
+        this.inboxSlots = new Semaphore(queue.getCapacity());
     }
 
     /**
      * Adds a new job to the scheduler in a thread-safe manner.
+     * While the scheduler thread runs, the job is pushed onto its inbox and this returns at once unless the
+     * inbox is full; otherwise the job is queued directly. The scheduler lock is never held while waiting for
+     * space, so a full queue never blocks a policy change.
+     * When a submit timeout is set, a job that cannot be accepted in time is rejected instead of
+     * blocking the submitter until space becomes available.
+     * When a journal is set, the submission is journaled before the job is queued, so a dispatcher can
+     * never journal the job's completion ahead of it.
      * @param job The Job.
+     * @return Whether the job was accepted.
      * @throws InterruptedException An exception when the processing is interrupted.
      */
-    public void addJob(Job job) throws InterruptedException {
-        lock.lock();
+    public boolean addJob(Job job) throws InterruptedException {
+        JobJournal jobJournal = this.journal;
+        if (jobJournal != null) {
+            jobJournal.recordSubmit(job);
+        }
+        boolean isQueued = false;
         try {
-            originalList.add(job);
-            jobQueue.enqueueJob(job);
-            switch(policy){
-                case FCFS -> manageFCFS();
-                case PRIORITY -> managePriority();
-                case SJF -> manageSJF();
-                default -> {
+            long timeoutMillis = submitTimeoutMillis;
+            if (schedulerThread != null) {
+                isQueued = this.admit(List.of(job), timeoutMillis) == 1;
+                if (!isQueued && Thread.interrupted()) {
+                    throw new InterruptedException("Interrupted while waiting for space in the inbox.");
                 }
+            } else if (timeoutMillis < 0) {
+                jobQueue.enqueueJob(job);
+                isQueued = true;
+            } else {
+                isQueued = jobQueue.offerJob(job, timeoutMillis, TimeUnit.MILLISECONDS);
             }
-            condition.signal(); // Notify scheduler that a job is available
+            return isQueued;
         } finally {
-            lock.unlock();
+            if (jobJournal != null && !isQueued) {
+                jobJournal.recordCancel(job);
+            }
         }
     }
 
     /**
-     * Updates the list of jobs.
+     * Adds many jobs to the scheduler in one pass, in the order of the collection.
+     * The submissions are journaled together before any job is queued, and the queue takes each run of jobs
+     * that fits in it with a single lock acquisition and a single ordering step, so ingesting a large
+     * workload costs far less than submitting its jobs one by one. While the scheduler thread runs, each run
+     * of jobs that fits in the inbox is pushed onto it with a single atomic update instead.
+     * When a submit timeout is set, it bounds the wait for the whole batch; the jobs that cannot be queued
+     * in time are rejected. Rejected jobs, and those left when interrupted, are journaled as cancelled.
+     * @param jobs The jobs.
+     * @return The number of jobs accepted, from the start of the collection.
+     * @throws InterruptedException An exception when interrupted while waiting for space; the jobs accepted
+     * before the interruption stay queued.
      */
-    private void updateList(){
-        List<Job> jobsToRemove = new ArrayList<>();
-        for(Job job : originalList ){
-            if(!jobQueue.checkForJob(job)){
-                jobsToRemove.add(job);
+    public int addJobs(Collection<Job> jobs) throws InterruptedException {
+        List<Job> batch = List.copyOf(jobs);
+        JobJournal jobJournal = this.journal;
+        if (jobJournal != null) {
+            jobJournal.recordSubmits(batch);
+        }
+        long timeoutMillis = submitTimeoutMillis;
+        int queuedJobs;
+        if (schedulerThread != null) {
+            queuedJobs = this.admit(batch, timeoutMillis);
+        } else {
+            queuedJobs = timeoutMillis < 0
+                    ? jobQueue.enqueueJobs(batch)
+                    : jobQueue.offerJobs(batch, timeoutMillis, TimeUnit.MILLISECONDS);
+        }
+        if (jobJournal != null) {
+            for (Job job : batch.subList(queuedJobs, batch.size())) {
+                jobJournal.recordCancel(job);
             }
         }
-        for(Job job : jobsToRemove){
-            originalList.remove(job);
+        if (Thread.interrupted()) {
+            throw new InterruptedException("Interrupted after queuing " + queuedJobs + " of " + batch.size() + " jobs.");
         }
+        return queuedJobs;
     }
 
     /**
-     * Manages the first come first serve scheduling policy.
-     * @throws InterruptedException An exception when interrupted.
+     * Queues jobs recovered from the journal under the current policy. The jobs are already journaled,
+     * so they are not journaled again; each waits for space in a full queue.
+     * @param jobs The recovered jobs in submission order.
+     * @throws InterruptedException An exception when interrupted while waiting for space.
      */
-    private void manageFCFS() throws InterruptedException{
-        updateList();
-        jobQueue.empty();
-        for(Job job : originalList){
+    public void restoreJobs(List<Job> jobs) throws InterruptedException {
+        for (Job job : jobs) {
             jobQueue.enqueueJob(job);
         }
     }
 
     /**
-     * Manages the shortest job first scheduling policy.
-     * @throws InterruptedException An exception when interrupted.
+     * Cancels every queued job with the given name, including those still waiting in the inbox.
+     * Jobs that are already executing are not affected.
+     * @param jobName The job name.
+     * @return The cancelled jobs.
+     * @throws InterruptedException An exception when interrupted while waiting for the scheduler thread.
      */
-    private void manageSJF() throws InterruptedException{
-        updateList();
-        jobQueue.empty();
-        for(Job job : originalList){
-            mutateList.add(job); //adds all jobs to a mutable list so we can reupload to queue in sorted order.
-        }
-        mutateList.sort(Comparator.comparingLong(Job::getExecutionTime));
-        for(Job job : mutateList){
-            jobQueue.enqueueJob(job);
+    public List<Job> cancelJob(String jobName) throws InterruptedException {
+        List<Job> cancelled = this.onSchedulerThread(() -> {
+            List<Job> jobs = jobQueue.cancelJobs(jobName);
+            Iterator<Job> pending = pendingJobs.iterator();
+            while (pending.hasNext()) {
+                Job job = pending.next();
+                if (job.getName().equals(jobName)) {
+                    pending.remove();
+                    jobs.add(job);
+                    inboxJobs.decrementAndGet();
+                    inboxSlots.release();
+                }
+            }
+            return jobs;
+        });
+        JobJournal jobJournal = this.journal;
+        if (jobJournal != null) {
+            cancelled.forEach(jobJournal::recordCancel);
         }
-        mutateList.clear();
+        return cancelled;
     }
 
     /**
-     * Manages the priority scheduling policy.
-     * @throws InterruptedException An exception when interrupted.
+     * Gets a snapshot of the queued jobs in the order they will be dispatched, followed by the jobs accepted by the
+     * scheduler thread that are still waiting for space in the queue.
+     * @return The queued jobs.
+     * @throws InterruptedException An exception when interrupted while waiting for the scheduler thread.
      */
-    private void managePriority() throws InterruptedException{
-        updateList();
-        jobQueue.empty();
-        for(Job job : originalList){
-            mutateList.add(job); //adds all jobs to a mutable list so we can reupload to queue in sorted order.
-        }
-        mutateList.sort(Comparator.comparingInt(Job::getExecutionPriority));
-        for(Job job : mutateList){
-            jobQueue.enqueueJob(job);
-        }
-        mutateList.clear();
+    public List<Job> getQueuedJobs() throws InterruptedException {
+        return this.onSchedulerThread(() -> {
+            List<Job> jobs = new ArrayList<>(jobQueue.getQueuedJobs());
+            jobs.addAll(pendingJobs);
+            return jobs;
+        });
     }
 
     /**
-     * Sets the scheduling policy.
+     * Sets the scheduling policy and switches the queue to its ordering. While the scheduler thread runs, the
+     * change is applied by that thread, after the jobs submitted before it were taken from the inbox.
+     * When a journal is set, the policy is journaled so the jobs are recovered under it.
      * @param newPolicy The new scheduling policy to be set.
      * @throws InterruptedException An exception when interrupted.
      */
     public void setPolicy(SchedulingPolicy newPolicy ) throws InterruptedException{
-        this.policy = newPolicy;
-        switch(policy){
-            case FCFS -> manageFCFS();
-            case PRIORITY -> managePriority();
-            case SJF -> manageSJF();
-            default -> {
+        this.onSchedulerThread(() -> {
+            this.policy = newPolicy;
+            long startNanos = System.nanoTime();
+            jobQueue.setOrdering(newPolicy.comparator());
+            reorderNanos.addAndGet(System.nanoTime() - startNanos);
+            reorderCount.incrementAndGet();
+            JobJournal jobJournal = this.journal;
+            if (jobJournal != null) {
+                jobJournal.recordPolicy(newPolicy.name());
             }
+            return null;
+        });
+    }
+
+    /**
+     * Gets how long a dispatcher may run a job before offering the worker to the next job.
+     * Under a preemptive policy this is one quantum, or less if the job needs less; otherwise the job runs to completion.
+     * Under MLFQ the quantum doubles with every level of the job, and since a dispatcher asks before every slice,
+     * this is also where the queued jobs are boosted back to the top level once the boost period has elapsed.
+     * @param job The job about to run.
+     * @return The time slice in milliseconds.
+     */
+    public long getTimeSlice(Job job) {
+        SchedulingPolicy activePolicy = this.policy;
+        if (activePolicy == SchedulingPolicy.MLFQ) {
+            this.boostIfDue();
+        }
+        return activePolicy.timeSlice(job, quantumMillis);
+    }
+
+    /**
+     * Puts a job preempted at the end of its time slice back in the queue, where the current policy orders it
+     * among the waiting jobs by its remaining time, or under MLFQ one level below the level it ran at.
+     * It is neither journaled nor subject to the submit timeout, since it was accepted when first submitted,
+     * and it bypasses the inbox so that a dispatcher never waits for the scheduler thread.
+     * @param job The preempted job.
+     */
+    public void requeueJob(Job job) {
+        preemptionCount.incrementAndGet();
+        policy.demote(job);
+        jobQueue.requeueJob(job);
+    }
 
+    /**
+     * Moves every queued job back to the top MLFQ level if the boost period has elapsed since the last boost.
+     * Long jobs sink to the bottom level while new jobs keep arriving at the top, so without the boost they could
+     * wait forever; with it, a queued job waits at most one boost period before it competes with every other job
+     * in order of arrival. Only one thread triggers each boost, which is applied by the scheduler thread when it
+     * runs, without making the triggering dispatcher wait for it.
+     */
+    private void boostIfDue() {
+        long now = System.nanoTime();
+        long dueNanos = nextBoostNanos.get();
+        if (now - dueNanos >= 0 && nextBoostNanos.compareAndSet(dueNanos, now + boostPeriodMillis * 1_000_000)) {
+            this.postToSchedulerThread(() -> {
+                jobQueue.updateJobs(job -> job.setLevel(0));
+                boostCount.incrementAndGet();
+            });
         }
     }
 
@@ -140,9 +304,402 @@ public class Scheduler implements Runnable{
     public SchedulingPolicy getPolicy(){
         return policy;
     }
-    
+
+    /**
+     * Sets how long addJob waits for space in a full queue before rejecting the job.
+     * @param submitTimeoutMillis The timeout in milliseconds, or a negative value to wait indefinitely.
+     */
+    public void setSubmitTimeout(long submitTimeoutMillis) {
+        this.submitTimeoutMillis = submitTimeoutMillis;
+    }
+
+    public long getSubmitTimeout() {
+        return submitTimeoutMillis;
+    }
+
+    /**
+     * Sets the journal that submissions, cancellations and policy changes are recorded in, or null to record nothing.
+     * @param journal The job journal.
+     */
+    public void setJournal(JobJournal journal) {
+        this.journal = journal;
+    }
+
+    public JobJournal getJournal() {
+        return journal;
+    }
+
+    /**
+     * Sets the time quantum jobs run for under a preemptive policy.
+     * @param quantumMillis The quantum in milliseconds.
+     * @throws IllegalArgumentException If the quantum is less than 1ms.
+     */
+    public void setQuantum(long quantumMillis) {
+        if (quantumMillis < 1) {
+            throw new IllegalArgumentException("The time quantum must be at least 1ms.");
+        }
+        this.quantumMillis = quantumMillis;
+    }
+
+    public long getQuantum() {
+        return quantumMillis;
+    }
+
+    /**
+     * Sets how often the queued jobs are moved back to the top level under MLFQ, which bounds how long a job waits.
+     * The next boost is due one period from now.
+     * @param boostPeriodMillis The boost period in milliseconds.
+     * @throws IllegalArgumentException If the period is less than 1ms.
+     */
+    public void setBoostPeriod(long boostPeriodMillis) {
+        if (boostPeriodMillis < 1) {
+            throw new IllegalArgumentException("The boost period must be at least 1ms.");
+        }
+        this.boostPeriodMillis = boostPeriodMillis;
+        nextBoostNanos.set(System.nanoTime() + boostPeriodMillis * 1_000_000);
+    }
+
+    public long getBoostPeriod() {
+        return boostPeriodMillis;
+    }
+
+    /**
+     * Gets the number of times the queued jobs were moved back to the top MLFQ level.
+     * @return The boost count.
+     */
+    public long getBoostCount() {
+        return boostCount.get();
+    }
+
+    /**
+     * Gets the number of times a job was preempted at the end of its time slice and queued again.
+     * @return The preemption count.
+     */
+    public long getPreemptionCount() {
+        return preemptionCount.get();
+    }
+
+    /**
+     * Gets whether the scheduler thread is running, so that submissions go through its inbox.
+     * @return Whether the scheduler thread is running.
+     */
+    public boolean isRunning() {
+        return schedulerThread != null;
+    }
+
+    /**
+     * Gets the number of jobs accepted by the scheduler thread that are not in the queue yet.
+     * @return The number of jobs in the inbox.
+     */
+    public int getInboxSize() {
+        return inboxJobs.get();
+    }
+
+    /**
+     * Gets the number of jobs rejected because the inbox stayed full past the submit timeout.
+     * Jobs rejected by the queue itself are counted by the queue.
+     * @return The rejected count.
+     */
+    public long getRejectedCount() {
+        return rejectedCount.get();
+    }
+
+    /**
+     * Gets the total time submitters have spent waiting for space in a full inbox.
+     * @return The blocked time in nanoseconds.
+     */
+    public long getSubmitterBlockedNanos() {
+        return submitterBlockedNanos.get();
+    }
+
+    /**
+     * Gets the number of batches the scheduler thread fed from its inbox to the queue.
+     * @return The batch count.
+     */
+    public long getBatchCount() {
+        return batchCount.get();
+    }
+
+    /**
+     * Gets the number of jobs the scheduler thread fed from its inbox to the queue.
+     * @return The job count.
+     */
+    public long getBatchedJobCount() {
+        return batchedJobCount.get();
+    }
+
+    /**
+     * Gets the number of times the queued jobs were reordered for a policy change.
+     * @return The reorder count.
+     */
+    public long getReorderCount() {
+        return reorderCount.get();
+    }
+
+    /**
+     * Gets the total time spent reordering the queued jobs for policy changes.
+     * @return The reorder time in nanoseconds.
+     */
+    public long getReorderNanos() {
+        return reorderNanos.get();
+    }
+
+    /**
+     * Gets the contention on the scheduler lock and the locks of the job queue.
+     * @return A summary per lock.
+     */
+    public List<InstrumentedLock.LockStats> getLockStats() {
+        List<InstrumentedLock.LockStats> lockStats = new ArrayList<>();
+        lockStats.add(lock.getStats());
+        lockStats.addAll(jobQueue.getLockStats());
+        return lockStats;
+    }
+
+    /**
+     * Runs the scheduler thread: drains the inbox, runs its tasks and feeds its jobs to the queue in batches
+     * of as many as fit, until interrupted. When it stops, the jobs it accepted are queued as far as the queue has
+     * space, without waiting; the rest are rejected.
+     */
     @Override
     public void run(){
+        schedulerThread = Thread.currentThread();
+        try {
+            while (!Thread.currentThread().isInterrupted()) {
+                this.drainInbox();
+                if (pendingJobs.isEmpty()) {
+                    LockSupport.park(this);
+                } else if (!this.feedQueue()) {
+                    LockSupport.parkNanos(this, FULL_QUEUE_POLL_NANOS);
+                }
+            }
+        } finally {
+            schedulerThread = null;
+            // hand the accepted jobs and the tasks that arrived while stopping over; the interrupt status is still
+            // set, so queuing them takes the space there is and never waits for a dispatcher
+            this.reclaimInbox();
+        }
+    }
+
+    /**
+     * Takes every message from the inbox in the order they were pushed, running tasks and keeping jobs for the queue.
+     */
+    private void drainInbox() {
+        InboxNode node = inbox.getAndSet(null);
+        // the inbox is a stack, reverse it to handle the messages first in first out
+        InboxNode oldest = null;
+        while (node != null) {
+            InboxNode next = node.next;
+            node.next = oldest;
+            oldest = node;
+            node = next;
+        }
+        for (; oldest != null; oldest = oldest.next) {
+            if (oldest.job != null) {
+                pendingJobs.add(oldest.job);
+            } else {
+                oldest.task.run();
+            }
+        }
+    }
 
+    /**
+     * Adds as many pending jobs as fit to the queue in a single batch, without waiting for space: dispatchers
+     * requeue preempted jobs and recovered jobs are restored straight into the queue, so the space seen here may
+     * be gone by the time the batch is added, and the scheduler thread must never block on a full queue.
+     * @return Whether any job was queued.
+     */
+    private boolean feedQueue() {
+        int space = jobQueue.getCapacity() - jobQueue.getQueueSize();
+        if (space <= 0) {
+            return false;
+        }
+        List<Job> batch = new ArrayList<>(Math.min(space, pendingJobs.size()));
+        while (batch.size() < space && !pendingJobs.isEmpty()) {
+            batch.add(pendingJobs.poll());
+        }
+        int queuedJobs = jobQueue.tryEnqueueJobs(batch);
+        for (int i = batch.size() - 1; i >= queuedJobs; i--) {
+            // the queue filled up meanwhile, keep the rest first in line for the next attempt
+            pendingJobs.addFirst(batch.get(i));
+        }
+        if (queuedJobs == 0) {
+            return false;
+        }
+        inboxJobs.addAndGet(-queuedJobs);
+        inboxSlots.release(queuedJobs);
+        batchCount.incrementAndGet();
+        batchedJobCount.addAndGet(queuedJobs);
+        return true;
+    }
+
+    /**
+     * Pushes jobs onto the inbox with a single atomic update, as many as slots were taken for, and wakes the
+     * scheduler thread if the inbox was empty.
+     * @param jobs The jobs in submission order.
+     */
+    private void pushJobs(List<Job> jobs) {
+        InboxNode oldest = new InboxNode(jobs.get(0), null);
+        InboxNode newest = oldest;
+        for (int i = 1; i < jobs.size(); i++) {
+            InboxNode node = new InboxNode(jobs.get(i), null);
+            node.next = newest;
+            newest = node;
+        }
+        inboxJobs.addAndGet(jobs.size());
+        this.push(oldest, newest);
+    }
+
+    /**
+     * Pushes a chain of messages onto the inbox.
+     * @param oldest The first message of the chain, whose next message is set to the top of the inbox.
+     * @param newest The last message of the chain, which becomes the top of the inbox.
+     */
+    private void push(InboxNode oldest, InboxNode newest) {
+        InboxNode top;
+        do {
+            top = inbox.get();
+            oldest.next = top;
+        } while (!inbox.compareAndSet(top, newest));
+        Thread thread = schedulerThread;
+        if (top == null && thread != null) {
+            LockSupport.unpark(thread);
+        }
+    }
+
+    /**
+     * Takes inbox slots for the jobs and pushes them, each run of jobs that fits at once, waiting for slots
+     * whenever the inbox is full.
+     * If the thread is interrupted while waiting, the remaining jobs are not pushed and the interrupt status is set.
+     * @param jobs The jobs.
+     * @param timeoutMillis The maximum total time to wait, or a negative value to wait without limit.
+     * @return The number of jobs pushed, from the start of the list.
+     */
+    private int admit(List<Job> jobs, long timeoutMillis) {
+        long deadline = System.nanoTime() + TimeUnit.MILLISECONDS.toNanos(Math.max(0, timeoutMillis));
+        int admitted = 0;
+        while (admitted < jobs.size()) {
+            int slots = Math.min(jobs.size() - admitted, inboxSlots.availablePermits());
+            if (slots <= 0 || !inboxSlots.tryAcquire(slots)) {
+                long blockedSince = System.nanoTime();
+                try {
+                    if (timeoutMillis < 0) {
+                        inboxSlots.acquire();
+                    } else if (!inboxSlots.tryAcquire(deadline - blockedSince, TimeUnit.NANOSECONDS)) {
+                        // the inbox stayed full for the whole timeout, reject the rest of the jobs
+                        rejectedCount.addAndGet(jobs.size() - admitted);
+                        return admitted;
+                    }
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                    return admitted;
+                } finally {
+                    submitterBlockedNanos.addAndGet(System.nanoTime() - blockedSince);
+                }
+                slots = 1;
+            }
+            this.pushJobs(jobs.subList(admitted, admitted + slots));
+            admitted += slots;
+            if (schedulerThread == null) {
+                // the scheduler thread stopped and may have missed the jobs, queue them directly
+                this.reclaimInbox();
+            }
+        }
+        return admitted;
+    }
+
+    /**
+     * Takes over the inbox of a stopped scheduler thread: runs its tasks and adds the jobs it accepted to the queue,
+     * waiting for space unless the calling thread is interrupted. Jobs that still cannot be queued are rejected,
+     * counted and journaled as cancelled, so an accepted job is never dropped silently.
+     */
+    private void reclaimInbox() {
+        List<Job> jobs;
+        lock.lock();
+        try {
+            this.drainInbox();
+            jobs = new ArrayList<>(pendingJobs);
+            pendingJobs.clear();
+        } finally {
+            lock.unlock();
+        }
+        if (jobs.isEmpty()) {
+            return;
+        }
+        int queuedJobs = jobQueue.enqueueJobs(jobs);
+        inboxJobs.addAndGet(-jobs.size());
+        inboxSlots.release(jobs.size());
+        List<Job> rejected = jobs.subList(queuedJobs, jobs.size());
+        rejectedCount.addAndGet(rejected.size());
+        JobJournal jobJournal = this.journal;
+        if (jobJournal != null) {
+            rejected.forEach(jobJournal::recordCancel);
+        }
+    }
+
+    /**
+     * Runs a task that changes the order of the queue on the scheduler thread, after the messages pushed before it,
+     * without waiting for it. Without a running scheduler thread the task runs on the calling thread under the
+     * scheduler lock.
+     * @param task The task.
+     */
+    private void postToSchedulerThread(Runnable task) {
+        if (schedulerThread == null) {
+            lock.lock();
+            try {
+                task.run();
+            } finally {
+                lock.unlock();
+            }
+            return;
+        }
+        FutureTask<Void> future = new FutureTask<>(task, null);
+        InboxNode node = new InboxNode(null, future);
+        this.push(node, node);
+        if (schedulerThread == null) {
+            // the scheduler thread stopped and may have missed the task; a task runs at most once
+            lock.lock();
+            try {
+                future.run();
+            } finally {
+                lock.unlock();
+            }
+        }
+    }
+
+    /**
+     * Runs a task that reads or changes the order of the queue on the scheduler thread, after the messages pushed
+     * before it, and waits for its result. Without a running scheduler thread the task runs on the calling thread
+     * under the scheduler lock.
+     * @param task The task.
+     * @return The result of the task.
+     * @throws InterruptedException An exception when interrupted while waiting.
+     */
+    private <T> T onSchedulerThread(Supplier<T> task) throws InterruptedException {
+        if (schedulerThread == null) {
+            lock.lock();
+            try {
+                return task.get();
+            } finally {
+                lock.unlock();
+            }
+        }
+        FutureTask<T> future = new FutureTask<>(task::get);
+        InboxNode node = new InboxNode(null, future);
+        this.push(node, node);
+        while (true) {
+            try {
+                return future.get(TASK_POLL_MILLIS, TimeUnit.MILLISECONDS);
+            } catch (TimeoutException e) {
+                if (schedulerThread == null) {
+                    // the scheduler thread stopped before running the task, take over the inbox to run it
+                    this.reclaimInbox();
+                }
+            } catch (ExecutionException e) {
+                if (e.getCause() instanceof RuntimeException cause) {
+                    throw cause;
+                }
+                throw new IllegalStateException(e.getCause());
+            }
+        }
     }
 }
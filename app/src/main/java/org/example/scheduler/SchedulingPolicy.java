@@ -1,10 +1,102 @@
 package org.example.scheduler;
 
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.List;
+
+import org.example.common.Job;
+
 /**
  * Enum that represents the supported scheduling policies.
+ * Each policy supplies the comparator used to order the ready queue. Ties are broken by
+ * submission order so that jobs with equal keys are still served first come first serve.
+ * Under a preemptive policy a job runs for at most one time quantum before it goes back to the queue,
+ * where it is queued again with a new sequence number: RR serves the queued jobs in turn and SRTF
+ * serves the job with the least remaining time at every quantum.
+ * MLFQ keeps the jobs in {@link #MLFQ_LEVELS} levels served first come first serve, each level only when
+ * the levels above it are empty. Jobs are submitted at the top level and move down a level every time they
+ * use up their time slice, which doubles with every level, so short and interactive jobs are served first
+ * and long jobs run in longer slices. The scheduler periodically moves every queued job back to the top
+ * level so that no job starves.
  */
 public enum SchedulingPolicy {
-    FCFS, 
-    SJF,
-    PRIORITY
+    FCFS(Orderings.ARRIVAL, false),
+    SJF(Comparator.comparingLong(Job::getExecutionTime).thenComparingLong(Job::getSequenceNumber), false),
+    PRIORITY(Comparator.comparingInt(Job::getExecutionPriority).thenComparingLong(Job::getSequenceNumber), false),
+    RR(Orderings.ARRIVAL, true),
+    SRTF(Comparator.comparingLong(Job::getRemainingTime).thenComparingLong(Job::getSequenceNumber), true),
+    MLFQ(Comparator.comparingInt(Job::getLevel).thenComparingLong(Job::getSequenceNumber), true);
+
+    /**
+     * The number of levels of the MLFQ policy.
+     */
+    public static final int MLFQ_LEVELS = 3;
+
+    private final Comparator<Job> comparator;
+    private final boolean isPreemptive;
+
+    /**
+     * Orderings shared by several policies, so that a queue keeping every policy ordering keeps each one once.
+     */
+    private static final class Orderings {
+        private static final Comparator<Job> ARRIVAL = Comparator.comparingLong(Job::getSequenceNumber);
+    }
+
+    SchedulingPolicy(Comparator<Job> comparator, boolean isPreemptive) {
+        this.comparator = comparator;
+        this.isPreemptive = isPreemptive;
+    }
+
+    /**
+     * Gets the ordering of the ready queue under this policy.
+     * @return The job comparator.
+     */
+    public Comparator<Job> comparator() {
+        return comparator;
+    }
+
+    /**
+     * Gets the distinct orderings of all policies, for a queue to keep so that a policy change does not reorder it.
+     * @return The job comparators.
+     */
+    public static List<Comparator<Job>> orderings() {
+        return Arrays.stream(values()).map(SchedulingPolicy::comparator).distinct().toList();
+    }
+
+    /**
+     * Checks if jobs run in time quanta under this policy rather than to completion.
+     * @return Whether the policy is preemptive.
+     */
+    public boolean isPreemptive() {
+        return isPreemptive;
+    }
+
+    /**
+     * Gets how long a job may run before it is preempted under this policy: the remaining time of the job under a
+     * non-preemptive policy, otherwise one quantum, doubled for every MLFQ level below the top one, or less if the
+     * job needs less.
+     * @param job The job about to run.
+     * @param quantumMillis The time quantum in milliseconds.
+     * @return The time slice in milliseconds.
+     */
+    public long timeSlice(Job job, long quantumMillis) {
+        long remainingTime = job.getRemainingTime();
+        if (!isPreemptive) {
+            return remainingTime;
+        }
+        int level = this == MLFQ ? job.getLevel() : 0;
+        long slice = quantumMillis > Long.MAX_VALUE >> level ? Long.MAX_VALUE : quantumMillis << level;
+        return Math.min(slice, remainingTime);
+    }
+
+    /**
+     * Moves a job that used up its time slice down one MLFQ level, unless it is already at the bottom one.
+     * Other policies do not keep levels, so the job is left unchanged.
+     * @param job The preempted job, which must not be queued.
+     */
+    public void demote(Job job) {
+        if (this == MLFQ && job.getLevel() < MLFQ_LEVELS - 1) {
+            job.setLevel(job.getLevel() + 1);
+        }
+    }
 }
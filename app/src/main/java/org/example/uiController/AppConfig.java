@@ -0,0 +1,299 @@
+package org.example.uiController;
+
+import org.example.perfEvaluator.PerfEvaluator;
+import org.example.queueManager.QueueManager;
+import org.example.scheduler.Scheduler;
+
+/**
+ * The AppConfig holds the startup options of the application.
+ * Options are passed on the command line in the form {@code --name=value}, e.g. {@code --workers=4}.
+ */
+public class AppConfig {
+    /**
+     * The available job queue implementations.
+     */
+    public enum QueueType {
+        LOCKED,
+        CONCURRENT,
+        STEALING
+    }
+
+    private int dispatcherWorkers = 1;
+    private QueueType queueType = QueueType.LOCKED;
+    private int queueCapacity = QueueManager.DEFAULT_CAPACITY;
+    private long submitTimeoutMillis = -1;
+    private int maxConcurrentJobs = 0;
+    private int jobHistory = PerfEvaluator.DEFAULT_JOB_HISTORY;
+    private int metricsPort = 0;
+    private String journalPath;
+    private boolean isJournalSync = false;
+    private int journalSnapshotIntervalSeconds = 60;
+    private long quantumMillis = Scheduler.DEFAULT_QUANTUM_MILLIS;
+    private long boostPeriodMillis = Scheduler.DEFAULT_BOOST_MILLIS;
+
+    /**
+     * Builds a configuration from command line arguments. Unspecified options keep their defaults.
+     * @param args The command line arguments.
+     * @return The configuration.
+     * @throws IllegalArgumentException If an option is unknown or its value is invalid.
+     */
+    public static AppConfig fromArgs(String[] args) {
+        AppConfig config = new AppConfig();
+        for (String arg : args) {
+            int separator = arg.indexOf('=');
+            if (!arg.startsWith("--") || separator < 0) {
+                throw new IllegalArgumentException("Invalid option '" + arg + "'. Expected --name=value.");
+            }
+            String name = arg.substring(2, separator);
+            String value = arg.substring(separator + 1);
+            switch (name) {
+                case "workers" -> config.setDispatcherWorkers(parsePositiveInt(name, value));
+                case "queue" -> config.setQueueType(parseEnum(QueueType.class, name, value));
+                case "capacity" -> config.setQueueCapacity(parseNonNegativeInt(name, value));
+                case "submit-timeout-ms" -> config.setSubmitTimeoutMillis(parseNonNegativeInt(name, value));
+                case "virtual-threads" -> config.setMaxConcurrentJobs(parseNonNegativeInt(name, value));
+                case "job-history" -> config.setJobHistory("all".equalsIgnoreCase(value)
+                        ? PerfEvaluator.RETAIN_ALL_JOBS
+                        : parseNonNegativeInt(name, value));
+                case "metrics-port" -> config.setMetricsPort(parsePort(name, value));
+                case "journal" -> config.setJournalPath(parseNonEmpty(name, value));
+                case "journal-sync" -> config.setIsJournalSync(parseBoolean(name, value));
+                case "journal-snapshot-s" -> config.setJournalSnapshotIntervalSeconds(parseNonNegativeInt(name, value));
+                case "quantum-ms" -> config.setQuantumMillis(parsePositiveInt(name, value));
+                case "boost-ms" -> config.setBoostPeriodMillis(parsePositiveInt(name, value));
+                default -> throw new IllegalArgumentException("Unknown option '--" + name + "'.");
+            }
+        }
+        return config;
+    }
+
+    /**
+     * Parses a strictly positive integer option value.
+     * @param name The option name.
+     * @param value The option value.
+     * @return The parsed value.
+     */
+    private static int parsePositiveInt(String name, String value) {
+        try {
+            int parsed = Integer.parseInt(value);
+            if (parsed > 0) {
+                return parsed;
+            }
+        } catch (NumberFormatException ignored) {
+            // reported below
+        }
+        throw new IllegalArgumentException("Option '--" + name + "' must be a positive integer.");
+    }
+
+    /**
+     * Parses a non-negative integer option value.
+     * @param name The option name.
+     * @param value The option value.
+     * @return The parsed value.
+     */
+    private static int parseNonNegativeInt(String name, String value) {
+        try {
+            int parsed = Integer.parseInt(value);
+            if (parsed >= 0) {
+                return parsed;
+            }
+        } catch (NumberFormatException ignored) {
+            // reported below
+        }
+        throw new IllegalArgumentException("Option '--" + name + "' must be a non-negative integer.");
+    }
+
+    /**
+     * Parses a TCP port option value.
+     * @param name The option name.
+     * @param value The option value.
+     * @return The parsed port.
+     */
+    private static int parsePort(String name, String value) {
+        int parsed = parseNonNegativeInt(name, value);
+        if (parsed > 65535) {
+            throw new IllegalArgumentException("Option '--" + name + "' must be a port between 0 and 65535.");
+        }
+        return parsed;
+    }
+
+    /**
+     * Parses a non-empty option value, e.g. a file path.
+     * @param name The option name.
+     * @param value The option value.
+     * @return The value.
+     */
+    private static String parseNonEmpty(String name, String value) {
+        if (value.isBlank()) {
+            throw new IllegalArgumentException("Option '--" + name + "' must not be empty.");
+        }
+        return value;
+    }
+
+    /**
+     * Parses a boolean option value, ignoring case.
+     * @param name The option name.
+     * @param value The option value, true or false.
+     * @return The parsed value.
+     */
+    private static boolean parseBoolean(String name, String value) {
+        if ("true".equalsIgnoreCase(value) || "false".equalsIgnoreCase(value)) {
+            return Boolean.parseBoolean(value);
+        }
+        throw new IllegalArgumentException("Option '--" + name + "' must be true or false.");
+    }
+
+    /**
+     * Parses an enum option value, ignoring case.
+     * @param type The enum type.
+     * @param name The option name.
+     * @param value The option value.
+     * @return The parsed value.
+     */
+    private static <E extends Enum<E>> E parseEnum(Class<E> type, String name, String value) {
+        for (E constant : type.getEnumConstants()) {
+            if (constant.name().equalsIgnoreCase(value)) {
+                return constant;
+            }
+        }
+        throw new IllegalArgumentException("Option '--" + name + "' has invalid value '" + value + "'.");
+    }
+
+    //region Getters and Setters
+    public int getDispatcherWorkers() {
+        return this.dispatcherWorkers;
+    }
+
+    public void setDispatcherWorkers(int dispatcherWorkers) {
+        this.dispatcherWorkers = dispatcherWorkers;
+    }
+
+    public QueueType getQueueType() {
+        return this.queueType;
+    }
+
+    public void setQueueType(QueueType queueType) {
+        this.queueType = queueType;
+    }
+
+    /**
+     * Gets the job queue capacity.
+     * @return The capacity, 0 for an unbounded queue.
+     */
+    public int getQueueCapacity() {
+        return this.queueCapacity;
+    }
+
+    public void setQueueCapacity(int queueCapacity) {
+        this.queueCapacity = queueCapacity;
+    }
+
+    /**
+     * Gets how long a submission waits for space in a full queue before it is rejected.
+     * @return The timeout in milliseconds, -1 to wait indefinitely.
+     */
+    public long getSubmitTimeoutMillis() {
+        return this.submitTimeoutMillis;
+    }
+
+    public void setSubmitTimeoutMillis(long submitTimeoutMillis) {
+        this.submitTimeoutMillis = submitTimeoutMillis;
+    }
+
+    /**
+     * Gets how many jobs may execute at once on their own (virtual) threads.
+     * @return The limit, 0 to execute each job on its dispatcher worker thread.
+     */
+    public int getMaxConcurrentJobs() {
+        return this.maxConcurrentJobs;
+    }
+
+    public void setMaxConcurrentJobs(int maxConcurrentJobs) {
+        this.maxConcurrentJobs = maxConcurrentJobs;
+    }
+
+    /**
+     * Gets how many of the most recently completed jobs the performance evaluator keeps.
+     * @return The number of jobs, or {@link PerfEvaluator#RETAIN_ALL_JOBS} to keep every completed job.
+     */
+    public int getJobHistory() {
+        return this.jobHistory;
+    }
+
+    public void setJobHistory(int jobHistory) {
+        this.jobHistory = jobHistory;
+    }
+
+    /**
+     * Gets the localhost port the Prometheus metrics are served on.
+     * @return The port, 0 when the metrics endpoint is disabled.
+     */
+    public int getMetricsPort() {
+        return this.metricsPort;
+    }
+
+    public void setMetricsPort(int metricsPort) {
+        this.metricsPort = metricsPort;
+    }
+
+    /**
+     * Gets the file the job journal is kept in.
+     * @return The journal path, null when jobs are not journaled.
+     */
+    public String getJournalPath() {
+        return this.journalPath;
+    }
+
+    public void setJournalPath(String journalPath) {
+        this.journalPath = journalPath;
+    }
+
+    /**
+     * Gets whether a submission waits until its journal record is on disk.
+     * @return Whether submissions wait for the journal commit.
+     */
+    public boolean getIsJournalSync() {
+        return this.isJournalSync;
+    }
+
+    public void setIsJournalSync(boolean isJournalSync) {
+        this.isJournalSync = isJournalSync;
+    }
+
+    /**
+     * Gets the time between snapshots of the job journal.
+     * @return The interval in seconds, 0 when no snapshot is taken.
+     */
+    public int getJournalSnapshotIntervalSeconds() {
+        return this.journalSnapshotIntervalSeconds;
+    }
+
+    public void setJournalSnapshotIntervalSeconds(int journalSnapshotIntervalSeconds) {
+        this.journalSnapshotIntervalSeconds = journalSnapshotIntervalSeconds;
+    }
+
+    /**
+     * Gets the time quantum jobs run for under a preemptive scheduling policy.
+     * @return The quantum in milliseconds.
+     */
+    public long getQuantumMillis() {
+        return this.quantumMillis;
+    }
+
+    public void setQuantumMillis(long quantumMillis) {
+        this.quantumMillis = quantumMillis;
+    }
+
+    /**
+     * Gets how often the queued jobs are moved back to the top level under the MLFQ scheduling policy.
+     * @return The boost period in milliseconds.
+     */
+    public long getBoostPeriodMillis() {
+        return this.boostPeriodMillis;
+    }
+
+    public void setBoostPeriodMillis(long boostPeriodMillis) {
+        this.boostPeriodMillis = boostPeriodMillis;
+    }
+    //endregion
+}
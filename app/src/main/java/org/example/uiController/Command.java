@@ -5,11 +5,17 @@ package org.example.uiController;
  */
 public enum Command {
     RUN,
+    SUBMIT_FILE,
+    STREAM_FILE,
     LIST,
     POLICY_CHANGE,
     HELP,
     EXIT,
     UNKNOWN,
     BATCH_JOB,
-    TEST
+    TEST,
+    WORKERS,
+    CANCEL,
+    SIMULATE,
+    STATS
 }
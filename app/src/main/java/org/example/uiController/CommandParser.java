@@ -16,11 +16,17 @@ public class CommandParser {
 
         return switch (input.toLowerCase()) {
             case "run" -> Command.RUN;
+            case "submit_file" -> Command.SUBMIT_FILE;
+            case "stream_file" -> Command.STREAM_FILE;
             case "list" -> Command.LIST;
             case "policy_change" -> Command.POLICY_CHANGE;
             case "help" -> Command.HELP;
             case "batch_job" -> Command.BATCH_JOB;
             case "test" -> Command.TEST;
+            case "workers" -> Command.WORKERS;
+            case "cancel" -> Command.CANCEL;
+            case "simulate" -> Command.SIMULATE;
+            case "stats" -> Command.STATS;
             case "exit" -> Command.EXIT;
             default -> Command.UNKNOWN;
         };
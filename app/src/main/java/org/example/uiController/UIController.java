@@ -1,14 +1,29 @@
 package org.example.uiController;
 
-import java.time.LocalDateTime;
+import java.io.IOException;
+import java.nio.file.Path;
+import java.util.Arrays;
+import java.util.List;
 import java.util.Scanner;
 import java.util.concurrent.CountDownLatch;
 
 import org.example.common.Job;
-import org.example.dispatcher.Dispatcher;
+import org.example.common.JobClock;
+import org.example.dispatcher.DispatcherPool;
+import org.example.dispatcher.JobRunner;
+import org.example.jobJournal.JobJournal;
+import org.example.jobLoader.JobFileParser;
+import org.example.jobLoader.JobFileStreamer;
+import org.example.perfEvaluator.MetricsServer;
 import org.example.perfEvaluator.PerfEvaluator;
+import org.example.perfEvaluator.PerfSimulator;
 import org.example.perfEvaluator.PerfTestParams;
+import org.example.perfEvaluator.PrometheusExporter;
+import org.example.perfEvaluator.SlidingWindowStats;
+import org.example.queueManager.ConcurrentJobQueue;
+import org.example.queueManager.JobQueue;
 import org.example.queueManager.QueueManager;
+import org.example.queueManager.WorkStealingJobQueue;
 import org.example.scheduler.Scheduler;
 import org.example.scheduler.SchedulingPolicy;
 
@@ -18,12 +33,14 @@ import org.example.scheduler.SchedulingPolicy;
 public class UIController {
     private final Scanner userInput;
 
-    private final QueueManager jobQueue;
+    private final JobQueue jobQueue;
     private final Scheduler scheduler;
-    private final Dispatcher dispatcher;
+    private final DispatcherPool dispatcherPool;
     private final PerfEvaluator perfEvaluator;
-    private Thread dispatcherThread;
+    private MetricsServer metricsServer;
+    private JobJournal journal;
     private Thread schedulerThread;
+    private Thread streamerThread;
     private boolean enableDispatcher = true; // enable by default
 
     /**
@@ -33,11 +50,7 @@ public class UIController {
      * @param scanner The scanner.
      */
     public UIController(Scanner scanner) {
-        this.userInput = scanner;
-        this.jobQueue = new QueueManager();
-        this.scheduler = new Scheduler(SchedulingPolicy.FCFS, this.jobQueue);
-        this.perfEvaluator = new PerfEvaluator(this.scheduler);
-        this.dispatcher = new Dispatcher(this.jobQueue, this.perfEvaluator);
+        this(scanner, true, new AppConfig());
     }
 
     /**
@@ -48,12 +61,132 @@ public class UIController {
      * @param enableDispatcher The dispatcher toggle.
      */
     public UIController(Scanner scanner, boolean enableDispatcher) {
+        this(scanner, enableDispatcher, new AppConfig());
+    }
+
+    /**
+     * The UIController constructor with startup configuration.
+     * Initializes the QueueManager, Scheduler, and DispatcherPool to encapsulate dependencies
+     * and to allow for dependency injection for testing if needed.
+     * @param scanner The scanner.
+     * @param enableDispatcher The dispatcher toggle.
+     * @param config The startup configuration.
+     */
+    public UIController(Scanner scanner, boolean enableDispatcher, AppConfig config) {
         this.userInput = scanner;
-        this.jobQueue = new QueueManager();
+        this.jobQueue = switch (config.getQueueType()) {
+            case CONCURRENT -> new ConcurrentJobQueue(config.getQueueCapacity());
+            case STEALING -> new WorkStealingJobQueue(config.getQueueCapacity(), config.getDispatcherWorkers());
+            default -> new QueueManager(config.getQueueCapacity());
+        };
         this.scheduler = new Scheduler(SchedulingPolicy.FCFS, this.jobQueue);
+        this.scheduler.setSubmitTimeout(config.getSubmitTimeoutMillis());
+        this.scheduler.setQuantum(config.getQuantumMillis());
+        this.scheduler.setBoostPeriod(config.getBoostPeriodMillis());
         this.perfEvaluator = new PerfEvaluator(this.scheduler);
-        this.dispatcher = new Dispatcher(this.jobQueue, this.perfEvaluator);
+        this.perfEvaluator.setJobHistoryLimit(config.getJobHistory());
+        this.dispatcherPool = new DispatcherPool(this.jobQueue, this.perfEvaluator, config.getDispatcherWorkers());
+        this.dispatcherPool.setMaxConcurrentJobs(config.getMaxConcurrentJobs());
+        if (config.getMaxConcurrentJobs() > 0) {
+            this.printJobRunner(config.getMaxConcurrentJobs());
+        }
+        this.dispatcherPool.setScheduler(this.scheduler);
         this.enableDispatcher = enableDispatcher;
+        if (config.getMetricsPort() > 0) {
+            this.startMetricsServer(config.getMetricsPort());
+        }
+        if (config.getJournalPath() != null) {
+            this.openJournal(config);
+        }
+    }
+
+    /**
+     * Opens the job journal, restores the policy and completed job metrics it recovers and queues its pending jobs.
+     * The application keeps running without a journal if it cannot be opened.
+     * @param config The startup configuration.
+     */
+    private void openJournal(AppConfig config) {
+        try {
+            this.journal = new JobJournal(Path.of(config.getJournalPath()), JobJournal.DEFAULT_CHUNK_SIZE,
+                    JobJournal.DEFAULT_COMMIT_INTERVAL_MILLIS, config.getJournalSnapshotIntervalSeconds() * 1000L,
+                    config.getIsJournalSync());
+        } catch (IOException e) {
+            System.out.println("Could not open the job journal " + config.getJournalPath() + ": " + e.getMessage());
+            return;
+        }
+        JobJournal.Recovery recovery = this.journal.getRecovery();
+        this.perfEvaluator.merge(recovery.completedJobStats());
+        SchedulingPolicy policy = parsePolicy(recovery.policy());
+        if (policy != null) {
+            try {
+                // before the journal is set, the recovered policy is already journaled
+                this.scheduler.setPolicy(policy);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+        }
+        this.scheduler.setJournal(this.journal);
+        this.dispatcherPool.setJournal(this.journal);
+        if (recovery.pendingJobs().isEmpty()) {
+            return;
+        }
+        System.out.println("Recovered " + recovery.pendingJobs().size() + " jobs from the journal, "
+                + recovery.interruptedJobs() + " of them were executing.");
+        if (enableDispatcher) {
+            // dispatch while restoring, more jobs may have been recovered than the queue holds
+            this.dispatcherPool.start();
+        }
+        try {
+            this.scheduler.restoreJobs(recovery.pendingJobs());
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    /**
+     * Parses the name of a journaled scheduling policy.
+     * @param name The policy name, or null if none was journaled.
+     * @return The policy, or null if none was journaled or it has been removed since.
+     */
+    private static SchedulingPolicy parsePolicy(String name) {
+        if (name == null) {
+            return null;
+        }
+        try {
+            return SchedulingPolicy.valueOf(name);
+        } catch (IllegalArgumentException e) {
+            return null;
+        }
+    }
+
+    /**
+     * Prints which threads the dispatched jobs will execute on, so that falling back to platform threads on a
+     * runtime without virtual threads is not silent.
+     * @param maxConcurrentJobs The maximum number of jobs executing at once.
+     */
+    private void printJobRunner(int maxConcurrentJobs) {
+        if (JobRunner.supportsVirtualThreads()) {
+            System.out.println("Executing up to " + maxConcurrentJobs + " jobs at once on virtual threads.");
+        } else {
+            System.out.println("Executing up to " + maxConcurrentJobs + " jobs at once on platform threads: virtual "
+                    + "threads are not available on Java " + Runtime.version().feature()
+                    + ", run with -PjavaVersion=21 to use them.");
+        }
+    }
+
+    /**
+     * Starts serving the Prometheus metrics on localhost. The application keeps running without
+     * the endpoint if the port cannot be bound.
+     * @param port The port.
+     */
+    private void startMetricsServer(int port) {
+        try {
+            this.metricsServer = new MetricsServer(new PrometheusExporter(this.jobQueue, this.scheduler, this.perfEvaluator), port);
+            this.metricsServer.start();
+            System.out.println("Metrics available at http://localhost:" + this.metricsServer.getPort() + MetricsServer.PATH);
+        } catch (IOException e) {
+            System.out.println("Could not start the metrics endpoint on port " + port + ": " + e.getMessage());
+        }
     }
 
     /**
@@ -63,7 +196,7 @@ public class UIController {
         System.out.println("Welcome to the CSUBatch Scheduling Application");
         System.out.println("Thank you for downloading.");
         System.out.println("This System is meant to act as a scheduling application where jobs can be added to a queue that will be arranged based \n on the selected priority.");
-        System.out.println("Commands: run, list, policy_change, batch_job, test, help, exit");
+        System.out.println("Commands: run, submit_file, stream_file, list, cancel, policy_change, batch_job, test, simulate, stats, workers, help, exit");
     }
 
     /**
@@ -83,16 +216,25 @@ public class UIController {
                 break;
             }
             if (!command.equals(Command.BATCH_JOB)) {
-                dispatcher.setIsBatchMode(false);
+                dispatcherPool.setIsBatchMode(false);
             }
 
             switch(command){
                 case RUN:
                     this.handleRunCommand(commandArr);
                     break;
+                case SUBMIT_FILE:
+                    this.handleSubmitFileCommand(commandArr);
+                    break;
+                case STREAM_FILE:
+                    this.handleStreamFileCommand(commandArr);
+                    break;
                 case LIST:
                     this.handleListCommand();
                     break;
+                case CANCEL:
+                    this.handleCancelCommand(commandArr);
+                    break;
                 case POLICY_CHANGE:
                     this.handlePolicyChangeCommand(commandArr);
                     break;
@@ -105,6 +247,15 @@ public class UIController {
                 case TEST:
                     this.handleTestCommand(commandArr);
                     break;
+                case WORKERS:
+                    this.handleWorkersCommand(commandArr);
+                    break;
+                case SIMULATE:
+                    this.handleSimulateCommand(commandArr);
+                    break;
+                case STATS:
+                    this.handleStatsCommand();
+                    break;
                 default:
                     System.out.println("Sorry, the entered command is not recognized. Please try again or type 'help' for a list of commands.");
                     break;
@@ -121,8 +272,19 @@ public class UIController {
         this.handleExitCommand();
         
         // cleanup loose threads
-        this.endThread("Dispatcher", dispatcherThread);
+        this.endThread("Streamer", streamerThread);
+        this.dispatcherPool.shutdown();
         this.endThread("Scheduler", schedulerThread);
+        if (this.metricsServer != null) {
+            this.metricsServer.stop();
+        }
+        if (this.journal != null) {
+            try {
+                this.journal.close();
+            } catch (IOException e) {
+                System.out.println("Could not close the job journal: " + e.getMessage());
+            }
+        }
     }
 
     /**
@@ -140,17 +302,19 @@ public class UIController {
             String jobName = command[1];
             int jobTime = Integer.parseInt(command[2]) * 1000; // Convert user input from seconds to milliseconds
             int jobPriority = Integer.parseInt(command[3]);
-            LocalDateTime currentDateTime = LocalDateTime.now();
-            Job userSubmittedJob = new Job(jobName, jobPriority, jobTime, currentDateTime);
+            Job userSubmittedJob = new Job(jobName, jobPriority, jobTime, JobClock.nowEpochNanos());
 
             if (schedulerThread == null){
                 schedulerThread = this.startThread(scheduler);
             }
 
-            this.scheduler.addJob(userSubmittedJob);
-            System.out.println("Job '" + jobName + "' added to the queue.");
-            if (enableDispatcher && dispatcherThread == null) {
-                dispatcherThread = this.startThread(dispatcher);
+            if (this.scheduler.addJob(userSubmittedJob)) {
+                System.out.println("Job '" + jobName + "' added to the queue.");
+            } else {
+                System.out.println("Job '" + jobName + "' rejected, the queue is full. Please try again later.");
+            }
+            if (enableDispatcher) {
+                dispatcherPool.start();
             }
         } catch (NumberFormatException e) {
             System.out.println("Error: time and priority must be integers. Please try again.");
@@ -159,14 +323,119 @@ public class UIController {
         }
     }
 
+    /**
+     * Handles the submit_file command when it is submitted by the user.
+     * Reads every job of a CSV or JSON lines workload file and submits them to the scheduler as one batch.
+     * A file with a malformed line is rejected without submitting any of its jobs.
+     * @param command The command.
+     */
+    void handleSubmitFileCommand(String[] command) {
+        if (command.length < 2) {
+            System.out.println("Invalid submit_file command, please try again. \nUsage: submit_file <path>");
+            return;
+        }
+        // the path may contain spaces
+        String path = String.join(" ", Arrays.copyOfRange(command, 1, command.length));
+        List<Job> jobs;
+        try {
+            jobs = JobFileParser.parseFile(Path.of(path), JobClock.nowEpochNanos());
+        } catch (IOException e) {
+            System.out.println("Error: could not read job file " + path + ": " + e.getMessage());
+            return;
+        } catch (IllegalArgumentException e) {
+            System.out.println("Error: invalid job file " + path + ". " + e.getMessage());
+            return;
+        }
+        if (schedulerThread == null) {
+            schedulerThread = this.startThread(scheduler);
+        }
+        if (enableDispatcher) {
+            // dispatch while submitting, the file may hold more jobs than the queue
+            dispatcherPool.start();
+        }
+        try {
+            int queuedJobs = this.scheduler.addJobs(jobs);
+            System.out.println("Submitted " + queuedJobs + " of " + jobs.size() + " jobs from " + path + ".");
+            if (queuedJobs < jobs.size()) {
+                System.out.println((jobs.size() - queuedJobs) + " jobs rejected, the queue is full. Please try again later.");
+            }
+        } catch (InterruptedException e) {
+            System.out.println("Unexpected error while enqueuing jobs. Please try again.");
+        }
+    }
+
+    /**
+     * Handles the stream_file command when it is submitted by the user.
+     * Streams the jobs of a workload file to the scheduler on a background thread, so dispatching starts
+     * before the file is fully read and commands are still accepted meanwhile. One file streams at a time.
+     * @param command The command.
+     */
+    void handleStreamFileCommand(String[] command) {
+        if (command.length < 2) {
+            System.out.println("Invalid stream_file command, please try again. \nUsage: stream_file <path>");
+            return;
+        }
+        if (streamerThread != null && streamerThread.isAlive()) {
+            System.out.println("A job file is still streaming. Please try again once it is done.");
+            return;
+        }
+        // the path may contain spaces
+        String path = String.join(" ", Arrays.copyOfRange(command, 1, command.length));
+        if (schedulerThread == null) {
+            schedulerThread = this.startThread(scheduler);
+        }
+        if (enableDispatcher) {
+            dispatcherPool.start();
+        }
+        JobFileStreamer streamer = new JobFileStreamer(this.scheduler);
+        streamerThread = new Thread(() -> {
+            try {
+                JobFileStreamer.Result result = streamer.stream(Path.of(path));
+                System.out.println("Streamed " + result.submittedJobs() + " jobs from " + path + ".");
+                if (result.rejectedJobs() > 0) {
+                    System.out.println(result.rejectedJobs() + " jobs rejected, the queue was full.");
+                }
+                if (result.skippedLines() > 0) {
+                    System.out.println(result.skippedLines() + " malformed lines skipped. " + result.firstError());
+                }
+            } catch (IOException e) {
+                System.out.println("Error: could not stream job file " + path + ": " + e.getMessage());
+            } catch (InterruptedException e) {
+                System.out.println("Streaming of " + path + " stopped: " + e.getMessage());
+            }
+        }, "job-file-streamer");
+        streamerThread.start();
+        System.out.println("Streaming jobs from " + path + ".");
+    }
+
     /**
      * Handles the list command when it is submitted by the user.
-     * Lists current scheduling policy and all jobs in the job queue.
+     * Lists current scheduling policy and all jobs in the job queue, including those the scheduler has not queued yet.
+     * @throws InterruptedException throws interrupted exception
      */
-    private void handleListCommand(){
+    private void handleListCommand() throws InterruptedException {
         System.out.println("Scheduling Policy: " + scheduler.getPolicy());
         System.out.println("Job_Name CPU_Time Priority Arrival_Time State");
-        jobQueue.listQueue();
+        JobQueue.printJobs(scheduler.getQueuedJobs());
+    }
+
+    /**
+     * Handles the cancel command when it is submitted by the user.
+     * Removes every queued job with the given name.
+     * @param command The command.
+     * @throws InterruptedException throws interrupted exception
+     */
+    private void handleCancelCommand(String[] command) throws InterruptedException {
+        if (command.length != 2) {
+            System.out.println("Invalid cancel command, please try again. \nUsage: cancel <jobName>");
+            return;
+        }
+        int cancelledJobs = scheduler.cancelJob(command[1]).size();
+        if (cancelledJobs == 0) {
+            System.out.println("No queued job named '" + command[1] + "'.");
+        } else {
+            System.out.println("Cancelled " + cancelledJobs + " queued job(s) named '" + command[1] + "'.");
+        }
     }
 
     /**
@@ -192,6 +461,18 @@ public class UIController {
                     scheduler.setPolicy(SchedulingPolicy.PRIORITY);
                     System.out.println("policy change successful");
                     break;
+                case "RR":
+                    scheduler.setPolicy(SchedulingPolicy.RR);
+                    System.out.println("policy change successful");
+                    break;
+                case "SRTF":
+                    scheduler.setPolicy(SchedulingPolicy.SRTF);
+                    System.out.println("policy change successful");
+                    break;
+                case "MLFQ":
+                    scheduler.setPolicy(SchedulingPolicy.MLFQ);
+                    System.out.println("policy change successful");
+                    break;
                 default:
                     System.out.println("Invalid policy Entered");
                     break;
@@ -205,10 +486,16 @@ public class UIController {
     private void handleHelpCommand(){
         System.out.println("Available Commands:");
         System.out.println("run <job name> <job time in seconds> <priority> - Will add a job to the system");
+        System.out.println("submit_file <path> - Will add every job of a CSV (name,cpuTime,priority) or JSON lines file to the system at once.");
+        System.out.println("stream_file <path> - Will add the jobs of a CSV or JSON lines file in the background while it is read, for files too large to load at once.");
         System.out.println("list - Print out the current job queue.");
-        System.out.println("policy_change <policy> - Will change the policy to the new entered one and restructure queue.");
+        System.out.println("cancel <job name> - Remove every queued job with the given name.");
+        System.out.println("policy_change <policy> - Will change the policy (FCFS, SJF, PRIORITY, RR, SRTF or MLFQ) to the new entered one and restructure queue.");
         System.out.println("batch_job <job time in seconds> - Will add a micro benchmark job onto the queue and print out results to a log file.");
         System.out.println("test <benchmark> <policy> <number of jobs> <priority level> <min CPU time> <max CPU time> - Will run automated performance evaluation on given parameters.");
+        System.out.println("simulate <benchmark> <number of jobs> <priority level> <min CPU time> <max CPU time> [number of workers] - Will compare every policy on a simulated clock without waiting for the jobs to run.");
+        System.out.println("stats - Print the throughput, queue depth and response times of the last 10 seconds, minute and 5 minutes.");
+        System.out.println("workers [number of workers] - Print or change the number of dispatcher workers executing jobs in parallel.");
         System.out.println("exit - End System processes and perform benchmark on close");
     }
 
@@ -222,23 +509,26 @@ public class UIController {
             return;
         }
 
-        if (!this.dispatcher.getIsBatchMode()) {
+        if (!this.dispatcherPool.getIsBatchMode()) {
             System.out.println("\nEntering batch_job mode. Please see micro_benchmarks.log file for results.");
-            dispatcher.setIsBatchMode(true);
+            dispatcherPool.setIsBatchMode(true);
         }
 
         try {
             long jobExecutionTime = Long.parseLong(command[1]) * 1000;
-            Job batchJob = new Job(command[0], 1, jobExecutionTime, LocalDateTime.now());
-            this.jobQueue.enqueueJob(batchJob);
+            Job batchJob = new Job(command[0], 1, jobExecutionTime, JobClock.nowEpochNanos());
+            if (schedulerThread == null) {
+                schedulerThread = this.startThread(scheduler);
+            }
+            if (!this.scheduler.addJob(batchJob)) {
+                System.out.println("Batch job rejected, the queue is full. Please try again later.");
+            }
         } catch (InterruptedException e) {
             System.out.println("Error: Could not enqueue batch job: " + e.getMessage());
         } catch (NumberFormatException ex) {
             System.out.println("Error: execution time must be an integer. Please try again.");
         }
-        if (dispatcherThread == null) {
-            dispatcherThread = this.startThread(dispatcher);
-        }
+        dispatcherPool.start();
     }
 
     /**
@@ -263,46 +553,124 @@ public class UIController {
         if (schedulerThread == null) {
             schedulerThread = this.startThread(scheduler);
         }
-        if (dispatcherThread == null) {
-            dispatcherThread = this.startThread(dispatcher);
-        }
-        this.dispatcher.setIsPerfMode(true);
-        this.dispatcher.setCountdownLatch(jobCompletionLatch);
+        dispatcherPool.start();
+        this.dispatcherPool.setIsPerfMode(true);
+        this.dispatcherPool.setCountdownLatch(jobCompletionLatch);
         PerfTestParams perfTestParams = new PerfTestParams(benchmarkName, policy, numJobs, priorityLevels, minCpuTime, maxCpuTime);
         try {
-            this.perfEvaluator.runAsPerfTest(perfTestParams);
+            int rejectedJobs = this.perfEvaluator.runAsPerfTest(perfTestParams);
+            // rejected jobs never run, so they must not hold up the completion latch
+            for (int i = 0; i < rejectedJobs; i++) {
+                jobCompletionLatch.countDown();
+            }
+            if (rejectedJobs > 0) {
+                System.out.println(rejectedJobs + " of " + numJobs + " generated jobs were rejected because the queue was full.");
+            }
             // wait for all jobs to complete before printing metrics
             jobCompletionLatch.await();
             this.perfEvaluator.printMetrics();
         } catch (InterruptedException e) {
             System.out.println("Error: Could not run performance evaluation: " + e.getMessage());
-
-            if (dispatcherThread == null) {
-                dispatcherThread = this.startThread(dispatcher);
-            }
         } catch (NumberFormatException ex) {
             System.out.println("Error: execution time must be an integer. Please try again.");
         }
     }
 
+    /**
+     * Handles the simulate command when it is submitted by the user.
+     * Replays one generated workload under every scheduling policy on a virtual clock and prints the metrics of each.
+     * The number of simulated workers defaults to the size of the dispatcher pool.
+     * @param command The command.
+     */
+    void handleSimulateCommand(String[] command) {
+        if (command.length != 6 && command.length != 7) {
+            System.out.println("Invalid simulate command please try again. \nUsage: simulate <benchmark> <number of jobs> <priority level> <min CPU time> <max CPU time> [number of workers]");
+            return;
+        }
+        try {
+            String benchmarkName = command[1];
+            int numJobs = Integer.parseInt(command[2]);
+            int priorityLevels = Integer.parseInt(command[3]);
+            int minCpuTime = Integer.parseInt(command[4]) * 1000; // convert to ms for processing
+            int maxCpuTime = Integer.parseInt(command[5]) * 1000; // convert to ms for processing
+            int workers = command.length == 7 ? Integer.parseInt(command[6]) : dispatcherPool.getSize();
+            if (numJobs < 1 || workers < 1) {
+                System.out.println("Error: number of jobs and workers must be at least 1. Please try again.");
+                return;
+            }
+            long start = System.nanoTime();
+            PerfSimulator simulator = new PerfSimulator(workers, start, scheduler.getQuantum(), scheduler.getBoostPeriod());
+            PerfTestParams perfTestParams = new PerfTestParams(benchmarkName, scheduler.getPolicy(), numJobs, priorityLevels, maxCpuTime, minCpuTime);
+            for (PerfEvaluator evaluator : simulator.compare(perfTestParams).values()) {
+                evaluator.printMetrics();
+            }
+            System.out.printf("Simulated %d jobs on %d workers in %d ms.%n", numJobs, workers, (System.nanoTime() - start) / 1_000_000);
+        } catch (NumberFormatException e) {
+            System.out.println("Error: simulate parameters must be integers. Please try again.");
+        }
+    }
+
+    /**
+     * Handles the stats command when it is submitted by the user.
+     * Prints the live metrics of the recent past while jobs keep running.
+     */
+    void handleStatsCommand() {
+        System.out.println("Queue size: " + jobQueue.getQueueSize() + ", jobs completed: " + perfEvaluator.getCompletedJobCount());
+        for (int windowSeconds : SlidingWindowStats.WINDOW_SECONDS) {
+            SlidingWindowStats.WindowSnapshot window = perfEvaluator.getLiveStats().snapshot(windowSeconds);
+            System.out.printf("Last %ds: %d jobs, %.2f jobs per second, queue depth avg %.2f max %d, response time p50/p90/p99/p99.9: %s%n",
+                    windowSeconds, window.completedJobs(), window.throughput(), window.averageQueueDepth(),
+                    window.maxQueueDepth(), window.responseTimePercentiles());
+        }
+    }
+
+    /**
+     * Handles the workers command when it is submitted by the user.
+     * Prints the current number of dispatcher workers, or resizes the pool when a number is given.
+     * @param command The command.
+     */
+    void handleWorkersCommand(String[] command) {
+        if (command.length == 1) {
+            System.out.println("Dispatcher workers: " + dispatcherPool.getSize());
+            if (dispatcherPool.getMaxConcurrentJobs() > 0) {
+                System.out.println("Concurrent job limit: " + dispatcherPool.getMaxConcurrentJobs());
+            }
+            return;
+        }
+        if (command.length != 2) {
+            System.out.println("Invalid workers command, please try again. \nUsage: workers [number of workers]");
+            return;
+        }
+        try {
+            int numWorkers = Integer.parseInt(command[1]);
+            if (numWorkers < 1) {
+                System.out.println("Error: number of workers must be at least 1. Please try again.");
+                return;
+            }
+            dispatcherPool.resize(numWorkers);
+            System.out.println("Dispatcher workers set to " + numWorkers + ".");
+        } catch (NumberFormatException e) {
+            System.out.println("Error: number of workers must be an integer. Please try again.");
+        }
+    }
+
     /**
      * Handles the exit command when it is submitted by the user.
      * Checks for perf metric availability and shuts down.
      */
     void handleExitCommand() {
         System.out.println("Checking for perf metric availability and shutting down...");
-        int numOfJobsCompleted = this.perfEvaluator.getCompletedJobs().size();
-        if (numOfJobsCompleted > 0) {
-            this.dispatcher.setIsPerfMode(true);
+        if (this.perfEvaluator.getCompletedJobCount() > 0) {
+            this.dispatcherPool.setIsPerfMode(true);
             // call performance evaluator if at least one job ran
             this.perfEvaluator.printMetrics();
         }
     }
 
     /**
-     * Starts a new thread for either dispatcher or scheduler
+     * Starts a new thread for the scheduler
      *
-     * @param runnable  - The runnable object that the thread will execute (scheduler or dispatcher)
+     * @param runnable  - The runnable object that the thread will execute (scheduler)
      */
     private Thread startThread(Runnable runnable) {
         Thread thread = new Thread(runnable);
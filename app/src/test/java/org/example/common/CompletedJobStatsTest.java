@@ -0,0 +1,80 @@
+package org.example.common;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Test class for the CompletedJobStats class.
+ */
+public class CompletedJobStatsTest {
+    /**
+     * Creates a completed job.
+     * @param arrivalNanos The arrival in epoch nanoseconds.
+     * @param responseNanos The time from arrival to the processing start.
+     * @param executionMillis The execution time in milliseconds.
+     * @return The job.
+     */
+    private static Job completedJob(long arrivalNanos, long responseNanos, long executionMillis) {
+        Job job = new Job("Job", 1, executionMillis, arrivalNanos);
+        job.setActualProcessingStartNanos(arrivalNanos + responseNanos);
+        job.setActualCompletionNanos(arrivalNanos + responseNanos + executionMillis * 1_000_000);
+        return job;
+    }
+
+    @Test
+    @DisplayName("Should aggregate the response, wait and turnaround times of the added jobs")
+    public void CompletedJobStats_AddJobs_ShouldAggregateTimes() {
+        // Arrange
+        CompletedJobStats stats = new CompletedJobStats();
+
+        // Act
+        stats.add(completedJob(1_000_000_000L, 2_000_000, 10));
+        stats.add(completedJob(1_500_000_000L, 4_000_000, 10));
+
+        // Assert
+        assertEquals(2, stats.getJobCount());
+        assertEquals(6_000_000, stats.getTotalResponseNanos());
+        assertEquals(6_000_000, stats.getTotalWaitNanos());
+        assertEquals(26_000_000, stats.getTotalTurnaroundNanos());
+        assertEquals(4_000_000, stats.getMaxResponseNanos());
+        assertEquals(1_000_000_000L, stats.getFirstJobArrivalNanos());
+        assertEquals(1_514_000_000L, stats.getLastJobCompletionNanos());
+        assertEquals(2, stats.getResponseTimes().getCount());
+        assertEquals(4_000, stats.getResponseTimes().getMax());
+    }
+
+    @Test
+    @DisplayName("Should read back the aggregates it has written and merge them with others")
+    public void CompletedJobStats_WriteAndMerge_ShouldKeepAggregates() throws IOException {
+        // Arrange
+        CompletedJobStats written = new CompletedJobStats();
+        written.add(completedJob(2_000_000_000L, 3_000_000, 5));
+        CompletedJobStats other = new CompletedJobStats();
+        other.add(completedJob(1_000_000_000L, 1_000_000, 5));
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+        written.writeTo(new DataOutputStream(bytes));
+
+        // Act
+        CompletedJobStats read = new CompletedJobStats();
+        read.readFrom(new DataInputStream(new ByteArrayInputStream(bytes.toByteArray())));
+        read.merge(other);
+
+        // Assert
+        assertEquals(2, read.getJobCount());
+        assertEquals(4_000_000, read.getTotalResponseNanos());
+        assertEquals(3_000_000, read.getMaxResponseNanos());
+        assertEquals(1_000_000_000L, read.getFirstJobArrivalNanos());
+        assertEquals(2_008_000_000L, read.getLastJobCompletionNanos());
+        assertEquals(2, read.getTurnaroundTimes().getCount());
+        assertThrows(IllegalStateException.class,
+                () -> read.readFrom(new DataInputStream(new ByteArrayInputStream(bytes.toByteArray()))));
+    }
+}
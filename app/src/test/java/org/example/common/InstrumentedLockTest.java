@@ -0,0 +1,98 @@
+package org.example.common;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.Condition;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Test class for the InstrumentedLock class.
+ */
+public class InstrumentedLockTest {
+    private InstrumentedLock lock;
+
+    @BeforeEach
+    public void setUp() {
+        lock = new InstrumentedLock("test");
+    }
+
+    @Test
+    @DisplayName("Should count holds once per outermost lock and time them")
+    public void InstrumentedLock_ReentrantHold_ShouldCountOnce() throws InterruptedException {
+        // Arrange / Act
+        lock.lock();
+        lock.lock();
+        Thread.sleep(20);
+        lock.unlock();
+        lock.unlock();
+
+        // Assert
+        InstrumentedLock.LockStats stats = lock.getStats();
+        assertEquals("test", stats.name());
+        assertEquals(1, stats.acquisitions());
+        assertEquals(0, stats.contendedAcquisitions());
+        assertTrue(stats.maxHoldNanos() >= TimeUnit.MILLISECONDS.toNanos(15));
+        assertFalse(lock.isLocked());
+    }
+
+    @Test
+    @DisplayName("Should record the wait of a thread blocked on a held lock")
+    public void InstrumentedLock_ContendedLock_ShouldRecordWait() throws InterruptedException {
+        // Arrange
+        CountDownLatch started = new CountDownLatch(1);
+        Thread contender = new Thread(() -> {
+            started.countDown();
+            lock.lock();
+            lock.unlock();
+        });
+
+        // Act
+        lock.lock();
+        contender.start();
+        started.await();
+        while (!lock.hasQueuedThreads()) {
+            Thread.onSpinWait();
+        }
+        Thread.sleep(30);
+        lock.unlock();
+        contender.join(1000);
+
+        // Assert
+        InstrumentedLock.LockStats stats = lock.getStats();
+        assertEquals(2, stats.acquisitions());
+        assertEquals(1, stats.contendedAcquisitions());
+        assertTrue(stats.maxWaitNanos() >= TimeUnit.MILLISECONDS.toNanos(25));
+        assertTrue(stats.maxWaiters() >= 1);
+    }
+
+    @Test
+    @DisplayName("Should time condition awaits and end the hold while waiting")
+    public void InstrumentedLock_ConditionAwait_ShouldBeRecorded() throws InterruptedException {
+        // Arrange
+        Condition notEmpty = lock.newCondition("notEmpty");
+
+        // Act
+        lock.lock();
+        try {
+            notEmpty.awaitNanos(TimeUnit.MILLISECONDS.toNanos(30));
+        } finally {
+            lock.unlock();
+        }
+
+        // Assert
+        InstrumentedLock.LockStats stats = lock.getStats();
+        InstrumentedLock.ConditionStats condition = stats.conditions().get(0);
+        assertEquals("notEmpty", condition.name());
+        assertEquals(1, condition.awaits());
+        assertEquals(1, condition.maxWaiters());
+        assertTrue(condition.maxAwaitNanos() >= TimeUnit.MILLISECONDS.toNanos(25));
+        // the hold before the await and the hold after it
+        assertEquals(2, stats.acquisitions());
+        assertTrue(stats.maxHoldNanos() < TimeUnit.MILLISECONDS.toNanos(25));
+    }
+}
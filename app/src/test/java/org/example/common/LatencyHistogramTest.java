@@ -0,0 +1,95 @@
+package org.example.common;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Test class for the LatencyHistogram class.
+ */
+public class LatencyHistogramTest {
+    @Test
+    @DisplayName("Should report exact percentiles for small values")
+    public void LatencyHistogram_SmallValues_ShouldBeExact() {
+        // Arrange
+        LatencyHistogram histogram = new LatencyHistogram();
+
+        // Act
+        for (int i = 1; i <= 100; i++) {
+            histogram.record(i);
+        }
+
+        // Assert
+        assertEquals(100, histogram.getCount());
+        assertEquals(50, histogram.getValueAtPercentile(50));
+        assertEquals(90, histogram.getValueAtPercentile(90));
+        assertEquals(99, histogram.getValueAtPercentile(99));
+        assertEquals(100, histogram.getValueAtPercentile(99.9));
+        assertEquals(1, histogram.getMin());
+        assertEquals(100, histogram.getMax());
+        assertEquals(50.5, histogram.getMean(), 0.001);
+    }
+
+    @Test
+    @DisplayName("Should report large values within 1% of the recorded value")
+    public void LatencyHistogram_LargeValues_ShouldBeWithinOnePercent() {
+        // Arrange
+        LatencyHistogram histogram = new LatencyHistogram();
+        long[] values = {1_000, 12_345, 987_654, 3_600_000, 86_400_000L * 365};
+
+        for (long value : values) {
+            // Act
+            histogram.reset();
+            histogram.record(value);
+            histogram.record(value * 2);
+
+            // Assert
+            long p50 = histogram.getValueAtPercentile(50);
+            assertTrue(p50 >= value && p50 <= value * 1.01, "p50 " + p50 + " for " + value);
+            assertEquals(value * 2, histogram.getValueAtPercentile(100));
+        }
+    }
+
+    @Test
+    @DisplayName("Should map every value to the bucket whose range contains it")
+    public void LatencyHistogram_BucketIndex_ShouldContainValue() {
+        // Arrange
+        LatencyHistogram[] histograms = {new LatencyHistogram(), new LatencyHistogram(5)};
+
+        // Act / Assert
+        for (LatencyHistogram histogram : histograms) {
+            for (long value : new long[]{0, 31, 32, 33, 255, 256, 257, 511, 512, 1 << 20, (1L << 40) + 12345, Long.MAX_VALUE}) {
+                int index = histogram.indexOf(value);
+                assertTrue(histogram.highestValueOf(index) >= value, "bucket too low for " + value);
+                assertTrue(index == 0 || histogram.highestValueOf(index - 1) < value, "bucket too high for " + value);
+            }
+            assertEquals(0, histogram.getValueAtPercentile(99));
+        }
+    }
+
+    @Test
+    @DisplayName("Should merge the values of another histogram of the same precision")
+    public void LatencyHistogram_Add_ShouldMergeCounts() {
+        // Arrange
+        LatencyHistogram first = new LatencyHistogram(5);
+        LatencyHistogram second = new LatencyHistogram(5);
+        for (int i = 1; i <= 50; i++) {
+            first.record(i);
+            second.record(i + 50);
+        }
+
+        // Act
+        first.add(second);
+
+        // Assert
+        assertEquals(100, first.getCount());
+        assertEquals(1, first.getMin());
+        assertEquals(100, first.getMax());
+        assertEquals(50.5, first.getMean(), 0.001);
+        long p90 = first.getValueAtPercentile(90);
+        assertTrue(p90 >= 90 && p90 <= 90 * 1.0625, "p90 " + p90);
+        assertThrows(IllegalArgumentException.class, () -> first.add(new LatencyHistogram()));
+        assertThrows(IllegalArgumentException.class, () -> new LatencyHistogram(1));
+    }
+}
@@ -0,0 +1,177 @@
+package org.example.dispatcher;
+
+import org.example.common.Job;
+import org.example.perfEvaluator.PerfEvaluator;
+import org.example.queueManager.QueueManager;
+import org.example.scheduler.Scheduler;
+import org.example.scheduler.SchedulingPolicy;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Test class for the DispatcherPool class.
+ */
+public class DispatcherPoolTest {
+    private QueueManager queueManager;
+    private PerfEvaluator perfEvaluator;
+    private DispatcherPool dispatcherPool;
+
+    @BeforeEach
+    public void setUp() {
+        queueManager = new QueueManager();
+        perfEvaluator = new PerfEvaluator(new Scheduler(SchedulingPolicy.FCFS, queueManager));
+        dispatcherPool = new DispatcherPool(queueManager, perfEvaluator, 4);
+        dispatcherPool.setIsPerfMode(true);
+    }
+
+    @AfterEach
+    public void tearDown() {
+        dispatcherPool.shutdown();
+    }
+
+    @Test
+    @DisplayName("Should execute queued jobs in parallel across workers")
+    public void DispatcherPool_MultipleWorkers_ShouldExecuteInParallel() throws InterruptedException {
+        // Arrange
+        CountDownLatch latch = new CountDownLatch(4);
+        dispatcherPool.setCountdownLatch(latch);
+        for (int i = 0; i < 4; i++) {
+            queueManager.enqueueJob(new Job("Job" + i, 1, 500, LocalDateTime.now()));
+        }
+
+        // Act
+        long start = System.nanoTime();
+        dispatcherPool.start();
+
+        // Assert
+        assertTrue(latch.await(5, TimeUnit.SECONDS));
+        long elapsedMillis = (System.nanoTime() - start) / 1_000_000;
+        assertTrue(elapsedMillis < 1500, "4 jobs of 500ms on 4 workers should overlap, took " + elapsedMillis + "ms");
+        assertEquals(4, perfEvaluator.getCompletedJobs().size());
+        // workers record their stats after counting down the latch, join them before reading the stats
+        dispatcherPool.shutdown();
+        assertEquals(4, perfEvaluator.getWorkerStats().values().stream().mapToLong(stats -> stats.getJobsExecuted()).sum());
+    }
+
+    @Test
+    @DisplayName("Should grow and shrink the number of active workers")
+    public void DispatcherPool_Resize_ShouldChangeActiveWorkers() throws InterruptedException {
+        // Arrange
+        dispatcherPool.start();
+        assertEquals(4, dispatcherPool.getActiveWorkerCount());
+
+        // Act / Assert
+        dispatcherPool.resize(1);
+        assertEquals(1, dispatcherPool.getActiveWorkerCount());
+        dispatcherPool.resize(3);
+        assertEquals(3, dispatcherPool.getActiveWorkerCount());
+
+        // the remaining workers still drain the queue
+        CountDownLatch latch = new CountDownLatch(3);
+        dispatcherPool.setCountdownLatch(latch);
+        for (int i = 0; i < 3; i++) {
+            queueManager.enqueueJob(new Job("Job" + i, 1, 100, LocalDateTime.now()));
+        }
+        assertTrue(latch.await(5, TimeUnit.SECONDS));
+    }
+
+    @Test
+    @DisplayName("Should let a retiring worker finish the job it is executing")
+    public void DispatcherPool_Shrink_ShouldFinishRunningJob() throws InterruptedException {
+        // Arrange
+        dispatcherPool.resize(1);
+        CountDownLatch latch = new CountDownLatch(1);
+        dispatcherPool.setCountdownLatch(latch);
+        Job job = new Job("LongJob", 1, 500, LocalDateTime.now());
+        queueManager.enqueueJob(job);
+        dispatcherPool.start();
+        Thread.sleep(100); // let the worker pick up the job
+
+        // Act
+        dispatcherPool.resize(2);
+        dispatcherPool.resize(1);
+
+        // Assert
+        assertTrue(latch.await(5, TimeUnit.SECONDS));
+        long runMillis = java.time.Duration.between(job.getActualProcessingStartTime(), job.getActualCompletionTime()).toMillis();
+        assertTrue(runMillis >= 450, "job should not be interrupted, ran " + runMillis + "ms");
+    }
+
+    @Test
+    @DisplayName("Should reject a pool size below one")
+    public void DispatcherPool_InvalidSize_ShouldThrow() {
+        assertThrows(IllegalArgumentException.class, () -> dispatcherPool.resize(0));
+        assertThrows(IllegalArgumentException.class, () -> new DispatcherPool(queueManager, perfEvaluator, 0));
+    }
+
+    @Test
+    @DisplayName("Should run many sleeping jobs at once on the job runner with a single worker")
+    public void DispatcherPool_MaxConcurrentJobs_ShouldOverlapJobsOnOneWorker() throws InterruptedException {
+        // Arrange
+        QueueManager unboundedQueue = new QueueManager(0);
+        DispatcherPool singleWorkerPool = new DispatcherPool(unboundedQueue, perfEvaluator, 1);
+        singleWorkerPool.setIsPerfMode(true);
+        singleWorkerPool.setMaxConcurrentJobs(50);
+        CountDownLatch latch = new CountDownLatch(50);
+        singleWorkerPool.setCountdownLatch(latch);
+        for (int i = 0; i < 50; i++) {
+            unboundedQueue.enqueueJob(new Job("Job" + i, 1, 300, LocalDateTime.now()));
+        }
+
+        // Act
+        long start = System.nanoTime();
+        singleWorkerPool.start();
+
+        // Assert
+        try {
+            assertTrue(latch.await(5, TimeUnit.SECONDS));
+            long elapsedMillis = (System.nanoTime() - start) / 1_000_000;
+            assertTrue(elapsedMillis < 2000, "50 jobs of 300ms should overlap on the job runner, took " + elapsedMillis + "ms");
+            assertEquals(50, perfEvaluator.getCompletedJobs().size());
+            assertNotNull(singleWorkerPool.getJobRunner());
+        } finally {
+            singleWorkerPool.shutdown();
+        }
+        assertNull(singleWorkerPool.getJobRunner());
+    }
+
+    @Test
+    @DisplayName("Should preempt a long job at each quantum so a short job queued behind it completes first")
+    public void DispatcherPool_RoundRobin_ShouldPreemptLongJobs() throws InterruptedException {
+        // Arrange
+        Scheduler scheduler = new Scheduler(SchedulingPolicy.RR, queueManager);
+        scheduler.setQuantum(50);
+        DispatcherPool singleWorker = new DispatcherPool(queueManager, perfEvaluator, 1);
+        singleWorker.setIsPerfMode(true);
+        singleWorker.setScheduler(scheduler);
+        CountDownLatch latch = new CountDownLatch(2);
+        singleWorker.setCountdownLatch(latch);
+        Job longJob = new Job("Long", 1, 300, LocalDateTime.now());
+        Job shortJob = new Job("Short", 1, 50, LocalDateTime.now());
+        scheduler.addJob(longJob);
+        scheduler.addJob(shortJob);
+
+        // Act
+        singleWorker.start();
+
+        // Assert
+        try {
+            assertTrue(latch.await(5, TimeUnit.SECONDS));
+            assertEquals(List.of("Short", "Long"), perfEvaluator.getCompletedJobs().stream().map(Job::getName).toList());
+            assertEquals(5, scheduler.getPreemptionCount());
+            assertEquals(0, longJob.getRemainingTime());
+            assertTrue(longJob.getActualProcessingStartNanos() < shortJob.getActualProcessingStartNanos());
+        } finally {
+            singleWorker.shutdown();
+        }
+    }
+}
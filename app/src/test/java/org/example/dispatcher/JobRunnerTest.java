@@ -0,0 +1,75 @@
+package org.example.dispatcher;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Test class for the JobRunner class.
+ */
+public class JobRunnerTest {
+    private JobRunner jobRunner;
+
+    @BeforeEach
+    public void setUp() {
+        jobRunner = new JobRunner(3);
+    }
+
+    @AfterEach
+    public void tearDown() {
+        jobRunner.shutdown();
+    }
+
+    @Test
+    @DisplayName("Should never run more jobs at once than the limit")
+    public void JobRunner_Submit_ShouldBoundConcurrentJobs() throws InterruptedException {
+        // Arrange
+        AtomicInteger running = new AtomicInteger();
+        AtomicInteger maxRunning = new AtomicInteger();
+        CountDownLatch done = new CountDownLatch(12);
+
+        // Act
+        for (int i = 0; i < 12; i++) {
+            jobRunner.acquire();
+            jobRunner.submit(() -> {
+                maxRunning.accumulateAndGet(running.incrementAndGet(), Math::max);
+                try {
+                    Thread.sleep(20);
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                }
+                running.decrementAndGet();
+                done.countDown();
+            });
+        }
+
+        // Assert
+        assertTrue(done.await(5, TimeUnit.SECONDS));
+        assertTrue(maxRunning.get() <= 3, "ran " + maxRunning.get() + " jobs at once");
+        assertTrue(maxRunning.get() > 1);
+    }
+
+    @Test
+    @DisplayName("Should free a slot when it is released without a job")
+    public void JobRunner_Release_ShouldFreeSlot() throws InterruptedException {
+        // Arrange
+        jobRunner.acquire();
+        jobRunner.acquire();
+        assertEquals(2, jobRunner.getInFlightCount());
+
+        // Act
+        jobRunner.release();
+
+        // Assert
+        assertEquals(1, jobRunner.getInFlightCount());
+        assertEquals(JobRunner.supportsVirtualThreads(), jobRunner.getIsVirtual());
+        assertThrows(IllegalArgumentException.class, () -> new JobRunner(0));
+    }
+}
@@ -0,0 +1,120 @@
+package org.example.fileLogger;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.logging.Formatter;
+import java.util.logging.Level;
+import java.util.logging.LogRecord;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Test class for the AsyncFileHandler class.
+ */
+public class AsyncFileHandlerTest {
+    private Path logFile;
+
+    @BeforeEach
+    public void setUp() throws IOException {
+        logFile = Files.createTempFile("async-handler", ".log");
+    }
+
+    @AfterEach
+    public void tearDown() throws IOException {
+        Files.deleteIfExists(logFile);
+    }
+
+    /**
+     * Formats a record as its message with its parameters on a single line.
+     */
+    private static class LineFormatter extends Formatter {
+        @Override
+        public String format(LogRecord record) {
+            return this.formatMessage(record) + System.lineSeparator();
+        }
+    }
+
+    @Test
+    @DisplayName("Should write every record in order, formatting parameters on the writer thread")
+    public void AsyncFileHandler_Publish_ShouldWriteRecordsInOrder() throws IOException {
+        // Arrange
+        AsyncFileHandler handler = new AsyncFileHandler(logFile.toString(), false, 4, 10,
+                AsyncFileHandler.OverflowPolicy.BLOCK, new LineFormatter());
+
+        // Act
+        for (int i = 0; i < 100; i++) {
+            LogRecord record = new LogRecord(Level.INFO, "Job {0} | Duration: {1,number,#} seconds.");
+            record.setParameters(new Object[]{"Job" + i, 1000L * i});
+            handler.publish(record);
+        }
+        handler.close();
+
+        // Assert
+        List<String> lines = Files.readAllLines(logFile);
+        assertEquals(100, lines.size());
+        assertEquals("Job Job0 | Duration: 0 seconds.", lines.get(0));
+        assertEquals("Job Job99 | Duration: 99000 seconds.", lines.get(99));
+        assertEquals(0, handler.getDroppedCount());
+    }
+
+    @Test
+    @DisplayName("Should drop and count records published while the buffer is full")
+    public void AsyncFileHandler_DropPolicy_ShouldDropWhenFull() throws IOException, InterruptedException {
+        // Arrange
+        CountDownLatch writerBlocked = new CountDownLatch(1);
+        CountDownLatch releaseWriter = new CountDownLatch(1);
+        Formatter blockingFormatter = new LineFormatter() {
+            @Override
+            public String format(LogRecord record) {
+                writerBlocked.countDown();
+                try {
+                    releaseWriter.await();
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                }
+                return super.format(record);
+            }
+        };
+        AsyncFileHandler handler = new AsyncFileHandler(logFile.toString(), false, 2, 10,
+                AsyncFileHandler.OverflowPolicy.DROP, blockingFormatter);
+        handler.publish(new LogRecord(Level.INFO, "first"));
+        writerBlocked.await();
+
+        // Act
+        for (int i = 0; i < 9; i++) {
+            handler.publish(new LogRecord(Level.INFO, "record " + i));
+        }
+        releaseWriter.countDown();
+        handler.close();
+
+        // Assert
+        assertEquals(7, handler.getDroppedCount());
+        assertEquals(List.of("first", "record 0", "record 1"), Files.readAllLines(logFile));
+    }
+
+    @Test
+    @DisplayName("Should ignore records published after the handler is closed")
+    public void AsyncFileHandler_Close_ShouldStopAcceptingRecords() throws IOException {
+        // Arrange
+        AsyncFileHandler handler = new AsyncFileHandler(logFile.toString(), false, 4, 10,
+                AsyncFileHandler.OverflowPolicy.DROP, new LineFormatter());
+        handler.publish(new LogRecord(Level.INFO, "before"));
+
+        // Act
+        handler.close();
+        handler.publish(new LogRecord(Level.INFO, "after"));
+        handler.close();
+
+        // Assert
+        assertEquals(List.of("before"), Files.readAllLines(logFile));
+        assertEquals(0, handler.getQueuedCount());
+    }
+}
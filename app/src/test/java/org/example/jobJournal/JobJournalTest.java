@@ -0,0 +1,318 @@
+package org.example.jobJournal;
+
+import org.example.common.Job;
+import org.example.perfEvaluator.PerfEvaluator;
+import org.example.queueManager.QueueManager;
+import org.example.scheduler.Scheduler;
+import org.example.scheduler.SchedulingPolicy;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.io.RandomAccessFile;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.stream.Stream;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Test class for the JobJournal class.
+ */
+public class JobJournalTest {
+    private Path journalDirectory;
+    private Path journalFile;
+
+    @BeforeEach
+    public void setUp() throws IOException {
+        journalDirectory = Files.createTempDirectory("jobs");
+        journalFile = journalDirectory.resolve("jobs.journal");
+    }
+
+    @AfterEach
+    public void tearDown() throws IOException {
+        try (Stream<Path> files = Files.list(journalDirectory)) {
+            for (Path file : files.toList()) {
+                Files.delete(file);
+            }
+        }
+        Files.delete(journalDirectory);
+    }
+
+    private Path segmentFile(long generation) {
+        return journalDirectory.resolve("jobs.journal." + generation);
+    }
+
+    private Path snapshotFile() {
+        return journalDirectory.resolve("jobs.journal.snapshot");
+    }
+
+    @Test
+    @DisplayName("Should recover submitted jobs that were neither completed nor cancelled")
+    public void JobJournal_Reopen_ShouldRecoverPendingJobs() throws IOException {
+        // Arrange
+        LocalDateTime arrival = LocalDateTime.of(2024, 5, 1, 12, 30, 15, 123_456_789);
+        Job completed = new Job("Completed", 1, 1000, arrival);
+        Job cancelled = new Job("Cancelled", 2, 2000, arrival);
+        Job executing = new Job("Executing", 3, 3000, arrival);
+        Job queued = new Job("Queued", 4, 4000, arrival);
+        try (JobJournal journal = new JobJournal(journalFile)) {
+            for (Job job : List.of(completed, cancelled, executing, queued)) {
+                journal.recordSubmit(job);
+            }
+            journal.recordDispatch(completed);
+            journal.recordComplete(completed);
+            journal.recordCancel(cancelled);
+            journal.recordDispatch(executing);
+        }
+
+        // Act
+        JobJournal.Recovery recovery;
+        try (JobJournal reopened = new JobJournal(journalFile)) {
+            recovery = reopened.getRecovery();
+        }
+
+        // Assert
+        assertEquals(8, recovery.records());
+        assertEquals(2, recovery.pendingJobs().size());
+        assertEquals(1, recovery.interruptedJobs());
+        Job recovered = recovery.pendingJobs().get(0);
+        assertEquals(executing.getId(), recovered.getId());
+        assertEquals("Executing", recovered.getName());
+        assertEquals(3, recovered.getExecutionPriority());
+        assertEquals(3000, recovered.getExecutionTime());
+        assertEquals(arrival, recovered.getArrivalTime());
+        assertEquals("Queued", recovery.pendingJobs().get(1).getName());
+    }
+
+    @Test
+    @DisplayName("Should continue the journal across chunks and after reopening it")
+    public void JobJournal_ManyRecords_ShouldSpanChunks() throws IOException {
+        // Arrange
+        try (JobJournal journal = new JobJournal(journalFile, 4096, 5, 0, false)) {
+            for (int i = 0; i < 500; i++) {
+                journal.recordSubmit(new Job("Job_" + i, 1, 10, LocalDateTime.now()));
+            }
+        }
+        try (JobJournal journal = new JobJournal(journalFile, 4096, 5, 0, false)) {
+            journal.recordSubmit(new Job("Appended", 1, 10, LocalDateTime.now()));
+        }
+
+        // Act
+        JobJournal.Recovery recovery;
+        try (JobJournal reopened = new JobJournal(journalFile)) {
+            recovery = reopened.getRecovery();
+        }
+
+        // Assert
+        assertTrue(Files.size(segmentFile(1)) > 4096);
+        assertEquals(501, recovery.pendingJobs().size());
+        assertEquals("Job_0", recovery.pendingJobs().get(0).getName());
+        assertEquals("Appended", recovery.pendingJobs().get(500).getName());
+    }
+
+    @Test
+    @DisplayName("Should stop replaying at a torn record and overwrite it on the next append")
+    public void JobJournal_TornRecord_ShouldEndReplay() throws IOException {
+        // Arrange
+        try (JobJournal journal = new JobJournal(journalFile)) {
+            journal.recordSubmit(new Job("Intact", 1, 10, LocalDateTime.now()));
+            journal.recordSubmit(new Job("Torn", 1, 10, LocalDateTime.now()));
+        }
+        try (RandomAccessFile file = new RandomAccessFile(segmentFile(1).toFile(), "rw")) {
+            // the last byte of the name of the second record
+            long position = 20 + (8 + 35 + "Intact".length()) + (8 + 35 + "Torn".length()) - 1;
+            file.seek(position);
+            file.write('X');
+        }
+
+        // Act
+        JobJournal.Recovery torn;
+        try (JobJournal journal = new JobJournal(journalFile)) {
+            torn = journal.getRecovery();
+            journal.recordSubmit(new Job("Next", 1, 10, LocalDateTime.now()));
+        }
+        JobJournal.Recovery recovery;
+        try (JobJournal reopened = new JobJournal(journalFile)) {
+            recovery = reopened.getRecovery();
+        }
+
+        // Assert
+        assertEquals(1, torn.records());
+        assertEquals(List.of("Intact", "Next"), recovery.pendingJobs().stream().map(Job::getName).toList());
+    }
+
+    @Test
+    @DisplayName("Should force the record to disk before a waiting submitter returns")
+    public void JobJournal_WaitForCommit_ShouldCommitBeforeReturning() throws IOException {
+        // Arrange
+        try (JobJournal journal = new JobJournal(journalFile, JobJournal.DEFAULT_CHUNK_SIZE, 10_000, 0, true)) {
+            // Act
+            journal.recordSubmit(new Job("Job1", 1, 10, LocalDateTime.now()));
+
+            // Assert
+            assertEquals(1, journal.getAppendedRecords());
+            assertTrue(journal.getCommitCount() >= 1);
+        }
+    }
+
+    @Test
+    @DisplayName("Should journal jobs submitted to and cancelled from the scheduler")
+    public void JobJournal_Scheduler_ShouldJournalSubmissions() throws IOException, InterruptedException {
+        // Arrange
+        boolean isRejectedQueued;
+        try (JobJournal journal = new JobJournal(journalFile)) {
+            Scheduler scheduler = new Scheduler(SchedulingPolicy.FCFS, new QueueManager(1));
+            scheduler.setJournal(journal);
+            scheduler.setSubmitTimeout(0);
+
+            // Act
+            scheduler.addJob(new Job("Kept", 1, 10, LocalDateTime.now()));
+            isRejectedQueued = scheduler.addJob(new Job("Rejected", 1, 10, LocalDateTime.now()));
+            scheduler.cancelJob("Kept");
+            scheduler.addJob(new Job("Restored", 1, 10, LocalDateTime.now()));
+        }
+
+        // Assert
+        assertFalse(isRejectedQueued);
+        try (JobJournal reopened = new JobJournal(journalFile)) {
+            List<Job> pending = reopened.getRecovery().pendingJobs();
+            assertEquals(List.of("Restored"), pending.stream().map(Job::getName).toList());
+            QueueManager queue = new QueueManager();
+            new Scheduler(SchedulingPolicy.SJF, queue).restoreJobs(pending);
+            assertEquals(1, queue.getQueueSize());
+        }
+    }
+
+    @Test
+    @DisplayName("Should restore the pending jobs, policy and completed job metrics from a snapshot and the segments after it")
+    public void JobJournal_Snapshot_ShouldRestoreStateAndDeleteCoveredSegments() throws IOException {
+        // Arrange
+        LocalDateTime arrival = LocalDateTime.of(2024, 5, 1, 12, 0);
+        Job completed = new Job("Completed", 1, 1000, arrival);
+        Job cancelled = new Job("Cancelled", 2, 2000, arrival);
+        Job executing = new Job("Executing", 3, 3000, arrival);
+        Job afterSnapshot = new Job("AfterSnapshot", 4, 4000, arrival);
+        boolean isSnapshotTaken;
+        boolean isSecondSnapshotTaken;
+        try (JobJournal journal = new JobJournal(journalFile, 4096, 5, 0, false)) {
+            for (Job job : List.of(completed, cancelled, executing)) {
+                journal.recordSubmit(job);
+            }
+            journal.recordDispatch(completed);
+            completed.setActualProcessingStartTime(arrival.plusSeconds(2));
+            completed.setActualCompletionTime(arrival.plusSeconds(3));
+            journal.recordComplete(completed);
+            journal.recordCancel(cancelled);
+            journal.recordDispatch(executing);
+            journal.recordPolicy(SchedulingPolicy.PRIORITY.name());
+
+            // Act
+            isSnapshotTaken = journal.snapshot();
+            isSecondSnapshotTaken = journal.snapshot();
+            journal.recordSubmit(afterSnapshot);
+        }
+        JobJournal.Recovery recovery;
+        try (JobJournal reopened = new JobJournal(journalFile)) {
+            recovery = reopened.getRecovery();
+        }
+
+        // Assert
+        assertTrue(isSnapshotTaken);
+        assertFalse(isSecondSnapshotTaken);
+        assertTrue(Files.exists(snapshotFile()));
+        assertFalse(Files.exists(segmentFile(1)));
+        assertTrue(Files.exists(segmentFile(2)));
+        assertEquals(9, recovery.records());
+        assertEquals(List.of("Executing", "AfterSnapshot"), recovery.pendingJobs().stream().map(Job::getName).toList());
+        assertEquals(1, recovery.interruptedJobs());
+        assertEquals(arrival, recovery.pendingJobs().get(0).getArrivalTime());
+        assertEquals("PRIORITY", recovery.policy());
+        PerfEvaluator metrics = new PerfEvaluator();
+        metrics.merge(recovery.completedJobStats());
+        assertEquals(1, metrics.getCompletedJobCount());
+        assertEquals(2000.0, metrics.calculateMetrics().getAverageResponseTime());
+        assertEquals(2000, metrics.calculateMetrics().getResponseTimePercentiles().p50(), 2000 / 16.0);
+    }
+
+    @Test
+    @DisplayName("Should only replay the records after the snapshot when reopening a journal of 100k jobs")
+    public void JobJournal_ManyJobsSnapshot_ShouldReplayOnlyTheTail() throws IOException {
+        // Arrange
+        LocalDateTime arrival = LocalDateTime.of(2024, 5, 1, 12, 0);
+        try (JobJournal journal = new JobJournal(journalFile, JobJournal.DEFAULT_CHUNK_SIZE, 5, 0, false)) {
+            for (int i = 0; i < 100_000; i++) {
+                Job job = new Job("Job_" + i, 1, 10, arrival);
+                journal.recordSubmit(job);
+                if (i < 99_990) {
+                    journal.recordDispatch(job);
+                    job.setActualProcessingStartTime(arrival.plusNanos(i * 1000L));
+                    job.setActualCompletionTime(arrival.plusNanos(i * 1000L + 10_000_000));
+                    journal.recordComplete(job);
+                }
+            }
+            journal.snapshot();
+            journal.recordSubmit(new Job("Tail", 1, 10, arrival));
+        }
+
+        // Act
+        long startNanos = System.nanoTime();
+        JobJournal.Recovery recovery;
+        try (JobJournal reopened = new JobJournal(journalFile)) {
+            recovery = reopened.getRecovery();
+        }
+        long reopenNanos = System.nanoTime() - startNanos;
+
+        // Assert
+        assertEquals(11, recovery.pendingJobs().size());
+        assertEquals("Tail", recovery.pendingJobs().get(10).getName());
+        assertEquals(99_990, recovery.completedJobStats().getJobCount());
+        assertEquals(3 * 99_990 + 10 + 1, recovery.records());
+        assertTrue(Files.size(snapshotFile()) < 64 * 1024);
+        assertTrue(reopenNanos < 1_000_000_000L, "Reopening took " + reopenNanos / 1_000_000 + "ms");
+    }
+
+    @Test
+    @DisplayName("Should take snapshots in the background once per snapshot interval")
+    public void JobJournal_SnapshotInterval_ShouldCompactInBackground() throws IOException, InterruptedException {
+        // Arrange
+        try (JobJournal journal = new JobJournal(journalFile, 4096, 5, 20, false)) {
+            // Act
+            journal.recordSubmit(new Job("Job1", 1, 10, LocalDateTime.now()));
+            long deadline = System.currentTimeMillis() + 5000;
+            while (journal.getSnapshotCount() == 0 && System.currentTimeMillis() < deadline) {
+                Thread.sleep(10);
+            }
+            journal.recordSubmit(new Job("Job2", 1, 10, LocalDateTime.now()));
+
+            // Assert
+            assertTrue(journal.getSnapshotCount() >= 1);
+            assertFalse(Files.exists(segmentFile(1)));
+        }
+        try (JobJournal reopened = new JobJournal(journalFile)) {
+            assertEquals(List.of("Job1", "Job2"), reopened.getRecovery().pendingJobs().stream().map(Job::getName).toList());
+        }
+    }
+
+    @Test
+    @DisplayName("Should journal policy changes made through the scheduler")
+    public void JobJournal_SchedulerPolicy_ShouldBeRecovered() throws IOException, InterruptedException {
+        // Arrange
+        try (JobJournal journal = new JobJournal(journalFile)) {
+            Scheduler scheduler = new Scheduler(SchedulingPolicy.FCFS, new QueueManager());
+            scheduler.setJournal(journal);
+
+            // Act
+            scheduler.setPolicy(SchedulingPolicy.SJF);
+        }
+
+        // Assert
+        try (JobJournal reopened = new JobJournal(journalFile)) {
+            assertEquals("SJF", reopened.getRecovery().policy());
+        }
+    }
+}
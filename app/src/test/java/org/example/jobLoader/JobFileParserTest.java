@@ -0,0 +1,83 @@
+package org.example.jobLoader;
+
+import org.example.common.Job;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Test class for the JobFileParser class.
+ */
+public class JobFileParserTest {
+    private static final long ARRIVAL = 1_700_000_000_000_000_000L;
+
+    @Test
+    @DisplayName("Should parse CSV and JSON lines, skipping the header, comments and blank lines")
+    public void JobFileParser_ParseFile_ShouldReadBothFormats() throws IOException {
+        // Arrange
+        Path file = Files.createTempFile("jobs", ".txt");
+        Files.writeString(file, String.join("\n",
+                "name, cpuTime, priority",
+                "# nightly workload",
+                "backup,5,2",
+                "",
+                "{\"name\": \"report\", \"cpuTime\": 1, \"priority\": 3, \"owner\": \"ops\"}",
+                "  {\"priority\":0,\"name\":\"caf\\u00e9\",\"cpuTime\":\"2\"}  "));
+
+        try {
+            // Act
+            List<Job> jobs = JobFileParser.parseFile(file, ARRIVAL);
+
+            // Assert
+            assertEquals(3, jobs.size());
+            assertEquals("backup", jobs.get(0).getName());
+            assertEquals(5000, jobs.get(0).getExecutionTime());
+            assertEquals(2, jobs.get(0).getExecutionPriority());
+            assertEquals(ARRIVAL, jobs.get(0).getArrivalNanos());
+            assertEquals("report", jobs.get(1).getName());
+            assertEquals(1000, jobs.get(1).getExecutionTime());
+            assertEquals(3, jobs.get(1).getExecutionPriority());
+            assertEquals("caf\u00e9", jobs.get(2).getName());
+            assertEquals(2000, jobs.get(2).getExecutionTime());
+        } finally {
+            Files.deleteIfExists(file);
+        }
+    }
+
+    @Test
+    @DisplayName("Should reject a file with a malformed line and name the line")
+    public void JobFileParser_MalformedLine_ShouldNameLine() throws IOException {
+        // Arrange
+        Path file = Files.createTempFile("jobs", ".csv");
+        Files.writeString(file, "backup,5,2\nreport,soon,1\n");
+
+        try {
+            // Act
+            IllegalArgumentException error = assertThrows(IllegalArgumentException.class,
+                    () -> JobFileParser.parseFile(file, ARRIVAL));
+
+            // Assert
+            assertTrue(error.getMessage().startsWith("Line 2:"));
+        } finally {
+            Files.deleteIfExists(file);
+        }
+    }
+
+    @Test
+    @DisplayName("Should reject job definitions with missing or invalid fields")
+    public void JobFileParser_InvalidLine_ShouldThrow() {
+        // Arrange / Act / Assert
+        assertThrows(IllegalArgumentException.class, () -> JobFileParser.parseLine("backup,5", ARRIVAL));
+        assertThrows(IllegalArgumentException.class, () -> JobFileParser.parseLine("back up,5,1", ARRIVAL));
+        assertThrows(IllegalArgumentException.class, () -> JobFileParser.parseLine("backup,-1,1", ARRIVAL));
+        assertThrows(IllegalArgumentException.class, () -> JobFileParser.parseLine("{\"name\": \"backup\", \"cpuTime\": 5}", ARRIVAL));
+        assertThrows(IllegalArgumentException.class, () -> JobFileParser.parseLine("{\"name\": \"backup\", \"cpuTime\": 5, \"priority\": 1", ARRIVAL));
+        assertNull(JobFileParser.parseLine("   ", ARRIVAL));
+    }
+}
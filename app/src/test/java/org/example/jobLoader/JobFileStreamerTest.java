@@ -0,0 +1,114 @@
+package org.example.jobLoader;
+
+import org.example.common.Job;
+import org.example.queueManager.QueueManager;
+import org.example.scheduler.Scheduler;
+import org.example.scheduler.SchedulingPolicy;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Test class for the JobFileStreamer class.
+ */
+public class JobFileStreamerTest {
+    private QueueManager queueManager;
+    private Scheduler scheduler;
+    private Path file;
+
+    @BeforeEach
+    public void setUp() throws IOException {
+        queueManager = new QueueManager(0);
+        scheduler = new Scheduler(SchedulingPolicy.FCFS, queueManager);
+        file = Files.createTempFile("jobs", ".csv");
+    }
+
+    @AfterEach
+    public void tearDown() throws IOException {
+        Files.deleteIfExists(file);
+    }
+
+    @Test
+    @DisplayName("Should submit CSV and JSON lines across window boundaries, skipping and counting malformed lines")
+    public void JobFileStreamer_Stream_ShouldParseAcrossWindows() throws Exception {
+        // Arrange
+        Files.writeString(file, "name,cpuTime,priority\r\n"
+                + "# comment\n"
+                + "backup, 5 ,2\r\n"
+                + "report,soon,1\n"
+                + "\n"
+                + "{\"name\": \"index\", \"cpuTime\": 3, \"priority\": 1}\n"
+                + "backup,1,-4\n"
+                + "cleanup,2,0");
+        JobFileStreamer streamer = new JobFileStreamer(scheduler, 64, 2);
+
+        // Act
+        JobFileStreamer.Result result = streamer.stream(file);
+
+        // Assert
+        assertEquals(4, result.submittedJobs());
+        assertEquals(0, result.rejectedJobs());
+        assertEquals(1, result.skippedLines());
+        assertTrue(result.firstError().startsWith("Line 4:"));
+        List<Job> jobs = queueManager.getQueuedJobs();
+        assertEquals(List.of("backup", "index", "backup", "cleanup"), jobs.stream().map(Job::getName).toList());
+        assertEquals(5000, jobs.get(0).getExecutionTime());
+        assertEquals(2, jobs.get(0).getExecutionPriority());
+        assertEquals(-4, jobs.get(2).getExecutionPriority());
+        assertSame(jobs.get(0).getName(), jobs.get(2).getName());
+        assertEquals(2000, jobs.get(3).getExecutionTime());
+    }
+
+    @Test
+    @DisplayName("Should stream a file larger than the queue as jobs are dispatched, in file order")
+    public void JobFileStreamer_FullQueue_ShouldWaitForSpace() throws Exception {
+        // Arrange
+        QueueManager smallQueue = new QueueManager(10);
+        Scheduler smallScheduler = new Scheduler(SchedulingPolicy.FCFS, smallQueue);
+        StringBuilder content = new StringBuilder();
+        for (int i = 0; i < 500; i++) {
+            content.append("Job").append(i).append(',').append(i % 7).append(",1\n");
+        }
+        Files.writeString(file, content);
+        JobFileStreamer streamer = new JobFileStreamer(smallScheduler, 256, 32);
+        ExecutorService executor = Executors.newSingleThreadExecutor();
+
+        // Act
+        Future<JobFileStreamer.Result> result = executor.submit(() -> streamer.stream(file));
+        List<String> dispatched = new ArrayList<>();
+        for (int i = 0; i < 500; i++) {
+            dispatched.add(smallQueue.dequeueJob().getName());
+        }
+
+        // Assert
+        assertEquals(500, result.get(5, TimeUnit.SECONDS).submittedJobs());
+        assertEquals("Job0", dispatched.get(0));
+        assertEquals("Job499", dispatched.get(499));
+        assertTrue(smallQueue.getProducerBlockedNanos() > 0);
+        executor.shutdown();
+    }
+
+    @Test
+    @DisplayName("Should fail on a line longer than the mapped window")
+    public void JobFileStreamer_LongLine_ShouldThrow() throws IOException {
+        // Arrange
+        Files.writeString(file, "a_job_name_that_is_far_too_long,1,1\n");
+        JobFileStreamer streamer = new JobFileStreamer(scheduler, 16, 8);
+
+        // Act / Assert
+        assertThrows(IOException.class, () -> streamer.stream(file));
+    }
+}
@@ -0,0 +1,108 @@
+package org.example.perfEvaluator;
+
+import org.example.common.Job;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Test class for the JobStore class.
+ */
+public class JobStoreTest {
+    private static final LocalDateTime ARRIVAL = LocalDateTime.of(2023, 1, 1, 0, 0, 0, 123_456_789);
+
+    private static Job completedJob(int index) {
+        Job job = new Job("Job" + index, index % 3, 100L * index, ARRIVAL.plusSeconds(index));
+        job.setActualProcessingStartTime(ARRIVAL.plusSeconds(index + 1));
+        job.setActualCompletionTime(ARRIVAL.plusSeconds(index + 2));
+        return job;
+    }
+
+    @Test
+    @DisplayName("Should return the stored jobs with all their fields, oldest first")
+    public void JobStore_Add_ShouldRebuildJobs() {
+        // Arrange
+        JobStore store = new JobStore(PerfEvaluator.RETAIN_ALL_JOBS);
+        Job original = completedJob(5);
+
+        // Act
+        for (int i = 0; i < 40; i++) {
+            store.add(i == 0 ? original : completedJob(i));
+        }
+
+        // Assert
+        assertEquals(40, store.size());
+        Job stored = store.get(0);
+        assertEquals(original.getId(), stored.getId());
+        assertEquals("Job5", stored.getName());
+        assertEquals(2, stored.getExecutionPriority());
+        assertEquals(500, stored.getExecutionTime());
+        assertEquals(original.getArrivalTime(), stored.getArrivalTime());
+        assertEquals(original.getActualProcessingStartTime(), stored.getActualProcessingStartTime());
+        assertEquals(original.getActualCompletionTime(), stored.getActualCompletionTime());
+        assertTrue(stored.getIsCompleted());
+        assertEquals("Job39", store.get(39).getName());
+    }
+
+    @Test
+    @DisplayName("Should replace the oldest jobs once the limit is reached")
+    public void JobStore_OverLimit_ShouldKeepNewestJobs() {
+        // Arrange
+        JobStore store = new JobStore(20);
+
+        // Act
+        for (int i = 0; i < 50; i++) {
+            store.add(completedJob(i));
+        }
+
+        // Assert
+        assertEquals(20, store.size());
+        assertEquals("Job30", store.get(0).getName());
+        assertEquals("Job49", store.get(19).getName());
+        assertThrows(IndexOutOfBoundsException.class, () -> store.get(20));
+    }
+
+    @Test
+    @DisplayName("Should drop the oldest jobs when the limit is lowered and keep none at a limit of 0")
+    public void JobStore_SetLimit_ShouldDropOldestJobs() {
+        // Arrange
+        JobStore store = new JobStore(PerfEvaluator.RETAIN_ALL_JOBS);
+        for (int i = 0; i < 25; i++) {
+            store.add(completedJob(i));
+        }
+
+        // Act
+        store.setLimit(3);
+        List<Job> limited = store.toList();
+        store.add(completedJob(25));
+        store.setLimit(0);
+        store.add(completedJob(26));
+
+        // Assert
+        assertEquals(List.of("Job22", "Job23", "Job24"), limited.stream().map(Job::getName).toList());
+        assertEquals(0, store.size());
+    }
+
+    @Test
+    @DisplayName("Should convert times to epoch nanoseconds and back without losing precision")
+    public void Job_EpochNanos_ShouldRoundTrip() {
+        // Arrange
+        LocalDateTime beforeEpoch = LocalDateTime.of(1969, 12, 31, 23, 59, 59, 999_999_999);
+
+        // Act
+        long nanos = Job.toEpochNanos(ARRIVAL);
+        long beforeEpochNanos = Job.toEpochNanos(beforeEpoch);
+
+        // Assert
+        assertEquals(ARRIVAL, Job.fromEpochNanos(nanos));
+        assertEquals(-1, beforeEpochNanos);
+        assertEquals(beforeEpoch, Job.fromEpochNanos(beforeEpochNanos));
+        assertEquals(Job.NO_TIME, Job.toEpochNanos(null));
+        assertNull(Job.fromEpochNanos(Job.NO_TIME));
+        assertNull(new Job("NoArrival", 10).getArrivalTime());
+    }
+}
@@ -1,6 +1,8 @@
 package org.example.perfEvaluator;
 
+import org.example.common.InstrumentedLock;
 import org.example.common.Job;
+import org.example.common.JobClock;
 import org.example.queueManager.QueueManager;
 import org.example.scheduler.Scheduler;
 import org.example.scheduler.SchedulingPolicy;
@@ -114,4 +116,198 @@ public class PerfEvaluatorTest {
         assertEquals(1000.0, evaluator.perfMetrics.getMaxResponseTime(), 0.001);
         assertEquals(0.83, evaluator.perfMetrics.getThroughput(), 0.01); // 5 jobs / 6s
     }
+
+    @Test
+    @DisplayName("Should report tail percentiles of response, wait and turnaround time")
+    public void Evaluator_ManyJobs_ShouldCalculatePercentiles() {
+        // Arrange
+        LocalDateTime arrival = LocalDateTime.of(2023, 1, 1, 0, 0);
+        for (int i = 1; i <= 1000; i++) {
+            // response time of i ms, one slow job of 100s
+            long responseMillis = i == 1000 ? 100_000 : i;
+            Job job = new Job("Job" + i, 1, 100, arrival);
+            job.setActualProcessingStartTime(arrival.plusNanos(responseMillis * 1_000_000));
+            job.setActualCompletionTime(arrival.plusNanos((responseMillis + 100) * 1_000_000));
+            evaluator.addCompletedJob(job);
+        }
+
+        // Act
+        PerfMetrics metrics = evaluator.calculateMetrics();
+
+        // Assert
+        assertEquals(500.0, metrics.getResponseTimePercentiles().p50(), 5.0);
+        assertEquals(900.0, metrics.getResponseTimePercentiles().p90(), 9.0);
+        assertEquals(990.0, metrics.getResponseTimePercentiles().p99(), 10.0);
+        assertEquals(100_000.0, metrics.getResponseTimePercentiles().p999(), 1_000.0);
+        assertEquals(metrics.getResponseTimePercentiles(), metrics.getWaitTimePercentiles());
+        assertEquals(600.0, metrics.getTurnaroundTimePercentiles().p50(), 6.0);
+        assertEquals(100_000.0, metrics.getMaxResponseTime());
+    }
+
+    @Test
+    @DisplayName("Should keep only the most recent jobs while the metrics cover every job")
+    public void Evaluator_JobHistoryLimit_ShouldKeepRecentJobs() {
+        // Arrange
+        evaluator.setJobHistoryLimit(3);
+        LocalDateTime arrival = LocalDateTime.of(2023, 1, 1, 0, 0);
+
+        // Act
+        for (int i = 1; i <= 10; i++) {
+            Job job = new Job("Job" + i, 1, 1000, arrival);
+            job.setActualProcessingStartTime(arrival.plusSeconds(i));
+            job.setActualCompletionTime(arrival.plusSeconds(i + 1));
+            evaluator.addCompletedJob(job);
+        }
+        PerfMetrics metrics = evaluator.calculateMetrics();
+
+        // Assert
+        assertEquals(3, evaluator.getCompletedJobs().size());
+        assertEquals("Job8", evaluator.getCompletedJobs().get(0).getName());
+        assertEquals(10, evaluator.getCompletedJobCount());
+        assertEquals(5500.0, metrics.getAverageResponseTime()); // (1 + ... + 10) / 10 seconds
+        assertEquals(10_000.0, metrics.getMaxResponseTime());
+        evaluator.setJobHistoryLimit(1);
+        assertEquals("Job10", evaluator.getCompletedJobs().get(0).getName());
+    }
+
+    @Test
+    @DisplayName("Should retain every job when all jobs are retained")
+    public void Evaluator_RetainAllJobs_ShouldKeepEveryJob() throws InterruptedException {
+        // Arrange
+        evaluator.setJobHistoryLimit(PerfEvaluator.RETAIN_ALL_JOBS);
+        LocalDateTime arrival = LocalDateTime.of(2023, 1, 1, 0, 0);
+        Thread[] workers = new Thread[4];
+
+        // Act
+        for (int w = 0; w < workers.length; w++) {
+            workers[w] = new Thread(() -> {
+                for (int i = 0; i < 2000; i++) {
+                    Job job = new Job("Job" + i, 1, 0, arrival);
+                    job.setActualProcessingStartTime(arrival);
+                    job.setActualCompletionTime(arrival.plusNanos(1_000_000));
+                    evaluator.addCompletedJob(job);
+                }
+            });
+            workers[w].start();
+        }
+        for (Thread worker : workers) {
+            worker.join();
+        }
+
+        // Assert
+        assertEquals(8000, evaluator.getCompletedJobs().size());
+        assertEquals(8000, evaluator.getCompletedJobCount());
+        assertEquals(1.0, evaluator.calculateMetrics().getAverageTurnaroundTime());
+        assertThrows(IllegalArgumentException.class, () -> evaluator.setJobHistoryLimit(-2));
+    }
+
+    @Test
+    @DisplayName("Should summarize the scheduler and job queue locks in the metrics")
+    public void Evaluator_LockStats_ShouldBeInMetrics() throws InterruptedException {
+        // Arrange
+        QueueManager queueManager = new QueueManager();
+        Scheduler scheduler = new Scheduler(SchedulingPolicy.FCFS, queueManager);
+        PerfEvaluator schedulerEvaluator = new PerfEvaluator(scheduler);
+        scheduler.addJob(new Job("Job1", 1, 1000, LocalDateTime.now()));
+        scheduler.setPolicy(SchedulingPolicy.SJF);
+        queueManager.pollJob(10, java.util.concurrent.TimeUnit.MILLISECONDS);
+        queueManager.pollJob(10, java.util.concurrent.TimeUnit.MILLISECONDS);
+
+        // Act
+        PerfMetrics metrics = schedulerEvaluator.calculateMetrics();
+
+        // Assert
+        assertEquals(2, metrics.getLockStats().size());
+        assertEquals("scheduler", metrics.getLockStats().get(0).name());
+        assertEquals(1, metrics.getLockStats().get(0).acquisitions());
+        InstrumentedLock.LockStats queueLock = metrics.getLockStats().get(1);
+        assertEquals("queue", queueLock.name());
+        InstrumentedLock.ConditionStats notEmpty = queueLock.conditions().get(0);
+        assertEquals("notEmpty", notEmpty.name());
+        assertEquals(1, notEmpty.awaits());
+        assertTrue(new PerfEvaluator().calculateMetrics().getLockStats().isEmpty());
+    }
+
+    @Test
+    @DisplayName("Should report sub-millisecond response times to the microsecond")
+    public void Evaluator_SubMillisecondJobs_ShouldKeepMicrosecondPrecision() {
+        // Arrange
+        long arrivalNanos = JobClock.nowEpochNanos();
+        for (int i = 0; i < 4; i++) {
+            Job job = new Job("Job" + i, 1, 0, arrivalNanos);
+            job.setActualProcessingStartNanos(arrivalNanos + 250_000);
+            job.setActualCompletionNanos(arrivalNanos + 400_000);
+            evaluator.addCompletedJob(job);
+        }
+
+        // Act
+        PerfMetrics metrics = evaluator.calculateMetrics();
+
+        // Assert
+        assertEquals(0.25, metrics.getAverageResponseTime());
+        assertEquals(0.4, metrics.getAverageTurnaroundTime());
+        assertEquals(0.25, metrics.getResponseTimePercentiles().p99());
+        assertEquals("0.25/0.25/0.25/0.25ms", metrics.getResponseTimePercentiles().toString());
+        assertTrue(JobClock.nowEpochNanos() >= arrivalNanos);
+    }
+
+    @Test
+    @DisplayName("Should not round the span of a sub-second or fractional-second run to whole seconds")
+    public void Evaluator_FractionalSecondSpan_ShouldCalculateExactThroughput() {
+        // Arrange
+        long arrivalNanos = JobClock.nowEpochNanos();
+        for (int i = 0; i < 3; i++) {
+            Job job = new Job("Job" + i, 1, 0, arrivalNanos);
+            job.setActualProcessingStartNanos(arrivalNanos);
+            job.setActualCompletionNanos(arrivalNanos + (i + 1) * 500_000_000L);
+            evaluator.addCompletedJob(job);
+        }
+        Job fast = new Job("Fast", 1, 0, arrivalNanos);
+        fast.setActualProcessingStartNanos(arrivalNanos);
+        fast.setActualCompletionNanos(arrivalNanos + 250_000_000L);
+        PerfEvaluator subSecond = new PerfEvaluator();
+        subSecond.addCompletedJob(fast);
+
+        // Act
+        PerfMetrics metrics = evaluator.calculateMetrics();
+        PerfMetrics subSecondMetrics = subSecond.calculateMetrics();
+
+        // Assert
+        assertEquals(2.0, metrics.getThroughput(), 0.001); // 3 jobs / 1.5s
+        assertEquals(4.0, subSecondMetrics.getThroughput(), 0.001); // 1 job / 0.25s
+    }
+
+    @Test
+    @DisplayName("Should accumulate sub-millisecond worker busy and idle time without truncating it")
+    public void Evaluator_SubMillisecondWorkerTime_ShouldAccumulateNanos() {
+        // Arrange
+        for (int i = 0; i < 1000; i++) {
+            evaluator.recordWorkerSlice(0, 400_000, true);
+            evaluator.recordWorkerIdle(0, 900_000);
+        }
+
+        // Act
+        WorkerStats stats = evaluator.getWorkerStats().get(0);
+
+        // Assert
+        assertEquals(1000, stats.getJobsExecuted());
+        assertEquals(400_000_000L, stats.getBusyNanos());
+        assertEquals(900_000_000L, stats.getIdleNanos());
+    }
+
+    @Test
+    @DisplayName("Should count a preempted job as executed once while adding the busy time of every slice")
+    public void Evaluator_PreemptedJobSlices_ShouldCountOneExecutedJob() {
+        // Arrange
+        evaluator.recordWorkerSlice(0, 50_000_000, false);
+        evaluator.recordWorkerSlice(0, 50_000_000, false);
+        evaluator.recordWorkerSlice(0, 20_000_000, true);
+
+        // Act
+        WorkerStats stats = evaluator.getWorkerStats().get(0);
+
+        // Assert
+        assertEquals(1, stats.getJobsExecuted());
+        assertEquals(120_000_000L, stats.getBusyNanos());
+    }
 }
@@ -0,0 +1,152 @@
+package org.example.perfEvaluator;
+
+import org.example.common.Job;
+import org.example.scheduler.SchedulingPolicy;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Test class for the PerfSimulator class.
+ */
+public class PerfSimulatorTest {
+    private static final LocalDateTime START = PerfSimulator.SIMULATION_START;
+
+    @Test
+    @DisplayName("Should order simulated execution by the scheduling policy")
+    public void PerfSimulator_SingleWorker_ShouldFollowPolicy() {
+        // Arrange
+        PerfSimulator simulator = new PerfSimulator(1, 1);
+        List<Job> workload = List.of(new Job("Long", 5, 3000, START), new Job("Short", 1, 1000, START));
+
+        // Act
+        PerfMetrics fcfs = simulator.simulate(workload, SchedulingPolicy.FCFS).calculateMetrics();
+        PerfMetrics sjf = simulator.simulate(workload, SchedulingPolicy.SJF).calculateMetrics();
+        PerfMetrics priority = simulator.simulate(workload, SchedulingPolicy.PRIORITY).calculateMetrics();
+
+        // Assert
+        assertEquals(1500.0, fcfs.getAverageWaitTime());
+        assertEquals(3000.0, fcfs.getMaxResponseTime());
+        assertEquals(500.0, sjf.getAverageWaitTime());
+        assertEquals(500.0, priority.getAverageWaitTime());
+        assertFalse(workload.get(0).getIsCompleted());
+    }
+
+    @Test
+    @DisplayName("Should execute jobs in parallel on every simulated worker")
+    public void PerfSimulator_MultipleWorkers_ShouldOverlapJobs() {
+        // Arrange
+        PerfSimulator simulator = new PerfSimulator(2, 1);
+        List<Job> workload = List.of(new Job("Job1", 1, 1000, START), new Job("Job2", 1, 1000, START),
+                new Job("Job3", 1, 1000, START), new Job("Job4", 1, 1000, START));
+
+        // Act
+        PerfEvaluator evaluator = simulator.simulate(workload, SchedulingPolicy.FCFS);
+        PerfMetrics metrics = evaluator.calculateMetrics();
+
+        // Assert
+        assertEquals(4, evaluator.getCompletedJobs().size());
+        assertEquals(1500.0, metrics.getAverageTurnaroundTime());
+        assertEquals(1000.0, metrics.getMaxResponseTime());
+        assertEquals(2.0, metrics.getThroughput(), 0.001);
+    }
+
+    @Test
+    @DisplayName("Should leave workers idle until a later job arrives")
+    public void PerfSimulator_LateArrival_ShouldStartOnArrival() {
+        // Arrange
+        PerfSimulator simulator = new PerfSimulator(1, 1);
+        Job late = new Job("Late", 1, 1000, START.plusSeconds(5));
+        List<Job> workload = List.of(late, new Job("Early", 1, 1000, START));
+
+        // Act
+        PerfEvaluator evaluator = simulator.simulate(workload, SchedulingPolicy.FCFS);
+
+        // Assert
+        Job simulatedLate = evaluator.getCompletedJobs().get(1);
+        assertEquals("Late", simulatedLate.getName());
+        assertEquals(START.plusSeconds(5), simulatedLate.getActualProcessingStartTime());
+        assertEquals(START.plusSeconds(6), simulatedLate.getActualCompletionTime());
+        assertEquals(0.0, evaluator.calculateMetrics().getAverageResponseTime());
+    }
+
+    @Test
+    @DisplayName("Should replay the same generated workload under every policy")
+    public void PerfSimulator_Compare_ShouldSimulateEveryPolicy() {
+        // Arrange
+        PerfSimulator simulator = new PerfSimulator(4, 42);
+        PerfTestParams params = new PerfTestParams("bench", SchedulingPolicy.FCFS, 10_000, 5, 10_000, 1_000);
+
+        // Act
+        long start = System.nanoTime();
+        Map<SchedulingPolicy, PerfEvaluator> results = simulator.compare(params);
+        long elapsedMillis = (System.nanoTime() - start) / 1_000_000;
+
+        // Assert
+        assertEquals(SchedulingPolicy.values().length, results.size());
+        assertTrue(elapsedMillis < 5000, "simulation took " + elapsedMillis + "ms");
+        double fcfsWait = results.get(SchedulingPolicy.FCFS).calculateMetrics().getAverageWaitTime();
+        double sjfWait = results.get(SchedulingPolicy.SJF).calculateMetrics().getAverageWaitTime();
+        assertTrue(sjfWait < fcfsWait, "SJF should minimise the average wait time");
+        assertEquals(10_000, results.get(SchedulingPolicy.PRIORITY).getCompletedJobCount());
+        assertEquals(simulator.generateWorkload(params).get(7).getExecutionTime(),
+                new PerfSimulator(1, 42).generateWorkload(params).get(7).getExecutionTime());
+    }
+
+    @Test
+    @DisplayName("Should run jobs in quanta under the preemptive policies")
+    public void PerfSimulator_PreemptivePolicies_ShouldShareWorker() {
+        // Arrange
+        PerfSimulator simulator = new PerfSimulator(1, 1, 1000);
+        List<Job> workload = List.of(new Job("Long", 1, 3000, START), new Job("Short", 1, 1000, START));
+
+        // Act
+        PerfEvaluator rr = simulator.simulate(workload, SchedulingPolicy.RR);
+        PerfMetrics srtf = simulator.simulate(workload, SchedulingPolicy.SRTF).calculateMetrics();
+
+        // Assert
+        Job rrShort = rr.getCompletedJobs().get(0);
+        Job rrLong = rr.getCompletedJobs().get(1);
+        assertEquals("Short", rrShort.getName());
+        assertEquals(START.plusSeconds(1), rrShort.getActualProcessingStartTime());
+        assertEquals(START.plusSeconds(2), rrShort.getActualCompletionTime());
+        assertEquals(START, rrLong.getActualProcessingStartTime());
+        assertEquals(START.plusSeconds(4), rrLong.getActualCompletionTime());
+        assertEquals(1000.0, rr.calculateMetrics().getMaxResponseTime());
+        assertEquals(500.0, srtf.getAverageWaitTime());
+        assertEquals(3000, workload.get(0).getRemainingTime());
+    }
+
+    @Test
+    @DisplayName("Should serve new jobs first under MLFQ and boost demoted jobs so they do not starve")
+    public void PerfSimulator_MLFQ_ShouldBoundWaitOfLongJobs() {
+        // Arrange
+        List<Job> workload = new ArrayList<>();
+        workload.add(new Job("Long", 1, 3000, START));
+        for (int i = 0; i < 40; i++) {
+            // a steady stream of short jobs that would keep the long job waiting forever without boosts
+            workload.add(new Job("Short_" + i, 1, 500, START.plusNanos(500_000_000L * i)));
+        }
+        PerfSimulator simulator = new PerfSimulator(1, 1, 500, 2000);
+        PerfSimulator withoutBoost = new PerfSimulator(1, 1, 500, Long.MAX_VALUE);
+
+        // Act
+        PerfEvaluator boosted = simulator.simulate(workload, SchedulingPolicy.MLFQ);
+        PerfEvaluator starved = withoutBoost.simulate(workload, SchedulingPolicy.MLFQ);
+
+        // Assert
+        Job boostedLong = boosted.getCompletedJobs().stream().filter(job -> job.getName().equals("Long")).findFirst().orElseThrow();
+        Job starvedLong = starved.getCompletedJobs().get(40);
+        assertEquals("Long", starvedLong.getName());
+        assertTrue(starvedLong.getActualCompletionTime().isAfter(START.plusSeconds(20)));
+        assertTrue(boostedLong.getActualCompletionTime().isBefore(START.plusSeconds(15)),
+                "the long job completed at " + boostedLong.getActualCompletionTime());
+        assertEquals(41, boosted.getCompletedJobCount());
+    }
+}
@@ -0,0 +1,91 @@
+package org.example.perfEvaluator;
+
+import org.example.common.Job;
+import org.example.queueManager.QueueManager;
+import org.example.scheduler.Scheduler;
+import org.example.scheduler.SchedulingPolicy;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.io.InputStream;
+import java.net.HttpURLConnection;
+import java.net.URL;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Test class for the PrometheusExporter and MetricsServer classes.
+ */
+public class PrometheusExporterTest {
+    private QueueManager queueManager;
+    private Scheduler scheduler;
+    private PerfEvaluator evaluator;
+    private PrometheusExporter exporter;
+
+    @BeforeEach
+    public void setUp() {
+        queueManager = new QueueManager();
+        scheduler = new Scheduler(SchedulingPolicy.FCFS, queueManager);
+        evaluator = new PerfEvaluator(scheduler);
+        exporter = new PrometheusExporter(queueManager, scheduler, evaluator);
+    }
+
+    @Test
+    @DisplayName("Should export queue, scheduler, dispatcher and job metrics in the text format")
+    public void PrometheusExporter_Scrape_ShouldRenderMetrics() throws InterruptedException {
+        // Arrange
+        LocalDateTime now = LocalDateTime.of(2023, 1, 1, 0, 0);
+        Job job = new Job("Job1", 1, 1000, now);
+        job.setActualProcessingStartTime(now.plusSeconds(2));
+        job.setActualCompletionTime(now.plusSeconds(3));
+        evaluator.addCompletedJob(job);
+        evaluator.recordWorkerSlice(0, 1_500_000_000L, true);
+        scheduler.addJob(new Job("Job2", 1, 1000, now));
+        scheduler.addJob(new Job("Job3", 1, 1000, now));
+        scheduler.setPolicy(SchedulingPolicy.SJF);
+
+        // Act
+        String metrics = exporter.scrape();
+
+        // Assert
+        assertTrue(metrics.contains("# TYPE csubatch_queue_depth gauge\ncsubatch_queue_depth 2\n"));
+        assertTrue(metrics.contains("csubatch_jobs_enqueued_total 2\n"));
+        assertTrue(metrics.contains("csubatch_scheduler_policy{policy=\"SJF\"} 1\n"));
+        assertTrue(metrics.contains("csubatch_scheduler_policy{policy=\"FCFS\"} 0\n"));
+        assertTrue(metrics.contains("csubatch_scheduler_reorders_total 1\n"));
+        assertTrue(metrics.contains("csubatch_dispatcher_jobs_executed_total{worker=\"0\"} 1\n"));
+        assertTrue(metrics.contains("csubatch_dispatcher_busy_seconds_total{worker=\"0\"} 1.5\n"));
+        assertTrue(metrics.contains("csubatch_job_response_time_seconds{quantile=\"0.5\"} 2\n"));
+        assertTrue(metrics.contains("csubatch_job_response_time_seconds_count 1\n"));
+        assertTrue(metrics.contains("csubatch_lock_acquisitions_total{lock=\"scheduler\"} 1\n"));
+        assertTrue(metrics.contains("csubatch_condition_awaits_total{lock=\"queue\",condition=\"notFull\"} 0\n"));
+    }
+
+    @Test
+    @DisplayName("Should serve the metrics over HTTP on localhost")
+    public void MetricsServer_Get_ShouldServeMetrics() throws Exception {
+        // Arrange
+        MetricsServer server = new MetricsServer(exporter, 0);
+        server.start();
+        try {
+            URL url = new URL("http://localhost:" + server.getPort() + MetricsServer.PATH);
+
+            // Act
+            HttpURLConnection connection = (HttpURLConnection) url.openConnection();
+            String body;
+            try (InputStream in = connection.getInputStream()) {
+                body = new String(in.readAllBytes(), StandardCharsets.UTF_8);
+            }
+
+            // Assert
+            assertEquals(200, connection.getResponseCode());
+            assertEquals(PrometheusExporter.CONTENT_TYPE, connection.getContentType());
+            assertTrue(body.contains("csubatch_queue_capacity 10\n"));
+        } finally {
+            server.stop();
+        }
+    }
+}
@@ -0,0 +1,85 @@
+package org.example.perfEvaluator;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Test class for the SlidingWindowStats class.
+ */
+public class SlidingWindowStatsTest {
+    private AtomicLong clock;
+    private SlidingWindowStats stats;
+
+    @BeforeEach
+    public void setUp() {
+        clock = new AtomicLong(1_000_000);
+        stats = new SlidingWindowStats(clock::get);
+    }
+
+    @Test
+    @DisplayName("Should only count jobs completed within each window")
+    public void SlidingWindowStats_Snapshot_ShouldCoverRecentBuckets() {
+        // Arrange
+        // 100 jobs of 10ms four minutes ago, then 20 jobs of 500ms in the last 5 seconds
+        for (int i = 0; i < 100; i++) {
+            stats.recordCompletion(10_000);
+        }
+        clock.addAndGet(240_000);
+        for (int i = 0; i < 20; i++) {
+            stats.recordCompletion(500_000);
+            clock.addAndGet(250);
+        }
+
+        // Act
+        SlidingWindowStats.WindowSnapshot last10s = stats.snapshot(10);
+        SlidingWindowStats.WindowSnapshot last5m = stats.snapshot(300);
+
+        // Assert
+        assertEquals(20, last10s.completedJobs());
+        assertEquals(2.0, last10s.throughput(), 0.001);
+        assertEquals(500.0, last10s.responseTimePercentiles().p99(), 500 * 0.0625);
+        assertEquals(120, last5m.completedJobs());
+        assertEquals(10.0, last5m.responseTimePercentiles().p50(), 10 * 0.0625);
+        assertEquals(120 / 245.0, last5m.throughput(), 0.01);
+    }
+
+    @Test
+    @DisplayName("Should forget buckets older than the longest window")
+    public void SlidingWindowStats_OldBuckets_ShouldExpire() {
+        // Arrange
+        stats.recordCompletion(10_000);
+        stats.recordQueueDepth(7);
+
+        // Act
+        clock.addAndGet(301_000);
+        SlidingWindowStats.WindowSnapshot last5m = stats.snapshot(300);
+
+        // Assert
+        assertEquals(0, last5m.completedJobs());
+        assertEquals(0, last5m.maxQueueDepth());
+        assertEquals(LatencyPercentiles.EMPTY, last5m.responseTimePercentiles());
+        assertThrows(IllegalArgumentException.class, () -> stats.snapshot(301));
+    }
+
+    @Test
+    @DisplayName("Should average and track the maximum of the sampled queue depths")
+    public void SlidingWindowStats_QueueDepth_ShouldBeAveraged() {
+        // Arrange
+        stats.recordQueueDepth(2);
+        stats.recordQueueDepth(4);
+        clock.addAndGet(3_000);
+        stats.recordQueueDepth(9);
+
+        // Act
+        SlidingWindowStats.WindowSnapshot last10s = stats.snapshot(10);
+
+        // Assert
+        assertEquals(5.0, last10s.averageQueueDepth(), 0.001);
+        assertEquals(9, last10s.maxQueueDepth());
+    }
+}
@@ -0,0 +1,273 @@
+package org.example.queueManager;
+
+import org.example.common.Job;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.*;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Test class for the ConcurrentJobQueue class.
+ */
+public class ConcurrentJobQueueTest {
+    private static final Comparator<Job> BY_TIME = Comparator.comparingLong(Job::getExecutionTime);
+    private ConcurrentJobQueue jobQueue;
+
+    @BeforeEach
+    public void setUp() {
+        jobQueue = new ConcurrentJobQueue();
+    }
+
+    @Test
+    @DisplayName("Should dequeue jobs in submission order by default")
+    public void ConcurrentJobQueue_DefaultOrdering_ShouldBeFirstComeFirstServe() throws InterruptedException {
+        // Arrange
+        Job job1 = new Job("Job1", 1, 3000, LocalDateTime.now());
+        Job job2 = new Job("Job2", 1, 1000, LocalDateTime.now());
+
+        // Act
+        jobQueue.enqueueJob(job1);
+        jobQueue.enqueueJob(job2);
+
+        // Assert
+        assertTrue(jobQueue.checkForJob(job1));
+        assertEquals(2, jobQueue.getQueueSize());
+        assertSame(job1, jobQueue.dequeueJob());
+        assertSame(job2, jobQueue.dequeueJob());
+        assertEquals(0, jobQueue.getQueueSize());
+    }
+
+    @Test
+    @DisplayName("Should follow a new ordering and keep jobs with equal keys")
+    public void ConcurrentJobQueue_SetOrdering_ShouldReorderQueuedJobs() throws InterruptedException {
+        // Arrange
+        Job slow = new Job("Slow", 1, 3000, LocalDateTime.now());
+        Job fastA = new Job("FastA", 1, 1000, LocalDateTime.now());
+        Job fastB = new Job("FastB", 1, 1000, LocalDateTime.now());
+        jobQueue.enqueueJob(slow);
+        jobQueue.enqueueJob(fastA);
+        jobQueue.enqueueJob(fastB);
+
+        // Act
+        jobQueue.setOrdering(BY_TIME);
+
+        // Assert
+        assertEquals(List.of(fastA, fastB, slow), jobQueue.getQueuedJobs());
+        assertSame(fastA, jobQueue.dequeueJob());
+        assertSame(fastB, jobQueue.dequeueJob());
+        assertSame(slow, jobQueue.dequeueJob());
+    }
+
+    @Test
+    @DisplayName("Should block new jobs from being added when queue size limit is reached.")
+    public void ConcurrentJobQueue_QueueFull_ShouldBlockEnqueue() throws InterruptedException {
+        // Arrange
+        ExecutorService executor = Executors.newSingleThreadExecutor();
+        for (int i = 0; i < 10; i++) {
+            jobQueue.enqueueJob(new Job("Job" + i, 1, 1000, LocalDateTime.now()));
+        }
+
+        // Act
+        Future<?> future = executor.submit(() -> {
+            jobQueue.enqueueJob(new Job("Overflow", 1, 1000, LocalDateTime.now()));
+            return null;
+        });
+        Thread.sleep(200);
+
+        // Assert
+        assertFalse(future.isDone(), "Enqueue should be blocked since queue is full");
+        jobQueue.empty();
+        assertDoesNotThrow(() -> future.get(1, TimeUnit.SECONDS));
+        assertEquals(1, jobQueue.getQueueSize());
+        executor.shutdown();
+    }
+
+    @Test
+    @DisplayName("Should reject and count an offered job when the queue stays full")
+    public void ConcurrentJobQueue_OfferWhenFull_ShouldRejectAfterTimeout() throws InterruptedException {
+        // Arrange
+        ConcurrentJobQueue smallQueue = new ConcurrentJobQueue(1);
+        smallQueue.enqueueJob(new Job("Job1", 1, 1000, LocalDateTime.now()));
+
+        // Act
+        boolean accepted = smallQueue.offerJob(new Job("Job2", 1, 1000, LocalDateTime.now()), 50, TimeUnit.MILLISECONDS);
+
+        // Assert
+        assertFalse(accepted);
+        assertEquals(1, smallQueue.getRejectedCount());
+        assertEquals(1, smallQueue.getQueueSize());
+        assertEquals(Integer.MAX_VALUE, new ConcurrentJobQueue(0).getCapacity());
+    }
+
+    @Test
+    @DisplayName("Should cancel queued jobs by name and skip them on dequeue")
+    public void ConcurrentJobQueue_CancelJobs_ShouldRemoveNamedJobs() throws InterruptedException {
+        // Arrange
+        Job keep = new Job("Keep", 1, 1000, LocalDateTime.now());
+        Job drop = new Job("Drop", 1, 1000, LocalDateTime.now());
+        Job dropToo = new Job("Drop", 2, 2000, LocalDateTime.now());
+        jobQueue.enqueueJob(drop);
+        jobQueue.enqueueJob(keep);
+        jobQueue.enqueueJob(dropToo);
+
+        // Act
+        List<Job> cancelled = jobQueue.cancelJobs("Drop");
+
+        // Assert
+        assertEquals(2, cancelled.size());
+        assertFalse(jobQueue.checkForJob(drop));
+        assertEquals(1, jobQueue.getQueueSize());
+        assertSame(keep, jobQueue.dequeueJob());
+        assertFalse(jobQueue.removeJob(keep));
+    }
+
+    @Test
+    @DisplayName("Should deliver every job exactly once to concurrent consumers while the ordering changes")
+    public void ConcurrentJobQueue_ConcurrentProducersAndConsumers_ShouldNotLoseJobs() throws Exception {
+        // Arrange
+        int producers = 4;
+        int jobsPerProducer = 2000;
+        ExecutorService executor = Executors.newFixedThreadPool(producers * 2);
+        Set<Job> consumed = ConcurrentHashMap.newKeySet();
+        CountDownLatch done = new CountDownLatch(producers * jobsPerProducer);
+
+        // Act
+        for (int p = 0; p < producers; p++) {
+            int producerId = p;
+            executor.submit(() -> {
+                for (int i = 0; i < jobsPerProducer; i++) {
+                    jobQueue.enqueueJob(new Job("P" + producerId + "_" + i, 1, i, null));
+                }
+                return null;
+            });
+            executor.submit(() -> {
+                while (true) {
+                    consumed.add(jobQueue.dequeueJob());
+                    done.countDown();
+                }
+            });
+        }
+        for (int i = 0; i < 20; i++) {
+            jobQueue.setOrdering(i % 2 == 0 ? BY_TIME : Comparator.comparingLong(Job::getSequenceNumber));
+            Thread.sleep(5);
+        }
+
+        // Assert
+        assertTrue(done.await(10, TimeUnit.SECONDS));
+        assertEquals(producers * jobsPerProducer, consumed.size());
+        assertEquals(0, jobQueue.getQueueSize());
+        executor.shutdownNow();
+    }
+
+    @Test
+    @DisplayName("Should return null from pollJob when no job arrives in time")
+    public void ConcurrentJobQueue_PollJob_ShouldTimeOutWhenEmpty() throws InterruptedException {
+        // Arrange
+        Job job = new Job("Job1", 1, 1000, LocalDateTime.now());
+        jobQueue.enqueueJob(job);
+
+        // Act
+        Job polled = jobQueue.pollJob(50, TimeUnit.MILLISECONDS);
+        Job timedOut = jobQueue.pollJob(50, TimeUnit.MILLISECONDS);
+
+        // Assert
+        assertEquals(job, polled);
+        assertNull(timedOut);
+        assertEquals(0, jobQueue.getQueueSize());
+    }
+
+    @Test
+    @DisplayName("Should count enqueued and dequeued jobs and the time producers were blocked")
+    public void ConcurrentJobQueue_Counters_ShouldTrackQueueActivity() throws InterruptedException {
+        // Arrange
+        ConcurrentJobQueue smallQueue = new ConcurrentJobQueue(1);
+        smallQueue.enqueueJob(new Job("Job1", 1, 1000, LocalDateTime.now()));
+
+        // Act
+        boolean accepted = smallQueue.offerJob(new Job("Job2", 1, 1000, LocalDateTime.now()), 50, TimeUnit.MILLISECONDS);
+        smallQueue.pollJob(50, TimeUnit.MILLISECONDS);
+
+        // Assert
+        assertFalse(accepted);
+        assertEquals(1, smallQueue.getEnqueuedCount());
+        assertEquals(1, smallQueue.getDequeuedCount());
+        assertTrue(smallQueue.getProducerBlockedNanos() >= TimeUnit.MILLISECONDS.toNanos(40));
+    }
+
+    @Test
+    @DisplayName("Should queue a batch in order up to the capacity and reject the rest")
+    public void ConcurrentJobQueue_OfferJobs_ShouldRejectRemainder() throws InterruptedException {
+        // Arrange
+        List<Job> batch = new ArrayList<>();
+        for (int i = 0; i < 12; i++) {
+            batch.add(new Job("Job" + i, 1, 1000, LocalDateTime.now()));
+        }
+
+        // Act
+        int queued = jobQueue.offerJobs(batch, 20, TimeUnit.MILLISECONDS);
+        Job first = jobQueue.dequeueJob();
+
+        // Assert
+        assertEquals(10, queued);
+        assertEquals(batch.get(0), first);
+        assertEquals(9, jobQueue.getQueueSize());
+        assertEquals(2, jobQueue.getRejectedCount());
+        assertFalse(jobQueue.checkForJob(batch.get(11)));
+    }
+
+    @Test
+    @DisplayName("Should requeue a preempted job into a full queue and pay back the borrowed slot")
+    public void ConcurrentJobQueue_RequeueIntoFullQueue_ShouldNotBlock() throws InterruptedException {
+        // Arrange
+        ConcurrentJobQueue smallQueue = new ConcurrentJobQueue(1);
+        Job preempted = new Job("Preempted", 1, 1000, LocalDateTime.now());
+        smallQueue.enqueueJob(preempted);
+        smallQueue.dequeueJob();
+        smallQueue.enqueueJob(new Job("Waiting", 1, 1000, LocalDateTime.now()));
+
+        // Act
+        smallQueue.requeueJob(preempted);
+        Job first = smallQueue.dequeueJob();
+        boolean acceptedWhileOver = smallQueue.offerJob(new Job("Overflow", 1, 1000, LocalDateTime.now()), 20, TimeUnit.MILLISECONDS);
+        Job second = smallQueue.dequeueJob();
+        boolean acceptedAfter = smallQueue.offerJob(new Job("Late", 1, 1000, LocalDateTime.now()), 20, TimeUnit.MILLISECONDS);
+
+        // Assert
+        assertEquals("Waiting", first.getName());
+        assertEquals(preempted, second);
+        assertFalse(acceptedWhileOver);
+        assertTrue(acceptedAfter);
+        assertEquals(1, smallQueue.getQueueSize());
+        assertEquals(3, smallQueue.getEnqueuedCount());
+    }
+
+  @Test
+  @DisplayName("Should reorder the queued jobs when their keys are updated")
+  public void ConcurrentJobQueue_UpdateJobs_ShouldReorderQueuedJobs() throws InterruptedException {
+    // Arrange
+    jobQueue.setOrdering(Comparator.comparingInt(Job::getLevel));
+    Job demoted = new Job("Demoted", 1, 1000, LocalDateTime.now());
+    demoted.setLevel(2);
+    Job fresh = new Job("Fresh", 1, 1000, LocalDateTime.now());
+    jobQueue.enqueueJob(demoted);
+    jobQueue.enqueueJob(fresh);
+
+    // Act
+    List<Job> before = jobQueue.getQueuedJobs();
+    jobQueue.updateJobs(job -> job.setLevel(0));
+
+    // Assert
+    assertEquals(List.of(fresh, demoted), before);
+    assertEquals(0, demoted.getLevel());
+    assertSame(demoted, jobQueue.dequeueJob());
+    assertSame(fresh, jobQueue.dequeueJob());
+  }
+}
@@ -6,6 +6,8 @@ import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Test;
 
 import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
 import java.util.concurrent.*;
 
 import static org.junit.jupiter.api.Assertions.*;
@@ -123,4 +125,162 @@ public class QueueManagerTest {
         // Assert
         assertEquals(1, queueManager.getQueueSize());
     }
+
+    @Test
+    @DisplayName("Should hold more jobs than the default capacity when configured")
+    public void QueueManager_CustomCapacity_ShouldBeRespected() throws InterruptedException {
+        // Arrange
+        QueueManager largeQueue = new QueueManager(25);
+        QueueManager unboundedQueue = new QueueManager(0);
+
+        // Act
+        for (int i = 0; i < 25; i++) {
+            largeQueue.enqueueJob(new Job("Job" + i, 1, 1000, LocalDateTime.now()));
+            unboundedQueue.enqueueJob(new Job("Job" + i, 1, 1000, LocalDateTime.now()));
+        }
+
+        // Assert
+        assertEquals(25, largeQueue.getCapacity());
+        assertEquals(Integer.MAX_VALUE, unboundedQueue.getCapacity());
+        assertFalse(largeQueue.offerJob(job1, 0, TimeUnit.MILLISECONDS));
+        assertTrue(unboundedQueue.offerJob(job1, 0, TimeUnit.MILLISECONDS));
+    }
+
+    @Test
+    @DisplayName("Should reject and count an offered job when the queue stays full")
+    public void QueueManager_OfferWhenFull_ShouldRejectAfterTimeout() throws InterruptedException {
+        // Arrange
+        for (int i = 0; i < 10; i++) {
+            queueManager.enqueueJob(new Job("Job" + i, 1, 1000, LocalDateTime.now()));
+        }
+
+        // Act
+        long start = System.nanoTime();
+        boolean accepted = queueManager.offerJob(job1, 100, TimeUnit.MILLISECONDS);
+        long waitedMillis = (System.nanoTime() - start) / 1_000_000;
+
+        // Assert
+        assertFalse(accepted);
+        assertTrue(waitedMillis >= 90, "offer should wait for the timeout, waited " + waitedMillis + "ms");
+        assertEquals(1, queueManager.getRejectedCount());
+        assertFalse(queueManager.checkForJob(job1));
+
+        queueManager.dequeueJob();
+        assertTrue(queueManager.offerJob(job1, 100, TimeUnit.MILLISECONDS));
+        assertEquals(1, queueManager.getRejectedCount());
+    }
+
+    @Test
+    @DisplayName("Should cancel every queued job with a given name and free their space")
+    public void QueueManager_CancelJobs_ShouldRemoveNamedJobs() throws InterruptedException {
+        // Arrange
+        for (int i = 0; i < 8; i++) {
+            queueManager.enqueueJob(new Job("Filler" + i, 1, 1000, LocalDateTime.now()));
+        }
+        Job duplicate = new Job("Job1", 3, 3000, LocalDateTime.now());
+        queueManager.enqueueJob(job1);
+        queueManager.enqueueJob(duplicate);
+
+        // Act
+        List<Job> cancelled = queueManager.cancelJobs("Job1");
+
+        // Assert
+        assertEquals(2, cancelled.size());
+        assertFalse(queueManager.checkForJob(job1));
+        assertFalse(queueManager.checkForJob(duplicate));
+        assertEquals(8, queueManager.getQueueSize());
+        assertTrue(queueManager.offerJob(job2, 0, TimeUnit.MILLISECONDS));
+        assertTrue(queueManager.cancelJobs("Missing").isEmpty());
+        assertTrue(queueManager.removeJob(job2));
+        assertFalse(queueManager.removeJob(job2));
+    }
+
+    @Test
+    @DisplayName("Should return null from pollJob when no job arrives in time")
+    public void QueueManager_PollJob_ShouldTimeOutWhenEmpty() throws InterruptedException {
+        // Arrange
+        queueManager.enqueueJob(job1);
+
+        // Act
+        Job polled = queueManager.pollJob(50, TimeUnit.MILLISECONDS);
+        Job timedOut = queueManager.pollJob(50, TimeUnit.MILLISECONDS);
+
+        // Assert
+        assertEquals(job1, polled);
+        assertNull(timedOut);
+        assertEquals(0, queueManager.getQueueSize());
+    }
+
+    @Test
+    @DisplayName("Should count enqueued and dequeued jobs and the time producers were blocked")
+    public void QueueManager_Counters_ShouldTrackQueueActivity() throws InterruptedException {
+        // Arrange
+        QueueManager smallQueue = new QueueManager(1);
+        smallQueue.enqueueJob(job1);
+        Thread producer = new Thread(() -> {
+            try {
+                smallQueue.enqueueJob(job2);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+        });
+
+        // Act
+        producer.start();
+        Thread.sleep(100);
+        smallQueue.dequeueJob();
+        producer.join(1000);
+
+        // Assert
+        assertEquals(2, smallQueue.getEnqueuedCount());
+        assertEquals(1, smallQueue.getDequeuedCount());
+        assertTrue(smallQueue.getProducerBlockedNanos() >= TimeUnit.MILLISECONDS.toNanos(50));
+    }
+
+    @Test
+    @DisplayName("Should queue a batch larger than the capacity as a consumer makes space, in batch order")
+    public void QueueManager_EnqueueJobs_ShouldWaitForSpace() throws Exception {
+        // Arrange
+        ExecutorService executor = Executors.newSingleThreadExecutor();
+        List<Job> batch = new ArrayList<>();
+        for (int i = 0; i < 25; i++) {
+            batch.add(new Job("Job" + i, 1, 1000, LocalDateTime.now()));
+        }
+
+        // Act
+        Future<Integer> queued = executor.submit(() -> queueManager.enqueueJobs(batch));
+        List<Job> dequeued = new ArrayList<>();
+        for (int i = 0; i < batch.size(); i++) {
+            dequeued.add(queueManager.dequeueJob());
+        }
+
+        int queuedJobs = queued.get(1, TimeUnit.SECONDS);
+
+        // Assert
+        assertEquals(25, queuedJobs);
+        assertEquals(batch, dequeued);
+        assertEquals(25, queueManager.getEnqueuedCount());
+        executor.shutdown();
+    }
+
+    @Test
+    @DisplayName("Should queue what fits and reject the rest of a batch when the queue stays full")
+    public void QueueManager_OfferJobs_ShouldRejectRemainder() {
+        // Arrange
+        List<Job> batch = new ArrayList<>();
+        for (int i = 0; i < 14; i++) {
+            batch.add(new Job("Job" + i, 1, 1000, LocalDateTime.now()));
+        }
+
+        // Act
+        int queued = queueManager.offerJobs(batch, 50, TimeUnit.MILLISECONDS);
+
+        // Assert
+        assertEquals(10, queued);
+        assertEquals(10, queueManager.getQueueSize());
+        assertEquals(4, queueManager.getRejectedCount());
+        assertTrue(queueManager.checkForJob(batch.get(9)));
+        assertFalse(queueManager.checkForJob(batch.get(10)));
+        assertTrue(queueManager.getProducerBlockedNanos() >= TimeUnit.MILLISECONDS.toNanos(40));
+    }
 }
@@ -0,0 +1,220 @@
+package org.example.queueManager;
+
+import org.example.common.Job;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Test class for the ReadyQueue class.
+ */
+public class ReadyQueueTest {
+    private static final Comparator<Job> BY_SEQUENCE = Comparator.comparingLong(Job::getSequenceNumber);
+    private static final Comparator<Job> BY_TIME = Comparator.comparingLong(Job::getExecutionTime)
+            .thenComparingLong(Job::getSequenceNumber);
+    private ReadyQueue readyQueue;
+
+    @BeforeEach
+    public void setUp() {
+        readyQueue = new ReadyQueue(BY_SEQUENCE);
+    }
+
+    private Job newJob(String name, long executionTime, long sequence) {
+        Job job = new Job(name, 1, executionTime, null);
+        job.setSequenceNumber(sequence);
+        return job;
+    }
+
+    @Test
+    @DisplayName("Should poll jobs in comparator order regardless of insertion order")
+    public void ReadyQueue_Poll_ShouldFollowComparator() {
+        // Arrange
+        readyQueue.reorder(BY_TIME);
+        for (int i = 0; i < 50; i++) {
+            readyQueue.add(newJob("Job" + i, (i * 37) % 50, i));
+        }
+
+        // Act / Assert
+        long previous = -1;
+        while (!readyQueue.isEmpty()) {
+            long current = readyQueue.poll().getExecutionTime();
+            assertTrue(current >= previous);
+            previous = current;
+        }
+        assertNull(readyQueue.poll());
+    }
+
+    @Test
+    @DisplayName("Should restore submission order for ties after reordering")
+    public void ReadyQueue_Reorder_ShouldKeepTiesInSubmissionOrder() {
+        // Arrange
+        Job slow = newJob("Slow", 3000, 0);
+        Job fastA = newJob("FastA", 1000, 1);
+        Job fastB = newJob("FastB", 1000, 2);
+        readyQueue.add(slow);
+        readyQueue.add(fastA);
+        readyQueue.add(fastB);
+
+        // Act
+        readyQueue.reorder(BY_TIME);
+        List<Job> ordered = readyQueue.toSortedList();
+
+        // Assert
+        assertEquals(List.of(fastA, fastB, slow), ordered);
+        assertSame(fastA, readyQueue.poll());
+        assertSame(fastB, readyQueue.poll());
+        assertSame(slow, readyQueue.poll());
+    }
+
+    @Test
+    @DisplayName("Should track size, membership and clearing")
+    public void ReadyQueue_SizeAndContains_ShouldBeConsistent() {
+        // Arrange
+        Job job1 = newJob("Job1", 1000, 0);
+        Job job2 = newJob("Job2", 1000, 1);
+
+        // Act
+        readyQueue.add(job1);
+
+        // Assert
+        assertEquals(1, readyQueue.size());
+        assertTrue(readyQueue.contains(job1));
+        assertFalse(readyQueue.contains(job2));
+        readyQueue.clear();
+        assertTrue(readyQueue.isEmpty());
+        assertNull(readyQueue.peek());
+    }
+
+    @Test
+    @DisplayName("Should remove an arbitrary job and keep the remaining order intact")
+    public void ReadyQueue_Remove_ShouldKeepHeapOrder() {
+        // Arrange
+        readyQueue.reorder(BY_TIME);
+        Job[] jobs = new Job[20];
+        for (int i = 0; i < jobs.length; i++) {
+            jobs[i] = newJob("Job" + i, (i * 7) % 20, i);
+            readyQueue.add(jobs[i]);
+        }
+
+        // Act
+        assertTrue(readyQueue.remove(jobs[5]));
+        assertTrue(readyQueue.remove(jobs[13]));
+
+        // Assert
+        assertFalse(readyQueue.remove(jobs[5]));
+        assertFalse(readyQueue.contains(jobs[13]));
+        assertEquals(-1, jobs[5].getQueueIndex());
+        assertEquals(18, readyQueue.size());
+        long previous = -1;
+        while (!readyQueue.isEmpty()) {
+            Job job = readyQueue.poll();
+            assertFalse(readyQueue.contains(job));
+            assertTrue(job.getExecutionTime() >= previous);
+            previous = job.getExecutionTime();
+        }
+    }
+
+    @Test
+    @DisplayName("Should find queued jobs by name")
+    public void ReadyQueue_GetJobsNamed_ShouldReturnQueuedJobs() {
+        // Arrange
+        Job first = newJob("Shared", 1000, 0);
+        Job second = newJob("Shared", 2000, 1);
+        Job other = newJob("Other", 1000, 2);
+        readyQueue.add(first);
+        readyQueue.add(second);
+        readyQueue.add(other);
+
+        // Act
+        readyQueue.poll();
+
+        // Assert
+        assertEquals(List.of(second), readyQueue.getJobsNamed("Shared"));
+        assertTrue(readyQueue.getJobsNamed("Missing").isEmpty());
+    }
+
+    @Test
+    @DisplayName("Should keep the heap ordered when adding batches larger and smaller than the heap")
+    public void ReadyQueue_AddAll_ShouldFollowComparator() {
+        // Arrange
+        readyQueue.reorder(BY_TIME);
+        List<Job> large = new ArrayList<>();
+        for (int i = 0; i < 40; i++) {
+            large.add(newJob("Large" + i, (i * 37) % 40, i));
+        }
+        List<Job> small = List.of(newJob("Small0", 5, 40), newJob("Small1", 0, 41));
+
+        // Act
+        readyQueue.addAll(large);
+        readyQueue.addAll(small);
+
+        // Assert
+        assertEquals(42, readyQueue.size());
+        assertTrue(readyQueue.contains(small.get(0)));
+        assertEquals(1, readyQueue.getJobsNamed("Large3").size());
+        long previous = -1;
+        while (!readyQueue.isEmpty()) {
+            long current = readyQueue.poll().getExecutionTime();
+            assertTrue(current >= previous);
+            previous = current;
+        }
+    }
+
+    @Test
+    @DisplayName("Should switch between kept orderings without reordering and keep every ordering consistent")
+    public void ReadyQueue_KeptOrderings_ShouldSwitchWithoutReordering() {
+        // Arrange
+        Comparator<Job> byRemainingTime = Comparator.comparingLong(Job::getRemainingTime)
+                .thenComparingLong(Job::getSequenceNumber);
+        List<Comparator<Job>> orderings = List.of(BY_SEQUENCE, BY_TIME, byRemainingTime);
+        orderings.forEach(readyQueue::keepOrdering);
+        Random random = new Random(42);
+        List<Job> expected = new ArrayList<>();
+        long sequence = 0;
+
+        // Act / Assert
+        for (int step = 0; step < 2000; step++) {
+            int action = random.nextInt(10);
+            if (action < 5 || expected.isEmpty()) {
+                Job job = new Job("Job" + random.nextInt(20), random.nextInt(5), random.nextInt(100), null);
+                job.setSequenceNumber(sequence++);
+                readyQueue.add(job);
+                expected.add(job);
+            } else if (action < 8) {
+                Comparator<Job> ordering = readyQueue.getComparator();
+                Job head = readyQueue.poll();
+                assertSame(expected.stream().min(ordering).orElseThrow(), head);
+                expected.remove(head);
+                // keys change while the job runs outside the queue, then it is queued again
+                if (random.nextBoolean()) {
+                    head.setRemainingTime(random.nextInt(100));
+                    head.setSequenceNumber(sequence++);
+                    readyQueue.add(head);
+                    expected.add(head);
+                }
+            } else if (action < 9) {
+                assertTrue(readyQueue.remove(expected.remove(random.nextInt(expected.size()))));
+            } else {
+                readyQueue.reorder(orderings.get(random.nextInt(orderings.size())));
+            }
+            assertEquals(expected.size(), readyQueue.size());
+        }
+        List<Job> sorted = new ArrayList<>(expected);
+        sorted.sort(readyQueue.getComparator());
+        assertEquals(sorted, readyQueue.toSortedList());
+        readyQueue.reorder(Comparator.comparingLong(Job::getExecutionTime).reversed()
+                .thenComparingLong(Job::getSequenceNumber));
+        readyQueue.reorder(BY_TIME);
+        for (Job job : sorted.stream().sorted(BY_TIME).toList()) {
+            assertSame(job, readyQueue.poll());
+        }
+        assertTrue(readyQueue.isEmpty());
+    }
+}
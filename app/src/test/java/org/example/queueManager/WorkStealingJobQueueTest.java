@@ -0,0 +1,118 @@
+package org.example.queueManager;
+
+import org.example.common.Job;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.*;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Test class for the WorkStealingJobQueue class.
+ */
+public class WorkStealingJobQueueTest {
+
+  @Test
+  @DisplayName("Should deal jobs round robin and serve a worker from its own local queue before stealing")
+  public void WorkStealingJobQueue_Dequeue_ShouldPreferLocalQueue() throws InterruptedException {
+    // Arrange
+    WorkStealingJobQueue jobQueue = new WorkStealingJobQueue(0, 2);
+    List<Job> jobs = new ArrayList<>();
+    for (int i = 0; i < 4; i++) {
+      jobs.add(new Job("Job" + i, 1, 1000, LocalDateTime.now()));
+    }
+
+    // Act
+    jobQueue.enqueueJobs(jobs);
+    List<Integer> dealt = jobQueue.getLocalQueueSizes();
+    jobQueue.bindWorker(0);
+    Job first = jobQueue.dequeueJob();
+    Job second = jobQueue.dequeueJob();
+    long stealsBefore = jobQueue.getStealCount();
+    Job stolen = jobQueue.dequeueJob();
+
+    // Assert
+    assertEquals(List.of(2, 2), dealt);
+    assertSame(jobs.get(0), first);
+    assertSame(jobs.get(2), second);
+    assertEquals(0, stealsBefore);
+    assertSame(jobs.get(1), stolen);
+    assertEquals(1, jobQueue.getStealCount());
+    assertEquals(List.of(0, 1), jobQueue.getLocalQueueSizes());
+  }
+
+  @Test
+  @DisplayName("Should order every local queue by the active policy and cancel jobs across local queues")
+  public void WorkStealingJobQueue_SetOrdering_ShouldReorderLocalQueues() throws InterruptedException {
+    // Arrange
+    WorkStealingJobQueue jobQueue = new WorkStealingJobQueue(0, 2);
+    Job slow = new Job("Slow", 1, 5000, LocalDateTime.now());
+    Job medium = new Job("Medium", 1, 3000, LocalDateTime.now());
+    Job fast = new Job("Fast", 1, 1000, LocalDateTime.now());
+    Job duplicate = new Job("Medium", 1, 2000, LocalDateTime.now());
+    jobQueue.enqueueJob(slow);
+    jobQueue.enqueueJob(medium);
+    jobQueue.enqueueJob(fast);
+    jobQueue.enqueueJob(duplicate);
+
+    // Act
+    jobQueue.setOrdering(Comparator.comparingLong(Job::getExecutionTime));
+    List<Job> cancelled = jobQueue.cancelJobs("Medium");
+    jobQueue.bindWorker(0);
+
+    // Assert
+    assertEquals(Set.of(medium, duplicate), Set.copyOf(cancelled));
+    assertEquals(List.of(fast, slow), jobQueue.getQueuedJobs());
+    assertFalse(jobQueue.checkForJob(medium));
+    assertSame(fast, jobQueue.dequeueJob());
+    assertSame(slow, jobQueue.dequeueJob());
+    assertEquals(0, jobQueue.getQueueSize());
+  }
+
+  @Test
+  @DisplayName("Should hand every job to exactly one worker when workers steal concurrently")
+  public void WorkStealingJobQueue_ConcurrentWorkers_ShouldDequeueEveryJobOnce() throws Exception {
+    // Arrange
+    WorkStealingJobQueue jobQueue = new WorkStealingJobQueue(16, 4);
+    int jobCount = 2000;
+    ExecutorService executor = Executors.newFixedThreadPool(5);
+    Set<Job> dequeued = ConcurrentHashMap.newKeySet();
+    CountDownLatch done = new CountDownLatch(jobCount);
+    List<Future<?>> workers = new ArrayList<>();
+    for (int worker = 0; worker < 4; worker++) {
+      int workerId = worker;
+      workers.add(executor.submit(() -> {
+        jobQueue.bindWorker(workerId);
+        while (!Thread.currentThread().isInterrupted()) {
+          Job job = jobQueue.pollJob(10, TimeUnit.MILLISECONDS);
+          if (job != null) {
+            dequeued.add(job);
+            done.countDown();
+          }
+        }
+        return null;
+      }));
+    }
+
+    // Act
+    for (int i = 0; i < jobCount; i++) {
+      jobQueue.enqueueJob(new Job("Job" + i, 1, i, LocalDateTime.now()));
+    }
+    boolean isDrained = done.await(10, TimeUnit.SECONDS);
+    executor.shutdownNow();
+
+    // Assert
+    assertTrue(isDrained);
+    assertTrue(executor.awaitTermination(5, TimeUnit.SECONDS));
+    assertEquals(jobCount, dequeued.size());
+    assertEquals(jobCount, jobQueue.getDequeuedCount());
+    assertEquals(0, jobQueue.getQueueSize());
+    assertEquals(List.of(0, 0, 0, 0), jobQueue.getLocalQueueSizes());
+  }
+}
@@ -8,6 +8,14 @@ import org.junit.jupiter.api.Test;
 import org.junit.jupiter.params.ParameterizedTest;
 import org.junit.jupiter.params.provider.EnumSource;
 
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+
 import static org.junit.jupiter.api.Assertions.*;
 
 /**
@@ -87,6 +95,84 @@ public class SchedulerTest {
         assertEquals("LowPriorityJob", thirdOut.getName());
     }
 
+    @Test
+    @DisplayName("Should order jobs by execution time as they are submitted under SJF.")
+    void Scheduler_AddJobUnderSJF_ShouldDequeueShortestFirst() throws InterruptedException {
+        // Arrange
+        scheduler.setPolicy(SchedulingPolicy.SJF);
+        Job jobSlow = new Job("SlowJob", 1, 5000L, null);
+        Job jobFast = new Job("FastJob", 1, 1000L, null);
+        Job jobFastTie = new Job("FastTieJob", 1, 1000L, null);
+
+        // Act
+        scheduler.addJob(jobSlow);
+        scheduler.addJob(jobFast);
+        scheduler.addJob(jobFastTie);
+
+        // Assert
+        assertEquals("FastJob", queueManager.dequeueJob().getName());
+        assertEquals("FastTieJob", queueManager.dequeueJob().getName());
+        assertEquals("SlowJob", queueManager.dequeueJob().getName());
+    }
+
+    @Test
+    @DisplayName("Should restore submission order when changed back to FCFS.")
+    void Scheduler_ChangePolicy_ShouldRestoreFCFSOrder() throws InterruptedException {
+        // Arrange
+        scheduler.setPolicy(SchedulingPolicy.PRIORITY);
+        scheduler.addJob(new Job("First", 3, 1000L, null));
+        scheduler.addJob(new Job("Second", 1, 1000L, null));
+
+        // Act
+        scheduler.setPolicy(SchedulingPolicy.FCFS);
+
+        // Assert
+        assertEquals("First", queueManager.dequeueJob().getName());
+        assertEquals("Second", queueManager.dequeueJob().getName());
+    }
+
+    @Test
+    @DisplayName("Should reject a job instead of blocking when a submit timeout is set and the queue is full.")
+    void Scheduler_AddJobWithTimeout_ShouldRejectWhenFull() throws InterruptedException {
+        // Arrange
+        scheduler.setSubmitTimeout(50);
+        for (int i = 0; i < 10; i++) {
+            assertTrue(scheduler.addJob(new Job("Job" + i, 1, 1000L, null)));
+        }
+
+        // Act
+        boolean accepted = scheduler.addJob(new Job("Overflow", 1, 1000L, null));
+
+        // Assert
+        assertFalse(accepted);
+        assertEquals(10, queueManager.getQueueSize());
+        assertEquals(1, queueManager.getRejectedCount());
+    }
+
+    @Test
+    @DisplayName("Should change policy while a submission is blocked on a full queue.")
+    void Scheduler_ChangePolicy_ShouldNotWaitForBlockedSubmission() throws Exception {
+        // Arrange
+        ExecutorService executor = Executors.newFixedThreadPool(2);
+        for (int i = 0; i < 10; i++) {
+            scheduler.addJob(new Job("Job" + i, 1, 1000L, null));
+        }
+        Future<Boolean> blockedSubmission = executor.submit(() -> scheduler.addJob(new Job("Overflow", 1, 1000L, null)));
+        Thread.sleep(100); // let the submission block on the full queue
+
+        // Act
+        Future<?> policyChange = executor.submit(() -> {
+            scheduler.setPolicy(SchedulingPolicy.SJF);
+            return null;
+        });
+
+        // Assert
+        policyChange.get(1, TimeUnit.SECONDS);
+        assertEquals(SchedulingPolicy.SJF, scheduler.getPolicy());
+        assertFalse(blockedSubmission.isDone());
+        executor.shutdownNow();
+    }
+
     @ParameterizedTest
     @EnumSource(SchedulingPolicy.class)
     @DisplayName("Should reflect policy change for the chosen policy")
@@ -97,4 +183,204 @@ public class SchedulerTest {
         // Assert
         assertEquals(newPolicy, scheduler.getPolicy());
     }
+
+    @Test
+    @DisplayName("Should queue a batch of jobs in the order of the current policy.")
+    void Scheduler_AddJobs_ShouldFollowPolicy() throws InterruptedException {
+        // Arrange
+        scheduler.setPolicy(SchedulingPolicy.SJF);
+        List<Job> jobs = List.of(new Job("SlowJob", 1, 5000L, null), new Job("FastJob", 1, 1000L, null),
+                new Job("MediumJob", 1, 3000L, null));
+
+        // Act
+        int queued = scheduler.addJobs(jobs);
+
+        // Assert
+        assertEquals(3, queued);
+        assertEquals("FastJob", queueManager.dequeueJob().getName());
+        assertEquals("MediumJob", queueManager.dequeueJob().getName());
+        assertEquals("SlowJob", queueManager.dequeueJob().getName());
+    }
+
+    @Test
+    @DisplayName("Should reject the jobs of a batch that do not fit before the submit timeout.")
+    void Scheduler_AddJobsWithTimeout_ShouldRejectOverflow() throws InterruptedException {
+        // Arrange
+        scheduler.setSubmitTimeout(20);
+        List<Job> jobs = new ArrayList<>();
+        for (int i = 0; i < 15; i++) {
+            jobs.add(new Job("Job" + i, 1, 1000L, null));
+        }
+
+        // Act
+        int queued = scheduler.addJobs(jobs);
+
+        // Assert
+        assertEquals(10, queued);
+        assertEquals(5, queueManager.getRejectedCount());
+    }
+
+    @Test
+    @DisplayName("Should demote a job that used up its quantum under MLFQ and boost it back after the boost period.")
+    void Scheduler_MLFQ_ShouldDemoteAndBoost() throws InterruptedException {
+        // Arrange
+        scheduler.setPolicy(SchedulingPolicy.MLFQ);
+        scheduler.setQuantum(100);
+        Job longJob = new Job("LongJob", 1, 5000L, null);
+        scheduler.addJob(longJob);
+        Job running = queueManager.dequeueJob();
+        long firstSlice = scheduler.getTimeSlice(running);
+        running.setRemainingTime(running.getRemainingTime() - firstSlice);
+
+        // Act
+        scheduler.requeueJob(running);
+        Job newJob = new Job("NewJob", 1, 5000L, null);
+        scheduler.addJob(newJob);
+        List<Job> demotedOrder = queueManager.getQueuedJobs();
+        scheduler.setBoostPeriod(1);
+        Thread.sleep(5);
+        scheduler.getTimeSlice(newJob);
+
+        // Assert
+        assertEquals(100, firstSlice);
+        assertEquals(List.of(newJob, longJob), demotedOrder);
+        assertEquals(1, scheduler.getBoostCount());
+        assertEquals(0, longJob.getLevel());
+        assertEquals(List.of(longJob, newJob), queueManager.getQueuedJobs());
+        Job bottomLevelJob = new Job("BottomJob", 1, 5000L, null);
+        bottomLevelJob.setLevel(SchedulingPolicy.MLFQ_LEVELS - 1);
+        assertEquals(400, SchedulingPolicy.MLFQ.timeSlice(bottomLevelJob, 100));
+    }
+
+    @Test
+    @DisplayName("Should accept jobs through the inbox of the scheduler thread and apply policy changes and cancellations in order.")
+    void Scheduler_SchedulerThread_ShouldFeedQueueFromInbox() throws Exception {
+        // Arrange
+        QueueManager smallQueue = new QueueManager(4);
+        Scheduler threadedScheduler = new Scheduler(SchedulingPolicy.FCFS, smallQueue);
+        Thread schedulerThread = new Thread(threadedScheduler, "scheduler");
+        schedulerThread.start();
+        while (!threadedScheduler.isRunning()) {
+            Thread.sleep(1);
+        }
+        List<Job> jobs = new ArrayList<>();
+        for (long seconds : new long[] {5, 4, 3, 2, 1, 6}) {
+            jobs.add(new Job("Job" + seconds, 1, seconds * 1000, null));
+        }
+
+        // Act
+        int accepted = threadedScheduler.addJobs(jobs);
+        List<Job> submittedOrder = threadedScheduler.getQueuedJobs();
+        threadedScheduler.setPolicy(SchedulingPolicy.SJF);
+        List<Job> cancelled = threadedScheduler.cancelJob("Job6");
+        Job first = smallQueue.dequeueJob();
+        List<Job> rest = new ArrayList<>();
+        for (int i = 0; i < 4; i++) {
+            rest.add(smallQueue.pollJob(5, TimeUnit.SECONDS));
+        }
+        schedulerThread.interrupt();
+        schedulerThread.join(5000);
+
+        // Assert
+        assertEquals(6, accepted);
+        assertEquals(jobs, submittedOrder);
+        assertEquals(List.of(jobs.get(5)), cancelled);
+        assertSame(jobs.get(3), first);
+        assertEquals(List.of(jobs.get(0), jobs.get(1), jobs.get(2), jobs.get(4)),
+                rest.stream().sorted((a, b) -> Long.compare(b.getExecutionTime(), a.getExecutionTime())).toList());
+        assertFalse(schedulerThread.isAlive());
+        assertEquals(0, threadedScheduler.getInboxSize());
+        assertEquals(5, threadedScheduler.getBatchedJobCount());
+        assertTrue(threadedScheduler.getBatchCount() >= 2);
+        assertEquals(SchedulingPolicy.SJF, threadedScheduler.getPolicy());
+    }
+
+    @Test
+    @DisplayName("Should queue or reject, but never drop, the jobs in the inbox when the scheduler thread stops.")
+    void Scheduler_SchedulerThreadStops_ShouldNotDropInboxJobs() throws Exception {
+        // Arrange
+        QueueManager smallQueue = new QueueManager(2);
+        Scheduler threadedScheduler = new Scheduler(SchedulingPolicy.FCFS, smallQueue);
+        Thread schedulerThread = new Thread(threadedScheduler, "scheduler");
+        schedulerThread.start();
+        while (!threadedScheduler.isRunning()) {
+            Thread.sleep(1);
+        }
+        List<Job> jobs = new ArrayList<>();
+        for (int i = 0; i < 4; i++) {
+            jobs.add(new Job("Job" + i, 1, 1000L, null));
+        }
+        int accepted = threadedScheduler.addJobs(jobs);
+        int acceptedBeforeStop = threadedScheduler.getQueuedJobs().size();
+
+        // Act
+        schedulerThread.interrupt();
+        schedulerThread.join(5000);
+        Job first = smallQueue.dequeueJob();
+        boolean isLateJobQueued = threadedScheduler.addJob(new Job("Late", 1, 1000L, null));
+
+        // Assert
+        assertEquals(4, accepted);
+        assertEquals(4, acceptedBeforeStop);
+        assertFalse(schedulerThread.isAlive());
+        assertFalse(threadedScheduler.isRunning());
+        assertEquals(0, threadedScheduler.getInboxSize());
+        assertEquals(2, threadedScheduler.getRejectedCount());
+        assertSame(jobs.get(0), first);
+        assertTrue(isLateJobQueued);
+        assertEquals(List.of(jobs.get(1)), smallQueue.getQueuedJobs().subList(0, 1));
+        assertEquals(2, smallQueue.getQueueSize());
+    }
+
+    @Test
+    @DisplayName("Should keep serving the inbox when the queue fills up between the space check and the insert.")
+    void Scheduler_QueueFilledBeforeInsert_ShouldNotBlockSchedulerThread() throws Exception {
+        // Arrange
+        AtomicBoolean isSizeStale = new AtomicBoolean();
+        QueueManager smallQueue = new QueueManager(2) {
+            @Override
+            public int getQueueSize() {
+                // report the space seen just before preempted jobs were requeued into it
+                return isSizeStale.getAndSet(false) ? 0 : super.getQueueSize();
+            }
+        };
+        Scheduler threadedScheduler = new Scheduler(SchedulingPolicy.FCFS, smallQueue);
+        Thread schedulerThread = new Thread(threadedScheduler, "scheduler");
+        schedulerThread.start();
+        while (!threadedScheduler.isRunning()) {
+            Thread.sleep(1);
+        }
+        smallQueue.requeueJob(new Job("Preempted0", 1, 1000L, null));
+        smallQueue.requeueJob(new Job("Preempted1", 1, 1000L, null));
+        Job submitted = new Job("Submitted", 1, 500L, null);
+        isSizeStale.set(true);
+        ExecutorService executor = Executors.newSingleThreadExecutor();
+
+        // Act
+        boolean isAccepted = threadedScheduler.addJob(submitted);
+        Future<List<Job>> queuedJobs = executor.submit(() -> {
+            threadedScheduler.setPolicy(SchedulingPolicy.SJF);
+            return threadedScheduler.getQueuedJobs();
+        });
+        List<Job> queuedWhileFull = queuedJobs.get(5, TimeUnit.SECONDS);
+        smallQueue.dequeueJob();
+        long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(5);
+        while (!smallQueue.checkForJob(submitted) && System.nanoTime() < deadline) {
+            Thread.sleep(1);
+        }
+        boolean isQueuedOnceSpaceFreed = smallQueue.checkForJob(submitted);
+        schedulerThread.interrupt();
+        schedulerThread.join(5000);
+        executor.shutdown();
+
+        // Assert
+        assertTrue(isAccepted);
+        assertFalse(isSizeStale.get());
+        assertEquals(3, queuedWhileFull.size());
+        assertSame(submitted, queuedWhileFull.get(2));
+        assertTrue(isQueuedOnceSpaceFreed);
+        assertEquals(0, threadedScheduler.getInboxSize());
+        assertEquals(0, smallQueue.getRejectedCount());
+        assertEquals(SchedulingPolicy.SJF, threadedScheduler.getPolicy());
+    }
 }
@@ -0,0 +1,137 @@
+package org.example.uiController;
+
+import org.example.perfEvaluator.PerfEvaluator;
+import org.example.scheduler.Scheduler;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Test class for the AppConfig class.
+ */
+public class AppConfigTest {
+    @Test
+    @DisplayName("Should keep defaults when no options are given")
+    public void AppConfig_NoArgs_ShouldUseDefaults() {
+        // Arrange / Act
+        AppConfig config = AppConfig.fromArgs(new String[0]);
+
+        // Assert
+        assertEquals(1, config.getDispatcherWorkers());
+        assertEquals(AppConfig.QueueType.LOCKED, config.getQueueType());
+        assertEquals(10, config.getQueueCapacity());
+        assertEquals(-1, config.getSubmitTimeoutMillis());
+    }
+
+    @Test
+    @DisplayName("Should parse the queue capacity and submit timeout")
+    public void AppConfig_BackpressureOptions_ShouldBeParsed() {
+        // Arrange / Act
+        AppConfig config = AppConfig.fromArgs(new String[]{"--capacity=0", "--submit-timeout-ms=250"});
+
+        // Assert
+        assertEquals(0, config.getQueueCapacity());
+        assertEquals(250, config.getSubmitTimeoutMillis());
+        assertThrows(IllegalArgumentException.class, () -> AppConfig.fromArgs(new String[]{"--capacity=-1"}));
+    }
+
+    @Test
+    @DisplayName("Should parse the virtual thread job limit")
+    public void AppConfig_VirtualThreadsOption_ShouldBeParsed() {
+        // Arrange / Act
+        AppConfig config = AppConfig.fromArgs(new String[]{"--virtual-threads=1000"});
+
+        // Assert
+        assertEquals(1000, config.getMaxConcurrentJobs());
+        assertEquals(0, new AppConfig().getMaxConcurrentJobs());
+        assertThrows(IllegalArgumentException.class, () -> AppConfig.fromArgs(new String[]{"--virtual-threads=-5"}));
+    }
+
+    @Test
+    @DisplayName("Should parse the job history limit, or 'all' to keep every job")
+    public void AppConfig_JobHistoryOption_ShouldBeParsed() {
+        // Arrange / Act
+        AppConfig limited = AppConfig.fromArgs(new String[]{"--job-history=50"});
+        AppConfig all = AppConfig.fromArgs(new String[]{"--job-history=ALL"});
+
+        // Assert
+        assertEquals(50, limited.getJobHistory());
+        assertEquals(PerfEvaluator.RETAIN_ALL_JOBS, all.getJobHistory());
+        assertEquals(PerfEvaluator.DEFAULT_JOB_HISTORY, new AppConfig().getJobHistory());
+        assertThrows(IllegalArgumentException.class, () -> AppConfig.fromArgs(new String[]{"--job-history=some"}));
+    }
+
+    @Test
+    @DisplayName("Should parse the job queue implementation ignoring case")
+    public void AppConfig_QueueOption_ShouldBeParsed() {
+        // Arrange / Act
+        AppConfig config = AppConfig.fromArgs(new String[]{"--queue=Concurrent"});
+
+        // Assert
+        assertEquals(AppConfig.QueueType.CONCURRENT, config.getQueueType());
+        assertEquals(AppConfig.QueueType.STEALING, AppConfig.fromArgs(new String[]{"--queue=stealing"}).getQueueType());
+        assertThrows(IllegalArgumentException.class, () -> AppConfig.fromArgs(new String[]{"--queue=ring"}));
+    }
+
+    @Test
+    @DisplayName("Should parse the number of dispatcher workers")
+    public void AppConfig_WorkersOption_ShouldBeParsed() {
+        // Arrange / Act
+        AppConfig config = AppConfig.fromArgs(new String[]{"--workers=8"});
+
+        // Assert
+        assertEquals(8, config.getDispatcherWorkers());
+    }
+
+    @Test
+    @DisplayName("Should reject unknown options and invalid values")
+    public void AppConfig_InvalidArgs_ShouldThrow() {
+        assertThrows(IllegalArgumentException.class, () -> AppConfig.fromArgs(new String[]{"--unknown=1"}));
+        assertThrows(IllegalArgumentException.class, () -> AppConfig.fromArgs(new String[]{"--workers=0"}));
+        assertThrows(IllegalArgumentException.class, () -> AppConfig.fromArgs(new String[]{"workers"}));
+    }
+
+    @Test
+    @DisplayName("Should parse the metrics port and leave the endpoint disabled by default")
+    public void AppConfig_MetricsPortOption_ShouldBeParsed() {
+        // Arrange / Act
+        AppConfig config = AppConfig.fromArgs(new String[]{"--metrics-port=9400"});
+
+        // Assert
+        assertEquals(9400, config.getMetricsPort());
+        assertEquals(0, new AppConfig().getMetricsPort());
+        assertThrows(IllegalArgumentException.class, () -> AppConfig.fromArgs(new String[]{"--metrics-port=70000"}));
+    }
+
+    @Test
+    @DisplayName("Should parse the job journal path, commit mode and snapshot interval")
+    public void AppConfig_JournalOptions_ShouldBeParsed() {
+        // Arrange / Act
+        AppConfig config = AppConfig.fromArgs(new String[]{"--journal=jobs.journal", "--journal-sync=TRUE",
+                "--journal-snapshot-s=5"});
+
+        // Assert
+        assertEquals("jobs.journal", config.getJournalPath());
+        assertTrue(config.getIsJournalSync());
+        assertEquals(5, config.getJournalSnapshotIntervalSeconds());
+        assertEquals(60, new AppConfig().getJournalSnapshotIntervalSeconds());
+        assertNull(new AppConfig().getJournalPath());
+        assertThrows(IllegalArgumentException.class, () -> AppConfig.fromArgs(new String[]{"--journal-sync=yes"}));
+    }
+
+    @Test
+    @DisplayName("Should parse the time quantum and MLFQ boost period and reject values below 1ms")
+    public void AppConfig_QuantumOption_ShouldBeParsed() {
+        // Arrange / Act
+        AppConfig config = AppConfig.fromArgs(new String[]{"--quantum-ms=250", "--boost-ms=5000"});
+
+        // Assert
+        assertEquals(250, config.getQuantumMillis());
+        assertEquals(Scheduler.DEFAULT_QUANTUM_MILLIS, new AppConfig().getQuantumMillis());
+        assertEquals(5000, config.getBoostPeriodMillis());
+        assertEquals(Scheduler.DEFAULT_BOOST_MILLIS, new AppConfig().getBoostPeriodMillis());
+        assertThrows(IllegalArgumentException.class, () -> AppConfig.fromArgs(new String[]{"--quantum-ms=0"}));
+        assertThrows(IllegalArgumentException.class, () -> AppConfig.fromArgs(new String[]{"--boost-ms=-1"}));
+    }
+}
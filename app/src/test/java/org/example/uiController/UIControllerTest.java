@@ -165,4 +165,86 @@ public class UIControllerTest extends CSUBatchTestBase {
         // Assert
         assertTrue(getOutput().contains("Error: execution time must be an integer. Please try again."));
     }
-}
\ No newline at end of file
+
+    @Test
+    @DisplayName("Should change the number of dispatcher workers when the 'workers' command is entered.")
+    public void Command_ValidWorkers_ShouldResizeDispatcherPool() throws InterruptedException {
+        // Arrange
+        setUserInput("workers 3\nworkers\nexit\n");
+
+        // Act
+        UI.userInteraction();
+
+        // Assert
+        String output = getOutput();
+        assertTrue(output.contains("Dispatcher workers set to 3."));
+        assertTrue(output.contains("Dispatcher workers: 3"));
+    }
+
+    @Test
+    @DisplayName("Should display error message when 'workers' command is entered with an invalid count.")
+    public void Command_InvalidWorkers_ShouldDisplayErrorMessage() throws InterruptedException {
+        // Arrange
+        setUserInput("workers none\nworkers 0\nexit\n");
+
+        // Act
+        UI.userInteraction();
+
+        // Assert
+        String output = getOutput();
+        assertTrue(output.contains("Error: number of workers must be an integer. Please try again."));
+        assertTrue(output.contains("Error: number of workers must be at least 1. Please try again."));
+    }
+
+    @Test
+    @DisplayName("Should remove a queued job when the 'cancel' command is entered.")
+    public void Command_ValidCancel_ShouldRemoveQueuedJob() throws InterruptedException {
+        // Arrange
+        setUserInput("run doomed 100 1\ncancel doomed\ncancel doomed\nlist\nexit\n");
+
+        // Act
+        UI.userInteraction();
+
+        // Assert
+        String output = getOutput();
+        assertTrue(output.contains("Cancelled 1 queued job(s) named 'doomed'."));
+        assertTrue(output.contains("No queued job named 'doomed'."));
+        assertTrue(output.contains("Queue Currently Empty."));
+    }
+
+    @Test
+    @DisplayName("Should print simulated metrics for every policy when the 'simulate' command is entered.")
+    public void Command_ValidSimulate_ShouldPrintMetricsPerPolicy() throws InterruptedException {
+        // Arrange
+        setUserInput("simulate bench 1000 5 1 10 2\nsimulate bench 10\nexit\n");
+
+        // Act
+        UI.userInteraction();
+
+        // Assert
+        String output = getOutput();
+        assertTrue(output.contains("Performance Metrics for BENCH FCFS"));
+        assertTrue(output.contains("Performance Metrics for BENCH SJF"));
+        assertTrue(output.contains("Performance Metrics for BENCH PRIORITY"));
+        assertTrue(output.contains("Total number of jobs completed: 1000"));
+        assertTrue(output.contains("Simulated 1000 jobs on 2 workers"));
+        assertTrue(output.contains("Usage: simulate"));
+    }
+
+    @Test
+    @DisplayName("Should print live metrics for each window when the 'stats' command is entered.")
+    public void Command_Stats_ShouldPrintWindows() throws InterruptedException {
+        // Arrange
+        setUserInput("stats\nexit\n");
+
+        // Act
+        UI.userInteraction();
+
+        // Assert
+        String output = getOutput();
+        assertTrue(output.contains("Queue size: 0, jobs completed: 0"));
+        assertTrue(output.contains("Last 10s: 0 jobs"));
+        assertTrue(output.contains("Last 60s: 0 jobs"));
+        assertTrue(output.contains("Last 300s: 0 jobs"));
+    }
+}